@@ -0,0 +1,21 @@
+package com.cyctius.configuration;
+
+import com.cyctius.core.engine.PowerSeries;
+import com.cyctius.core.engine.PowerSeriesKernels;
+import com.cyctius.core.enums.PowerKernelMode;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PowerSeriesConfiguration {
+
+    /**
+     * Reductions over raw ride streams, on the same kernel selection as the workout NP path.
+     */
+    @Bean
+    public PowerSeries powerSeries(@Value("${cyctius.metadata.power-kernel:AUTO}") final PowerKernelMode powerKernelMode) {
+        return new PowerSeries(PowerSeriesKernels.select(powerKernelMode));
+    }
+}
@@ -0,0 +1,96 @@
+package com.cyctius.configuration;
+
+import com.cyctius.core.calculator.MemoizingSessionCalculator;
+import com.cyctius.core.calculator.SessionCalculator;
+import com.cyctius.core.calculator.VO2maxSessionCalculator;
+import com.cyctius.core.calculator.VO2maxSessionQuantizer;
+import com.cyctius.core.parameters.VO2maxSessionParameters;
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+import com.cyctius.core.session.VO2maxSession;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Memoized session calculators, and the optional start-up warm-up of their grid.
+ */
+@Slf4j
+@Configuration
+public class SessionCalculatorConfiguration {
+
+    @Value("${cyctius.sessions.cache.warm-up.enabled:false}")
+    private boolean warmUpEnabled;
+    @Value("${cyctius.sessions.cache.warm-up.ftp-from:150}")
+    private int warmUpFtpFrom;
+    @Value("${cyctius.sessions.cache.warm-up.ftp-to:350}")
+    private int warmUpFtpTo;
+    @Value("${cyctius.sessions.cache.warm-up.ftp-step:10}")
+    private int warmUpFtpStep;
+    @Value("${cyctius.sessions.cache.warm-up.tte120-min:5.0}")
+    private double warmUpTte120Min;
+    @Value("${cyctius.sessions.cache.warm-up.tte106-min:21.0}")
+    private double warmUpTte106Min;
+
+    @Bean
+    @Primary
+    public SessionCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> memoizingVO2maxSessionCalculator(
+        final VO2maxSessionCalculator vo2maxSessionCalculator,
+        final MeterRegistry meterRegistry,
+        @Value("${cyctius.sessions.cache.max-entries:10000}") final int maxEntries,
+        @Value("${cyctius.sessions.cache.ttl:24h}") final Duration ttl
+    ) {
+        return new MemoizingSessionCalculator<>("vo2max", vo2maxSessionCalculator, new VO2maxSessionQuantizer(),
+                session -> session.toBuilder().build(), maxEntries, ttl, meterRegistry);
+    }
+
+    /**
+     * Precomputes whole-point scores, 5 minute durations and every interval type for the
+     * configured FTP band and reference times to exhaustion, off the startup thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(final ApplicationReadyEvent event) {
+        if (!warmUpEnabled) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        final SessionCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> calculator =
+                event.getApplicationContext().getBean("memoizingVO2maxSessionCalculator", SessionCalculator.class);
+
+        CompletableFuture.runAsync(() -> {
+            int sessions = 0;
+            for (int ftp = warmUpFtpFrom; ftp <= warmUpFtpTo; ftp += Math.max(1, warmUpFtpStep)) {
+                final AthleteVO2MaxProfile athlete = AthleteVO2MaxProfile.builder()
+                        .ftp(ftp)
+                        .tte120Min(warmUpTte120Min)
+                        .tte106Min(warmUpTte106Min)
+                        .build();
+                for (VO2maxSessionParameters.VO2maxIntervalType type : VO2maxSessionParameters.VO2maxIntervalType.values()) {
+                    for (int duration = 10; duration <= 60; duration += 5) {
+                        for (int score = 1; score <= 10; score++) {
+                            calculator.calculate(athlete, VO2maxSessionParameters.builder()
+                                    .score((double) score)
+                                    .durationMinutes(duration)
+                                    .intervalType(type)
+                                    .build());
+                            sessions++;
+                        }
+                    }
+                }
+            }
+            log.info("Warmed up {} VO2max session prescriptions", sessions);
+        }).exceptionally(e -> {
+            log.warn("VO2max session warm-up failed", e);
+            return null;
+        });
+    }
+}
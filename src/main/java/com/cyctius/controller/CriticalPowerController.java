@@ -0,0 +1,28 @@
+package com.cyctius.controller;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.dto.CriticalPowerFitDTO;
+import com.cyctius.dto.CriticalPowerFitRequestDTO;
+import com.cyctius.service.CriticalPowerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/critical-power")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class CriticalPowerController {
+    private final CriticalPowerService criticalPowerService;
+
+    @PostMapping("/fit")
+    public ResponseEntity<CriticalPowerFitDTO> fitCriticalPower(@RequestBody CriticalPowerFitRequestDTO request) {
+        return ResponseEntity.ok(criticalPowerService.fitCriticalPower(request));
+    }
+
+    @GetMapping
+    public ResponseEntity<CriticalPowerFitDTO> getCriticalPower(
+            @RequestParam(defaultValue = "TWO_PARAMETER") CriticalPowerModelType modelType) {
+        return ResponseEntity.ok(criticalPowerService.getCriticalPower(modelType));
+    }
+}
@@ -0,0 +1,59 @@
+package com.cyctius.controller;
+
+import com.cyctius.dto.PowerCurveDTO;
+import com.cyctius.dto.TrainingLoadDayDTO;
+import com.cyctius.dto.TrainingSessionDTO;
+import com.cyctius.enums.PowerCurveScope;
+import com.cyctius.service.PowerCurveService;
+import com.cyctius.service.TrainingLoadService;
+import com.cyctius.service.TrainingSessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/training-sessions")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TrainingSessionController {
+    private final TrainingSessionService trainingSessionService;
+    private final TrainingLoadService trainingLoadService;
+    private final PowerCurveService powerCurveService;
+
+    @GetMapping("/load")
+    public ResponseEntity<List<TrainingLoadDayDTO>> getTrainingLoad(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        return ResponseEntity.ok(trainingLoadService.getTrainingLoad(start, end));
+    }
+
+    @GetMapping("/power-curve")
+    public ResponseEntity<PowerCurveDTO> getPowerCurve(@RequestParam(defaultValue = "ALL_TIME") PowerCurveScope scope) {
+        return ResponseEntity.ok(powerCurveService.getPowerCurve(scope));
+    }
+
+    @PostMapping
+    public ResponseEntity<TrainingSessionDTO> insertTrainingSession(@RequestBody TrainingSessionDTO trainingSessionDTO) {
+        return ResponseEntity.ok(trainingSessionService.insertTrainingSession(trainingSessionDTO));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<TrainingSessionDTO> updateTrainingSession(@PathVariable String id, @RequestBody TrainingSessionDTO trainingSessionDTO) {
+        return ResponseEntity.ok(trainingSessionService.updateTrainingSession(id, trainingSessionDTO));
+    }
+
+    @PutMapping("/{id}/power-stream")
+    public ResponseEntity<PowerCurveDTO> savePowerStream(@PathVariable String id, @RequestBody int[] watts) {
+        return ResponseEntity.ok(powerCurveService.savePowerStream(id, watts));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTrainingSession(@PathVariable String id) {
+        trainingSessionService.deleteTrainingSession(id);
+        return ResponseEntity.noContent().build();
+    }
+}
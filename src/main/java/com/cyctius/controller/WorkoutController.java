@@ -1,13 +1,33 @@
 package com.cyctius.controller;
 
+import com.cyctius.dto.IntervalEncodingStatusDTO;
+import com.cyctius.dto.TssCalculationResultDTO;
+import com.cyctius.service.IntervalEncodingMigrationService;
+import com.cyctius.service.WorkoutService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/workouts")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class WorkoutController {
+    private final IntervalEncodingMigrationService intervalEncodingMigrationService;
+    private final WorkoutService workoutService;
 
-}
+    @GetMapping("/{id}/tss")
+    ResponseEntity<TssCalculationResultDTO> getWorkoutRangeTss(
+        @PathVariable("id") final String id,
+        @RequestParam("from") final Integer fromSecond,
+        @RequestParam("to") final Integer toSecond
+    ) {
+        return ResponseEntity.ok(workoutService.getWorkoutRangeTss(id, fromSecond, toSecond));
+    }
 
+    // The migration is started by cyctius.workouts.interval-encoding.run-on-startup, not by users.
+    @GetMapping("/interval-encoding")
+    ResponseEntity<IntervalEncodingStatusDTO> getIntervalEncodingStatus() {
+        return ResponseEntity.ok(intervalEncodingMigrationService.getStatus());
+    }
+}
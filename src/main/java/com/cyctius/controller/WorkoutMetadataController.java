@@ -0,0 +1,33 @@
+package com.cyctius.controller;
+
+import com.cyctius.dto.MetadataBackfillStatusDTO;
+import com.cyctius.dto.WorkoutMetadataBatchRequestDTO;
+import com.cyctius.dto.WorkoutMetadataBatchResponseDTO;
+import com.cyctius.service.WorkoutMetadataBackfillService;
+import com.cyctius.service.WorkoutMetadataBatchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/metadata")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class WorkoutMetadataController {
+    private final WorkoutMetadataBatchService workoutMetadataBatchService;
+    private final WorkoutMetadataBackfillService workoutMetadataBackfillService;
+
+    @PostMapping("/batch")
+    ResponseEntity<WorkoutMetadataBatchResponseDTO> calculateMetadata(
+        @RequestBody @Valid final WorkoutMetadataBatchRequestDTO request
+    ) {
+        return ResponseEntity.ok(workoutMetadataBatchService.calculateMetadata(request));
+    }
+
+    // The backfill is started by cyctius.metadata.backfill.run-on-startup, not by users.
+    @GetMapping("/backfill")
+    ResponseEntity<MetadataBackfillStatusDTO> getBackfillStatus() {
+        return ResponseEntity.ok(workoutMetadataBackfillService.getStatus());
+    }
+}
@@ -0,0 +1,141 @@
+package com.cyctius.core.calculator;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Memoizes a {@link SessionCalculator} on quantized inputs.
+ *
+ * Inputs are snapped by a {@link SessionInputQuantizer} before the delegate sees them, so every
+ * request on the same grid point gets exactly the same prescription, cached or not.
+ * Entries are evicted least-recently-used past {@code maxEntries} and expire after {@code ttl}.
+ * Hits, misses, evictions and size are exported as {@code cyctius.sessions.cache.*}, tagged
+ * with the calculator name.
+ *
+ * @param <A> The type of the athlete profile
+ * @param <P> The type of input parameters
+ * @param <R> The type of the resulting session
+ */
+public class MemoizingSessionCalculator<A, P, R> implements SessionCalculator<A, P, R> {
+
+    private static final String METRIC_PREFIX = "cyctius.sessions.cache";
+
+    private final SessionCalculator<A, P, R> delegate;
+    private final SessionInputQuantizer<A, P> quantizer;
+    private final UnaryOperator<R> copier;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<Key<A, P>, Entry<R>> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param copier copies a cached session before it is handed out, since sessions are mutable
+     */
+    public MemoizingSessionCalculator(
+        final String name,
+        final SessionCalculator<A, P, R> delegate,
+        final SessionInputQuantizer<A, P> quantizer,
+        final UnaryOperator<R> copier,
+        final int maxEntries,
+        final Duration ttl,
+        final MeterRegistry meterRegistry
+    ) {
+        this(name, delegate, quantizer, copier, maxEntries, ttl, meterRegistry, System::nanoTime);
+    }
+
+    MemoizingSessionCalculator(
+        final String name,
+        final SessionCalculator<A, P, R> delegate,
+        final SessionInputQuantizer<A, P> quantizer,
+        final UnaryOperator<R> copier,
+        final int maxEntries,
+        final Duration ttl,
+        final MeterRegistry meterRegistry,
+        final LongSupplier clock
+    ) {
+        this.delegate = delegate;
+        this.quantizer = quantizer;
+        this.copier = copier;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key<A, P>, Entry<R>> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", hits, AtomicLong::get)
+                .tag("calculator", name)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", misses, AtomicLong::get)
+                .tag("calculator", name)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, AtomicLong::get)
+                .tag("calculator", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, MemoizingSessionCalculator::size)
+                .tag("calculator", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public R calculate(final A athlete, final P parameters) {
+        final Key<A, P> key = new Key<>(quantizer.quantizeAthlete(athlete), quantizer.quantizeParameters(parameters));
+        final long now = clock.getAsLong();
+
+        Entry<R> cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+            if (cached != null && now - cached.createdAt() >= ttlNanos) {
+                cache.remove(key);
+                cached = null;
+            }
+        }
+
+        if (cached != null) {
+            hits.incrementAndGet();
+            return copy(cached.session());
+        }
+
+        misses.incrementAndGet();
+        final R session = delegate.calculate(key.athlete(), key.parameters());
+        synchronized (cache) {
+            cache.put(key, new Entry<>(session, now));
+        }
+        return copy(session);
+    }
+
+    private R copy(final R session) {
+        return session == null ? null : copier.apply(session);
+    }
+
+    private double size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private record Key<A, P>(A athlete, P parameters) {
+    }
+
+    private record Entry<R>(R session, long createdAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.cyctius.core.calculator;
+
+/**
+ * Snaps session calculator inputs to a coarse grid, so requests that differ below the
+ * precision of the model share one memoized prescription.
+ *
+ * @param <A> The type of the athlete profile
+ * @param <P> The type of input parameters
+ */
+public interface SessionInputQuantizer<A, P> {
+    A quantizeAthlete(A athlete);
+
+    P quantizeParameters(P parameters);
+}
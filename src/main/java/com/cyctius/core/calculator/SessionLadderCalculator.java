@@ -0,0 +1,30 @@
+package com.cyctius.core.calculator;
+
+import java.util.List;
+
+/**
+ * Session calculator that can prescribe the whole score range at once.
+ *
+ * @param <A> The type of the athlete profile
+ * @param <P> The type of input parameters
+ * @param <R> The type of the resulting session
+ */
+public interface SessionLadderCalculator<A, P, R> extends SessionCalculator<A, P, R> {
+
+    /**
+     * Number of scores in a ladder: 1.0 to 10.0 in steps of 0.1.
+     */
+    int STEPS = 91;
+
+    /**
+     * Calculates the session for every score of the ladder; the score in {@code parameters} is ignored.
+     *
+     * @return {@link #STEPS} sessions, the one at index {@code i} for {@link #scoreAt(int) scoreAt(i)},
+     *         null where no session fits
+     */
+    List<R> calculateLadder(A athlete, P parameters);
+
+    static double scoreAt(final int step) {
+        return (10 + step) / 10.0;
+    }
+}
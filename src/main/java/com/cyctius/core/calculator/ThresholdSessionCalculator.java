@@ -1,12 +1,18 @@
 package com.cyctius.core.calculator;
 
+import com.cyctius.core.model.CriticalPowerModel;
 import com.cyctius.core.parameters.ThresholdSessionParameters;
+import com.cyctius.core.profile.PowerDurationCurve;
 import com.cyctius.core.profile.ThresholdAthleteProfile;
 import com.cyctius.core.session.ThresholdSession;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * Математическая модель планирования Threshold и Sweet Spot сессий на основе кривой Power-Duration (PD).
  *
@@ -17,6 +23,7 @@ import org.springframework.stereotype.Component;
  * 2. Использование PD-кривой (Power-Duration):
  *    Кривая PD представляет собой "All-out" возможности атлета. Для любой длительности T
  *    мы можем найти максимальную мощность P_max, которую атлет способен выдать.
+ *    Если в профиле есть подобранная модель CP / W', P_max берётся из неё.
  *
  * 3. Расчет интенсивности (Интенсивность как производная от времени и Score):
  *    - База: Суммарное время работы (TiZ) определяется из общего времени сессии и коэффициента отдыха.
@@ -43,7 +50,7 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 @Component
-public class ThresholdSessionCalculator implements SessionCalculator<ThresholdAthleteProfile, ThresholdSessionParameters, ThresholdSession> {
+public class ThresholdSessionCalculator implements SessionLadderCalculator<ThresholdAthleteProfile, ThresholdSessionParameters, ThresholdSession> {
 
     @Override
     public ThresholdSession calculate(ThresholdAthleteProfile athlete, ThresholdSessionParameters parameters) {
@@ -51,6 +58,49 @@ public class ThresholdSessionCalculator implements SessionCalculator<ThresholdAt
             throw new IllegalArgumentException("Invalid session parameters");
         }
 
+        return calculate(powerLimit(athlete), parameters);
+    }
+
+    /**
+     * Evaluates the profile's compiled PD curve (or fitted model) for every score.
+     */
+    @Override
+    public List<ThresholdSession> calculateLadder(ThresholdAthleteProfile athlete, ThresholdSessionParameters parameters) {
+        if (parameters == null || !ladderStep(parameters, 0).isValid()) {
+            throw new IllegalArgumentException("Invalid session parameters");
+        }
+
+        DoubleUnaryOperator powerLimit = powerLimit(athlete);
+        List<ThresholdSession> ladder = new ArrayList<>(STEPS);
+        for (int step = 0; step < STEPS; step++) {
+            ladder.add(calculate(powerLimit, ladderStep(parameters, step)));
+        }
+        return ladder;
+    }
+
+    private static ThresholdSessionParameters ladderStep(ThresholdSessionParameters parameters, int step) {
+        return ThresholdSessionParameters.builder()
+                .score(SessionLadderCalculator.scoreAt(step))
+                .durationMinutes(parameters.getDurationMinutes())
+                .intervalType(parameters.getIntervalType())
+                .build();
+    }
+
+    /**
+     * @return maximal power (% of FTP) by duration: the fitted CP model if the profile has one, else the PD curve
+     */
+    private static DoubleUnaryOperator powerLimit(ThresholdAthleteProfile athlete) {
+        CriticalPowerModel model = athlete.getCriticalPowerModel();
+        if (model != null) {
+            double ftp = athlete.getFtp();
+            return durationSeconds -> model.powerAt(durationSeconds) / ftp * 100.0;
+        }
+
+        PowerDurationCurve powerDurationCurve = athlete.powerDurationCurve();
+        return powerDurationCurve::powerAt;
+    }
+
+    private ThresholdSession calculate(DoubleUnaryOperator powerLimit, ThresholdSessionParameters parameters) {
         double score = parameters.getScore();
         double totalSessionSec = parameters.getDurationMinutes() * 60.0;
 
@@ -63,7 +113,7 @@ public class ThresholdSessionCalculator implements SessionCalculator<ThresholdAt
         double totalWorkSec = totalSessionSec / (1.0 + restRatio);
 
         // 3. Теоретический предел мощности для этого времени по PD-кривой
-        double pMaxPercent = athlete.getPowerAtDuration(totalWorkSec);
+        double pMaxPercent = powerLimit.applyAsDouble(totalWorkSec);
 
         // 4. Целевая интенсивность (% от лимита)
         // Score 10.0 -> 100% от pMax, Score 1.0 -> 80% от pMax
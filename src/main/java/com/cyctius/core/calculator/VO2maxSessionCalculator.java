@@ -1,17 +1,28 @@
 package com.cyctius.core.calculator;
 
+import com.cyctius.core.calculator.search.BranchAndBoundSearch;
+import com.cyctius.core.calculator.search.Incumbent;
+import com.cyctius.core.calculator.search.ParetoFront;
+import com.cyctius.core.calculator.search.SearchProblem;
+import com.cyctius.core.enums.SessionSolverMode;
 import com.cyctius.core.parameters.VO2maxSessionParameters;
 import com.cyctius.core.profile.AthleteVO2MaxProfile;
 import com.cyctius.core.session.VO2maxSession;
+import com.cyctius.core.session.VO2maxSessionAlternatives;
 
+import jakarta.annotation.PreDestroy;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,6 +36,8 @@ import org.springframework.stereotype.Component;
  * 2. Расчет профиля атлета:
  *    - W' рассчитывается на основе рекордов времени до отказа (TTE) на мощностях 106% и 120% FTP.
  *    - Формула: W' = (P_target - FTP) * TTE_seconds.
+ *    - Если в профиле есть подобранная модель CP / W' ({@link com.cyctius.core.engine.CriticalPowerFitter}),
+ *      используются её CP и W'.
  *
  * 3. Динамика W' Balance:
  *    - Расход (Работа P > CP): W'bal уменьшается линейно: ΔW' = (P_work - CP) * t_work.
@@ -46,10 +59,71 @@ import org.springframework.stereotype.Component;
  *      c) Отклонения мощности от базового значения.
  *    - Веса штрафов: Cost = Error_W' * 1.0 + Deviation_Time * 0.3 + Deviation_Power * 0.3.
  *    - Это обеспечивает "линейность" и предсказуемость: параметры меняются плавно, сохраняя структуру типа.
+ *
+ * 6. Аналитический режим ({@link SessionSolverMode#ANALYTIC}):
+ *    - При фиксированных N, t_work и t_rest итоговый W'bal аффинен по p_work:
+ *      W'bal = W'max - (p_work - CP) * t_work * S, где S = Σ_{k=0}^{N-1} e^(-k * t_rest / τ).
+ *    - Отсюда максимальная допустимая мощность p* находится в замкнутой форме, а стоимость
+ *      выпукла по p_work (кусочно-линейна с изломом в p_base). Минимум достигается в p_min,
+ *      рядом с p_base или на границе p*, поэтому перебор сводится к (N, t_work).
+ *    - Кандидаты оцениваются той же арифметикой, что и полный перебор, поэтому результат совпадает.
  */
 @Slf4j
 @Component
-public class VO2maxSessionCalculator implements SessionCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> {
+public class VO2maxSessionCalculator implements SessionLadderCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> {
+
+    /**
+     * Relative distance below which the closed form defers to the simulation.
+     */
+    private static final double EXACT_MARGIN = 1e-9;
+
+    private final SessionSolverMode solverMode;
+    private final ForkJoinPool ownPool;
+    private final BranchAndBoundSearch search;
+
+    public VO2maxSessionCalculator() {
+        this(SessionSolverMode.ANALYTIC);
+    }
+
+    /**
+     * Searches on the common pool; for use outside the application context.
+     */
+    public VO2maxSessionCalculator(final SessionSolverMode solverMode) {
+        this(solverMode, ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Searches on a dedicated, bounded {@link ForkJoinPool}, so request threads do not compete
+     * with other parallel streams on the common pool.
+     */
+    @Autowired
+    public VO2maxSessionCalculator(
+        @Value("${cyctius.sessions.solver:ANALYTIC}") final SessionSolverMode solverMode,
+        @Value("${cyctius.sessions.search.parallelism:0}") final int parallelism
+    ) {
+        this(solverMode, new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()));
+    }
+
+    private VO2maxSessionCalculator(final SessionSolverMode solverMode, final ForkJoinPool pool) {
+        this(solverMode, pool, pool);
+    }
+
+    private VO2maxSessionCalculator(
+        final SessionSolverMode solverMode,
+        final ForkJoinPool pool,
+        final ForkJoinPool ownPool
+    ) {
+        this.solverMode = solverMode;
+        this.ownPool = ownPool;
+        this.search = new BranchAndBoundSearch(pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownPool != null) {
+            ownPool.shutdown();
+        }
+    }
 
     @Override
     public VO2maxSession calculate(AthleteVO2MaxProfile athlete, VO2maxSessionParameters parameters) {
@@ -62,8 +136,15 @@ public class VO2maxSessionCalculator implements SessionCalculator<AthleteVO2MaxP
 
         Config config = getConfig(parameters.getIntervalType());
         
-        BestSetup bestSetup = findBestSetup(athlete, parameters, targetWBal, restPower, tau, config);
+        BestSetup bestSetup = solverMode == SessionSolverMode.ANALYTIC
+                ? findBestSetupAnalytic(athlete, parameters, targetWBal, tau, config)
+                : findBestSetup(athlete, parameters, targetWBal, restPower, tau, config);
+
+        return toSession(athlete, parameters, restPower, bestSetup);
+    }
 
+    private VO2maxSession toSession(AthleteVO2MaxProfile athlete, VO2maxSessionParameters parameters,
+                                    double restPower, BestSetup bestSetup) {
         if (bestSetup == null) {
             return null;
         }
@@ -117,12 +198,323 @@ public class VO2maxSessionCalculator implements SessionCalculator<AthleteVO2MaxP
         return best;
     }
 
+    /**
+     * Same search as {@link #findBestSetup}, run by {@link BranchAndBoundSearch} over
+     * repeats × work duration with the power factor solved per pair (see {@link Sweep}).
+     */
+    private BestSetup findBestSetupAnalytic(AthleteVO2MaxProfile athlete, VO2maxSessionParameters parameters,
+                                            double targetWBal, double tau, Config config) {
+        int totalDurationSec = parameters.getDurationMinutes() * 60;
+        return search.search(minRepeats(config, totalDurationSec), maxRepeats(config, totalDurationSec),
+                config.tMin, config.tMax, new AnalyticSearch(new Sweep(athlete, tau, config, totalDurationSec), targetWBal));
+    }
+
+    /**
+     * Evaluates every score of {@link SessionLadderCalculator#STEPS} in one sweep: W', τ and the
+     * power grid are computed once, and each (repeats, work duration) pair is solved once and then
+     * checked against the target W'bal of every score. With {@link SessionSolverMode#BRUTE_FORCE}
+     * the scores are calculated one by one.
+     */
+    @Override
+    public List<VO2maxSession> calculateLadder(AthleteVO2MaxProfile athlete, VO2maxSessionParameters parameters) {
+        if (parameters == null || !ladderStep(parameters, 0).isValid()) {
+            throw new IllegalArgumentException("Invalid session parameters");
+        }
+
+        List<VO2maxSession> ladder = new ArrayList<>(STEPS);
+        if (solverMode == SessionSolverMode.BRUTE_FORCE) {
+            for (int step = 0; step < STEPS; step++) {
+                ladder.add(calculate(athlete, ladderStep(parameters, step)));
+            }
+            return ladder;
+        }
+
+        double wPrime = athlete.calculateWPrime();
+        double restPower = athlete.getFtp() * 0.4;
+        int totalDurationSec = parameters.getDurationMinutes() * 60;
+        Config config = getConfig(parameters.getIntervalType());
+        Sweep sweep = new Sweep(athlete, athlete.calculateTau(restPower), config, totalDurationSec);
+
+        double[] targets = new double[STEPS];
+        double[] costs = new double[STEPS];
+        BestSetup[] setups = new BestSetup[STEPS];
+        for (int step = 0; step < STEPS; step++) {
+            targets[step] = wPrime * (1 - (SessionLadderCalculator.scoreAt(step) / 10.0));
+            costs[step] = Double.MAX_VALUE;
+        }
+
+        // Same order as the brute-force loop, so ties go to the same setup.
+        for (int n = minRepeats(config, totalDurationSec); n <= maxRepeats(config, totalDurationSec); n++) {
+            for (int tWork = config.tMin; tWork <= config.tMax; tWork++) {
+                if (isTotalWorkExceed(totalDurationSec, n, tWork)) break;
+
+                Solution solution = sweep.solution(n, tWork);
+                if (solution == null) continue;
+
+                double lowerBound = sweep.lowerBound(tWork);
+                for (int step = 0; step < STEPS; step++) {
+                    if (lowerBound > costs[step]) continue;
+
+                    Candidate candidate = sweep.bestCandidate(solution, targets[step], costs[step]);
+                    if (candidate != null && candidate.cost < costs[step]) {
+                        costs[step] = candidate.cost;
+                        setups[step] = candidate.setup;
+                    }
+                }
+            }
+        }
+
+        for (int step = 0; step < STEPS; step++) {
+            ladder.add(toSession(athlete, ladderStep(parameters, step), restPower, setups[step]));
+        }
+        return ladder;
+    }
+
+    /**
+     * Returns up to {@code limit} non-dominated setups across W'bal error, work duration deviation
+     * and power deviation, one per number of repeats, collected in a {@link ParetoFront} during a
+     * single sweep. The first alternative is the session {@link #calculate} returns.
+     */
+    public VO2maxSessionAlternatives calculateAlternatives(AthleteVO2MaxProfile athlete,
+                                                           VO2maxSessionParameters parameters, int limit) {
+        if (parameters == null || !parameters.isValid() || limit < 1) {
+            throw new IllegalArgumentException("Invalid session parameters");
+        }
+
+        double targetWBal = athlete.calculateWPrime() * (1 - (parameters.getScore() / 10.0));
+        double restPower = athlete.getFtp() * 0.4;
+        int totalDurationSec = parameters.getDurationMinutes() * 60;
+        Config config = getConfig(parameters.getIntervalType());
+        Sweep sweep = new Sweep(athlete, athlete.calculateTau(restPower), config, totalDurationSec);
+
+        ParetoFront<VO2maxSessionAlternatives.Alternative> front = new ParetoFront<>(limit);
+        for (int n = minRepeats(config, totalDurationSec); n <= maxRepeats(config, totalDurationSec); n++) {
+            Candidate best = null;
+            for (int tWork = config.tMin; tWork <= config.tMax; tWork++) {
+                if (isTotalWorkExceed(totalDurationSec, n, tWork)) break;
+
+                double bestCost = best == null ? Double.MAX_VALUE : best.cost;
+                if (sweep.lowerBound(tWork) > bestCost) continue;
+
+                Solution solution = sweep.solution(n, tWork);
+                if (solution == null) continue;
+
+                Candidate candidate = sweep.bestCandidate(solution, targetWBal, bestCost);
+                if (candidate != null && (best == null || candidate.cost < best.cost)) {
+                    best = candidate;
+                }
+            }
+            if (best == null) continue;
+
+            double tDeviation = sweep.workDeviation(best.setup.tWork);
+            front.offer(new double[]{best.wError, tDeviation, best.pDeviation}, best.cost,
+                    VO2maxSessionAlternatives.Alternative.builder()
+                            .session(toSession(athlete, parameters, restPower, best.setup))
+                            .wBalError(best.wError)
+                            .durationDeviation(tDeviation)
+                            .powerDeviation(best.pDeviation)
+                            .cost(best.cost)
+                            .build());
+        }
+
+        return VO2maxSessionAlternatives.builder()
+                .score(parameters.getScore())
+                .alternatives(front.toList())
+                .build();
+    }
+
+    private static VO2maxSessionParameters ladderStep(VO2maxSessionParameters parameters, int step) {
+        return VO2maxSessionParameters.builder()
+                .score(SessionLadderCalculator.scoreAt(step))
+                .durationMinutes(parameters.getDurationMinutes())
+                .intervalType(parameters.getIntervalType())
+                .build();
+    }
+
+    /**
+     * {@link Sweep} for one target W'bal, run by {@link BranchAndBoundSearch}.
+     */
+    private final class AnalyticSearch implements SearchProblem<BestSetup> {
+        private final Sweep sweep;
+        private final double targetWBal;
+
+        private AnalyticSearch(Sweep sweep, double targetWBal) {
+            this.sweep = sweep;
+            this.targetWBal = targetWBal;
+        }
+
+        @Override
+        public double lowerBound(int n, int tWork) {
+            return sweep.lowerBound(tWork);
+        }
+
+        @Override
+        public boolean innerExhausted(int n, int tWork) {
+            return isTotalWorkExceed(sweep.totalDurationSec, n, tWork);
+        }
+
+        @Override
+        public void evaluate(int n, int tWork, Incumbent<BestSetup> incumbent) {
+            Solution solution = sweep.solution(n, tWork);
+            if (solution == null) return;
+
+            Candidate candidate = sweep.bestCandidate(solution, targetWBal, incumbent.cost());
+            if (candidate != null) {
+                incumbent.offer(n, tWork, candidate.index, candidate.cost, candidate.setup);
+            }
+        }
+    }
+
+    /**
+     * Target-independent part of the analytic search for one athlete, interval type and duration.
+     *
+     * Only the grid points where the convex cost can be minimal are evaluated: the lowest
+     * factor, the two around {@code pBase} and the highest factor that still reaches the target.
+     * They are evaluated in closed form; whenever that is within {@link #EXACT_MARGIN} of a
+     * decision (feasibility or the best cost so far) the brute-force simulation decides, so the
+     * chosen setup is the same. The time and power deviation terms bound the cost of a pair
+     * before anything is simulated.
+     */
+    private final class Sweep {
+        private final AthleteVO2MaxProfile athlete;
+        private final double tau;
+        private final Config config;
+        private final int totalDurationSec;
+        private final double wPrime;
+        private final double cp;
+        private final double[] pFactors;
+        private final int baseIndex;
+        private final double minPowerDeviation;
+
+        private Sweep(AthleteVO2MaxProfile athlete, double tau, Config config, int totalDurationSec) {
+            this.athlete = athlete;
+            this.tau = tau;
+            this.config = config;
+            this.totalDurationSec = totalDurationSec;
+            this.wPrime = athlete.calculateWPrime();
+            this.cp = athlete.calculateCriticalPower();
+            this.pFactors = config.powerFactors();
+            this.baseIndex = floorIndex(pFactors, config.pBase);
+
+            double deviation = Double.MAX_VALUE;
+            for (double pFactor : pFactors) {
+                deviation = Math.min(deviation, Math.abs(pFactor - config.pBase) / config.pBase);
+            }
+            this.minPowerDeviation = deviation;
+        }
+
+        double lowerBound(int tWork) {
+            return workDeviation(tWork) * 0.3 + minPowerDeviation * 0.3;
+        }
+
+        /**
+         * @return the final W'bal model of (n, tWork), or null if the pair is not a valid session
+         */
+        Solution solution(int n, int tWork) {
+            if (n <= 1) return null;
+
+            int tRest = calculateRestDuration(totalDurationSec, n, tWork);
+            if (isRestDurationTooShort(totalDurationSec, n, tWork)) return null;
+
+            double recovery = Math.exp(-tRest / tau);
+            // W'bal = W'max - (pWork - CP) * tWork * Σ_{k<n} recovery^k
+            double drain = tWork * (1.0 - Math.pow(recovery, n)) / (1.0 - recovery);
+            return new Solution(athlete, n, tWork, tRest, recovery, wPrime, cp, drain);
+        }
+
+        /**
+         * @return the cheapest power factor of {@code solution} costing at most {@code bestCost}
+         *         (the lowest one on ties), or null
+         */
+        Candidate bestCandidate(Solution solution, double targetWBal, double bestCost) {
+            double pStar = (cp + (wPrime - targetWBal) / solution.drain) / athlete.getFtp();
+            int upper = floorIndex(pFactors, pStar);
+            while (upper >= 0 && !solution.reachesTarget(pFactors[upper], targetWBal)) {
+                upper--;
+            }
+            while (upper + 1 < pFactors.length && solution.reachesTarget(pFactors[upper + 1], targetWBal)) {
+                upper++;
+            }
+            if (upper < 0) return null;
+
+            double tDeviation = workDeviation(solution.tWork);
+            Candidate best = null;
+            double bound = bestCost;
+            int previous = -1;
+            for (int candidate : new int[]{0, Math.min(baseIndex, upper), Math.min(baseIndex + 1, upper), upper}) {
+                if (candidate <= previous) continue;
+                previous = candidate;
+
+                double pFactor = pFactors[candidate];
+                double pDeviation = Math.abs(pFactor - config.pBase) / config.pBase;
+                double wError = Math.abs(solution.finalWBal(pFactor) - targetWBal) / wPrime;
+                if (wError * 1.0 + tDeviation * 0.3 + pDeviation * 0.3 >= bound + EXACT_MARGIN) continue;
+
+                double pWork = athlete.getFtp() * pFactor;
+                wError = Math.abs(solution.simulate(pWork) - targetWBal) / wPrime;
+                double cost = wError * 1.0 + tDeviation * 0.3 + pDeviation * 0.3;
+
+                if (best == null ? cost <= bound : cost < best.cost) {
+                    best = new Candidate(candidate, cost, wError, pDeviation,
+                            new BestSetup(solution.n, solution.tWork, pWork, solution.tRest));
+                    bound = cost;
+                }
+            }
+            return best;
+        }
+
+        private double workDeviation(int tWork) {
+            return Math.abs(tWork - config.tBase) / (double) config.tBase;
+        }
+    }
+
+    private static final class Candidate {
+        final int index;
+        final double cost;
+        final double wError;
+        final double pDeviation;
+        final BestSetup setup;
+
+        Candidate(int index, double cost, double wError, double pDeviation, BestSetup setup) {
+            this.index = index;
+            this.cost = cost;
+            this.wError = wError;
+            this.pDeviation = pDeviation;
+            this.setup = setup;
+        }
+    }
+
+    /**
+     * @return index of the last factor {@code <= value}, or -1
+     */
+    private static int floorIndex(double[] pFactors, double value) {
+        int low = 0;
+        int high = pFactors.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (pFactors[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
     private List<Integer> getRepeatRange(Config config, int totalDurationSec) {
+        return IntStream.rangeClosed(minRepeats(config, totalDurationSec), maxRepeats(config, totalDurationSec))
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    private static int minRepeats(Config config, int totalDurationSec) {
         int nIdeal = (int) (totalDurationSec / (config.tBase * 2.0));
-        int nMin = Math.max(2, (int) (nIdeal * 0.5));
-        int nMax = Math.max(nMin + 1, (int) (nIdeal * 2.0));
+        return Math.max(2, (int) (nIdeal * 0.5));
+    }
 
-        return IntStream.rangeClosed(nMin, nMax).boxed().collect(Collectors.toList());
+    private static int maxRepeats(Config config, int totalDurationSec) {
+        int nIdeal = (int) (totalDurationSec / (config.tBase * 2.0));
+        return Math.max(minRepeats(config, totalDurationSec) + 1, (int) (nIdeal * 2.0));
     }
 
     private List<Integer> getWorkDurationRange(Config config, int totalDurationSec) {
@@ -148,7 +540,7 @@ public class VO2maxSessionCalculator implements SessionCalculator<AthleteVO2MaxP
     private double simulateFast(AthleteVO2MaxProfile athlete, int n, int tWork, double pWork, double tRest, double tau) {
         double wBal = athlete.calculateWPrime();
         double wMax = athlete.calculateWPrime();
-        double cp = athlete.getFtp();
+        double cp = athlete.calculateCriticalPower();
 
         for (int i = 0; i < n; i++) {
             wBal -= (pWork - cp) * tWork;
@@ -159,6 +551,58 @@ public class VO2maxSessionCalculator implements SessionCalculator<AthleteVO2MaxP
         return wBal;
     }
 
+    /**
+     * Final W'bal of one (n, tWork, tRest) as a function of the power factor.
+     */
+    private static final class Solution {
+        private final AthleteVO2MaxProfile athlete;
+        private final int n;
+        private final int tWork;
+        private final int tRest;
+        private final double recovery;
+        private final double wMax;
+        private final double cp;
+        private final double drain;
+
+        private Solution(AthleteVO2MaxProfile athlete, int n, int tWork, int tRest, double recovery, double wMax,
+                         double cp, double drain) {
+            this.athlete = athlete;
+            this.n = n;
+            this.tWork = tWork;
+            this.tRest = tRest;
+            this.recovery = recovery;
+            this.wMax = wMax;
+            this.cp = cp;
+            this.drain = drain;
+        }
+
+        double finalWBal(double pFactor) {
+            return wMax - (athlete.getFtp() * pFactor - cp) * drain;
+        }
+
+        boolean reachesTarget(double pFactor, double targetWBal) {
+            double closedForm = finalWBal(pFactor);
+            if (Math.abs(closedForm - targetWBal) > EXACT_MARGIN * wMax) {
+                return closedForm >= targetWBal;
+            }
+            return !(simulate(athlete.getFtp() * pFactor) < targetWBal);
+        }
+
+        /**
+         * {@link VO2maxSessionCalculator#simulateFast} with W' and the recovery factor computed once.
+         */
+        double simulate(double pWork) {
+            double wBal = wMax;
+            for (int i = 0; i < n; i++) {
+                wBal -= (pWork - cp) * tWork;
+                if (i < n - 1) {
+                    wBal = wMax - (wMax - wBal) * recovery;
+                }
+            }
+            return wBal;
+        }
+    }
+
     private Config getConfig(VO2maxSessionParameters.VO2maxIntervalType type) {
         switch (type) {
             case SHORT:
@@ -192,6 +636,18 @@ public class VO2maxSessionCalculator implements SessionCalculator<AthleteVO2MaxP
             this.pBase = pBase;
             this.tStep = tStep;
         }
+
+        /**
+         * Power factors visited by the brute-force loop, accumulated the same way so both
+         * solvers compare identical values.
+         */
+        double[] powerFactors() {
+            List<Double> factors = new ArrayList<>();
+            for (double pFactor = pMin; pFactor <= pMax; pFactor += 0.01) {
+                factors.add(pFactor);
+            }
+            return factors.stream().mapToDouble(Double::doubleValue).toArray();
+        }
     }
 
     private static class BestSetup {
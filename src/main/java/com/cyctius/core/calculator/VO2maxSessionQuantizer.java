@@ -0,0 +1,62 @@
+package com.cyctius.core.calculator;
+
+import com.cyctius.core.model.CriticalPowerModel;
+import com.cyctius.core.parameters.VO2maxSessionParameters;
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+
+/**
+ * Score to 0.1 and times to exhaustion to 5 s; FTP, duration and interval type are already discrete.
+ * Of a fitted critical power model only CP (to 1 W) and W' (to 100 J) reach the calculator, so its
+ * type and fit error are dropped and athletes with nearly the same fit share a grid point.
+ * The quantized session's score is the rounded one.
+ */
+public class VO2maxSessionQuantizer implements SessionInputQuantizer<AthleteVO2MaxProfile, VO2maxSessionParameters> {
+
+    private static final double SCORE_STEPS_PER_POINT = 10.0;
+    private static final double TTE_STEPS_PER_MINUTE = 12.0; // 5 s
+    private static final double CP_STEPS_PER_WATT = 1.0;
+    private static final double W_PRIME_STEPS_PER_JOULE = 0.01; // 100 J
+
+    @Override
+    public AthleteVO2MaxProfile quantizeAthlete(final AthleteVO2MaxProfile athlete) {
+        if (athlete == null) {
+            return null;
+        }
+
+        return AthleteVO2MaxProfile.builder()
+                .ftp(athlete.getFtp())
+                .tte120Min(round(athlete.getTte120Min(), TTE_STEPS_PER_MINUTE))
+                .tte106Min(round(athlete.getTte106Min(), TTE_STEPS_PER_MINUTE))
+                .criticalPowerModel(quantizeModel(athlete.getCriticalPowerModel()))
+                .build();
+    }
+
+    @Override
+    public VO2maxSessionParameters quantizeParameters(final VO2maxSessionParameters parameters) {
+        if (parameters == null || !parameters.isValid()) {
+            // Rounding could make out-of-range input valid; let the calculator reject it as is.
+            return parameters;
+        }
+
+        return VO2maxSessionParameters.builder()
+                .score(round(parameters.getScore(), SCORE_STEPS_PER_POINT))
+                .durationMinutes(parameters.getDurationMinutes())
+                .intervalType(parameters.getIntervalType())
+                .build();
+    }
+
+    private static CriticalPowerModel quantizeModel(final CriticalPowerModel model) {
+        if (model == null) {
+            return null;
+        }
+
+        return CriticalPowerModel.builder()
+                .criticalPower(round(model.getCriticalPower(), CP_STEPS_PER_WATT))
+                .wPrime(round(model.getWPrime(), W_PRIME_STEPS_PER_JOULE))
+                .build();
+    }
+
+    private static Double round(final Double value, final double stepsPerUnit) {
+        return value == null ? null : Math.round(value * stepsPerUnit) / stepsPerUnit;
+    }
+}
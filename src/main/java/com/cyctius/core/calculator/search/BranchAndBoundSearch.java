@@ -0,0 +1,86 @@
+package com.cyctius.core.calculator.search;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Branch-and-bound over {@code [outerFrom, outerTo] × [innerFrom, innerTo]}.
+ *
+ * The outer range is split across a {@link ForkJoinPool}; every worker walks its inner range
+ * in order, skips pairs whose {@link SearchProblem#lowerBound} exceeds the shared
+ * {@link Incumbent} cost, and evaluates the rest. Pruning is strict and ties are broken by
+ * setup order, so the result is the one a sequential nested loop would return.
+ */
+public final class BranchAndBoundSearch {
+
+    private final ForkJoinPool pool;
+
+    public BranchAndBoundSearch(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return the best setup, or null if no setup was offered
+     */
+    public <S> S search(
+        final int outerFrom,
+        final int outerTo,
+        final int innerFrom,
+        final int innerTo,
+        final SearchProblem<S> problem
+    ) {
+        final Incumbent<S> incumbent = new Incumbent<>();
+        if (outerFrom > outerTo || innerFrom > innerTo) {
+            return null;
+        }
+
+        pool.invoke(new OuterRange<>(outerFrom, outerTo, innerFrom, innerTo, problem, incumbent));
+        return incumbent.setup();
+    }
+
+    private static final class OuterRange<S> extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int innerFrom;
+        private final int innerTo;
+        private final SearchProblem<S> problem;
+        private final Incumbent<S> incumbent;
+
+        private OuterRange(
+            final int from,
+            final int to,
+            final int innerFrom,
+            final int innerTo,
+            final SearchProblem<S> problem,
+            final Incumbent<S> incumbent
+        ) {
+            this.from = from;
+            this.to = to;
+            this.innerFrom = innerFrom;
+            this.innerTo = innerTo;
+            this.problem = problem;
+            this.incumbent = incumbent;
+        }
+
+        @Override
+        protected void compute() {
+            if (from < to) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(
+                        new OuterRange<>(from, mid, innerFrom, innerTo, problem, incumbent),
+                        new OuterRange<>(mid + 1, to, innerFrom, innerTo, problem, incumbent));
+                return;
+            }
+
+            for (int inner = innerFrom; inner <= innerTo; inner++) {
+                if (problem.innerExhausted(from, inner)) {
+                    return;
+                }
+                if (problem.lowerBound(from, inner) > incumbent.cost()) {
+                    continue;
+                }
+                problem.evaluate(from, inner, incumbent);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.cyctius.core.calculator.search;
+
+/**
+ * Best setup found so far, shared by all workers of a search.
+ *
+ * @param <S> the setup type
+ */
+public final class Incumbent<S> {
+
+    private volatile double cost = Double.MAX_VALUE;
+    private int outer;
+    private int inner;
+    private int leaf;
+    private S setup;
+
+    /**
+     * @return the best cost so far; only ever decreases, so a stale read is still a valid bound
+     */
+    public double cost() {
+        return cost;
+    }
+
+    /**
+     * Offers a setup; it replaces the incumbent if it is cheaper, or equally cheap and earlier
+     * in (outer, inner, leaf) order.
+     */
+    public synchronized void offer(final int outer, final int inner, final int leaf, final double cost, final S setup) {
+        if (cost < this.cost || (cost == this.cost && this.setup != null && precedes(outer, inner, leaf))) {
+            this.cost = cost;
+            this.outer = outer;
+            this.inner = inner;
+            this.leaf = leaf;
+            this.setup = setup;
+        }
+    }
+
+    synchronized S setup() {
+        return setup;
+    }
+
+    private boolean precedes(final int outer, final int inner, final int leaf) {
+        if (outer != this.outer) {
+            return outer < this.outer;
+        }
+        if (inner != this.inner) {
+            return inner < this.inner;
+        }
+        return leaf < this.leaf;
+    }
+}
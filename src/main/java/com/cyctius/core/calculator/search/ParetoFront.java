@@ -0,0 +1,82 @@
+package com.cyctius.core.calculator.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The cheapest mutually non-dominated setups of a search, kept in a bounded heap.
+ *
+ * A setup dominates another when none of its objectives is higher and at least one is lower.
+ * An offered setup dominated by a kept one is rejected; kept setups it dominates are dropped;
+ * past {@code capacity} the most expensive setup is dropped. With non-negative weights a
+ * dominating setup is always cheaper, so the cheapest setup offered is always kept. A setup
+ * dropped on cost is not reconsidered if later offers free up room.
+ *
+ * Not thread safe.
+ *
+ * @param <S> the setup type
+ */
+public final class ParetoFront<S> {
+
+    private final int capacity;
+    private final PriorityQueue<Entry<S>> heap;
+    private long offers;
+
+    public ParetoFront(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        // Most expensive on top; among equal costs the latest offer goes first.
+        this.heap = new PriorityQueue<>(capacity + 1, Comparator.<Entry<S>>comparingDouble(Entry::cost)
+                .thenComparingLong(Entry::order)
+                .reversed());
+    }
+
+    public void offer(final double[] objectives, final double cost, final S setup) {
+        if (heap.size() == capacity && cost >= heap.peek().cost()) {
+            return;
+        }
+        for (Entry<S> kept : heap) {
+            if (dominates(kept.objectives(), objectives)) {
+                return;
+            }
+        }
+
+        heap.removeIf(kept -> dominates(objectives, kept.objectives()));
+        heap.add(new Entry<>(objectives.clone(), cost, offers++, setup));
+        if (heap.size() > capacity) {
+            heap.poll();
+        }
+    }
+
+    /**
+     * @return the kept setups, cheapest first
+     */
+    public List<S> toList() {
+        final List<Entry<S>> entries = new ArrayList<>(heap);
+        entries.sort(Comparator.<Entry<S>>comparingDouble(Entry::cost).thenComparingLong(Entry::order));
+
+        final List<S> setups = new ArrayList<>(entries.size());
+        for (Entry<S> entry : entries) {
+            setups.add(entry.setup());
+        }
+        return setups;
+    }
+
+    static boolean dominates(final double[] a, final double[] b) {
+        boolean better = false;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+            better |= a[i] < b[i];
+        }
+        return better;
+    }
+
+    private record Entry<S>(double[] objectives, double cost, long order, S setup) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.cyctius.core.calculator.search;
+
+/**
+ * A session setup search over two integer dimensions (for example repeats × work duration)
+ * with any number of leaves below each pair (for example power factors).
+ *
+ * Setups are ordered by (outer, inner, leaf); among setups of equal cost the first one in
+ * that order wins, which is what a sequential nested loop with a strict {@code <} picks.
+ *
+ * @param <S> the setup type
+ */
+public interface SearchProblem<S> {
+
+    /**
+     * Lower bound on the cost of every setup below {@code (outer, inner)}. The pair is skipped
+     * when the bound exceeds the best cost found so far, so it must never overestimate.
+     */
+    double lowerBound(int outer, int inner);
+
+    /**
+     * @return true when no inner value from {@code inner} on is valid for {@code outer},
+     * which ends the inner loop
+     */
+    default boolean innerExhausted(final int outer, final int inner) {
+        return false;
+    }
+
+    /**
+     * Evaluates the setups below {@code (outer, inner)} and offers them to {@code incumbent}.
+     * Setups whose cost exceeds {@link Incumbent#cost()} may be skipped.
+     */
+    void evaluate(int outer, int inner, Incumbent<S> incumbent);
+}
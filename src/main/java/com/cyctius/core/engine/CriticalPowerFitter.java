@@ -0,0 +1,211 @@
+package com.cyctius.core.engine;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.SingularMatrixException;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.model.CriticalPowerModel;
+
+/**
+ * Least-squares fit of {@link CriticalPowerModel}s to maximal mean power points.
+ *
+ * Every model is linear in its power terms once its time constant is fixed:
+ * <ul>
+ *   <li>2-parameter: P = CP + W' * (1 / t), solved directly;</li>
+ *   <li>3-parameter: P = CP + W' * 1 / (t + k) with k = W' / (Pmax - CP);</li>
+ *   <li>omni-domain: P = CP + W' * (1 - e^(-t / τ)) / t - A * ln(t / 1800) with τ = W' / (Pmax - CP).</li>
+ * </ul>
+ * so the time constant is searched on a log grid and refined by golden section, and CP, W'
+ * (and A) are solved by linear least squares for each candidate. Errors are in watts.
+ */
+public final class CriticalPowerFitter {
+
+    /**
+     * Bumped whenever a change to the fit would change persisted results.
+     */
+    public static final int ALGORITHM_VERSION = 1;
+
+    private static final double MIN_TIME_CONSTANT = 1.0;
+    private static final double MAX_TIME_CONSTANT = 3600.0;
+    private static final int GRID_POINTS = 64;
+    private static final int REFINE_ITERATIONS = 60;
+    private static final double GOLDEN = (Math.sqrt(5.0) - 1.0) / 2.0;
+
+    private CriticalPowerFitter() {
+    }
+
+    /**
+     * @param durations durations in seconds
+     * @param powers maximal mean power in watts for each duration
+     * @throws IllegalArgumentException if the points cannot determine the model or the fit is not physiological
+     */
+    public static CriticalPowerModel fit(
+        final double[] durations,
+        final double[] powers,
+        final CriticalPowerModelType type
+    ) {
+        if (durations.length != powers.length) {
+            throw new IllegalArgumentException("Durations and powers must have the same length");
+        }
+        for (int i = 0; i < durations.length; i++) {
+            if (!(durations[i] > 0) || !(powers[i] > 0)) {
+                throw new IllegalArgumentException("Durations and powers must be positive");
+            }
+        }
+        if (Arrays.stream(durations).distinct().count() < type.getMinPoints()) {
+            throw new IllegalArgumentException(type + " needs at least " + type.getMinPoints() + " distinct durations");
+        }
+
+        final CriticalPowerModel model = switch (type) {
+            case TWO_PARAMETER -> fitTwoParameter(durations, powers);
+            case THREE_PARAMETER -> fitThreeParameter(durations, powers);
+            case OMNI_DOMAIN -> fitOmniDomain(durations, powers);
+        };
+
+        if (!(model.getCriticalPower() > 0) || !(model.getWPrime() > 0)
+                || (model.getMaxPower() != null && !(model.getMaxPower() > model.getCriticalPower()))) {
+            throw new IllegalArgumentException("Fitted " + type + " model is not physiological");
+        }
+        model.setRmse(Math.sqrt(sumOfSquares(model, durations, powers) / durations.length));
+        return model;
+    }
+
+    private static CriticalPowerModel fitTwoParameter(final double[] durations, final double[] powers) {
+        final double[] coefficients = solve(durations, powers, t -> 1.0 / t, null);
+        return CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.TWO_PARAMETER)
+                .criticalPower(coefficients[0])
+                .wPrime(coefficients[1])
+                .build();
+    }
+
+    private static CriticalPowerModel fitThreeParameter(final double[] durations, final double[] powers) {
+        final double k = minimize(c -> sumOfSquares(threeParameter(durations, powers, c), durations, powers));
+        return threeParameter(durations, powers, k);
+    }
+
+    private static CriticalPowerModel threeParameter(final double[] durations, final double[] powers, final double k) {
+        final double[] coefficients = solve(durations, powers, t -> 1.0 / (t + k), null);
+        return CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.THREE_PARAMETER)
+                .criticalPower(coefficients[0])
+                .wPrime(coefficients[1])
+                .maxPower(coefficients[0] + coefficients[1] / k)
+                .build();
+    }
+
+    private static CriticalPowerModel fitOmniDomain(final double[] durations, final double[] powers) {
+        final double tau = minimize(c -> sumOfSquares(omniDomain(durations, powers, c), durations, powers));
+        return omniDomain(durations, powers, tau);
+    }
+
+    private static CriticalPowerModel omniDomain(final double[] durations, final double[] powers, final double tau) {
+        // The long-duration decline is only identifiable with points past 30 minutes.
+        final boolean decline = Arrays.stream(durations).anyMatch(t -> t > CriticalPowerModel.OMNI_DOMAIN_CP_SECONDS);
+        final double[] coefficients = solve(durations, powers, t -> (1.0 - Math.exp(-t / tau)) / t,
+                decline ? t -> -Math.log(Math.max(t, CriticalPowerModel.OMNI_DOMAIN_CP_SECONDS) / CriticalPowerModel.OMNI_DOMAIN_CP_SECONDS) : null);
+        return CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.OMNI_DOMAIN)
+                .criticalPower(coefficients[0])
+                .wPrime(coefficients[1])
+                .maxPower(coefficients[0] + coefficients[1] / tau)
+                .longDurationDecay(decline ? coefficients[2] : 0.0)
+                .build();
+    }
+
+    /**
+     * Least squares of P = c0 + c1 * wTerm(t) [+ c2 * extraTerm(t)].
+     */
+    private static double[] solve(
+        final double[] durations,
+        final double[] powers,
+        final DoubleUnaryOperator wTerm,
+        final DoubleUnaryOperator extraTerm
+    ) {
+        final int columns = extraTerm == null ? 2 : 3;
+        final double[][] design = new double[durations.length][columns];
+        for (int i = 0; i < durations.length; i++) {
+            design[i][0] = 1.0;
+            design[i][1] = wTerm.applyAsDouble(durations[i]);
+            if (extraTerm != null) {
+                design[i][2] = extraTerm.applyAsDouble(durations[i]);
+            }
+        }
+
+        try {
+            return new QRDecomposition(new Array2DRowRealMatrix(design, false))
+                    .getSolver()
+                    .solve(new ArrayRealVector(powers, false))
+                    .toArray();
+        } catch (SingularMatrixException e) {
+            throw new IllegalArgumentException("Points do not determine the model", e);
+        }
+    }
+
+    /**
+     * Minimizes {@code sse} over the time constant: a log-spaced grid, then golden section
+     * (in log space) between the neighbours of the best grid point.
+     */
+    private static double minimize(final DoubleUnaryOperator sse) {
+        final double logMin = Math.log(MIN_TIME_CONSTANT);
+        final double step = (Math.log(MAX_TIME_CONSTANT) - logMin) / (GRID_POINTS - 1);
+
+        int best = 0;
+        double bestValue = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < GRID_POINTS; i++) {
+            final double value = safe(sse, Math.exp(logMin + i * step));
+            if (value < bestValue) {
+                bestValue = value;
+                best = i;
+            }
+        }
+
+        double low = logMin + Math.max(best - 1, 0) * step;
+        double high = logMin + Math.min(best + 1, GRID_POINTS - 1) * step;
+        double a = high - GOLDEN * (high - low);
+        double b = low + GOLDEN * (high - low);
+        double fa = safe(sse, Math.exp(a));
+        double fb = safe(sse, Math.exp(b));
+        for (int i = 0; i < REFINE_ITERATIONS; i++) {
+            if (fa < fb) {
+                high = b;
+                b = a;
+                fb = fa;
+                a = high - GOLDEN * (high - low);
+                fa = safe(sse, Math.exp(a));
+            } else {
+                low = a;
+                a = b;
+                fa = fb;
+                b = low + GOLDEN * (high - low);
+                fb = safe(sse, Math.exp(b));
+            }
+        }
+
+        final double refined = fa < fb ? a : b;
+        return Math.min(fa, fb) <= bestValue ? Math.exp(refined) : Math.exp(logMin + best * step);
+    }
+
+    private static double safe(final DoubleUnaryOperator sse, final double timeConstant) {
+        try {
+            final double value = sse.applyAsDouble(timeConstant);
+            return Double.isNaN(value) ? Double.POSITIVE_INFINITY : value;
+        } catch (IllegalArgumentException e) {
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private static double sumOfSquares(final CriticalPowerModel model, final double[] durations, final double[] powers) {
+        double sum = 0.0;
+        for (int i = 0; i < durations.length; i++) {
+            final double residual = model.powerAt(durations[i]) - powers[i];
+            sum += residual * residual;
+        }
+        return sum;
+    }
+}
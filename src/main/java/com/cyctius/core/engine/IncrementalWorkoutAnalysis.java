@@ -0,0 +1,336 @@
+package com.cyctius.core.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.cyctius.core.model.IntensityHistogram;
+import com.cyctius.core.model.WorkoutAnalysis;
+import com.cyctius.core.model.ZoneModel;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+/**
+ * {@link WorkoutAnalysis} kept up to date under interval edits.
+ *
+ * Every interval holds its own partial aggregates: TSS, zone seconds, intensity-seconds,
+ * histogram, and the Normalized Power windows that lie entirely inside it. Those only
+ * depend on the interval itself. The windows ending in the first
+ * {@code WINDOW_SECONDS - 1} seconds of an interval also see the samples before it, so
+ * each interval keeps its head and tail samples and its boundary windows are recomputed
+ * from them. An edit recomputes the changed intervals plus the boundary windows of the
+ * intervals that follow, until 29 s of untouched samples separate them from the edit.
+ *
+ * All totals, the NP sums included, are kept as running sums, so reading the analysis does
+ * not visit the intervals. Integer totals are exact; the floating-point NP sum is re-added
+ * over the intervals once the updates since the last re-add outnumber the intervals, which
+ * bounds its rounding drift and keeps reads amortised O(zones).
+ * Results match {@link SegmentNormalizedIntensityAccumulator} within its tolerance.
+ *
+ * Not thread safe.
+ */
+public final class IncrementalWorkoutAnalysis {
+
+    private static final int EDGE_SECONDS = NormalizedIntensityAccumulator.WINDOW_SECONDS - 1;
+    private static final ZoneModel COGGAN = ZoneModel.coggan();
+    private static final int MIN_UPDATES_BEFORE_RESUM = 64;
+
+    private final ZoneModel zoneModel;
+    private final List<Aggregate> aggregates = new ArrayList<>();
+
+    private final int[] cogganSeconds = new int[COGGAN.zoneCount()];
+    private final int[] zoneSeconds;
+    private int[] histogram = new int[256];
+    private long averageIntensitySum;
+    private long intensitySeconds;
+    private int tss;
+    private int durationSeconds;
+    private double fourthPowers;
+    private long windows;
+    private int updatesSinceResum;
+
+    public IncrementalWorkoutAnalysis(final ZoneModel zoneModel) {
+        this.zoneModel = zoneModel;
+        this.zoneSeconds = COGGAN.equals(zoneModel) ? cogganSeconds : new int[zoneModel.zoneCount()];
+    }
+
+    public static IncrementalWorkoutAnalysis of(final List<Interval> intervals, final ZoneModel zoneModel) {
+        final IncrementalWorkoutAnalysis analysis = new IncrementalWorkoutAnalysis(zoneModel);
+        analysis.splice(0, 0, intervals);
+        return analysis;
+    }
+
+    public ZoneModel getZoneModel() {
+        return zoneModel;
+    }
+
+    public int size() {
+        return aggregates.size();
+    }
+
+    public void replace(final int index, final Interval interval) {
+        splice(index, 1, List.of(interval));
+    }
+
+    public void insert(final int index, final Interval interval) {
+        splice(index, 0, List.of(interval));
+    }
+
+    public void remove(final int index) {
+        splice(index, 1, List.of());
+    }
+
+    /**
+     * Replaces {@code removeCount} intervals starting at {@code index} with {@code inserted}.
+     */
+    public void splice(final int index, final int removeCount, final List<Interval> inserted) {
+        if (index < 0 || removeCount < 0 || index + removeCount > aggregates.size()) {
+            throw new IndexOutOfBoundsException("Cannot splice " + removeCount + " intervals at " + index);
+        }
+
+        for (int i = 0; i < removeCount; i++) {
+            subtract(aggregates.remove(index));
+        }
+
+        final List<Aggregate> added = new ArrayList<>(inserted.size());
+        for (Interval interval : inserted) {
+            final Aggregate aggregate = new Aggregate(interval, zoneModel);
+            add(aggregate);
+            added.add(aggregate);
+        }
+        aggregates.addAll(index, added);
+
+        refreshBoundaries(index, index + added.size());
+    }
+
+    public WorkoutAnalysis toAnalysis() {
+        if (aggregates.isEmpty()) {
+            return WorkoutAnalysis.empty(zoneModel);
+        }
+
+        if (updatesSinceResum >= Math.max(aggregates.size(), MIN_UPDATES_BEFORE_RESUM)) {
+            resumFourthPowers();
+        }
+
+        final int normalizedIntensity = windows == 0
+                ? 0
+                : (int) Math.round(Math.pow(Math.max(fourthPowers, 0.0) / windows, 1.0 / 4.0));
+        final Double intensityFactor = WorkoutAnalysis.intensityFactorOf(normalizedIntensity);
+
+        return WorkoutAnalysis.builder()
+                .tss(tss)
+                .distribution(WorkoutAnalysis.distributionOf(cogganSeconds))
+                .zoneModel(zoneModel)
+                .zoneSeconds(zoneSeconds.clone())
+                .normalizedIntensity(normalizedIntensity)
+                .intensityFactor(intensityFactor)
+                .difficulty(WorkoutAnalysis.difficultyOf(intensityFactor))
+                .averageIntensity((int) (averageIntensitySum / aggregates.size()))
+                .durationSeconds(durationSeconds)
+                .histogram(IntensityHistogram.of(histogram))
+                .build();
+    }
+
+    /**
+     * @return Σ of the whole-second intensity targets, in %·s
+     */
+    public long getIntensitySeconds() {
+        return intensitySeconds;
+    }
+
+    /**
+     * Recomputes the boundary windows of {@code [from, changedEnd)} and of the intervals
+     * after it whose 29 s look-back still reaches into the change.
+     */
+    private void refreshBoundaries(final int from, final int changedEnd) {
+        int untouchedSeconds = 0;
+        for (int k = from; k < aggregates.size(); k++) {
+            if (k >= changedEnd && untouchedSeconds >= EDGE_SECONDS) {
+                return;
+            }
+
+            refreshBoundary(k);
+            if (k >= changedEnd) {
+                untouchedSeconds += aggregates.get(k).duration;
+            }
+        }
+    }
+
+    private void refreshBoundary(final int index) {
+        final Aggregate aggregate = aggregates.get(index);
+        final NormalizedIntensityAccumulator boundary = new NormalizedIntensityAccumulator();
+
+        for (int sample : precedingSamples(index)) {
+            boundary.accept(sample);
+        }
+        for (int sample : aggregate.head) {
+            boundary.accept(sample);
+        }
+
+        fourthPowers += boundary.sumOfFourthPowers - aggregate.boundaryFourthPowers;
+        windows += boundary.windowCount - aggregate.boundaryWindows;
+        updatesSinceResum++;
+        aggregate.boundaryFourthPowers = boundary.sumOfFourthPowers;
+        aggregate.boundaryWindows = boundary.windowCount;
+    }
+
+    private void resumFourthPowers() {
+        double sum = 0.0;
+        for (Aggregate aggregate : aggregates) {
+            sum += aggregate.interiorFourthPowers + aggregate.boundaryFourthPowers;
+        }
+        fourthPowers = sum;
+        updatesSinceResum = 0;
+    }
+
+    /**
+     * @return up to {@code EDGE_SECONDS} samples right before interval {@code index}, oldest first
+     */
+    private int[] precedingSamples(final int index) {
+        final int[] samples = new int[EDGE_SECONDS];
+        int count = 0;
+        for (int k = index - 1; k >= 0 && count < EDGE_SECONDS; k--) {
+            final int[] tail = aggregates.get(k).tail;
+            for (int i = tail.length - 1; i >= 0 && count < EDGE_SECONDS; i--) {
+                samples[EDGE_SECONDS - 1 - count++] = tail[i];
+            }
+        }
+        return Arrays.copyOfRange(samples, EDGE_SECONDS - count, EDGE_SECONDS);
+    }
+
+    private void add(final Aggregate aggregate) {
+        apply(aggregate, 1);
+    }
+
+    private void subtract(final Aggregate aggregate) {
+        apply(aggregate, -1);
+    }
+
+    private void apply(final Aggregate aggregate, final int sign) {
+        tss += sign * aggregate.tss;
+        durationSeconds += sign * aggregate.duration;
+        intensitySeconds += sign * aggregate.intensitySeconds;
+        averageIntensitySum += sign * aggregate.averageIntensity;
+        fourthPowers += sign * (aggregate.interiorFourthPowers + aggregate.boundaryFourthPowers);
+        windows += sign * (aggregate.interiorWindows + aggregate.boundaryWindows);
+        updatesSinceResum++;
+
+        for (int zone = 0; zone < cogganSeconds.length; zone++) {
+            cogganSeconds[zone] += sign * aggregate.cogganSeconds[zone];
+        }
+        if (zoneSeconds != cogganSeconds) {
+            for (int zone = 0; zone < zoneSeconds.length; zone++) {
+                zoneSeconds[zone] += sign * aggregate.zoneSeconds[zone];
+            }
+        }
+
+        final IntensityHistogram bins = aggregate.histogram;
+        if (bins.size() > histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(bins.size(), histogram.length * 2));
+        }
+        for (int bin = 0; bin < bins.size(); bin++) {
+            histogram[bin] += sign * bins.secondsAt(bin);
+        }
+    }
+
+    /**
+     * Partial aggregates of one interval.
+     */
+    private static final class Aggregate implements IntensitySegmentVisitor {
+        private final int averageIntensity;
+        private final int[] cogganSeconds = new int[COGGAN.zoneCount()];
+        private final int[] zoneSeconds;
+        private final ZoneModel zoneModel;
+        private final IntensityHistogram histogram;
+        private final int[] head;
+        private final int[] tail;
+        private final double interiorFourthPowers;
+        private final long interiorWindows;
+        private int tss;
+        private int duration;
+        private long intensitySeconds;
+        private double boundaryFourthPowers;
+        private long boundaryWindows;
+
+        private Aggregate(final Interval interval, final ZoneModel zoneModel) {
+            this.zoneModel = zoneModel;
+            this.zoneSeconds = COGGAN.equals(zoneModel) ? cogganSeconds : new int[zoneModel.zoneCount()];
+            this.averageIntensity = interval.averageIntensity();
+
+            final IntensityHistogramAccumulator bins = new IntensityHistogramAccumulator();
+            final SegmentNormalizedIntensityAccumulator interior = new SegmentNormalizedIntensityAccumulator();
+            IntervalWalker.walk(interval, this);
+            IntervalWalker.walk(interval, bins);
+            IntervalWalker.walk(interval, interior);
+
+            this.histogram = bins.toHistogram();
+            for (int bin = 0; bin < histogram.size(); bin++) {
+                intensitySeconds += (long) bin * histogram.secondsAt(bin);
+            }
+            this.interiorFourthPowers = interior.sumOfFourthPowers;
+            this.interiorWindows = interior.windowCount;
+
+            final int edge = Math.min(duration, EDGE_SECONDS);
+            this.head = new int[edge];
+            this.tail = new int[edge];
+            for (int i = 0; i < edge; i++) {
+                head[i] = sampleAt(interval, i);
+                tail[i] = sampleAt(interval, duration - edge + i);
+            }
+        }
+
+        @Override
+        public void onSteady(final int intensity, final int seconds) {
+            count(intensity, seconds);
+            tss += TssFormula.tss(intensity, seconds);
+        }
+
+        @Override
+        public void onRamp(final int from, final int to, final int seconds) {
+            count(from, seconds);
+            tss += TssFormula.rampTss(from, to, seconds);
+        }
+
+        @Override
+        public void onRepeat(
+            final int workIntensity,
+            final int workSeconds,
+            final int restIntensity,
+            final int restSeconds,
+            final int repeats
+        ) {
+            count(workIntensity, workSeconds * repeats);
+            count(restIntensity, restSeconds * repeats);
+            tss += (TssFormula.tss(workIntensity, workSeconds) + TssFormula.tss(restIntensity, restSeconds)) * repeats;
+        }
+
+        private void count(final int intensity, final int seconds) {
+            cogganSeconds[COGGAN.zoneOf(intensity)] += seconds;
+            if (zoneSeconds != cogganSeconds) {
+                zoneSeconds[zoneModel.zoneOf(intensity)] += seconds;
+            }
+            duration += seconds;
+        }
+
+        /**
+         * Whole-second target of {@code interval} at {@code second}, as the walker would emit it.
+         */
+        private static int sampleAt(final Interval interval, final int second) {
+            if (interval instanceof SingleInterval single) {
+                return single.getTargetIntensity();
+            } else if (interval instanceof RampInterval ramp) {
+                final int from = ramp.getTargetIntensityFrom();
+                return from + (ramp.getTargetIntensityTo() - from) * second / ramp.getDuration();
+            } else if (interval instanceof RepeatInterval repeat) {
+                final SingleInterval work = repeat.getWork();
+                final int cycle = work.getDuration() + repeat.getRest().getDuration();
+                return second % cycle < work.getDuration()
+                        ? work.getTargetIntensity()
+                        : repeat.getRest().getTargetIntensity();
+            }
+            return 0;
+        }
+    }
+}
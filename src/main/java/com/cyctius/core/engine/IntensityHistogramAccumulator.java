@@ -0,0 +1,73 @@
+package com.cyctius.core.engine;
+
+import java.util.Arrays;
+
+import com.cyctius.core.model.IntensityHistogram;
+
+/**
+ * Builds an {@link IntensityHistogram} from interval segments.
+ *
+ * Ramps are split exactly: second {@code i} of a ramp targets
+ * {@code from + trunc(delta * i / L)}, so offset {@code k} is held from second
+ * {@code ceil(k * L / |delta|)} up to the start of offset {@code k + 1}. A ramp therefore
+ * costs O(|delta|) and a repeat block O(1), independent of duration.
+ */
+public final class IntensityHistogramAccumulator implements IntensitySegmentVisitor {
+
+    private int[] seconds = new int[256];
+
+    @Override
+    public void onSteady(final int intensity, final int duration) {
+        add(intensity, duration);
+    }
+
+    @Override
+    public void onRamp(final int from, final int to, final int duration) {
+        if (duration <= 0) {
+            return;
+        }
+
+        final int delta = to - from;
+        if (delta == 0) {
+            add(from, duration);
+            return;
+        }
+
+        final int sign = delta > 0 ? 1 : -1;
+        final long span = Math.abs((long) delta);
+        long start = 0;
+        for (long k = 0; k < span && start < duration; k++) {
+            final long next = Math.min(((k + 1) * duration + span - 1) / span, duration);
+            add(from + sign * (int) k, (int) (next - start));
+            start = next;
+        }
+    }
+
+    @Override
+    public void onRepeat(
+        final int workIntensity,
+        final int workSeconds,
+        final int restIntensity,
+        final int restSeconds,
+        final int repeats
+    ) {
+        add(workIntensity, workSeconds * repeats);
+        add(restIntensity, restSeconds * repeats);
+    }
+
+    public IntensityHistogram toHistogram() {
+        return IntensityHistogram.of(seconds);
+    }
+
+    private void add(final int intensity, final int duration) {
+        if (duration <= 0) {
+            return;
+        }
+
+        final int bin = Math.max(intensity, 0);
+        if (bin >= seconds.length) {
+            seconds = Arrays.copyOf(seconds, Math.max(bin + 1, seconds.length * 2));
+        }
+        seconds[bin] += duration;
+    }
+}
@@ -0,0 +1,44 @@
+package com.cyctius.core.engine;
+
+/**
+ * Receives a workout as a flat sequence of intensity segments.
+ * Implementations see steady blocks, linear ramps and repeated work/rest blocks
+ * (intensities in % of FTP); repeats are unrolled unless {@link #onRepeat} is overridden.
+ */
+public interface IntensitySegmentVisitor {
+
+    /**
+     * A block held at a constant intensity.
+     *
+     * @param intensity target intensity in % of FTP
+     * @param seconds   duration of the block
+     */
+    void onSteady(int intensity, int seconds);
+
+    /**
+     * A linear ramp. Second {@code i} of the ramp targets
+     * {@code from + (to - from) * i / seconds} (integer arithmetic).
+     *
+     * @param from    intensity at the first second in % of FTP
+     * @param to      intensity the ramp heads to in % of FTP
+     * @param seconds duration of the ramp
+     */
+    void onRamp(int from, int to, int seconds);
+
+    /**
+     * A work/rest block repeated {@code repeats} times. Visitors that can exploit the
+     * periodic structure override this; by default the block is unrolled.
+     */
+    default void onRepeat(
+        final int workIntensity,
+        final int workSeconds,
+        final int restIntensity,
+        final int restSeconds,
+        final int repeats
+    ) {
+        for (int i = 0; i < repeats; i++) {
+            onSteady(workIntensity, workSeconds);
+            onSteady(restIntensity, restSeconds);
+        }
+    }
+}
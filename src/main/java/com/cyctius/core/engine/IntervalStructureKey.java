@@ -0,0 +1,135 @@
+package com.cyctius.core.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.cyctius.core.model.intervals.Interval;
+
+/**
+ * Canonical, content-addressed identity of an interval list.
+ *
+ * Only the fields that feed workout metadata (type, intensities, durations, repeats) are
+ * encoded, so copies of a workout with another id, name or cadence map to the same key.
+ * The 64-bit hash is used for bucketing; equality compares the full encoding, so two
+ * structures never collide. The encoding of every interval can also be compared on its own,
+ * which locates an edit between two keys without touching the intervals again.
+ */
+public final class IntervalStructureKey {
+
+    private static final int STEADY = 1;
+    private static final int RAMP = 2;
+    private static final int REPEAT = 3;
+
+    private final int[] structure;
+    private final int[] offsets;
+    private final long hash;
+
+    private IntervalStructureKey(final int[] structure, final int[] offsets) {
+        this.structure = structure;
+        this.offsets = offsets;
+        this.hash = hash(structure);
+    }
+
+    public static IntervalStructureKey of(final List<Interval> intervals) {
+        final Encoder encoder = new Encoder(intervals.size() * 4);
+        final int[] offsets = new int[intervals.size() + 1];
+        for (int i = 0; i < intervals.size(); i++) {
+            IntervalWalker.walk(intervals.get(i), encoder);
+            offsets[i + 1] = encoder.size;
+        }
+        return new IntervalStructureKey(encoder.toArray(), offsets);
+    }
+
+    /**
+     * @return the number of intervals
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return true if interval {@code index} of this key has the structure of interval {@code otherIndex} of {@code other}
+     */
+    public boolean sameInterval(final int index, final IntervalStructureKey other, final int otherIndex) {
+        return Arrays.equals(structure, offsets[index], offsets[index + 1],
+                other.structure, other.offsets[otherIndex], other.offsets[otherIndex + 1]);
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof IntervalStructureKey other
+                && hash == other.hash
+                && Arrays.equals(structure, other.structure);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    @Override
+    public String toString() {
+        return "IntervalStructureKey[" + Long.toHexString(hash) + "]";
+    }
+
+    /**
+     * FNV-1a over the encoded ints followed by a murmur finaliser.
+     */
+    private static long hash(final int[] structure) {
+        long h = 0xcbf29ce484222325L;
+        for (int value : structure) {
+            h ^= value;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Encoder implements IntensitySegmentVisitor {
+        private int[] values;
+        private int size;
+
+        private Encoder(final int capacity) {
+            values = new int[Math.max(capacity, 8)];
+        }
+
+        @Override
+        public void onSteady(final int intensity, final int seconds) {
+            append(STEADY, intensity, seconds);
+        }
+
+        @Override
+        public void onRamp(final int from, final int to, final int seconds) {
+            append(RAMP, from, to, seconds);
+        }
+
+        @Override
+        public void onRepeat(
+            final int workIntensity,
+            final int workSeconds,
+            final int restIntensity,
+            final int restSeconds,
+            final int repeats
+        ) {
+            append(REPEAT, workIntensity, workSeconds, restIntensity, restSeconds, repeats);
+        }
+
+        private void append(final int... fields) {
+            if (size + fields.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + fields.length));
+            }
+            System.arraycopy(fields, 0, values, size, fields.length);
+            size += fields.length;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
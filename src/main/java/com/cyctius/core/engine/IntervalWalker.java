@@ -0,0 +1,40 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import java.util.List;
+
+/**
+ * Walks a list of intervals and feeds them to an {@link IntensitySegmentVisitor}
+ * without materialising a per-second series.
+ */
+public final class IntervalWalker {
+
+    private IntervalWalker() {
+    }
+
+    public static <V extends IntensitySegmentVisitor> V walk(final List<Interval> intervals, final V visitor) {
+        for (Interval interval : intervals) {
+            walk(interval, visitor);
+        }
+        return visitor;
+    }
+
+    public static void walk(final Interval interval, final IntensitySegmentVisitor visitor) {
+        if (interval instanceof SingleInterval single) {
+            visitor.onSteady(single.getTargetIntensity(), single.getDuration());
+        } else if (interval instanceof RampInterval ramp) {
+            visitor.onRamp(ramp.getTargetIntensityFrom(), ramp.getTargetIntensityTo(), ramp.getDuration());
+        } else if (interval instanceof RepeatInterval repeat) {
+            final SingleInterval work = repeat.getWork();
+            final SingleInterval rest = repeat.getRest();
+            visitor.onRepeat(
+                    work.getTargetIntensity(), work.getDuration(),
+                    rest.getTargetIntensity(), rest.getDuration(),
+                    repeat.getRepeats());
+        }
+    }
+}
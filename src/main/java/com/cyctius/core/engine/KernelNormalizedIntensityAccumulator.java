@@ -0,0 +1,48 @@
+package com.cyctius.core.engine;
+
+/**
+ * Per-second Normalized Power that hands the samples to a {@link PowerSeriesKernel}
+ * in chunks instead of reducing one rolling average at a time.
+ *
+ * The last {@code WINDOW_SECONDS - 1} samples of a chunk are carried into the next one,
+ * so every full window is reduced exactly once.
+ */
+public class KernelNormalizedIntensityAccumulator extends NormalizedIntensityAccumulator {
+
+    private static final int CHUNK = 4096;
+    private static final int CARRY = WINDOW_SECONDS - 1;
+
+    private final PowerSeriesKernel kernel;
+    private final int[] buffer = new int[CHUNK + CARRY];
+    private int filled;
+
+    public KernelNormalizedIntensityAccumulator(final PowerSeriesKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    @Override
+    public void accept(final int intensity) {
+        buffer[filled++] = intensity;
+        samples++;
+        if (filled == buffer.length) {
+            flush();
+        }
+    }
+
+    @Override
+    public double getNormalizedIntensity() {
+        flush();
+        return super.getNormalizedIntensity();
+    }
+
+    private void flush() {
+        if (filled < WINDOW_SECONDS) {
+            return;
+        }
+
+        sumOfFourthPowers += kernel.sumOfRollingFourthPowers(buffer, filled, WINDOW_SECONDS);
+        windowCount += filled - CARRY;
+        System.arraycopy(buffer, filled - CARRY, buffer, 0, CARRY);
+        filled = CARRY;
+    }
+}
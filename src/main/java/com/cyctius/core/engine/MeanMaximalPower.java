@@ -0,0 +1,121 @@
+package com.cyctius.core.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.cyctius.core.profile.ThresholdAthleteProfile;
+
+/**
+ * Mean-maximal power (MMP) curves over per-second power streams.
+ *
+ * A curve holds the best average power for each of a fixed set of log-spaced durations
+ * from 1 s to 5 h, so curves of different rides line up index by index and can be merged
+ * with an element-wise max. Durations longer than the ride are 0.
+ *
+ * Every duration is one pass over the prefix sums of the stream; for long rides the
+ * durations are evaluated in parallel on the common pool.
+ */
+public final class MeanMaximalPower {
+
+    public static final int MAX_DURATION_SECONDS = 5 * 60 * 60;
+
+    /**
+     * Streams at least this long evaluate their durations in parallel.
+     */
+    static final int PARALLEL_MIN_SAMPLES = 3600;
+
+    private static final int DURATION_STEPS = 100;
+    private static final int[] DURATIONS = logSpacedDurations();
+
+    private MeanMaximalPower() {
+    }
+
+    /**
+     * @return the curve durations in seconds, ascending; part of the persisted curve format
+     */
+    public static int[] durations() {
+        return DURATIONS.clone();
+    }
+
+    public static int size() {
+        return DURATIONS.length;
+    }
+
+    /**
+     * @param watts power per second; negative samples count as 0
+     * @return best average power in watts for each of {@link #durations()}
+     */
+    public static double[] compute(final int[] watts) {
+        final long[] prefix = new long[watts.length + 1];
+        for (int i = 0; i < watts.length; i++) {
+            prefix[i + 1] = prefix[i] + Math.max(watts[i], 0);
+        }
+
+        final double[] curve = new double[DURATIONS.length];
+        IntStream indices = IntStream.range(0, DURATIONS.length);
+        if (watts.length >= PARALLEL_MIN_SAMPLES) {
+            indices = indices.parallel();
+        }
+        indices.forEach(index -> curve[index] = best(prefix, DURATIONS[index]));
+        return curve;
+    }
+
+    /**
+     * Element-wise max of {@code curve} into {@code best}, remembering the day of every best.
+     * On ties the later day is kept, so a rolling window keeps the best as long as possible.
+     *
+     * @param bestDays epoch day of each best, updated in place
+     * @param day epoch day of {@code curve}
+     * @return true if anything changed
+     */
+    public static boolean mergeInto(final double[] best, final int[] bestDays, final double[] curve, final int day) {
+        boolean changed = false;
+        for (int i = 0; i < best.length; i++) {
+            if (curve[i] > best[i] || (curve[i] == best[i] && curve[i] > 0 && day > bestDays[i])) {
+                best[i] = curve[i];
+                bestDays[i] = day;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return the non-empty points of {@code curve} as PD points in % of {@code ftp}
+     */
+    public static List<ThresholdAthleteProfile.PdPoint> toPdPoints(final double[] curve, final int ftp) {
+        final List<ThresholdAthleteProfile.PdPoint> points = new ArrayList<>();
+        for (int i = 0; i < curve.length; i++) {
+            if (curve[i] > 0) {
+                points.add(new ThresholdAthleteProfile.PdPoint(curve[i] * 100.0 / ftp, (double) DURATIONS[i]));
+            }
+        }
+        return points;
+    }
+
+    private static double best(final long[] prefix, final int duration) {
+        final int samples = prefix.length - 1;
+        if (duration > samples) {
+            return 0.0;
+        }
+
+        long best = 0;
+        for (int end = duration; end <= samples; end++) {
+            best = Math.max(best, prefix[end] - prefix[end - duration]);
+        }
+        return best / (double) duration;
+    }
+
+    /**
+     * round(e^(k / steps * ln 5h)) for k = 0..steps, without duplicates; StrictMath keeps
+     * the set identical on every platform.
+     */
+    private static int[] logSpacedDurations() {
+        final double logMax = StrictMath.log(MAX_DURATION_SECONDS);
+        return IntStream.rangeClosed(0, DURATION_STEPS)
+                .map(k -> (int) StrictMath.round(StrictMath.exp(logMax * k / DURATION_STEPS)))
+                .distinct()
+                .toArray();
+    }
+}
@@ -0,0 +1,73 @@
+package com.cyctius.core.engine;
+
+/**
+ * Streaming Normalized Power calculation over an intensity series.
+ *
+ * Keeps the last {@value #WINDOW_SECONDS} samples in a ring buffer and accumulates
+ * the fourth power of each full-window rolling average as samples arrive, so a
+ * workout of any length is processed in one pass without per-second allocation.
+ * The arithmetic (and its order) matches the list based implementation it replaces,
+ * so results are bit for bit identical.
+ */
+public class NormalizedIntensityAccumulator implements IntensitySegmentVisitor {
+
+    public static final int WINDOW_SECONDS = 30;
+
+    final int[] window = new int[WINDOW_SECONDS];
+    int head;
+    long samples;
+    long windowSum;
+    long windowCount;
+    double sumOfFourthPowers;
+
+    @Override
+    public void onSteady(final int intensity, final int seconds) {
+        for (int i = 0; i < seconds; i++) {
+            accept(intensity);
+        }
+    }
+
+    @Override
+    public void onRamp(final int from, final int to, final int seconds) {
+        final int delta = to - from;
+        for (int i = 0; i < seconds; i++) {
+            accept(from + delta * i / seconds);
+        }
+    }
+
+    public void accept(final int intensity) {
+        if (samples >= WINDOW_SECONDS) {
+            windowSum -= window[head];
+        }
+        window[head] = intensity;
+        windowSum += intensity;
+        if (++head == WINDOW_SECONDS) {
+            head = 0;
+        }
+
+        if (++samples >= WINDOW_SECONDS) {
+            final double smoothed = windowSum / (double) WINDOW_SECONDS;
+            sumOfFourthPowers += Math.pow(smoothed, 4.0);
+            windowCount++;
+        }
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return the fourth-power mean of the rolling averages, or 0 when fewer than
+     *         {@value #WINDOW_SECONDS} samples have been seen
+     */
+    public double getNormalizedIntensity() {
+        if (windowCount == 0) {
+            return 0.0;
+        }
+        return Math.pow(sumOfFourthPowers / windowCount, 1.0 / 4.0);
+    }
+
+    public int getRoundedNormalizedIntensity() {
+        return (int) Math.round(getNormalizedIntensity());
+    }
+}
@@ -0,0 +1,62 @@
+package com.cyctius.core.engine;
+
+/**
+ * Normalized Power and xPower over raw per-second power streams.
+ *
+ * Ride files run to hundreds of thousands of samples and are re-evaluated on every
+ * ingest, so both metrics are reduced through a {@link PowerSeriesKernel} instead of
+ * per-sample {@code Math.pow} calls.
+ */
+public final class PowerSeries {
+
+    public static final int NORMALIZED_POWER_WINDOW_SECONDS = 30;
+    public static final double XPOWER_TIME_CONSTANT_SECONDS = 25.0;
+
+    private static final int CHUNK = 4096;
+
+    private final PowerSeriesKernel kernel;
+
+    public PowerSeries(final PowerSeriesKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * @return the fourth-power mean of the 30 s rolling averages, or 0 when the stream
+     *         is shorter than one window
+     */
+    public double normalizedPower(final int[] watts) {
+        final int windows = watts.length - NORMALIZED_POWER_WINDOW_SECONDS + 1;
+        if (windows <= 0) {
+            return 0.0;
+        }
+
+        final double sum = kernel.sumOfRollingFourthPowers(watts, watts.length, NORMALIZED_POWER_WINDOW_SECONDS);
+        return Math.pow(sum / windows, 1.0 / 4.0);
+    }
+
+    /**
+     * @return the fourth-power mean of the 25 s exponentially weighted average, or 0 for
+     *         an empty stream
+     */
+    public double xPower(final int[] watts) {
+        if (watts.length == 0) {
+            return 0.0;
+        }
+
+        final double decay = Math.exp(-1.0 / XPOWER_TIME_CONSTANT_SECONDS);
+        final double[] smoothed = new double[Math.min(CHUNK, watts.length)];
+        double average = 0.0;
+        double sum = 0.0;
+
+        for (int offset = 0; offset < watts.length; offset += smoothed.length) {
+            final int length = Math.min(smoothed.length, watts.length - offset);
+            for (int i = 0; i < length; i++) {
+                average = average * decay + watts[offset + i] * (1.0 - decay);
+                smoothed[i] = average;
+            }
+            sum += kernel.sumOfFourthPowers(smoothed, length);
+        }
+
+        return Math.pow(sum / watts.length, 1.0 / 4.0);
+    }
+}
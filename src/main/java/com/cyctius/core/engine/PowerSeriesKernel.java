@@ -0,0 +1,21 @@
+package com.cyctius.core.engine;
+
+/**
+ * Reductions behind Normalized Power style metrics over dense per-second series.
+ *
+ * Implementations only differ in summation order, so results agree to floating point
+ * rounding. Fourth powers are computed by squaring twice instead of {@code Math.pow}.
+ */
+public interface PowerSeriesKernel {
+
+    /**
+     * @return Σ (windowSum / window)^4 over every full {@code window} of {@code samples[0, length)},
+     *         or 0 when {@code length < window}
+     */
+    double sumOfRollingFourthPowers(int[] samples, int length, int window);
+
+    /**
+     * @return Σ values[i]^4 for i in {@code [0, length)}
+     */
+    double sumOfFourthPowers(double[] values, int length);
+}
@@ -0,0 +1,53 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.enums.PowerKernelMode;
+
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * Resolves a {@link PowerSeriesKernel} for a {@link PowerKernelMode}.
+ *
+ * The Vector API kernel is loaded reflectively: it is absent unless the application was
+ * built with the {@code vector} Maven profile, and unusable unless the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}. In either case the scalar kernel is used.
+ */
+@Slf4j
+public final class PowerSeriesKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.cyctius.core.engine.vector.VectorPowerSeriesKernel";
+
+    private PowerSeriesKernels() {
+    }
+
+    public static PowerSeriesKernel select(final PowerKernelMode mode) {
+        if (mode == PowerKernelMode.SCALAR) {
+            return ScalarPowerSeriesKernel.INSTANCE;
+        }
+
+        val vector = loadVectorKernel();
+        if (vector.isPresent()) {
+            return vector.get();
+        }
+
+        if (mode == PowerKernelMode.VECTOR) {
+            log.warn("Vector power kernel requested but unavailable, using the scalar kernel");
+        }
+        return ScalarPowerSeriesKernel.INSTANCE;
+    }
+
+    private static Optional<PowerSeriesKernel> loadVectorKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of((PowerSeriesKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+}
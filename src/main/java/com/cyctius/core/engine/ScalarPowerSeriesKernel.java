@@ -0,0 +1,63 @@
+package com.cyctius.core.engine;
+
+/**
+ * Portable {@link PowerSeriesKernel}: a sliding integer window sum and a reduction
+ * unrolled over four independent accumulators.
+ */
+public final class ScalarPowerSeriesKernel implements PowerSeriesKernel {
+
+    public static final ScalarPowerSeriesKernel INSTANCE = new ScalarPowerSeriesKernel();
+
+    private ScalarPowerSeriesKernel() {
+    }
+
+    @Override
+    public double sumOfRollingFourthPowers(final int[] samples, final int length, final int window) {
+        if (length < window) {
+            return 0.0;
+        }
+
+        long windowSum = 0;
+        for (int i = 0; i < window; i++) {
+            windowSum += samples[i];
+        }
+
+        final double divisor = window;
+        double sum = 0.0;
+        for (int i = window; ; i++) {
+            final double average = windowSum / divisor;
+            final double square = average * average;
+            sum += square * square;
+            if (i == length) {
+                return sum;
+            }
+            windowSum += samples[i] - samples[i - window];
+        }
+    }
+
+    @Override
+    public double sumOfFourthPowers(final double[] values, final int length) {
+        double sum0 = 0.0;
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            final double square0 = values[i] * values[i];
+            final double square1 = values[i + 1] * values[i + 1];
+            final double square2 = values[i + 2] * values[i + 2];
+            final double square3 = values[i + 3] * values[i + 3];
+            sum0 += square0 * square0;
+            sum1 += square1 * square1;
+            sum2 += square2 * square2;
+            sum3 += square3 * square3;
+        }
+        for (; i < length; i++) {
+            final double square = values[i] * values[i];
+            sum0 += square * square;
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+}
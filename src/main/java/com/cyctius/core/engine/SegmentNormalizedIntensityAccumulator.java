@@ -0,0 +1,159 @@
+package com.cyctius.core.engine;
+
+/**
+ * Normalized Power over interval segments in O(number of intervals).
+ *
+ * The first {@code WINDOW_SECONDS - 1} seconds of every segment are streamed exactly
+ * like {@link NormalizedIntensityAccumulator}, because there the 30 s window still
+ * overlaps the previous segment. Once the window lies inside a segment its rolling
+ * average is closed form:
+ * <ul>
+ *   <li>a ramp {@code from + delta * i / L} repeats with period {@code P = L / gcd(delta, L)}
+ *       shifted by {@code delta / gcd(delta, L)}, so windows {@code P} seconds apart differ by
+ *       a constant and each residue class is summed with the power-sum formulas;</li>
+ *   <li>a steady block is the {@code P = 1} case of the above;</li>
+ *   <li>a repeat block is periodic once the window history lies inside earlier repeats,
+ *       so one representative cycle is evaluated and multiplied.</li>
+ * </ul>
+ *
+ * Tolerance: the result differs from the per-second stream only by floating point
+ * summation order, bounded by a relative error of {@value #RELATIVE_TOLERANCE} on the
+ * unrounded normalized intensity.
+ */
+public class SegmentNormalizedIntensityAccumulator extends NormalizedIntensityAccumulator {
+
+    public static final double RELATIVE_TOLERANCE = 1e-9;
+
+    private static final int BOUNDARY_SECONDS = WINDOW_SECONDS - 1;
+
+    @Override
+    public void onSteady(final int intensity, final int seconds) {
+        onRamp(intensity, intensity, seconds);
+    }
+
+    @Override
+    public void onRamp(final int from, final int to, final int seconds) {
+        if (seconds <= 0) {
+            return;
+        }
+
+        final int delta = to - from;
+        final int boundary = Math.min(seconds, BOUNDARY_SECONDS);
+        for (int i = 0; i < boundary; i++) {
+            accept(rampValue(from, delta, i, seconds));
+        }
+
+        final int interior = seconds - boundary;
+        if (interior <= 0) {
+            return;
+        }
+
+        // Windows ending at ramp second k >= 29 lie entirely inside the ramp.
+        final int gcd = gcd(Math.abs(delta), seconds);
+        final int period = seconds / gcd;
+        final double step = delta / gcd;
+
+        long sum = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            sum += rampValue(from, delta, i, seconds);
+        }
+
+        final int residues = Math.min(period, interior);
+        double fourthPowers = 0.0;
+        for (int r = 0; r < residues; r++) {
+            final int k = BOUNDARY_SECONDS + r;
+            if (r > 0) {
+                sum += rampValue(from, delta, k, seconds) - rampValue(from, delta, k - WINDOW_SECONDS, seconds);
+            }
+            final long terms = (interior - r + period - 1L) / period;
+            fourthPowers += sumOfFourthPowers(sum / (double) WINDOW_SECONDS, step, terms);
+        }
+
+        sumOfFourthPowers += fourthPowers;
+        windowCount += interior;
+        samples += interior;
+
+        long tailSum = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            window[i] = rampValue(from, delta, seconds - WINDOW_SECONDS + i, seconds);
+            tailSum += window[i];
+        }
+        head = 0;
+        windowSum = tailSum;
+    }
+
+    @Override
+    public void onRepeat(
+        final int workIntensity,
+        final int workSeconds,
+        final int restIntensity,
+        final int restSeconds,
+        final int repeats
+    ) {
+        final int cycle = Math.max(workSeconds, 0) + Math.max(restSeconds, 0);
+        if (cycle == 0 || repeats <= 0) {
+            return;
+        }
+
+        // After this many cycles the window before a cycle only sees earlier cycles.
+        final int warmUp = (WINDOW_SECONDS + cycle - 1) / cycle;
+        if (repeats <= warmUp + 1) {
+            super.onRepeat(workIntensity, workSeconds, restIntensity, restSeconds, repeats);
+            return;
+        }
+
+        super.onRepeat(workIntensity, workSeconds, restIntensity, restSeconds, warmUp);
+
+        // Measure one representative cycle on its own so the multiplication is exact.
+        final double fourthPowersBefore = sumOfFourthPowers;
+        final long windowsBefore = windowCount;
+        sumOfFourthPowers = 0.0;
+        onSteady(workIntensity, workSeconds);
+        onSteady(restIntensity, restSeconds);
+
+        // The ring buffer now holds the same samples (oldest first) it would after any later cycle.
+        final long cycles = repeats - warmUp;
+        sumOfFourthPowers = fourthPowersBefore + sumOfFourthPowers * cycles;
+        windowCount = windowsBefore + (windowCount - windowsBefore) * cycles;
+        samples += cycle * (cycles - 1);
+    }
+
+    private static int rampValue(final int from, final int delta, final int second, final int seconds) {
+        return from + delta * second / seconds;
+    }
+
+    /**
+     * Σ_{t=0}^{n-1} (s + q·t)^4 via the power sums of t.
+     */
+    static double sumOfFourthPowers(final double s, final double q, final long n) {
+        final double base = Math.pow(s, 4.0);
+        if (n == 1 || q == 0.0) {
+            return base * n;
+        }
+
+        final double m = n - 1;
+        final double sum1 = n * m / 2.0;
+        final double sum2 = m * n * (2.0 * m + 1.0) / 6.0;
+        final double sum3 = sum1 * sum1;
+        final double sum4 = m * n * (2.0 * m + 1.0) * (3.0 * m * m + 3.0 * m - 1.0) / 30.0;
+
+        final double s2 = s * s;
+        final double q2 = q * q;
+        return n * base
+                + 4.0 * s2 * s * q * sum1
+                + 6.0 * s2 * q2 * sum2
+                + 4.0 * s * q2 * q * sum3
+                + q2 * q2 * sum4;
+    }
+
+    private static int gcd(final int a, final int b) {
+        int x = a;
+        int y = b;
+        while (y != 0) {
+            final int t = x % y;
+            x = y;
+            y = t;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,56 @@
+package com.cyctius.core.engine;
+
+/**
+ * Performance Management Chart over a daily TSS series.
+ *
+ * Chronic (CTL) and acute (ATL) training load are exponentially weighted averages of the
+ * daily TSS with time constants of {@value #CTL_DAYS} and {@value #ATL_DAYS} days.
+ * Training stress balance (TSB) is the form an athlete brings into a day, so it is taken
+ * from the loads of the previous day, before that day's TSS is added.
+ *
+ * The state is just the previous day's CTL and ATL, so a series can be resumed from any
+ * materialized day.
+ */
+public final class TrainingLoadAccumulator {
+
+    public static final int CTL_DAYS = 42;
+    public static final int ATL_DAYS = 7;
+
+    private static final double CTL_DECAY = Math.exp(-1.0 / CTL_DAYS);
+    private static final double ATL_DECAY = Math.exp(-1.0 / ATL_DAYS);
+
+    private double ctl;
+    private double atl;
+    private double tsb;
+
+    public TrainingLoadAccumulator() {
+        this(0.0, 0.0);
+    }
+
+    public TrainingLoadAccumulator(final double ctl, final double atl) {
+        this.ctl = ctl;
+        this.atl = atl;
+        this.tsb = ctl - atl;
+    }
+
+    /**
+     * Advances the series by one day with {@code tss} of load.
+     */
+    public void accept(final int tss) {
+        tsb = ctl - atl;
+        ctl = ctl * CTL_DECAY + tss * (1.0 - CTL_DECAY);
+        atl = atl * ATL_DECAY + tss * (1.0 - ATL_DECAY);
+    }
+
+    public double getCtl() {
+        return ctl;
+    }
+
+    public double getAtl() {
+        return atl;
+    }
+
+    public double getTsb() {
+        return tsb;
+    }
+}
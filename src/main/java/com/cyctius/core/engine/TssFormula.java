@@ -0,0 +1,25 @@
+package com.cyctius.core.engine;
+
+/**
+ * TSS of a block held at a constant intensity:
+ * TSS = duration_seconds × intensity² / 3600 / 100, rounded per block.
+ */
+public final class TssFormula {
+
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final double ROUNDING_FACTOR_TSS = 100.0;
+
+    private TssFormula() {
+    }
+
+    public static int tss(final int intensity, final int durationSeconds) {
+        return (int) Math.round((double) (durationSeconds * intensity * intensity) / SECONDS_PER_HOUR / ROUNDING_FACTOR_TSS);
+    }
+
+    /**
+     * Ramps are scored at the integer mean of their end points.
+     */
+    public static int rampTss(final int from, final int to, final int durationSeconds) {
+        return tss((from + to) / 2, durationSeconds);
+    }
+}
@@ -0,0 +1,66 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.model.WorkoutAnalysis;
+import com.cyctius.core.model.ZoneModel;
+
+/**
+ * TSS, duration and Coggan zone seconds of a workout, with the same arithmetic as the full
+ * metadata analysis but without Normalized Power or the histogram. Every segment, repeats
+ * included, costs O(1), which makes it cheap enough to score generated candidates.
+ */
+public final class WorkoutLoadAccumulator implements IntensitySegmentVisitor {
+
+    private static final ZoneModel COGGAN = ZoneModel.coggan();
+
+    private final int[] zoneSeconds = new int[COGGAN.zoneCount()];
+    private int tss;
+    private int durationSeconds;
+
+    @Override
+    public void onSteady(final int intensity, final int seconds) {
+        zoneSeconds[COGGAN.zoneOf(intensity)] += seconds;
+        tss += TssFormula.tss(intensity, seconds);
+        durationSeconds += seconds;
+    }
+
+    @Override
+    public void onRamp(final int from, final int to, final int seconds) {
+        zoneSeconds[COGGAN.zoneOf(from)] += seconds;
+        tss += TssFormula.rampTss(from, to, seconds);
+        durationSeconds += seconds;
+    }
+
+    @Override
+    public void onRepeat(
+        final int workIntensity,
+        final int workSeconds,
+        final int restIntensity,
+        final int restSeconds,
+        final int repeats
+    ) {
+        zoneSeconds[COGGAN.zoneOf(workIntensity)] += workSeconds * repeats;
+        zoneSeconds[COGGAN.zoneOf(restIntensity)] += restSeconds * repeats;
+        tss += (TssFormula.tss(workIntensity, workSeconds) + TssFormula.tss(restIntensity, restSeconds)) * repeats;
+        durationSeconds += (workSeconds + restSeconds) * repeats;
+    }
+
+    public int getTss() {
+        return tss;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * @return the figures the workout type classifier reads, in Coggan zones
+     */
+    public WorkoutAnalysis toAnalysis() {
+        return WorkoutAnalysis.builder()
+                .tss(tss)
+                .zoneModel(COGGAN)
+                .zoneSeconds(zoneSeconds.clone())
+                .durationSeconds(durationSeconds)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.cyctius.core.engine.vector;
+
+import com.cyctius.core.engine.PowerSeriesKernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link PowerSeriesKernel} on the incubating Vector API.
+ *
+ * Only compiled with the {@code vector} Maven profile and only selected when
+ * {@code jdk.incubator.vector} is resolved at runtime ({@code --add-modules jdk.incubator.vector}),
+ * see {@link com.cyctius.core.engine.PowerSeriesKernels}.
+ *
+ * Rolling sums come from a prefix sum array: every window is the difference of two prefix
+ * values, which is exact below 2^53 and independent of its neighbours, so whole lanes of
+ * windows are averaged and raised to the fourth power at once.
+ */
+public final class VectorPowerSeriesKernel implements PowerSeriesKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public double sumOfRollingFourthPowers(final int[] samples, final int length, final int window) {
+        if (length < window) {
+            return 0.0;
+        }
+
+        final double[] prefix = new double[length + 1];
+        long running = 0;
+        for (int i = 0; i < length; i++) {
+            running += samples[i];
+            prefix[i + 1] = running;
+        }
+
+        final int windows = length - window + 1;
+        final double divisor = window;
+        final DoubleVector divisors = DoubleVector.broadcast(SPECIES, divisor);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+
+        int k = 0;
+        final int upper = SPECIES.loopBound(windows);
+        for (; k < upper; k += SPECIES.length()) {
+            final DoubleVector averages = DoubleVector.fromArray(SPECIES, prefix, k + window)
+                    .sub(DoubleVector.fromArray(SPECIES, prefix, k))
+                    .div(divisors);
+            final DoubleVector squares = averages.mul(averages);
+            sums = sums.add(squares.mul(squares));
+        }
+
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; k < windows; k++) {
+            final double average = (prefix[k + window] - prefix[k]) / divisor;
+            final double square = average * average;
+            sum += square * square;
+        }
+
+        return sum;
+    }
+
+    @Override
+    public double sumOfFourthPowers(final double[] values, final int length) {
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+
+        int i = 0;
+        final int upper = SPECIES.loopBound(length);
+        for (; i < upper; i += SPECIES.length()) {
+            final DoubleVector v = DoubleVector.fromArray(SPECIES, values, i);
+            final DoubleVector squares = v.mul(v);
+            sums = sums.add(squares.mul(squares));
+        }
+
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            final double square = values[i] * values[i];
+            sum += square * square;
+        }
+
+        return sum;
+    }
+}
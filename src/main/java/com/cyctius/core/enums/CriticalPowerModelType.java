@@ -0,0 +1,35 @@
+package com.cyctius.core.enums;
+
+/**
+ * Power-duration models fitted by {@link com.cyctius.core.engine.CriticalPowerFitter}.
+ */
+public enum CriticalPowerModelType {
+    /**
+     * Monod &amp; Scherrer: P = CP + W' / t.
+     */
+    TWO_PARAMETER(2),
+
+    /**
+     * Morton: P = CP + W' / (t + W' / (Pmax - CP)), bounded by Pmax at t = 0.
+     */
+    THREE_PARAMETER(3),
+
+    /**
+     * Omni-domain (Puchowicz et al.): P = CP + W' / t * (1 - e^(-t * (Pmax - CP) / W')),
+     * minus A * ln(t / 1800) past 30 minutes.
+     */
+    OMNI_DOMAIN(3);
+
+    private final int minPoints;
+
+    CriticalPowerModelType(final int minPoints) {
+        this.minPoints = minPoints;
+    }
+
+    /**
+     * @return the number of distinct durations needed to fit the model
+     */
+    public int getMinPoints() {
+        return minPoints;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cyctius.core.enums;
+
+/**
+ * Strategy used to compute normalized intensity (NP as % of FTP) for a workout.
+ */
+public enum NormalizedIntensityMode {
+    /**
+     * Streams every second of the workout through the 30 s rolling window, reduced by
+     * the configured {@link com.cyctius.core.engine.PowerSeriesKernel}.
+     * Cost grows with workout duration.
+     */
+    PER_SECOND,
+
+    /**
+     * Evaluates steady blocks, ramps and repeat blocks in closed form and only walks
+     * the 30 s boundary zones between segments. Cost grows with the number of intervals.
+     */
+    SEGMENT
+}
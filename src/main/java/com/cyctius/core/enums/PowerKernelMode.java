@@ -0,0 +1,23 @@
+package com.cyctius.core.enums;
+
+/**
+ * Selects the implementation of {@link com.cyctius.core.engine.PowerSeriesKernel}.
+ */
+public enum PowerKernelMode {
+    /**
+     * Uses the Vector API kernel when it was compiled in and {@code jdk.incubator.vector}
+     * is resolved at runtime, otherwise the scalar kernel.
+     */
+    AUTO,
+
+    /**
+     * Always uses the portable scalar kernel.
+     */
+    SCALAR,
+
+    /**
+     * Requests the Vector API kernel; falls back to the scalar kernel with a warning
+     * when it is not available.
+     */
+    VECTOR
+}
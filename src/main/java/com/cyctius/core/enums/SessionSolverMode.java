@@ -0,0 +1,18 @@
+package com.cyctius.core.enums;
+
+/**
+ * Strategy used by session calculators to search for the best interval setup.
+ */
+public enum SessionSolverMode {
+    /**
+     * Simulates every candidate repeats × work duration × power factor.
+     */
+    BRUTE_FORCE,
+
+    /**
+     * Solves the power factor in closed form for each repeats × work duration and only
+     * evaluates the few power factors where the cost can be minimal.
+     * Picks the same setup as {@link #BRUTE_FORCE}.
+     */
+    ANALYTIC
+}
@@ -0,0 +1,50 @@
+package com.cyctius.core.model;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fitted Critical Power / W' parameters of an athlete, see {@link com.cyctius.core.engine.CriticalPowerFitter}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class CriticalPowerModel {
+    /**
+     * Duration past which the omni-domain model declines logarithmically.
+     */
+    public static final double OMNI_DOMAIN_CP_SECONDS = 1800.0;
+
+    private CriticalPowerModelType type;
+    private Double criticalPower; // W
+    private Double wPrime; // J
+    private Double maxPower; // W, null for TWO_PARAMETER
+    private Double longDurationDecay; // W per ln(t / 30 min), OMNI_DOMAIN only
+    private Double rmse; // W
+
+    /**
+     * @return the modelled maximal mean power (W) for a duration in seconds
+     */
+    public double powerAt(final double durationSeconds) {
+        switch (type) {
+            case TWO_PARAMETER:
+                return criticalPower + wPrime / durationSeconds;
+            case THREE_PARAMETER:
+                return criticalPower + wPrime / (durationSeconds + wPrime / (maxPower - criticalPower));
+            case OMNI_DOMAIN:
+                double power = criticalPower
+                        + wPrime / durationSeconds * (1.0 - Math.exp(-durationSeconds * (maxPower - criticalPower) / wPrime));
+                if (durationSeconds > OMNI_DOMAIN_CP_SECONDS && longDurationDecay != null) {
+                    power -= longDurationDecay * Math.log(durationSeconds / OMNI_DOMAIN_CP_SECONDS);
+                }
+                return power;
+            default:
+                throw new IllegalStateException("Unknown critical power model " + type);
+        }
+    }
+}
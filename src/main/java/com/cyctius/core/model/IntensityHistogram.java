@@ -0,0 +1,181 @@
+package com.cyctius.core.model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Seconds spent at each whole intensity (% of FTP) in a workout: bin {@code i} holds the
+ * seconds targeted at exactly {@code i}%. Zone splits, classifier thresholds and
+ * "time above X%" questions are answered from the bins without touching the intervals.
+ *
+ * Immutable; trailing empty bins are trimmed.
+ */
+public final class IntensityHistogram {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final IntensityHistogram EMPTY = new IntensityHistogram(new int[0]);
+
+    private final int[] seconds;
+
+    private IntensityHistogram(final int[] seconds) {
+        this.seconds = seconds;
+    }
+
+    public static IntensityHistogram empty() {
+        return EMPTY;
+    }
+
+    @JsonCreator
+    public static IntensityHistogram of(final int[] seconds) {
+        if (seconds == null) {
+            return EMPTY;
+        }
+
+        int length = seconds.length;
+        while (length > 0 && seconds[length - 1] == 0) {
+            length--;
+        }
+        return length == 0 ? EMPTY : new IntensityHistogram(Arrays.copyOf(seconds, length));
+    }
+
+    /**
+     * @return a copy of the bins, index = intensity in %
+     */
+    @JsonValue
+    public int[] toArray() {
+        return seconds.clone();
+    }
+
+    /**
+     * @return one past the highest intensity with a non-zero bin
+     */
+    public int size() {
+        return seconds.length;
+    }
+
+    public int secondsAt(final int intensity) {
+        return intensity >= 0 && intensity < seconds.length ? seconds[intensity] : 0;
+    }
+
+    public int totalSeconds() {
+        return secondsBetween(0, seconds.length);
+    }
+
+    /**
+     * @return seconds at an intensity of at least {@code intensity}%
+     */
+    public int secondsAtOrAbove(final int intensity) {
+        return secondsBetween(intensity, seconds.length);
+    }
+
+    /**
+     * @param fromInclusive lowest intensity in %
+     * @param toExclusive   upper intensity bound in %
+     * @return seconds with {@code fromInclusive <= intensity < toExclusive}
+     */
+    public int secondsBetween(final int fromInclusive, final int toExclusive) {
+        final int from = Math.max(fromInclusive, 0);
+        final int to = Math.min(toExclusive, seconds.length);
+        int total = 0;
+        for (int i = from; i < to; i++) {
+            total += seconds[i];
+        }
+        return total;
+    }
+
+    /**
+     * Splits the histogram at ascending zone boundaries.
+     *
+     * @param upperBounds exclusive upper intensity of every zone but the last
+     * @return seconds per zone, {@code upperBounds.length + 1} entries
+     */
+    public int[] secondsPerZone(final int[] upperBounds) {
+        final int[] zones = new int[upperBounds.length + 1];
+        int zone = 0;
+        for (int i = 0; i < seconds.length; i++) {
+            while (zone < upperBounds.length && i >= upperBounds[zone]) {
+                zone++;
+            }
+            zones[zone] += seconds[i];
+        }
+        return zones;
+    }
+
+    /**
+     * Compact binary form: version byte, first non-empty bin and bin count as varints,
+     * then each bin as a varint.
+     */
+    public byte[] toBytes() {
+        int first = 0;
+        while (first < seconds.length && seconds[first] == 0) {
+            first++;
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(8 + seconds.length - first);
+        out.write(FORMAT_VERSION);
+        writeVarInt(out, first);
+        writeVarInt(out, seconds.length - first);
+        for (int i = first; i < seconds.length; i++) {
+            writeVarInt(out, seconds[i]);
+        }
+        return out.toByteArray();
+    }
+
+    public static IntensityHistogram fromBytes(final byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return EMPTY;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported intensity histogram version: " + bytes[0]);
+        }
+
+        final int[] position = {1};
+        final int first = readVarInt(bytes, position);
+        final int count = readVarInt(bytes, position);
+        final int[] seconds = new int[first + count];
+        for (int i = 0; i < count; i++) {
+            seconds[first + i] = readVarInt(bytes, position);
+        }
+        return of(seconds);
+    }
+
+    private static void writeVarInt(final ByteArrayOutputStream out, final int value) {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    private static int readVarInt(final byte[] bytes, final int[] position) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            final byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof IntensityHistogram other && Arrays.equals(seconds, other.seconds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(seconds);
+    }
+
+    @Override
+    public String toString() {
+        return "IntensityHistogram" + Arrays.toString(seconds);
+    }
+}
@@ -0,0 +1,76 @@
+package com.cyctius.core.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.cyctius.core.enums.PowerZone;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the metadata pipeline needs from a workout, collected in a single pass
+ * over its intervals by {@link com.cyctius.core.service.WorkoutPowerUtils#analyze}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WorkoutAnalysis {
+    private Integer tss;
+    private Map<PowerZone, Integer> distribution; // Coggan zones
+    private ZoneModel zoneModel;
+    private int[] zoneSeconds; // indexed by zone of zoneModel
+    private Integer normalizedIntensity; // % of FTP
+    private Double intensityFactor;
+    private Double difficulty;
+    private Integer averageIntensity; // % of FTP
+    private Integer durationSeconds;
+    private IntensityHistogram histogram;
+
+    public static Double intensityFactorOf(final int normalizedIntensity) {
+        if (normalizedIntensity == 0) {
+            return 0.0;
+        }
+
+        return normalizedIntensity / 100.0;
+    }
+
+    public static Double difficultyOf(final double intensityFactor) {
+        return Math.max(intensityFactor * 10.0, 10.0);
+    }
+
+    /**
+     * @param cogganSeconds seconds per zone of {@link ZoneModel#coggan()}
+     */
+    public static Map<PowerZone, Integer> distributionOf(final int[] cogganSeconds) {
+        Map<PowerZone, Integer> distribution = new EnumMap<>(PowerZone.class);
+        for (PowerZone zone : PowerZone.values()) {
+            distribution.put(zone, cogganSeconds[zone.ordinal()]);
+        }
+
+        return distribution;
+    }
+
+    public static WorkoutAnalysis empty() {
+        return empty(ZoneModel.coggan());
+    }
+
+    public static WorkoutAnalysis empty(final ZoneModel zoneModel) {
+        return WorkoutAnalysis.builder()
+                .tss(0)
+                .distribution(Collections.emptyMap())
+                .zoneModel(zoneModel)
+                .zoneSeconds(new int[zoneModel.zoneCount()])
+                .normalizedIntensity(0)
+                .intensityFactor(0.0)
+                .difficulty(0.0)
+                .averageIntensity(0)
+                .durationSeconds(0)
+                .histogram(IntensityHistogram.empty())
+                .build();
+    }
+}
@@ -1,12 +1,17 @@
 package com.cyctius.core.model;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.cyctius.core.model.intervals.Interval;
 import com.cyctius.core.service.WorkoutMetadataCalculator;
@@ -22,11 +27,31 @@ public class WorkoutModel {
     private String description;
     private List<Interval> intervals;
     private WorkoutMetadataDTO metadata;
+    // Compiled on first use, dropped when the intervals are replaced
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicReference<WorkoutProgram> program = new AtomicReference<>();
+
+    public void setIntervals(final List<Interval> intervals) {
+        this.intervals = intervals;
+        program.set(null);
+    }
 
     public Integer getTotalDurationSeconds() {
-        return intervals.stream()
-            .map(Interval::getTotalDurationSeconds)
-            .reduce(0, Integer::sum);
+        return compile().getTotalDurationSeconds();
+    }
+
+    /**
+     * @return the intervals compiled for time based queries, compiled once per interval list
+     */
+    public WorkoutProgram compile() {
+        var compiled = program.get();
+        if (compiled == null) {
+            compiled = WorkoutProgram.compile(intervals);
+            program.set(compiled);
+        }
+        return compiled;
     }
 
     public void recalculateMetadata(final WorkoutMetadataCalculator workoutMetadataCalculator) {
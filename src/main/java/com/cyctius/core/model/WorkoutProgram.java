@@ -0,0 +1,255 @@
+package com.cyctius.core.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import lombok.val;
+
+/**
+ * Compiled, immutable form of a workout for time based queries.
+ *
+ * Intervals are flattened into segments (repeats unrolled, empty blocks dropped) and held
+ * as parallel primitive arrays: start offsets, from/to intensity and cadence. Prefix sums of
+ * intensity-seconds and intensity²-seconds are precomputed, so the target at a second, the
+ * work done or the TSS between two offsets cost one binary search instead of a list scan.
+ *
+ * Integrals treat every segment as linear from {@code from} to {@code to}; {@link #targetAt(int)}
+ * returns the whole-second step target used by the player and the analysis engine.
+ */
+public final class WorkoutProgram {
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+    private static final double TSS_SCALE = 100.0;
+    private static final double PERCENT = 100.0;
+
+    private static final WorkoutProgram EMPTY = new Compiler(0).build();
+
+    private final int segmentCount;
+    private final int[] starts;
+    private final short[] fromIntensity;
+    private final short[] toIntensity;
+    private final short[] cadence;
+    private final double[] intensitySeconds;
+    private final double[] intensitySquaredSeconds;
+
+    private WorkoutProgram(
+        final int segmentCount,
+        final int[] starts,
+        final short[] fromIntensity,
+        final short[] toIntensity,
+        final short[] cadence
+    ) {
+        this.segmentCount = segmentCount;
+        this.starts = starts;
+        this.fromIntensity = fromIntensity;
+        this.toIntensity = toIntensity;
+        this.cadence = cadence;
+        this.intensitySeconds = new double[segmentCount + 1];
+        this.intensitySquaredSeconds = new double[segmentCount + 1];
+
+        for (int k = 0; k < segmentCount; k++) {
+            final int duration = starts[k + 1] - starts[k];
+            intensitySeconds[k + 1] = intensitySeconds[k] + partialIntensitySeconds(k, duration);
+            intensitySquaredSeconds[k + 1] = intensitySquaredSeconds[k] + partialIntensitySquaredSeconds(k, duration);
+        }
+    }
+
+    public static WorkoutProgram empty() {
+        return EMPTY;
+    }
+
+    public static WorkoutProgram compile(final List<Interval> intervals) {
+        if (Objects.isNull(intervals) || intervals.isEmpty()) {
+            return EMPTY;
+        }
+
+        val compiler = new Compiler(intervals.size());
+        for (Interval interval : intervals) {
+            if (interval instanceof SingleInterval single) {
+                compiler.add(single);
+            } else if (interval instanceof RampInterval ramp) {
+                compiler.add(ramp.getTargetIntensityFrom(), ramp.getTargetIntensityTo(),
+                        cadenceOf(ramp.getEnableCadence(), ramp.getTargetCadence()), ramp.getDuration());
+            } else if (interval instanceof RepeatInterval repeat) {
+                for (int i = 0; i < repeat.getRepeats(); i++) {
+                    compiler.add(repeat.getWork());
+                    compiler.add(repeat.getRest());
+                }
+            }
+        }
+        return compiler.build();
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public int getTotalDurationSeconds() {
+        return starts[segmentCount];
+    }
+
+    /**
+     * @return index of the segment playing at {@code second}
+     * @throws IndexOutOfBoundsException when {@code second} is outside the workout
+     */
+    public int segmentAt(final int second) {
+        Objects.checkIndex(second, getTotalDurationSeconds());
+        final int index = Arrays.binarySearch(starts, 0, segmentCount + 1, second);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public int segmentStart(final int segment) {
+        return starts[Objects.checkIndex(segment, segmentCount)];
+    }
+
+    public int segmentDuration(final int segment) {
+        return starts[Objects.checkIndex(segment, segmentCount) + 1] - starts[segment];
+    }
+
+    /**
+     * @return target intensity in % of FTP at {@code second}; second {@code i} of a ramp
+     *         targets {@code from + (to - from) * i / duration} (integer arithmetic)
+     */
+    public int targetAt(final int second) {
+        final int segment = segmentAt(second);
+        final int from = fromIntensity[segment];
+        final int delta = toIntensity[segment] - from;
+        return from + delta * (second - starts[segment]) / segmentDuration(segment);
+    }
+
+    /**
+     * @return target cadence at {@code second}, or 0 when cadence is not enabled there
+     */
+    public int cadenceAt(final int second) {
+        return cadence[segmentAt(second)];
+    }
+
+    /**
+     * @return ∫ intensity dt in %·s between the two offsets, clamped to the workout
+     */
+    public double intensitySecondsBetween(final int fromSecond, final int toSecond) {
+        return intensitySecondsUntil(toSecond) - intensitySecondsUntil(fromSecond);
+    }
+
+    /**
+     * @return mechanical work in joules between the two offsets for a rider with the given FTP
+     */
+    public double workJoulesBetween(final int fromSecond, final int toSecond, final int ftpWatts) {
+        return intensitySecondsBetween(fromSecond, toSecond) * ftpWatts / PERCENT;
+    }
+
+    /**
+     * @return unrounded TSS between the two offsets: ∫ intensity² dt / 3600 / 100
+     */
+    public double tssBetween(final int fromSecond, final int toSecond) {
+        final double squared = intensitySquaredSecondsUntil(toSecond) - intensitySquaredSecondsUntil(fromSecond);
+        return squared / SECONDS_PER_HOUR / TSS_SCALE;
+    }
+
+    private double intensitySecondsUntil(final int second) {
+        final int clamped = clamp(second);
+        if (clamped == getTotalDurationSeconds()) {
+            return intensitySeconds[segmentCount];
+        }
+        final int segment = segmentAt(clamped);
+        return intensitySeconds[segment] + partialIntensitySeconds(segment, clamped - starts[segment]);
+    }
+
+    private double intensitySquaredSecondsUntil(final int second) {
+        final int clamped = clamp(second);
+        if (clamped == getTotalDurationSeconds()) {
+            return intensitySquaredSeconds[segmentCount];
+        }
+        final int segment = segmentAt(clamped);
+        return intensitySquaredSeconds[segment] + partialIntensitySquaredSeconds(segment, clamped - starts[segment]);
+    }
+
+    private int clamp(final int second) {
+        return Math.max(0, Math.min(second, getTotalDurationSeconds()));
+    }
+
+    private double partialIntensitySeconds(final int segment, final double x) {
+        final double from = fromIntensity[segment];
+        final double slope = slope(segment);
+        return from * x + slope * x * x / 2.0;
+    }
+
+    private double partialIntensitySquaredSeconds(final int segment, final double x) {
+        final double from = fromIntensity[segment];
+        final double slope = slope(segment);
+        return from * from * x + from * slope * x * x + slope * slope * x * x * x / 3.0;
+    }
+
+    private double slope(final int segment) {
+        return (toIntensity[segment] - fromIntensity[segment]) / (double) (starts[segment + 1] - starts[segment]);
+    }
+
+    private static int cadenceOf(final Boolean enableCadence, final Integer targetCadence) {
+        return Boolean.TRUE.equals(enableCadence) && Objects.nonNull(targetCadence) ? targetCadence : 0;
+    }
+
+    private static short toShort(final int value) {
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of range for a workout program: " + value);
+        }
+        return (short) value;
+    }
+
+    /**
+     * Growable column buffers; trimmed to size when the program is built.
+     */
+    private static final class Compiler {
+        private int size;
+        private int[] starts;
+        private short[] from;
+        private short[] to;
+        private short[] cadence;
+
+        private Compiler(final int capacity) {
+            final int initial = Math.max(capacity, 1);
+            starts = new int[initial + 1];
+            from = new short[initial];
+            to = new short[initial];
+            cadence = new short[initial];
+        }
+
+        private void add(final SingleInterval single) {
+            add(single.getTargetIntensity(), single.getTargetIntensity(),
+                    cadenceOf(single.getEnableCadence(), single.getTargetCadence()), single.getDuration());
+        }
+
+        private void add(final int fromIntensity, final int toIntensity, final int targetCadence, final int duration) {
+            if (duration <= 0) {
+                return;
+            }
+            if (size == from.length) {
+                final int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity + 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                cadence = Arrays.copyOf(cadence, capacity);
+            }
+
+            from[size] = toShort(fromIntensity);
+            to[size] = toShort(toIntensity);
+            cadence[size] = toShort(targetCadence);
+            starts[size + 1] = Math.addExact(starts[size], duration);
+            size++;
+        }
+
+        private WorkoutProgram build() {
+            return new WorkoutProgram(
+                    size,
+                    Arrays.copyOf(starts, size + 1),
+                    Arrays.copyOf(from, size),
+                    Arrays.copyOf(to, size),
+                    Arrays.copyOf(cadence, size));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.cyctius.core.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.cyctius.core.enums.WorkoutType;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Splits intensity (% of FTP) into training zones and tells the classifier which
+ * {@link WorkoutType} a zone stands for.
+ *
+ * Compiled into a {@code byte[]} lookup table indexed by intensity, so mapping a segment
+ * to its zone is one array read; intensities beyond the table belong to the top zone.
+ * Zone seconds are kept in primitive arrays indexed by zone.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class ZoneModel {
+
+    /**
+     * One zone of a model.
+     *
+     * @param name        display name
+     * @param lowerBound  lowest intensity in % of FTP that falls into the zone
+     * @param workoutType type a workout is classified as when enough time is spent at or
+     *                    above this zone, or {@code null} when the zone never decides it
+     * @param threshold   share of total time (0-1) at or above the zone needed for {@code workoutType}
+     */
+    public record Zone(String name, int lowerBound, WorkoutType workoutType, double threshold) {
+    }
+
+    private static final ZoneModel COGGAN = new ZoneModel("COGGAN", List.of(
+            new Zone("Z1 Active Recovery", 0, null, 0.0),
+            new Zone("Z2 Endurance", 55, WorkoutType.ENDURANCE, 0.60),
+            new Zone("Z3 Tempo", 76, WorkoutType.TEMPO, 0.40),
+            new Zone("Z4 Threshold", 91, WorkoutType.THRESHOLD, 0.20),
+            new Zone("Z5 VO2max", 106, WorkoutType.VO2MAX, 0.10),
+            new Zone("Z6 Anaerobic Capacity", 121, WorkoutType.ANAEROBIC, 0.08),
+            new Zone("Z7 Neuromuscular Power", 151, WorkoutType.NEUROMUSCULAR, 0.05)));
+
+    private static final ZoneModel FIVE_ZONE = new ZoneModel("FIVE_ZONE", List.of(
+            new Zone("Z1 Recovery", 0, null, 0.0),
+            new Zone("Z2 Endurance", 55, WorkoutType.ENDURANCE, 0.60),
+            new Zone("Z3 Tempo", 76, WorkoutType.TEMPO, 0.40),
+            new Zone("Z4 Threshold", 91, WorkoutType.THRESHOLD, 0.20),
+            new Zone("Z5 Above Threshold", 106, WorkoutType.VO2MAX, 0.10)));
+
+    private static final ZoneModel POLARIZED = new ZoneModel("POLARIZED", List.of(
+            new Zone("Z1 Below LT1", 0, null, 0.0),
+            new Zone("Z2 Between Thresholds", 76, WorkoutType.TEMPO, 0.40),
+            new Zone("Z3 Above LT2", 100, WorkoutType.VO2MAX, 0.10)));
+
+    @Getter
+    @EqualsAndHashCode.Include
+    private final String name;
+
+    @EqualsAndHashCode.Include
+    private final List<Zone> zones;
+
+    private final byte[] zoneByIntensity;
+
+    private ZoneModel(final String name, final List<Zone> zones) {
+        this.name = name;
+        this.zones = List.copyOf(zones);
+        this.zoneByIntensity = compile(this.zones);
+    }
+
+    /**
+     * Coggan's 7 power zones; zone {@code i} matches {@code PowerZone.values()[i]}.
+     */
+    public static ZoneModel coggan() {
+        return COGGAN;
+    }
+
+    public static ZoneModel fiveZone() {
+        return FIVE_ZONE;
+    }
+
+    /**
+     * Three-zone polarized model: below the first threshold, between thresholds, above FTP.
+     */
+    public static ZoneModel polarized() {
+        return POLARIZED;
+    }
+
+    /**
+     * Per-athlete boundaries.
+     *
+     * @param zones zones ordered by {@code lowerBound}, the first starting at 0
+     */
+    public static ZoneModel custom(final String name, final List<Zone> zones) {
+        if (Objects.isNull(zones) || zones.isEmpty() || zones.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("A zone model needs between 1 and 127 zones");
+        }
+        if (zones.get(0).lowerBound() != 0) {
+            throw new IllegalArgumentException("The first zone must start at 0%");
+        }
+        for (int i = 1; i < zones.size(); i++) {
+            if (zones.get(i).lowerBound() <= zones.get(i - 1).lowerBound()) {
+                throw new IllegalArgumentException("Zone lower bounds must be strictly ascending");
+            }
+        }
+        return new ZoneModel(name, zones);
+    }
+
+    public int zoneCount() {
+        return zones.size();
+    }
+
+    public Zone zone(final int index) {
+        return zones.get(index);
+    }
+
+    public int zoneOf(final int intensity) {
+        return zoneByIntensity[Math.max(0, Math.min(intensity, zoneByIntensity.length - 1))];
+    }
+
+    /**
+     * @return exclusive upper bound of every zone but the last, as used by
+     *         {@link IntensityHistogram#secondsPerZone(int[])}
+     */
+    public int[] upperBounds() {
+        final int[] bounds = new int[zones.size() - 1];
+        for (int i = 1; i < zones.size(); i++) {
+            bounds[i - 1] = zones.get(i).lowerBound();
+        }
+        return bounds;
+    }
+
+    private static byte[] compile(final List<Zone> zones) {
+        final byte[] table = new byte[zones.get(zones.size() - 1).lowerBound() + 1];
+        for (int zone = 0; zone < zones.size(); zone++) {
+            final int to = zone + 1 < zones.size() ? zones.get(zone + 1).lowerBound() : table.length;
+            Arrays.fill(table, zones.get(zone).lowerBound(), to, (byte) zone);
+        }
+        return table;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
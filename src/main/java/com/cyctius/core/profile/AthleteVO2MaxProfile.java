@@ -1,5 +1,7 @@
 package com.cyctius.core.profile;
 
+import com.cyctius.core.model.CriticalPowerModel;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,12 +15,17 @@ public class AthleteVO2MaxProfile {
     private Integer ftp;
     private Double tte120Min; // Time to exhaustion at 120% FTP in minutes
     private Double tte106Min; // Time to exhaustion at 106% FTP in minutes
+    private CriticalPowerModel criticalPowerModel; // Fitted CP / W'; when set it replaces FTP and the TTE estimate
 
     /**
      * Calculates W' (anaerobic capacity) in Joules based on the FTP and TTE values.
-     * Uses the simplified model: W' = (P_target - FTP) * TTE
+     * Uses the simplified model: W' = (P_target - FTP) * TTE, unless a fitted model is set.
      */
     public Double calculateWPrime() {
+        if (criticalPowerModel != null) {
+            return criticalPowerModel.getWPrime();
+        }
+
         double p120 = ftp * 1.20;
         double p106 = ftp * 1.06;
         double t1 = tte120Min * 60;
@@ -30,8 +37,15 @@ public class AthleteVO2MaxProfile {
         return Math.max(wPrime1, wPrime2);
     }
 
+    /**
+     * Critical Power in watts: the fitted CP, or FTP.
+     */
+    public Double calculateCriticalPower() {
+        return criticalPowerModel != null ? criticalPowerModel.getCriticalPower() : (double) ftp;
+    }
+
     public Double calculateTau(double restPower) {
         // Skiba et al. 2012 recovery time constant formula
-        return 546 * Math.exp(-0.01 * (ftp - restPower)) + 316;
+        return 546 * Math.exp(-0.01 * (calculateCriticalPower() - restPower)) + 316;
     }
 }
@@ -0,0 +1,130 @@
+package com.cyctius.core.profile;
+
+import org.apache.commons.math3.analysis.interpolation.AkimaSplineInterpolator;
+import org.apache.commons.math3.analysis.interpolation.LinearInterpolator;
+import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Скомпилированная кривая Power-Duration (PD) профиля {@link ThresholdAthleteProfile}.
+ *
+ * Точки фильтруются, сортируются и логарифмируются один раз; сплайн P = f(log(T)) строится
+ * один раз (Akima при 5+ точках, линейный при 2-4). Если построить сплайн не удалось,
+ * используется ручная линейная интерполяция по тем же массивам. При менее чем 2 точках
+ * кривая - степенной закон от TTE на FTP.
+ *
+ * Неизменяемый объект, безопасен для использования из нескольких потоков.
+ */
+public final class PowerDurationCurve {
+
+    private static final double DEFAULT_TTE_SECONDS = 2400.0;
+
+    private final List<ThresholdAthleteProfile.PdPoint> source;
+    private final Double tteAtFtp;
+    private final double[] logTimes;
+    private final double[] powers;
+    private final PolynomialSplineFunction spline;
+    private final double refTte;
+
+    private PowerDurationCurve(final List<ThresholdAthleteProfile.PdPoint> pdPoints, final Double tteAtFtp) {
+        this.source = copyOf(pdPoints);
+        this.tteAtFtp = tteAtFtp;
+        this.refTte = (tteAtFtp != null && tteAtFtp > 0) ? tteAtFtp : DEFAULT_TTE_SECONDS;
+
+        final List<ThresholdAthleteProfile.PdPoint> points = pdPoints.stream()
+                .filter(p -> p != null && p.getPowerPercent() != null && p.getTimeSeconds() != null && p.getTimeSeconds() > 0)
+                .sorted(Comparator.comparingDouble(ThresholdAthleteProfile.PdPoint::getTimeSeconds))
+                .toList();
+
+        this.logTimes = new double[points.size()];
+        this.powers = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            logTimes[i] = Math.log(points.get(i).getTimeSeconds());
+            powers[i] = points.get(i).getPowerPercent();
+        }
+
+        this.spline = points.size() < 2 ? null : fit(logTimes, powers);
+    }
+
+    public static PowerDurationCurve of(final List<ThresholdAthleteProfile.PdPoint> pdPoints, final Double tteAtFtp) {
+        return new PowerDurationCurve(pdPoints, tteAtFtp);
+    }
+
+    /**
+     * @return максимальная мощность (в % от FTP) для длительности в секундах
+     */
+    public double powerAt(final double durationSeconds) {
+        if (durationSeconds <= 0) return 200.0;
+
+        if (logTimes.length < 2) {
+            return 100.0 * Math.pow(durationSeconds / refTte, -0.07);
+        }
+
+        final double logTarget = Math.log(durationSeconds);
+        final int last = logTimes.length - 1;
+
+        // Проверка на границы (экстраполяция)
+        if (logTarget < logTimes[0]) return extrapolate(logTarget, 0, 1);
+        if (logTarget > logTimes[last]) return extrapolate(logTarget, last - 1, last);
+
+        if (spline != null) {
+            return spline.value(logTarget);
+        }
+
+        // Ручная линейная логика, если сплайн не построился
+        for (int i = 1; i < logTimes.length; i++) {
+            if (logTimes[i] >= logTarget) {
+                return extrapolate(logTarget, i - 1, i);
+            }
+        }
+        return powers[last];
+    }
+
+    /**
+     * @return мощности для каждой длительности из {@code durationsSeconds}
+     */
+    public double[] powerAt(final double[] durationsSeconds) {
+        final double[] result = new double[durationsSeconds.length];
+        for (int i = 0; i < durationsSeconds.length; i++) {
+            result[i] = powerAt(durationsSeconds[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @return true если кривая построена по тем же точкам и TTE
+     */
+    boolean isCompiledFrom(final List<ThresholdAthleteProfile.PdPoint> pdPoints, final Double tteAtFtp) {
+        return Objects.equals(this.tteAtFtp, tteAtFtp) && source.equals(pdPoints);
+    }
+
+    private double extrapolate(final double x, final int i1, final int i2) {
+        final double x1 = logTimes[i1];
+        final double x2 = logTimes[i2];
+        if (Math.abs(x2 - x1) < 1e-9) return powers[i1];
+        return powers[i1] + (x - x1) * (powers[i2] - powers[i1]) / (x2 - x1);
+    }
+
+    private static PolynomialSplineFunction fit(final double[] x, final double[] y) {
+        try {
+            // Akima spline - стандарт для гладких PD кривых в спорте
+            return x.length >= 5
+                    ? new AkimaSplineInterpolator().interpolate(x, y)
+                    : new LinearInterpolator().interpolate(x, y);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static List<ThresholdAthleteProfile.PdPoint> copyOf(final List<ThresholdAthleteProfile.PdPoint> pdPoints) {
+        final List<ThresholdAthleteProfile.PdPoint> copy = new ArrayList<>(pdPoints.size());
+        for (ThresholdAthleteProfile.PdPoint point : pdPoints) {
+            copy.add(point == null ? null : new ThresholdAthleteProfile.PdPoint(point.getPowerPercent(), point.getTimeSeconds()));
+        }
+        return copy;
+    }
+}
@@ -1,17 +1,19 @@
 package com.cyctius.core.profile;
 
+import com.cyctius.core.model.CriticalPowerModel;
+
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-import org.apache.commons.math3.analysis.interpolation.AkimaSplineInterpolator;
-import org.apache.commons.math3.analysis.interpolation.LinearInterpolator;
-import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
-
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Профиль атлета для Threshold калькулятора.
@@ -25,6 +27,7 @@ public class ThresholdAthleteProfile {
     private Integer ftp;
     private Double tteAtFtp; // TTE на 100% FTP в секундах
     private List<PdPoint> pdPoints; // Точки кривой [Power %, Time (s)]
+    private CriticalPowerModel criticalPowerModel; // Подобранная модель CP / W'; если задана, заменяет точки PD
 
     @Data
     @AllArgsConstructor
@@ -34,6 +37,15 @@ public class ThresholdAthleteProfile {
         private Double timeSeconds;
     }
 
+    /**
+     * Скомпилированная кривая для текущих точек и TTE; перестраивается, только когда они меняются.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient AtomicReference<PowerDurationCurve> compiledCurve = new AtomicReference<>();
+
     /**
      * Находит максимальную мощность (в % от FTP) для заданной длительности (в секундах).
      * Использует Akima Spline интерполяцию в логарифмическом пространстве времени: P = f(log(T)).
@@ -42,76 +54,18 @@ public class ThresholdAthleteProfile {
     public Double getPowerAtDuration(double durationSeconds) {
         if (durationSeconds <= 0) return 200.0;
 
-        List<PdPoint> points = getValidSortedPoints();
-        
-        if (points.size() < 2) {
-            double refTte = (tteAtFtp != null && tteAtFtp > 0) ? tteAtFtp : 2400.0;
-            return 100.0 * Math.pow(durationSeconds / refTte, -0.07);
-        }
-
-        double logTarget = Math.log(durationSeconds);
-        
-        double[] x = new double[points.size()];
-        double[] y = new double[points.size()];
-        
-        for (int i = 0; i < points.size(); i++) {
-            x[i] = Math.log(points.get(i).getTimeSeconds());
-            y[i] = points.get(i).getPowerPercent();
-        }
-
-        try {
-            if (points.size() >= 5) {
-                // Akima spline - стандарт для гладких PD кривых в спорте
-                AkimaSplineInterpolator interpolator = new AkimaSplineInterpolator();
-                PolynomialSplineFunction function = interpolator.interpolate(x, y);
-                
-                // Проверка на границы (экстраполяция)
-                if (logTarget < x[0]) return extrapolateLinear(logTarget, x[0], y[0], x[1], y[1]);
-                if (logTarget > x[x.length - 1]) return extrapolateLinear(logTarget, x[x.length - 2], y[y.length - 2], x[x.length - 1], y[y.length - 1]);
-                
-                return function.value(logTarget);
-            } else {
-                // Если точек мало (2-4), используем линейную интерполяцию с ручной экстраполяцией
-                if (logTarget < x[0]) return extrapolateLinear(logTarget, x[0], y[0], x[1], y[1]);
-                if (logTarget > x[x.length - 1]) return extrapolateLinear(logTarget, x[x.length - 2], y[y.length - 2], x[x.length - 1], y[y.length - 1]);
-                
-                LinearInterpolator interpolator = new LinearInterpolator();
-                return interpolator.interpolate(x, y).value(logTarget);
-            }
-        } catch (Exception e) {
-            // Fallback на ручную линейную логику
-            return fallbackLinear(logTarget, points);
-        }
-    }
-
-    private double extrapolateLinear(double x, double x1, double y1, double x2, double y2) {
-        if (Math.abs(x2 - x1) < 1e-9) return y1;
-        return y1 + (x - x1) * (y2 - y1) / (x2 - x1);
+        return powerDurationCurve().powerAt(durationSeconds);
     }
 
-    private double fallbackLinear(double logTarget, List<PdPoint> points) {
-        double[] x = new double[points.size()];
-        double[] y = new double[points.size()];
-        for (int i = 0; i < points.size(); i++) {
-            x[i] = Math.log(points.get(i).getTimeSeconds());
-            y[i] = points.get(i).getPowerPercent();
-        }
-        
-        if (logTarget < x[0]) return extrapolateLinear(logTarget, x[0], y[0], x[1], y[1]);
-        if (logTarget > x[x.length - 1]) return extrapolateLinear(logTarget, x[x.length - 2], y[y.length - 2], x[x.length - 1], y[y.length - 1]);
-
-        for (int i = 1; i < x.length; i++) {
-            if (x[i] >= logTarget) {
-                return extrapolateLinear(logTarget, x[i-1], y[i-1], x[i], y[i]);
-            }
+    /**
+     * Кривая PD, построенная один раз на версию профиля (точки и TTE) и переиспользуемая между запросами.
+     */
+    public PowerDurationCurve powerDurationCurve() {
+        PowerDurationCurve curve = compiledCurve.get();
+        if (curve == null || !curve.isCompiledFrom(pdPoints, tteAtFtp)) {
+            curve = PowerDurationCurve.of(pdPoints, tteAtFtp);
+            compiledCurve.set(curve);
         }
-        return y[y.length - 1];
-    }
-
-    private List<PdPoint> getValidSortedPoints() {
-        return pdPoints.stream()
-                .filter(p -> p != null && p.getPowerPercent() != null && p.getTimeSeconds() != null && p.getTimeSeconds() > 0)
-                .sorted(Comparator.comparingDouble(PdPoint::getTimeSeconds))
-                .collect(Collectors.toList());
+        return curve;
     }
 }
@@ -0,0 +1,21 @@
+package com.cyctius.core.service;
+
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+import com.cyctius.core.profile.ThresholdAthleteProfile;
+
+/**
+ * Athlete profiles the session calculators run against.
+ */
+public interface AthleteProfileService {
+
+    /**
+     * @return the current user's VO2max profile: FTP and the latest fitted Critical Power model
+     */
+    AthleteVO2MaxProfile getVO2maxProfile();
+
+    /**
+     * @return the current user's threshold profile: FTP, the latest fitted Critical Power model
+     * and the all-time power curve as PD points
+     */
+    ThresholdAthleteProfile getThresholdProfile();
+}
@@ -2,6 +2,7 @@ package com.cyctius.core.service;
 
 import com.cyctius.core.model.WorkoutModel;
 import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.dto.TssCalculationResultDTO;
 
 /**
  * Service for calculating Training Stress Score (TSS) for workouts and intervals.
@@ -25,5 +26,16 @@ public interface TssCalculationService {
      */
     Integer calculateTssForInterval(Interval interval);
 
+    /**
+     * Calculate TSS for a part of a workout, e.g. the part of a planned workout a rider completed.
+     * The range is clamped to the workout; ramps are integrated exactly rather than rounded per block.
+     *
+     * @param workout    the workout model containing intervals
+     * @param fromSecond start of the range, inclusive
+     * @param toSecond   end of the range, exclusive
+     * @return TSS, duration and average intensity of the range
+     */
+    TssCalculationResultDTO calculateTssForRange(WorkoutModel workout, int fromSecond, int toSecond);
+
 }
 
@@ -1,8 +1,33 @@
 package com.cyctius.core.service;
 
 import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.ZoneModel;
 import com.cyctius.dto.WorkoutMetadataDTO;
 
 public interface WorkoutMetadataCalculator {
-    WorkoutMetadataDTO calculateMetadata(WorkoutModel workout, Boolean forceRecalculate);
+
+    /**
+     * Version of the metadata algorithms (NP, TSS, classification thresholds). Bump it when a
+     * change alters stored results, so the backfill job recomputes older rows.
+     */
+    int ALGORITHM_VERSION = 1;
+
+    default WorkoutMetadataDTO calculateMetadata(WorkoutModel workout, Boolean forceRecalculate) {
+        return calculateMetadata(workout, forceRecalculate, ZoneModel.coggan());
+    }
+
+    /**
+     * @param zoneModel zones the training type is classified in
+     */
+    WorkoutMetadataDTO calculateMetadata(WorkoutModel workout, Boolean forceRecalculate, ZoneModel zoneModel);
+
+    default WorkoutMetadataDTO recalculateMetadata(WorkoutModel workout) {
+        return recalculateMetadata(workout, ZoneModel.coggan());
+    }
+
+    /**
+     * Recalculates metadata after the intervals of a stored workout were edited, recomputing
+     * only what changed since the workout was last analysed when that state is still known.
+     */
+    WorkoutMetadataDTO recalculateMetadata(WorkoutModel workout, ZoneModel zoneModel);
 }
@@ -2,14 +2,33 @@ package com.cyctius.core.service;
 
 import java.util.Map;
 
+import com.cyctius.core.model.WorkoutAnalysis;
 import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.ZoneModel;
 import com.cyctius.core.enums.PowerZone;
 
 public interface WorkoutPowerUtils {
     Map<PowerZone, Integer> calculateDistribution(WorkoutModel model);
+
+    /**
+     * @return seconds per zone of {@code zoneModel}, indexed by zone; ramps count in the zone they start in
+     */
+    int[] calculateZoneSeconds(WorkoutModel model, ZoneModel zoneModel);
+
     Integer calculateAverageIntensity(WorkoutModel model);
     Integer calculateNormalizedIntensity(WorkoutModel model);
     Double calculateIF(WorkoutModel model);
     Double calculateDifficulty(WorkoutModel model);
     PowerZone powerZoneByIntensity(Integer intensity);
+
+    /**
+     * Computes TSS, zone distribution, NP, IF, difficulty, average intensity, duration and
+     * the 1% intensity histogram in one pass over the intervals. Each value matches the corresponding standalone method.
+     */
+    WorkoutAnalysis analyze(WorkoutModel model);
+
+    /**
+     * Same as {@link #analyze(WorkoutModel)}, with zone seconds counted under {@code zoneModel}.
+     */
+    WorkoutAnalysis analyze(WorkoutModel model, ZoneModel zoneModel);
 }
@@ -1,7 +1,9 @@
 package com.cyctius.core.service;
 
 import com.cyctius.core.enums.WorkoutType;
+import com.cyctius.core.model.WorkoutAnalysis;
 import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.ZoneModel;
 
 /**
  * Service for classifying workouts by training type based on interval intensities.
@@ -15,5 +17,22 @@ public interface WorkoutTypeClassifierService {
      * @return the training type classification
      */
     WorkoutType classifyWorkout(WorkoutModel workout);
+
+    /**
+     * Classify a workout using the zones and thresholds of the given zone model.
+     *
+     * @param workout   the workout model to classify
+     * @param zoneModel zones the time distribution is measured in
+     * @return the training type classification
+     */
+    WorkoutType classifyWorkout(WorkoutModel workout, ZoneModel zoneModel);
+
+    /**
+     * Classify a workout from an already computed analysis, without walking its intervals again.
+     *
+     * @param analysis the single-pass analysis of the workout
+     * @return the training type classification
+     */
+    WorkoutType classifyAnalysis(WorkoutAnalysis analysis);
 }
 
@@ -0,0 +1,157 @@
+package com.cyctius.core.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.cyctius.core.engine.IntervalStructureKey;
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.ZoneModel;
+import com.cyctius.core.service.WorkoutMetadataCalculator;
+import com.cyctius.dto.WorkoutMetadataDTO;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+
+/**
+ * Content-addressed cache in front of {@link WorkoutMetadataCalculatorImpl}.
+ *
+ * Metadata only depends on the interval structure, so library copies, planned workouts and
+ * sync re-uploads of the same structure share one entry keyed by {@link IntervalStructureKey}
+ * and the {@link ZoneModel} the training type was classified in.
+ * Entries are evicted least-recently-used once {@code cyctius.metadata.cache.max-entries}
+ * is reached. Hits, misses, evictions and size are exported as {@code cyctius.metadata.cache.*}.
+ */
+@Primary
+@Service
+public class CachingWorkoutMetadataCalculator implements WorkoutMetadataCalculator {
+
+    private static final String METRIC_PREFIX = "cyctius.metadata.cache";
+
+    private final WorkoutMetadataCalculatorImpl delegate;
+    private final Map<CacheKey, WorkoutMetadataDTO> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public CachingWorkoutMetadataCalculator(
+        final WorkoutMetadataCalculatorImpl delegate,
+        final MeterRegistry meterRegistry,
+        @Value("${cyctius.metadata.cache.max-entries:10000}") final int maxEntries
+    ) {
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<CacheKey, WorkoutMetadataDTO> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, CachingWorkoutMetadataCalculator::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WorkoutMetadataDTO calculateMetadata(
+        final WorkoutModel workout,
+        final Boolean forceRecalculate,
+        final ZoneModel zoneModel
+    ) {
+        if (Objects.isNull(workout) || !workout.isValid()
+                || (workout.getMetadata() != null && Objects.nonNull(forceRecalculate) && !forceRecalculate)) {
+            return delegate.calculateMetadata(workout, forceRecalculate, zoneModel);
+        }
+
+        val key = new CacheKey(IntervalStructureKey.of(workout.getIntervals()), zoneModel);
+        val cached = lookup(key);
+        if (cached != null) {
+            return forWorkout(cached, workout);
+        }
+
+        return forWorkout(store(key, delegate.calculateMetadata(workout, true, zoneModel)), workout);
+    }
+
+    /**
+     * The structure key computed for the lookup is handed to the incremental analysis on a
+     * miss. A hit leaves the workout's analysis session where it was; its next miss covers
+     * both edits.
+     */
+    @Override
+    public WorkoutMetadataDTO recalculateMetadata(final WorkoutModel workout, final ZoneModel zoneModel) {
+        if (Objects.isNull(workout) || !workout.isValid()) {
+            return delegate.recalculateMetadata(workout, zoneModel);
+        }
+
+        val key = new CacheKey(IntervalStructureKey.of(workout.getIntervals()), zoneModel);
+        val cached = lookup(key);
+        if (cached != null) {
+            return forWorkout(cached, workout);
+        }
+
+        return forWorkout(store(key, delegate.recalculateMetadata(workout, key.structure(), zoneModel)), workout);
+    }
+
+    private WorkoutMetadataDTO lookup(final CacheKey key) {
+        WorkoutMetadataDTO cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+
+        if (cached != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return cached;
+    }
+
+    private WorkoutMetadataDTO store(final CacheKey key, final WorkoutMetadataDTO metadata) {
+        val shared = metadata.toBuilder()
+                .id(null)
+                .workoutId(null)
+                .createdAt(null)
+                .updatedAt(null)
+                .build();
+        synchronized (cache) {
+            cache.put(key, shared);
+        }
+        return shared;
+    }
+
+    private static WorkoutMetadataDTO forWorkout(final WorkoutMetadataDTO cached, final WorkoutModel workout) {
+        return cached.toBuilder()
+                .workoutId(workout.getId())
+                .build();
+    }
+
+    private double size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private record CacheKey(IntervalStructureKey structure, ZoneModel zoneModel) {
+    }
+}
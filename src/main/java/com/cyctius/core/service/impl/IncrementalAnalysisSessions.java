@@ -0,0 +1,117 @@
+package com.cyctius.core.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cyctius.core.engine.IncrementalWorkoutAnalysis;
+import com.cyctius.core.engine.IntervalStructureKey;
+import com.cyctius.core.model.WorkoutAnalysis;
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.ZoneModel;
+import com.cyctius.core.model.intervals.Interval;
+
+import lombok.val;
+
+/**
+ * Keeps an {@link IncrementalWorkoutAnalysis} per recently edited workout, so an editor that
+ * saves after every change only pays for the intervals that changed.
+ *
+ * A session remembers the {@link IntervalStructureKey} of the intervals it last analysed. The
+ * next analysis of the workout locates the edit as the range between the common prefix and
+ * suffix of that key and the new one, compared interval by interval on their encodings, so
+ * neither list is walked again. Edits the session did not see, e.g. ones answered from the
+ * metadata cache, simply end up in the same range. A session of another zone model is rebuilt.
+ */
+@Service
+public class IncrementalAnalysisSessions {
+
+    private final Map<String, Session> sessions;
+
+    @Autowired
+    public IncrementalAnalysisSessions(
+        @Value("${cyctius.metadata.incremental.max-sessions:1000}") final int maxSessions
+    ) {
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Session> eldest) {
+                return size() > maxSessions;
+            }
+        };
+    }
+
+    public WorkoutAnalysis analyze(final WorkoutModel workout, final ZoneModel zoneModel) {
+        return analyze(workout, IntervalStructureKey.of(workout.getIntervals()), zoneModel);
+    }
+
+    /**
+     * @param structure the key of {@code workout}'s intervals
+     */
+    public WorkoutAnalysis analyze(
+        final WorkoutModel workout,
+        final IntervalStructureKey structure,
+        final ZoneModel zoneModel
+    ) {
+        if (Objects.isNull(workout.getId())) {
+            return IncrementalWorkoutAnalysis.of(workout.getIntervals(), zoneModel).toAnalysis();
+        }
+
+        Session session;
+        synchronized (sessions) {
+            session = sessions.get(workout.getId());
+        }
+
+        if (session != null) {
+            synchronized (session) {
+                if (session.analysis.getZoneModel().equals(zoneModel)) {
+                    applyEdit(session.analysis, session.structure, structure, workout.getIntervals());
+                    session.structure = structure;
+                    return session.analysis.toAnalysis();
+                }
+            }
+        }
+
+        val fresh = new Session(IncrementalWorkoutAnalysis.of(workout.getIntervals(), zoneModel), structure);
+        synchronized (sessions) {
+            sessions.put(workout.getId(), fresh);
+        }
+        return fresh.analysis.toAnalysis();
+    }
+
+    private static void applyEdit(
+        final IncrementalWorkoutAnalysis analysis,
+        final IntervalStructureKey previous,
+        final IntervalStructureKey current,
+        final List<Interval> intervals
+    ) {
+        final int shorter = Math.min(previous.size(), current.size());
+
+        int prefix = 0;
+        while (prefix < shorter && previous.sameInterval(prefix, current, prefix)) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        while (suffix < shorter - prefix
+                && previous.sameInterval(previous.size() - 1 - suffix, current, current.size() - 1 - suffix)) {
+            suffix++;
+        }
+
+        analysis.splice(prefix, previous.size() - prefix - suffix, intervals.subList(prefix, intervals.size() - suffix));
+    }
+
+    private static final class Session {
+        private final IncrementalWorkoutAnalysis analysis;
+        private IntervalStructureKey structure;
+
+        private Session(final IncrementalWorkoutAnalysis analysis, final IntervalStructureKey structure) {
+            this.analysis = analysis;
+            this.structure = structure;
+        }
+    }
+}
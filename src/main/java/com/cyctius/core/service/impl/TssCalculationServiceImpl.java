@@ -1,11 +1,13 @@
 package com.cyctius.core.service.impl;
 
+import com.cyctius.core.engine.TssFormula;
 import com.cyctius.core.model.WorkoutModel;
 import com.cyctius.core.model.intervals.Interval;
 import com.cyctius.core.model.intervals.RampInterval;
 import com.cyctius.core.model.intervals.RepeatInterval;
 import com.cyctius.core.model.intervals.SingleInterval;
 import com.cyctius.core.service.TssCalculationService;
+import com.cyctius.dto.TssCalculationResultDTO;
 
 import org.springframework.stereotype.Service;
 import lombok.val;
@@ -17,9 +19,6 @@ import lombok.val;
 @Service
 public class TssCalculationServiceImpl implements TssCalculationService {
 
-    private static final int SECONDS_PER_HOUR = 3600;
-    private static final double ROUNDING_FACTOR_TSS = 100.0;
-
     @Override
     public Integer calculateTssForSession(final WorkoutModel workout) {
 
@@ -32,6 +31,28 @@ public class TssCalculationServiceImpl implements TssCalculationService {
             .sum();
     }
 
+    @Override
+    public TssCalculationResultDTO calculateTssForRange(
+        final WorkoutModel workout,
+        final int fromSecond,
+        final int toSecond
+    ) {
+        if (workout == null || workout.getIntervals() == null || workout.getIntervals().isEmpty()) {
+            return TssCalculationResultDTO.builder().tss(0).totalDurationSeconds(0).averageIntensity(0).build();
+        }
+
+        val program = workout.compile();
+        val from = Math.max(0, Math.min(fromSecond, program.getTotalDurationSeconds()));
+        val to = Math.max(from, Math.min(toSecond, program.getTotalDurationSeconds()));
+        val duration = to - from;
+
+        return TssCalculationResultDTO.builder()
+            .tss((int) Math.round(program.tssBetween(from, to)))
+            .totalDurationSeconds(duration)
+            .averageIntensity(duration == 0 ? 0 : (int) Math.round(program.intensitySecondsBetween(from, to) / duration))
+            .build();
+    }
+
     @Override
     public Integer calculateTssForInterval(final Interval interval) {
 
@@ -57,11 +78,10 @@ public class TssCalculationServiceImpl implements TssCalculationService {
     }
 
     private Integer calculateTssForRampInterval(final RampInterval interval) {
-        val averageIntensity = (interval.getTargetIntensityFrom() + interval.getTargetIntensityTo()) / 2;
-        return calculateTss(averageIntensity, interval.getDuration());
+        return TssFormula.rampTss(interval.getTargetIntensityFrom(), interval.getTargetIntensityTo(), interval.getDuration());
     }
 
     private Integer calculateTss(Integer intensity, Integer duration) {
-        return (int) Math.round((double) (duration * intensity * intensity) / SECONDS_PER_HOUR / ROUNDING_FACTOR_TSS);
+        return TssFormula.tss(intensity, duration);
     }
 }
@@ -1,80 +1,362 @@
 package com.cyctius.core.service.impl;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.cyctius.core.calculator.SessionCalculator;
+import com.cyctius.core.engine.IntervalWalker;
+import com.cyctius.core.engine.WorkoutLoadAccumulator;
 import com.cyctius.core.enums.WorkoutType;
 import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.core.parameters.ThresholdSessionParameters;
+import com.cyctius.core.parameters.VO2maxSessionParameters;
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+import com.cyctius.core.profile.ThresholdAthleteProfile;
+import com.cyctius.core.service.AthleteProfileService;
 import com.cyctius.core.service.WorkoutGeneratorService;
+import com.cyctius.core.service.WorkoutTypeClassifierService;
+import com.cyctius.core.session.ThresholdSession;
+import com.cyctius.core.session.VO2maxSession;
+import com.cyctius.handler.exception.BadRequestException;
 
-import lombok.RequiredArgsConstructor;
+import lombok.val;
 
+/**
+ * Generates a workout as warm-up ramp, main set, endurance filler and cool-down ramp.
+ *
+ * The main set candidates come from the type: steady or block intervals inside the zone of
+ * the type, short repeats for anaerobic and sprint work, and the session calculators for
+ * threshold and VO2max (scores around the requested difficulty, every interval type).
+ * Every main set is combined with every warm-up / cool-down length and filler intensity
+ * that fits the total duration, and the candidates are scored in parallel with
+ * {@link WorkoutLoadAccumulator}, which computes TSS and zone time exactly like the metadata
+ * analysis. The cheapest candidate wins:
+ * <pre>
+ * cost = |TSS - target| / target + 0.3 · difficulty deviation + 0.3 · main set deviation
+ *      + 0.05 · warm-up / cool-down deviation + 10 if the classified type differs
+ * </pre>
+ * Intensities are in % of FTP; the calculators run against the current user's profiles from
+ * {@link AthleteProfileService}, which carry the latest fitted Critical Power model.
+ */
 @Service
-@RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class WorkoutGeneratorServiceImpl implements WorkoutGeneratorService {
 
+    private static final int DEFAULT_TOTAL_DURATION_SECONDS = 60 * 60;
+    private static final double DEFAULT_DIFFICULTY = 5.0;
+
+    private static final int CADENCE = 90;
+    private static final int WARM_UP_FROM = 45;
+    private static final int WARM_UP_TO = 75;
+    private static final int COOL_DOWN_FROM = 60;
+    private static final int COOL_DOWN_TO = 40;
+    private static final int STANDARD_WARM_UP_SECONDS = 600;
+    private static final int STANDARD_COOL_DOWN_SECONDS = 300;
+    private static final int[] WARM_UP_SECONDS = {0, 300, 600, 900};
+    private static final int[] COOL_DOWN_SECONDS = {0, 300, 600};
+    private static final int[] FILLER_INTENSITIES = {45, 50, 55, 60, 65, 70, 75};
+    private static final double[] SCORE_OFFSETS = {-1.0, -0.5, 0.0, 0.5, 1.0};
+
+    private static final double TYPE_MISMATCH_COST = 10.0;
+
+    private final SessionCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> vo2maxSessionCalculator;
+    private final SessionCalculator<ThresholdAthleteProfile, ThresholdSessionParameters, ThresholdSession> thresholdSessionCalculator;
+    private final WorkoutTypeClassifierService workoutTypeClassifierService;
+    private final AthleteProfileService athleteProfileService;
+
+    @Autowired
+    public WorkoutGeneratorServiceImpl(
+        final SessionCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> vo2maxSessionCalculator,
+        final SessionCalculator<ThresholdAthleteProfile, ThresholdSessionParameters, ThresholdSession> thresholdSessionCalculator,
+        final WorkoutTypeClassifierService workoutTypeClassifierService,
+        final AthleteProfileService athleteProfileService
+    ) {
+        this.vo2maxSessionCalculator = vo2maxSessionCalculator;
+        this.thresholdSessionCalculator = thresholdSessionCalculator;
+        this.workoutTypeClassifierService = workoutTypeClassifierService;
+        this.athleteProfileService = athleteProfileService;
+    }
+
     @Override
     public WorkoutModel generateWorkout(
-        final WorkoutType workoutType, 
+        final WorkoutType workoutType,
         final Integer totalTSS,
-        final Double difficulty, 
-        final Integer totalDurationSeconds, 
+        final Double difficulty,
+        final Integer totalDurationSeconds,
         final Integer mainSetDurationSeconds
     ) {
-        return null;
+        if (Objects.isNull(workoutType)) {
+            throw new BadRequestException("workout-generator.error.workout-type-cannot-be-null");
+        }
+        if (Objects.nonNull(difficulty) && (difficulty < 1.0 || difficulty > 10.0)) {
+            throw new BadRequestException("workout-generator.error.invalid-difficulty");
+        }
+        if (Objects.nonNull(totalTSS) && totalTSS <= 0) {
+            throw new BadRequestException("workout-generator.error.invalid-tss");
+        }
+
+        val total = Objects.requireNonNullElse(totalDurationSeconds, DEFAULT_TOTAL_DURATION_SECONDS);
+        val mainSet = Objects.requireNonNullElse(mainSetDurationSeconds, total / 2);
+        if (total <= 0 || mainSet <= 0 || mainSet > total) {
+            throw new BadRequestException("workout-generator.error.invalid-duration");
+        }
+
+        val target = new Target(workoutType, totalTSS, Objects.requireNonNullElse(difficulty, DEFAULT_DIFFICULTY),
+                total, mainSet);
+        val mainSets = mainSets(target);
+
+        val candidates = new ArrayList<Candidate>();
+        for (int warmUp : WARM_UP_SECONDS) {
+            for (int coolDown : COOL_DOWN_SECONDS) {
+                for (int filler : FILLER_INTENSITIES) {
+                    for (MainSet set : mainSets) {
+                        if (warmUp + coolDown + set.seconds() <= total) {
+                            candidates.add(new Candidate(warmUp, coolDown, filler, set));
+                        }
+                    }
+                }
+            }
+        }
+
+        return candidates.parallelStream()
+                .map(candidate -> new Scored(candidate, cost(candidate, target)))
+                .min(Comparator.comparingDouble(Scored::cost))
+                .map(best -> toWorkout(best.candidate(), target))
+                .orElseThrow(() -> new BadRequestException("workout-generator.error.invalid-duration"));
     }
 
-    @SuppressWarnings("unused")
-    private WorkoutModel generateRecoveryWorkout(
-        final Double difficulty, 
-        final Integer totalDurationSeconds, 
-        final Integer mainSetDurationSeconds
-    ) {
-        return null;
+    private List<MainSet> mainSets(final Target target) {
+        return switch (target.workoutType()) {
+            case RECOVERY -> steadyMainSets(target, 40, 54);
+            case ENDURANCE -> steadyMainSets(target, 56, 75);
+            case TEMPO -> tempoMainSets(target);
+            case THRESHOLD -> thresholdMainSets(target);
+            case VO2MAX -> vo2maxMainSets(target);
+            case ANAEROBIC -> repeatMainSets(target, 121, 150, new int[]{30, 45, 60, 90, 120}, new double[]{1.0, 2.0});
+            case NEUROMUSCULAR -> repeatMainSets(target, 160, 250, new int[]{8, 10, 12, 15}, new double[]{6.0, 9.0, 12.0});
+        };
     }
 
-    @SuppressWarnings("unused")
-    private WorkoutModel generateEnduranceWorkout(
-        final Double difficulty, 
-        final Integer totalDurationSeconds, 
-        final Integer mainSetDurationSeconds
-    ) {
-        return null;
+    /**
+     * One steady block at every intensity of the zone.
+     */
+    private static List<MainSet> steadyMainSets(final Target target, final int from, final int to) {
+        val sets = new ArrayList<MainSet>();
+        for (int intensity = from; intensity <= to; intensity++) {
+            sets.add(new MainSet(List.of(steady(intensity, target.mainSetSeconds())),
+                    intensityDeviation(target, intensity, from, to), target.mainSetSeconds()));
+        }
+        return sets;
     }
 
-    @SuppressWarnings("unused")
-    private WorkoutModel generateTempoWorkout(
-        final Double difficulty,
-        final Integer totalDurationSeconds,
-        final Integer mainSetDurationSeconds
+    /**
+     * One to three tempo blocks, each followed by 5 minutes at 55 %.
+     */
+    private static List<MainSet> tempoMainSets(final Target target) {
+        val restSeconds = 300;
+        val sets = new ArrayList<MainSet>();
+        for (int intensity = 76; intensity <= 90; intensity += 2) {
+            val deviation = intensityDeviation(target, intensity, 76, 90);
+            sets.add(new MainSet(List.of(steady(intensity, target.mainSetSeconds())), deviation, target.mainSetSeconds()));
+            for (int blocks = 2; blocks <= 3; blocks++) {
+                val workSeconds = target.mainSetSeconds() / blocks - restSeconds;
+                if (workSeconds >= 600) {
+                    sets.add(new MainSet(List.of(repeat(intensity, workSeconds, 55, restSeconds, blocks)),
+                            deviation, (workSeconds + restSeconds) * blocks));
+                }
+            }
+        }
+        return sets;
+    }
+
+    /**
+     * Work / rest repeats filling the main set, rest a multiple of the work.
+     */
+    private static List<MainSet> repeatMainSets(
+        final Target target,
+        final int from,
+        final int to,
+        final int[] workSeconds,
+        final double[] restRatios
     ) {
-        return null;
+        val sets = new ArrayList<MainSet>();
+        val step = Math.max(1, (to - from) / 6);
+        for (int intensity = from; intensity <= to; intensity += step) {
+            for (int work : workSeconds) {
+                for (double ratio : restRatios) {
+                    val rest = (int) Math.round(work * ratio);
+                    val repeats = target.mainSetSeconds() / (work + rest);
+                    if (repeats >= 2) {
+                        sets.add(new MainSet(List.of(repeat(intensity, work, 50, rest, repeats)),
+                                intensityDeviation(target, intensity, from, to), (work + rest) * repeats));
+                    }
+                }
+            }
+        }
+        return sets;
     }
 
-    @SuppressWarnings("unused")
-    private WorkoutModel generateThresholdWorkout(
-        final Double difficulty,
-        final Integer totalDurationSeconds,
-        final Integer mainSetDurationSeconds
+    private List<MainSet> thresholdMainSets(final Target target) {
+        val minutes = clamp((int) Math.round(target.mainSetSeconds() / 60.0), 10, 120);
+        val thresholdAthlete = athleteProfileService.getThresholdProfile();
+        val sets = new ArrayList<MainSet>();
+        for (ThresholdSessionParameters.ThresholdIntervalType type : ThresholdSessionParameters.ThresholdIntervalType.values()) {
+            for (double score : scores(target)) {
+                val session = thresholdSessionCalculator.calculate(thresholdAthlete, ThresholdSessionParameters.builder()
+                        .score(score)
+                        .durationMinutes(minutes)
+                        .intervalType(type)
+                        .build());
+                sets.add(sessionMainSet(target, score, session.getWorkIntensity(), session.getWorkDuration(),
+                        session.getRestIntensity(), session.getRestDuration(), session.getRepeats()));
+            }
+        }
+        return sets;
+    }
+
+    private List<MainSet> vo2maxMainSets(final Target target) {
+        val minutes = clamp((int) Math.round(target.mainSetSeconds() / 60.0), 10, 60);
+        val vo2maxAthlete = athleteProfileService.getVO2maxProfile();
+        val sets = new ArrayList<MainSet>();
+        for (VO2maxSessionParameters.VO2maxIntervalType type : VO2maxSessionParameters.VO2maxIntervalType.values()) {
+            for (double score : scores(target)) {
+                val session = vo2maxSessionCalculator.calculate(vo2maxAthlete, VO2maxSessionParameters.builder()
+                        .score(score)
+                        .durationMinutes(minutes)
+                        .intervalType(type)
+                        .build());
+                if (session != null) {
+                    sets.add(sessionMainSet(target, score, session.getWorkIntensity(), session.getWorkDuration(),
+                            session.getRestIntensity(), session.getRestDuration(), session.getRepeats()));
+                }
+            }
+        }
+        return sets;
+    }
+
+    private static MainSet sessionMainSet(
+        final Target target,
+        final double score,
+        final double workIntensity,
+        final int workSeconds,
+        final double restIntensity,
+        final int restSeconds,
+        final int repeats
     ) {
-        return null;
+        return new MainSet(
+                List.of(repeat((int) Math.round(workIntensity * 100), workSeconds,
+                        (int) Math.round(restIntensity * 100), restSeconds, repeats)),
+                Math.abs(score - target.difficulty()) / 9.0,
+                (workSeconds + restSeconds) * repeats);
     }
-    
-    @SuppressWarnings("unused")
-    private WorkoutModel generateVO2maxWorkout(
-        final Double difficulty,
-        final Integer totalDurationSeconds,
-        final Integer mainSetDurationSeconds
+
+    /**
+     * Session scores within one point of the difficulty, in half point steps.
+     */
+    private static TreeSet<Double> scores(final Target target) {
+        val scores = new TreeSet<Double>();
+        for (double offset : SCORE_OFFSETS) {
+            scores.add(Math.max(1.0, Math.min(10.0, target.difficulty() + offset)));
+        }
+        return scores;
+    }
+
+    private double cost(final Candidate candidate, final Target target) {
+        val load = IntervalWalker.walk(intervals(candidate, target), new WorkoutLoadAccumulator());
+
+        double cost = 0.3 * candidate.mainSet().difficultyDeviation()
+                + 0.3 * Math.abs(candidate.mainSet().seconds() - target.mainSetSeconds()) / (double) target.mainSetSeconds()
+                + 0.05 * Math.abs(candidate.warmUpSeconds() - STANDARD_WARM_UP_SECONDS) / (double) STANDARD_WARM_UP_SECONDS
+                + 0.05 * Math.abs(candidate.coolDownSeconds() - STANDARD_COOL_DOWN_SECONDS) / (double) STANDARD_COOL_DOWN_SECONDS;
+        if (Objects.nonNull(target.tss())) {
+            cost += Math.abs(load.getTss() - target.tss()) / (double) target.tss();
+        }
+        if (workoutTypeClassifierService.classifyAnalysis(load.toAnalysis()) != target.workoutType()) {
+            cost += TYPE_MISMATCH_COST;
+        }
+        return cost;
+    }
+
+    private static List<Interval> intervals(final Candidate candidate, final Target target) {
+        val fillerSeconds = target.totalDurationSeconds() - candidate.warmUpSeconds()
+                - candidate.mainSet().seconds() - candidate.coolDownSeconds();
+
+        val intervals = new ArrayList<Interval>(candidate.mainSet().intervals().size() + 3);
+        if (candidate.warmUpSeconds() > 0) {
+            intervals.add(ramp(WARM_UP_FROM, WARM_UP_TO, candidate.warmUpSeconds()));
+        }
+        intervals.addAll(candidate.mainSet().intervals());
+        if (fillerSeconds > 0) {
+            intervals.add(steady(candidate.fillerIntensity(), fillerSeconds));
+        }
+        if (candidate.coolDownSeconds() > 0) {
+            intervals.add(ramp(COOL_DOWN_FROM, COOL_DOWN_TO, candidate.coolDownSeconds()));
+        }
+        return intervals;
+    }
+
+    private static WorkoutModel toWorkout(final Candidate candidate, final Target target) {
+        return WorkoutModel.builder()
+                .name(target.workoutType() + " " + target.totalDurationSeconds() / 60 + " min")
+                .intervals(intervals(candidate, target))
+                .build();
+    }
+
+    private static double intensityDeviation(final Target target, final int intensity, final int from, final int to) {
+        val targetIntensity = from + (to - from) * (target.difficulty() - 1.0) / 9.0;
+        return Math.abs(intensity - targetIntensity) / (to - from);
+    }
+
+    private static SingleInterval steady(final int intensity, final int seconds) {
+        return new SingleInterval(intensity, CADENCE, false, seconds);
+    }
+
+    private static RampInterval ramp(final int from, final int to, final int seconds) {
+        return new RampInterval(from, to, CADENCE, false, seconds);
+    }
+
+    private static RepeatInterval repeat(
+        final int workIntensity,
+        final int workSeconds,
+        final int restIntensity,
+        final int restSeconds,
+        final int repeats
     ) {
-        return null;
+        return new RepeatInterval(steady(restIntensity, restSeconds), steady(workIntensity, workSeconds), repeats);
     }
-    
-    @SuppressWarnings("unused")
-    private WorkoutModel generateNeuromuscularWorkout(
-        final Double difficulty,
-        final Integer totalDurationSeconds,
-        final Integer mainSetDurationSeconds
+
+    private static int clamp(final int value, final int min, final int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private record Target(
+        WorkoutType workoutType,
+        Integer tss,
+        double difficulty,
+        int totalDurationSeconds,
+        int mainSetSeconds
     ) {
-        return null;
+    }
+
+    /**
+     * @param difficultyDeviation distance from the requested difficulty, 0-1
+     * @param seconds             duration of the intervals
+     */
+    private record MainSet(List<Interval> intervals, double difficultyDeviation, int seconds) {
+    }
+
+    private record Candidate(int warmUpSeconds, int coolDownSeconds, int fillerIntensity, MainSet mainSet) {
+    }
+
+    private record Scored(Candidate candidate, double cost) {
     }
 }
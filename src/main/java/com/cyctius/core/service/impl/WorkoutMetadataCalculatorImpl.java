@@ -5,9 +5,11 @@ import java.util.Objects;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.cyctius.core.engine.IntervalStructureKey;
 import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.WorkoutAnalysis;
+import com.cyctius.core.model.ZoneModel;
 import com.cyctius.core.service.WorkoutTypeClassifierService;
-import com.cyctius.core.service.TssCalculationService;
 import com.cyctius.core.service.WorkoutMetadataCalculator;
 import com.cyctius.core.service.WorkoutPowerUtils;
 import com.cyctius.dto.WorkoutMetadataDTO;
@@ -21,11 +23,15 @@ import lombok.val;
 public class WorkoutMetadataCalculatorImpl implements WorkoutMetadataCalculator {
 
     private final WorkoutPowerUtils workoutPowerUtils;
-    private final TssCalculationService tssCalculationService;
     private final WorkoutTypeClassifierService trainingTypeClassifierService;
+    private final IncrementalAnalysisSessions incrementalAnalysisSessions;
 
     @Override
-    public WorkoutMetadataDTO calculateMetadata(final WorkoutModel workout, final Boolean forceRecalculate) {
+    public WorkoutMetadataDTO calculateMetadata(
+        final WorkoutModel workout,
+        final Boolean forceRecalculate,
+        final ZoneModel zoneModel
+    ) {
         if (Objects.isNull(workout)) {
             throw new BadRequestException("workout.error.workout-not-found");
         }
@@ -34,14 +40,44 @@ public class WorkoutMetadataCalculatorImpl implements WorkoutMetadataCalculator
             return workout.getMetadata();
         }
 
+        return toMetadata(workout, workoutPowerUtils.analyze(workout, zoneModel));
+    }
+
+    @Override
+    public WorkoutMetadataDTO recalculateMetadata(final WorkoutModel workout, final ZoneModel zoneModel) {
+        if (Objects.isNull(workout)) {
+            throw new BadRequestException("workout.error.workout-not-found");
+        }
+
+        if (!workout.isValid()) {
+            return toMetadata(workout, workoutPowerUtils.analyze(workout, zoneModel));
+        }
+
+        return toMetadata(workout, incrementalAnalysisSessions.analyze(workout, zoneModel));
+    }
+
+    /**
+     * {@link #recalculateMetadata(WorkoutModel, ZoneModel)} of a valid workout whose structure key is already known.
+     */
+    WorkoutMetadataDTO recalculateMetadata(
+        final WorkoutModel workout,
+        final IntervalStructureKey structure,
+        final ZoneModel zoneModel
+    ) {
+        return toMetadata(workout, incrementalAnalysisSessions.analyze(workout, structure, zoneModel));
+    }
+
+    private WorkoutMetadataDTO toMetadata(final WorkoutModel workout, final WorkoutAnalysis analysis) {
         val metadata = WorkoutMetadataDTO.builder()
                 .workoutId(workout.getId())
-                .estimatedTss(tssCalculationService.calculateTssForSession(workout))
-                .trainingType(trainingTypeClassifierService.classifyWorkout(workout))
-                .difficulty(workoutPowerUtils.calculateDifficulty(workout))
-                .intensityFactor(workoutPowerUtils.calculateIF(workout))
-                .averageIntensity(workoutPowerUtils.calculateAverageIntensity(workout))
-                .durationSeconds(workout.getTotalDurationSeconds())
+                .estimatedTss(analysis.getTss())
+                .trainingType(trainingTypeClassifierService.classifyAnalysis(analysis))
+                .difficulty(analysis.getDifficulty())
+                .intensityFactor(analysis.getIntensityFactor())
+                .averageIntensity(analysis.getAverageIntensity())
+                .durationSeconds(analysis.getDurationSeconds())
+                .intensityHistogram(analysis.getHistogram())
+                .algorithmVersion(ALGORITHM_VERSION)
                 .build();
 
         return metadata;
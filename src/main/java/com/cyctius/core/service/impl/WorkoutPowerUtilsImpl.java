@@ -1,57 +1,73 @@
 package com.cyctius.core.service.impl;
 
+import com.cyctius.core.engine.IntensityHistogramAccumulator;
+import com.cyctius.core.engine.IntensitySegmentVisitor;
+import com.cyctius.core.engine.IntervalWalker;
+import com.cyctius.core.engine.KernelNormalizedIntensityAccumulator;
+import com.cyctius.core.engine.NormalizedIntensityAccumulator;
+import com.cyctius.core.engine.PowerSeriesKernel;
+import com.cyctius.core.engine.PowerSeriesKernels;
+import com.cyctius.core.engine.SegmentNormalizedIntensityAccumulator;
+import com.cyctius.core.engine.TssFormula;
+import com.cyctius.core.model.WorkoutAnalysis;
 import com.cyctius.core.model.WorkoutModel;
-import com.cyctius.core.model.WorkoutTimeInZone;
+import com.cyctius.core.model.ZoneModel;
 import com.cyctius.core.model.intervals.Interval;
-import com.cyctius.core.model.intervals.RampInterval;
-import com.cyctius.core.model.intervals.RepeatInterval;
-import com.cyctius.core.model.intervals.SingleInterval;
 import com.cyctius.core.service.WorkoutPowerUtils;
+import com.cyctius.core.enums.NormalizedIntensityMode;
+import com.cyctius.core.enums.PowerKernelMode;
 import com.cyctius.core.enums.PowerZone;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 import lombok.val;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class WorkoutPowerUtilsImpl implements WorkoutPowerUtils {
 
+    private static final PowerZone[] ZONES = PowerZone.values();
+    private static final ZoneModel COGGAN = ZoneModel.coggan();
+
+    private final NormalizedIntensityMode normalizedIntensityMode;
+    private final PowerSeriesKernel powerSeriesKernel;
+
+    public WorkoutPowerUtilsImpl() {
+        this(NormalizedIntensityMode.SEGMENT, PowerKernelMode.AUTO);
+    }
+
+    @Autowired
+    public WorkoutPowerUtilsImpl(
+        @Value("${cyctius.metadata.normalized-intensity-mode:SEGMENT}")
+        final NormalizedIntensityMode normalizedIntensityMode,
+        @Value("${cyctius.metadata.power-kernel:AUTO}")
+        final PowerKernelMode powerKernelMode
+    ) {
+        this.normalizedIntensityMode = normalizedIntensityMode;
+        this.powerSeriesKernel = PowerSeriesKernels.select(powerKernelMode);
+    }
+
     @Override
     public Map<PowerZone, Integer> calculateDistribution(final WorkoutModel model) {
         if (Objects.isNull(model) || !model.isValid()) {
             return Collections.emptyMap();
         }
 
-        Map<PowerZone, Integer> distribution = new HashMap<>(
-                Map.of(
-                        PowerZone.Z1_ACTIVE_RECOVERY, 0,
-                        PowerZone.Z2_ENDURANCE, 0,
-                        PowerZone.Z3_TEMPO, 0,
-                        PowerZone.Z4_THRESHOLD, 0,
-                        PowerZone.Z5_VO2MAX, 0,
-                        PowerZone.Z6_ANEROBIC_CAPACITY, 0,
-                        PowerZone.Z7_NEUROMUSCULAR_POWER, 0));
-
-        for (Interval interval : model.getIntervals()) {
-            val timeInZone = getWorkoutTimeInZone(interval);
+        return WorkoutAnalysis.distributionOf(calculateZoneSeconds(model, COGGAN));
+    }
 
-            if (!timeInZone.isEmpty()) {
-                timeInZone.forEach(time -> {
-                    distribution.put(time.getPowerZone(),
-                            distribution.get(time.getPowerZone()) + time.getTimeInZone());
-                });
-            }
+    @Override
+    public int[] calculateZoneSeconds(final WorkoutModel model, final ZoneModel zoneModel) {
+        if (Objects.isNull(model) || !model.isValid()) {
+            return new int[zoneModel.zoneCount()];
         }
 
-        return distribution;
-
+        return IntervalWalker.walk(model.getIntervals(), new ZoneSecondsVisitor(zoneModel)).seconds;
     }
 
     @Override
@@ -68,28 +84,48 @@ public class WorkoutPowerUtilsImpl implements WorkoutPowerUtils {
     }
 
     @Override
-    public Integer calculateNormalizedIntensity(final WorkoutModel model) {
+    public WorkoutAnalysis analyze(final WorkoutModel model) {
+        return analyze(model, COGGAN);
+    }
+
+    @Override
+    public WorkoutAnalysis analyze(final WorkoutModel model, final ZoneModel zoneModel) {
         if (Objects.isNull(model) || !model.isValid()) {
-            return 0;
+            return WorkoutAnalysis.empty(zoneModel);
         }
 
-        List<Integer> intensitySeries = expandIntervalsToTimeSeries(model.getIntervals());
+        val visitor = new AnalysisVisitor(newNormalizedIntensityAccumulator(), zoneModel);
+        int intensitySum = 0;
+        for (Interval interval : model.getIntervals()) {
+            intensitySum += interval.averageIntensity();
+            IntervalWalker.walk(interval, visitor);
+        }
+
+        val normalizedIntensity = visitor.normalizedIntensity.getRoundedNormalizedIntensity();
+        val intensityFactor = WorkoutAnalysis.intensityFactorOf(normalizedIntensity);
+
+        return WorkoutAnalysis.builder()
+                .tss(visitor.tss)
+                .distribution(WorkoutAnalysis.distributionOf(visitor.cogganSeconds))
+                .zoneModel(zoneModel)
+                .zoneSeconds(visitor.zoneSeconds)
+                .normalizedIntensity(normalizedIntensity)
+                .intensityFactor(intensityFactor)
+                .difficulty(WorkoutAnalysis.difficultyOf(intensityFactor))
+                .averageIntensity(intensitySum / model.getIntervals().size())
+                .durationSeconds(visitor.durationSeconds)
+                .histogram(visitor.histogram.toHistogram())
+                .build();
+    }
 
-        if (intensitySeries.size() < 30) {
+    @Override
+    public Integer calculateNormalizedIntensity(final WorkoutModel model) {
+        if (Objects.isNull(model) || !model.isValid()) {
             return 0;
         }
 
-        List<Double> smoothedIntensities = applyRollingAverage(intensitySeries, 30);
-
-        double sumOfFourthPowers = 0.0;
-        for (Double smoothed : smoothedIntensities) {
-            sumOfFourthPowers += Math.pow(smoothed, 4.0);
-        }
-
-        double averageOfFourthPowers = sumOfFourthPowers / smoothedIntensities.size();
-        double normalizedPower = Math.pow(averageOfFourthPowers, 1.0 / 4.0);
-
-        return (int) Math.round(normalizedPower);
+        return IntervalWalker.walk(model.getIntervals(), newNormalizedIntensityAccumulator())
+                .getRoundedNormalizedIntensity();
     }
 
     @Override
@@ -97,14 +133,8 @@ public class WorkoutPowerUtilsImpl implements WorkoutPowerUtils {
         if (Objects.isNull(model) || !model.isValid()) {
             return 0.0;
         }
-        
-        Double normalizedIntensity = (double) calculateNormalizedIntensity(model);
-
-        if (normalizedIntensity == 0.0) {
-            return 0.0;
-        }
 
-        return normalizedIntensity / 100.0;
+        return WorkoutAnalysis.intensityFactorOf(calculateNormalizedIntensity(model));
     }
 
     @Override
@@ -113,121 +143,105 @@ public class WorkoutPowerUtilsImpl implements WorkoutPowerUtils {
             return 0.0;
         }
 
-        return Math.max(calculateIF(model) * 10.0, 10.0);
+        return WorkoutAnalysis.difficultyOf(calculateIF(model));
     }
 
     @Override
     public PowerZone powerZoneByIntensity(final Integer intensity) {
-        if (intensity < 55) {
-            return PowerZone.Z1_ACTIVE_RECOVERY;
-        } else if (intensity < 76) {
-            return PowerZone.Z2_ENDURANCE;
-        } else if (intensity < 91) {
-            return PowerZone.Z3_TEMPO;
-        } else if (intensity < 106) {
-            return PowerZone.Z4_THRESHOLD;
-        } else if (intensity < 121) {
-            return PowerZone.Z5_VO2MAX;
-        } else if (intensity < 151) {
-            return PowerZone.Z6_ANEROBIC_CAPACITY;
-        } else {
-            return PowerZone.Z7_NEUROMUSCULAR_POWER;
-        }
+        return ZONES[COGGAN.zoneOf(intensity)];
     }
 
-    private List<Integer> expandIntervalsToTimeSeries(final List<Interval> intervals) {
-        List<Integer> intensitySeries = new ArrayList<>();
-
-        for (Interval interval : intervals) {
-            if (interval instanceof SingleInterval single) {
-                intensitySeries.addAll(expandSingleInterval(single));
-            } else if (interval instanceof RampInterval ramp) {
-                intensitySeries.addAll(expandRampInterval(ramp));
-            } else if (interval instanceof RepeatInterval repeat) {
-                intensitySeries.addAll(expandRepeatInterval(repeat));
-            }
-        }
-
-        return intensitySeries;
+    private NormalizedIntensityAccumulator newNormalizedIntensityAccumulator() {
+        return normalizedIntensityMode == NormalizedIntensityMode.SEGMENT
+                ? new SegmentNormalizedIntensityAccumulator()
+                : new KernelNormalizedIntensityAccumulator(powerSeriesKernel);
     }
 
-    private List<Double> applyRollingAverage(final List<Integer> values, final int windowSize) {
-        List<Double> smoothed = new ArrayList<>();
-
-        if (values.size() < windowSize) {
-            return smoothed;
-        }
-
-        double currentWindowSum = 0;
-        for (int i = 0; i < windowSize; i++) {
-            currentWindowSum += values.get(i);
-        }
-        smoothed.add(currentWindowSum / windowSize);
-
-        for (int i = windowSize; i < values.size(); i++) {
-            currentWindowSum += values.get(i) - values.get(i - windowSize);
-            smoothed.add(currentWindowSum / windowSize);
-        }
-
-        return smoothed;
-    }
+    /**
+     * Sums seconds per zone of a {@link ZoneModel} into a primitive array indexed by zone.
+     * A ramp is attributed to the zone of its starting intensity.
+     */
+    private static final class ZoneSecondsVisitor implements IntensitySegmentVisitor {
+        private final ZoneModel zoneModel;
+        private final int[] seconds;
 
-    private List<Integer> expandSingleInterval(final SingleInterval interval) {
-        List<Integer> intensities = new ArrayList<>();
-        for (int i = 0; i < interval.getDuration(); i++) {
-            intensities.add(interval.getTargetIntensity());
+        private ZoneSecondsVisitor(final ZoneModel zoneModel) {
+            this.zoneModel = zoneModel;
+            this.seconds = new int[zoneModel.zoneCount()];
         }
-        return intensities;
-    }
 
-    private List<Integer> expandRampInterval(final RampInterval interval) {
-        List<Integer> intensities = new ArrayList<>();
-        for (int i = 0; i < interval.getDuration(); i++) {
-            intensities.add(interval.getTargetIntensityFrom()
-                    + (interval.getTargetIntensityTo() - interval.getTargetIntensityFrom()) * i
-                            / interval.getDuration());
+        @Override
+        public void onSteady(final int intensity, final int duration) {
+            seconds[zoneModel.zoneOf(intensity)] += duration;
         }
-        return intensities;
-    }
 
-    private List<Integer> expandRepeatInterval(final RepeatInterval interval) {
-        List<Integer> intensities = new ArrayList<>();
-        for (int i = 0; i < interval.getRepeats(); i++) {
-            intensities.addAll(expandSingleInterval(interval.getWork()));
-            intensities.addAll(expandSingleInterval(interval.getRest()));
+        @Override
+        public void onRamp(final int from, final int to, final int duration) {
+            seconds[zoneModel.zoneOf(from)] += duration;
         }
-        return intensities;
     }
 
-    private List<WorkoutTimeInZone> getWorkoutTimeInZone(final Interval interval) {
-        switch (interval.getType()) {
-            case SINGLE:
-                return List.of(getWorkoutTimeInZone((SingleInterval) interval));
-            case RAMP:
-                return List.of(getWorkoutTimeInZone((RampInterval) interval));
-            case REPEAT:
-                return getWorkoutTimeInZone((RepeatInterval) interval);
-            default:
-                return Collections.emptyList();
+    /**
+     * Collects every {@link WorkoutAnalysis} figure while the intervals are walked once.
+     * TSS follows {@link com.cyctius.core.service.TssCalculationService}: rounded per block,
+     * ramps at their mean intensity. Zone seconds are kept for Coggan (the stored distribution)
+     * and for the requested model, which share one array when the requested model is Coggan.
+     */
+    private static final class AnalysisVisitor implements IntensitySegmentVisitor {
+        private final NormalizedIntensityAccumulator normalizedIntensity;
+        private final IntensityHistogramAccumulator histogram = new IntensityHistogramAccumulator();
+        private final ZoneSecondsVisitor coggan = new ZoneSecondsVisitor(COGGAN);
+        private final ZoneSecondsVisitor zones;
+        private final int[] cogganSeconds = coggan.seconds;
+        private final int[] zoneSeconds;
+        private int tss;
+        private int durationSeconds;
+
+        private AnalysisVisitor(final NormalizedIntensityAccumulator normalizedIntensity, final ZoneModel zoneModel) {
+            this.normalizedIntensity = normalizedIntensity;
+            this.zones = COGGAN.equals(zoneModel) ? null : new ZoneSecondsVisitor(zoneModel);
+            this.zoneSeconds = zones == null ? cogganSeconds : zones.seconds;
+        }
+
+        @Override
+        public void onSteady(final int intensity, final int duration) {
+            normalizedIntensity.onSteady(intensity, duration);
+            histogram.onSteady(intensity, duration);
+            countZones(intensity, duration);
+            tss += TssFormula.tss(intensity, duration);
+            durationSeconds += duration;
+        }
+
+        @Override
+        public void onRamp(final int from, final int to, final int duration) {
+            normalizedIntensity.onRamp(from, to, duration);
+            histogram.onRamp(from, to, duration);
+            countZones(from, duration);
+            tss += TssFormula.rampTss(from, to, duration);
+            durationSeconds += duration;
+        }
+
+        @Override
+        public void onRepeat(
+            final int workIntensity,
+            final int workSeconds,
+            final int restIntensity,
+            final int restSeconds,
+            final int repeats
+        ) {
+            normalizedIntensity.onRepeat(workIntensity, workSeconds, restIntensity, restSeconds, repeats);
+            histogram.onRepeat(workIntensity, workSeconds, restIntensity, restSeconds, repeats);
+            countZones(workIntensity, workSeconds * repeats);
+            countZones(restIntensity, restSeconds * repeats);
+            tss += (TssFormula.tss(workIntensity, workSeconds) + TssFormula.tss(restIntensity, restSeconds)) * repeats;
+            durationSeconds += (workSeconds + restSeconds) * repeats;
+        }
+
+        private void countZones(final int intensity, final int duration) {
+            coggan.onSteady(intensity, duration);
+            if (zones != null) {
+                zones.onSteady(intensity, duration);
+            }
         }
     }
-
-    private List<WorkoutTimeInZone> getWorkoutTimeInZone(final RepeatInterval interval) {
-        return List.of(
-            getWorkoutTimeInZone(interval.getWork()).multiplyTime(interval.getRepeats()),
-            getWorkoutTimeInZone(interval.getRest()).multiplyTime(interval.getRepeats())
-        );
-    }
-
-    private WorkoutTimeInZone getWorkoutTimeInZone(final SingleInterval interval) {
-        return new WorkoutTimeInZone(
-                interval.getDuration(),
-                powerZoneByIntensity(interval.getTargetIntensity()));
-    }
-
-    private WorkoutTimeInZone getWorkoutTimeInZone(final RampInterval interval) {
-        return new WorkoutTimeInZone(
-                interval.getDuration(),
-                powerZoneByIntensity(interval.getTargetIntensityFrom()));
-    }
 }
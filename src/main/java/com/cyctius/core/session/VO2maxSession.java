@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class VO2maxSession {
     private Double workIntensity; // In percentage of FTP (e.g. 1.12 for 112%)
     private Double restIntensity; // In percentage of FTP (e.g. 0.4 for 40%)
@@ -0,0 +1,33 @@
+package com.cyctius.core.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Different shapes of the same VO2max stimulus (e.g. 5x4' vs 6x3' vs 8x2'),
+ * none of them better than another in every penalty term.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class VO2maxSessionAlternatives {
+    private Double score;
+    private List<Alternative> alternatives; // Cheapest first; the first one is the calculated session
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Data
+    @Builder
+    public static class Alternative {
+        private VO2maxSession session;
+        private Double wBalError;          // |W'bal - target| / W'
+        private Double durationDeviation;  // |t_work - t_base| / t_base
+        private Double powerDeviation;     // |p_work - p_base| / p_base
+        private Double cost;
+    }
+}
@@ -0,0 +1,27 @@
+package com.cyctius.dto;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CriticalPowerFitDTO {
+    private CriticalPowerModelType modelType;
+    private Integer version;
+    private Integer algorithmVersion;
+    private Integer pointCount;
+    private Double criticalPower; // W
+    private Double wPrime; // J
+    private Double maxPower; // W
+    private Double longDurationDecay;
+    private Double rmse; // W
+    private LocalDateTime createdAt;
+}
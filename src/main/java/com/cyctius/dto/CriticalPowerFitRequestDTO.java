@@ -0,0 +1,27 @@
+package com.cyctius.dto;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CriticalPowerFitRequestDTO {
+    private CriticalPowerModelType modelType;
+    private List<PowerDurationPoint> points; // Maximal mean power efforts
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PowerDurationPoint {
+        private Double powerWatts;
+        private Double durationSeconds;
+    }
+}
@@ -0,0 +1,29 @@
+package com.cyctius.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class MetadataBackfillStatusDTO {
+    private State state;
+    private Integer algorithmVersion;
+    private String lastWorkoutId;
+    private Long processed; // rows written in the current run
+    private Long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum State {
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
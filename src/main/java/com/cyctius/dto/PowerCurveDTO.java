@@ -0,0 +1,26 @@
+package com.cyctius.dto;
+
+import com.cyctius.enums.PowerCurveScope;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PowerCurveDTO {
+    private PowerCurveScope scope; // null for a single training session
+    private int[] durations; // seconds
+    private double[] watts; // best average power per duration, 0 where no effort is that long
+    private List<LocalDate> effortDays; // day of each best, null for a single training session
+    private Double normalizedPower; // of the ride stream, null for athlete curves
+    @JsonProperty("xPower")
+    private Double xPower; // of the ride stream, null for athlete curves
+}
@@ -0,0 +1,20 @@
+package com.cyctius.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TrainingLoadDayDTO {
+    private LocalDate day;
+    private Integer tss;
+    private Double ctl;
+    private Double atl;
+    private Double tsb;
+}
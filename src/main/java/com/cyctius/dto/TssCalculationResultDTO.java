@@ -12,5 +12,6 @@ import lombok.NoArgsConstructor;
 public class TssCalculationResultDTO {
     private Integer tss;
     private Integer totalDurationSeconds;
+    private Integer averageIntensity;
 }
 
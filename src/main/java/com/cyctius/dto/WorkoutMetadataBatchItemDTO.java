@@ -0,0 +1,19 @@
+package com.cyctius.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class WorkoutMetadataBatchItemDTO {
+    private Integer index; // Position in the request
+    private String workoutId;
+    private WorkoutMetadataDTO metadata;
+    private String error; // Set instead of metadata when this workout failed
+}
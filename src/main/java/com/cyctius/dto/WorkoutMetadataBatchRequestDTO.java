@@ -0,0 +1,18 @@
+package com.cyctius.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WorkoutMetadataBatchRequestDTO {
+    @NotNull(message = "error.metadata.batch.workouts.notnull")
+    private List<WorkoutDTO> workouts;
+}
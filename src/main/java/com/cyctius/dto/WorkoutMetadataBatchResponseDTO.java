@@ -0,0 +1,18 @@
+package com.cyctius.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WorkoutMetadataBatchResponseDTO {
+    private List<WorkoutMetadataBatchItemDTO> results; // In request order
+    private Integer succeeded;
+    private Integer failed;
+}
@@ -3,6 +3,7 @@ package com.cyctius.dto;
 import java.time.LocalDateTime;
 
 import com.cyctius.core.enums.WorkoutType;
+import com.cyctius.core.model.IntensityHistogram;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,7 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class WorkoutMetadataDTO {
     private String id;
     private String workoutId;
@@ -22,6 +23,8 @@ public class WorkoutMetadataDTO {
     private Double intensityFactor; // Range 0.0 and > 1.0
     private Integer averageIntensity; // Range 1-100 %
     private Integer durationSeconds;
+    private IntensityHistogram intensityHistogram; // Seconds per 1% intensity bin
+    private Integer algorithmVersion;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,46 @@
+package com.cyctius.entity;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import com.cyctius.enums.PowerCurveScope;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * A user's best mean-maximal power per duration over a scope, merged from {@link SessionPowerCurve}s.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "athlete_power_curves", schema = "cyctius_db_schema", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_athlete_power_curves_user_scope", columnNames = {"user_id", "scope"})
+})
+public class AthletePowerCurve extends Auditable {
+    @Id
+    @UuidGenerator
+    @Column(name = "id", updatable = false, nullable = false)
+    private String id;
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false)
+    private PowerCurveScope scope;
+    @Column(name = "watts", nullable = false)
+    private double[] watts;
+    @Column(name = "effort_days", nullable = false)
+    private int[] effortDays; // Epoch day of each best, to expire rolling bests
+}
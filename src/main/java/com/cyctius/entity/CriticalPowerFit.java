@@ -0,0 +1,61 @@
+package com.cyctius.entity;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * One fitted Critical Power / W' model of a user. Every refit adds a new version;
+ * the highest version per user and model type is the current one.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "critical_power_fits", schema = "cyctius_db_schema", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_critical_power_fits_user_type_version", columnNames = {"user_id", "model_type", "version"})
+})
+public class CriticalPowerFit extends Auditable {
+    @Id
+    @UuidGenerator
+    @Column(name = "id", updatable = false, nullable = false)
+    private String id;
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "model_type", nullable = false)
+    private CriticalPowerModelType modelType;
+    @Column(name = "version", nullable = false)
+    private Integer version;
+    @Column(name = "algorithm_version", nullable = false)
+    private Integer algorithmVersion;
+    @Column(name = "input_hash", nullable = false)
+    private String inputHash; // SHA-256 of the fitted points, to skip refits of unchanged data
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+    @Column(name = "critical_power", nullable = false)
+    private Double criticalPower;
+    @Column(name = "w_prime", nullable = false)
+    private Double wPrime;
+    @Column(name = "max_power")
+    private Double maxPower;
+    @Column(name = "long_duration_decay")
+    private Double longDurationDecay;
+    @Column(name = "rmse", nullable = false)
+    private Double rmse;
+}
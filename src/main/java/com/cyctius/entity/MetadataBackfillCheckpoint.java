@@ -0,0 +1,35 @@
+package com.cyctius.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Progress of the metadata backfill, so a restarted run continues after the last committed page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "metadata_backfill_checkpoints", schema = "cyctius_db_schema")
+public class MetadataBackfillCheckpoint extends Auditable {
+    @Id
+    @Column(name = "job", updatable = false, nullable = false)
+    private String job;
+    @Column(name = "algorithm_version", nullable = false)
+    private Integer algorithmVersion;
+    @Column(name = "last_workout_id")
+    private String lastWorkoutId; // null once a run has reached the end of the table
+    @Column(name = "processed", nullable = false)
+    private Long processed;
+    @Column(name = "failed", nullable = false)
+    private Long failed;
+}
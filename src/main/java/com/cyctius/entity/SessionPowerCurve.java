@@ -0,0 +1,48 @@
+package com.cyctius.entity;
+
+import java.time.LocalDate;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Mean-maximal power curve of one training session, over
+ * {@link com.cyctius.core.engine.MeanMaximalPower#durations()}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "session_power_curves", schema = "cyctius_db_schema", indexes = {
+        @Index(name = "idx_session_power_curves_user_day", columnList = "user_id,day")
+})
+public class SessionPowerCurve extends Auditable {
+    @Id
+    @UuidGenerator
+    @Column(name = "id", updatable = false, nullable = false)
+    private String id;
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    @Column(name = "training_session_id", nullable = false, unique = true)
+    private String trainingSessionId;
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+    @Column(name = "watts", nullable = false)
+    private double[] watts;
+    @Column(name = "normalized_power")
+    private Double normalizedPower;
+    @Column(name = "x_power")
+    private Double xPower;
+}
@@ -0,0 +1,48 @@
+package com.cyctius.entity;
+
+import java.time.LocalDate;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * One materialized day of a user's Performance Management Chart.
+ * Rows are dense from the first to the last day with a completed training session.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "training_load_days", schema = "cyctius_db_schema", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_training_load_days_user_day", columnNames = {"user_id", "day"})
+})
+public class TrainingLoadDay extends Auditable {
+    @Id
+    @UuidGenerator
+    @Column(name = "id", updatable = false, nullable = false)
+    private String id;
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+    @Column(name = "tss", nullable = false)
+    private Integer tss;
+    @Column(name = "ctl", nullable = false)
+    private Double ctl;
+    @Column(name = "atl", nullable = false)
+    private Double atl;
+    @Column(name = "tsb", nullable = false)
+    private Double tsb;
+}
@@ -2,7 +2,11 @@ package com.cyctius.entity;
 
 import com.cyctius.core.model.intervals.Interval;
 import com.cyctius.enums.WorkoutVisibility;
+import com.cyctius.util.IntervalBinaryCodec;
+import com.cyctius.util.IntervalListBinaryConverter;
 import com.cyctius.util.IntervalListConverter;
+import com.cyctius.util.IntervalStructureSummary;
+import com.cyctius.util.LazyIntervalList;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
@@ -12,14 +16,24 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Data
@@ -30,6 +44,8 @@ import java.util.List;
 @Entity
 @Table(name = "workouts", schema = "cyctius_db_schema")
 public class Workout extends Auditable {
+    private static final IntervalListConverter JSON_CONVERTER = new IntervalListConverter();
+
     @Id
     @UuidGenerator
     @Column(name = "id", updatable = false, nullable = false)
@@ -43,12 +59,86 @@ public class Workout extends Auditable {
     @Column(name = "visibility", nullable = false)
     @Enumerated(EnumType.STRING)
     private WorkoutVisibility visibility;
-    @Convert(converter = IntervalListConverter.class)
-    @Column(name = "intervals_json", nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = IntervalListBinaryConverter.class)
+    @Column(name = "intervals")
     private List<Interval> intervals;
+    // Rows written before the binary encoding; re-encoded by IntervalEncodingMigrationService
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "intervals_json", columnDefinition = "TEXT")
+    private String legacyIntervalsJson;
+    // legacyIntervalsJson decoded on first access; not a column, so reading never dirties the row
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Transient
+    private List<Interval> legacyIntervals;
+    // IntervalStructureSummary of the intervals for the structural queries of WorkoutRepository, indexed in import.sql
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "interval_types")
+    private String intervalTypes;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "max_repeats")
+    private Integer maxRepeats;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "max_target_intensity")
+    private Integer maxTargetIntensity;
     @Column(name = "is_soft_deleted", nullable = false)
     private Boolean isSoftDeleted;
     @OneToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "metadata_id", referencedColumnName = "workout_id")
     private WorkoutMetadata metadata;
+
+    /**
+     * The binary intervals, or the legacy JSON, decoded once, while the row is not migrated yet.
+     */
+    public List<Interval> getIntervals() {
+        if (intervals != null || legacyIntervalsJson == null) {
+            return intervals;
+        }
+        if (legacyIntervals == null) {
+            legacyIntervals = JSON_CONVERTER.convertToEntityAttribute(legacyIntervalsJson);
+        }
+        return legacyIntervals;
+    }
+
+    /**
+     * Replaces the intervals and their structure summary. Intervals that encode to the stored
+     * bytes are ignored, so re-saving an unchanged workout neither decodes it nor rewrites the summary.
+     */
+    public void setIntervals(final List<Interval> intervals) {
+        if (this.intervals instanceof LazyIntervalList stored && intervals != null
+                && Arrays.equals(stored.encoded(), IntervalBinaryCodec.encode(intervals))) {
+            return;
+        }
+        this.intervals = intervals;
+        this.legacyIntervalsJson = null;
+        this.legacyIntervals = null;
+        writeSummary(intervals);
+    }
+
+    /**
+     * Workouts built through the builder have no summary yet. That includes a built workout merged
+     * over an existing row, e.g. one transformed from a DTO that carries its id, whose summary would
+     * otherwise be written as null and drop the workout out of every structural query.
+     */
+    @PrePersist
+    @PreUpdate
+    void writeIntervalStructure() {
+        if (intervalTypes == null) {
+            writeSummary(getIntervals());
+        }
+    }
+
+    private void writeSummary(final List<Interval> intervals) {
+        final IntervalStructureSummary summary = IntervalStructureSummary.of(intervals);
+        this.intervalTypes = summary.types();
+        this.maxRepeats = summary.maxRepeats();
+        this.maxTargetIntensity = summary.maxTargetIntensity();
+    }
 }
@@ -3,8 +3,11 @@ package com.cyctius.entity;
 import org.hibernate.annotations.UuidGenerator;
 
 import com.cyctius.core.enums.WorkoutType;
+import com.cyctius.core.model.IntensityHistogram;
+import com.cyctius.util.IntensityHistogramConverter;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -26,7 +29,7 @@ public class WorkoutMetadata extends Auditable {
     @UuidGenerator
     @Column(name = "id", updatable = false, nullable = false)
     private String id;
-    @Column(name = "workout_id", nullable = false)
+    @Column(name = "workout_id", nullable = false, unique = true)
     private String workoutId;
     @Column(name = "estimated_tss", nullable = false)
     private Integer estimatedTss;
@@ -40,4 +43,9 @@ public class WorkoutMetadata extends Auditable {
     private Integer averageIntensity;
     @Column(name = "duration_seconds", nullable = false)
     private Integer durationSeconds;
+    @Convert(converter = IntensityHistogramConverter.class)
+    @Column(name = "intensity_histogram", columnDefinition = "bytea")
+    private IntensityHistogram intensityHistogram;
+    @Column(name = "algorithm_version")
+    private Integer algorithmVersion;
 }
@@ -0,0 +1,6 @@
+package com.cyctius.enums;
+
+public enum PowerCurveScope {
+    ALL_TIME,
+    ROLLING_90_DAYS
+}
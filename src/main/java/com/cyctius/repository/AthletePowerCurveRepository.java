@@ -0,0 +1,14 @@
+package com.cyctius.repository;
+
+import com.cyctius.entity.AthletePowerCurve;
+import com.cyctius.enums.PowerCurveScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AthletePowerCurveRepository extends JpaRepository<AthletePowerCurve, String> {
+
+    Optional<AthletePowerCurve> findByUserIdAndScope(String userId, PowerCurveScope scope);
+}
@@ -0,0 +1,17 @@
+package com.cyctius.repository;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.entity.CriticalPowerFit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CriticalPowerFitRepository extends JpaRepository<CriticalPowerFit, String> {
+
+    /**
+     * Find the current fit of a user for a model type.
+     */
+    Optional<CriticalPowerFit> findFirstByUserIdAndModelTypeOrderByVersionDesc(String userId, CriticalPowerModelType modelType);
+}
@@ -0,0 +1,9 @@
+package com.cyctius.repository;
+
+import com.cyctius.entity.MetadataBackfillCheckpoint;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MetadataBackfillCheckpointRepository extends CrudRepository<MetadataBackfillCheckpoint, String> {
+}
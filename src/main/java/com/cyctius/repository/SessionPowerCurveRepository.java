@@ -0,0 +1,19 @@
+package com.cyctius.repository;
+
+import com.cyctius.entity.SessionPowerCurve;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SessionPowerCurveRepository extends JpaRepository<SessionPowerCurve, String> {
+
+    Optional<SessionPowerCurve> findByTrainingSessionId(String trainingSessionId);
+
+    List<SessionPowerCurve> findAllByUserId(String userId);
+
+    List<SessionPowerCurve> findAllByUserIdAndDayGreaterThanEqual(String userId, LocalDate day);
+}
@@ -0,0 +1,22 @@
+package com.cyctius.repository;
+
+import com.cyctius.entity.TrainingLoadDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TrainingLoadDayRepository extends JpaRepository<TrainingLoadDay, String> {
+
+    List<TrainingLoadDay> findAllByUserIdAndDayBetweenOrderByDayAsc(String userId, LocalDate start, LocalDate end);
+
+    List<TrainingLoadDay> findAllByUserIdAndDayGreaterThanEqualOrderByDayAsc(String userId, LocalDate day);
+
+    /**
+     * Find the latest materialized day strictly before {@code day}, the seed for resuming the series.
+     */
+    Optional<TrainingLoadDay> findFirstByUserIdAndDayBeforeOrderByDayDesc(String userId, LocalDate day);
+}
@@ -1,9 +1,11 @@
 package com.cyctius.repository;
 
 import com.cyctius.entity.TrainingSession;
+import com.cyctius.enums.TrainingSessionStatus;
 import org.springframework.data.repository.CrudRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TrainingSessionRepository extends CrudRepository<TrainingSession, String> {
@@ -45,5 +47,18 @@ public interface TrainingSessionRepository extends CrudRepository<TrainingSessio
         LocalDateTime toDate,
         String status
     );
-}
 
+    /**
+     * Find all training sessions of a user completed at or after a point in time.
+     *
+     * @param userId the ID of the user
+     * @param fromDate the start date (inclusive)
+     * @param statuses the statuses to include
+     * @return a list of training sessions
+     */
+    List<TrainingSession> findAllByUserIdAndCompletedAtGreaterThanEqualAndStatusIn(
+        String userId,
+        LocalDateTime fromDate,
+        Collection<TrainingSessionStatus> statuses
+    );
+}
@@ -0,0 +1,78 @@
+package com.cyctius.repository;
+
+import com.cyctius.util.IntervalStructureSummary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set-based access to the interval columns of the workouts table, for re-encoding legacy rows
+ * and filling the structure summary of rows written before it existed.
+ */
+@Repository
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class WorkoutIntervalsJdbcRepository {
+
+    private static final String FIND_LEGACY = """
+            select w.id, w.intervals, w.intervals_json
+            from cyctius_db_schema.workouts w
+            where w.id > ?
+              and (w.intervals is null or w.interval_types is null)
+              and (w.intervals is not null or w.intervals_json is not null)
+            order by w.id
+            limit ?
+            """;
+
+    // Rows saved through JPA in the meantime already have both and are left alone.
+    private static final String WRITE_ENCODED = """
+            update cyctius_db_schema.workouts
+            set intervals = ?, interval_types = cast(? as jsonb), max_repeats = ?, max_target_intensity = ?,
+                intervals_json = null
+            where id = ? and (intervals is null or interval_types is null)
+            """;
+
+    private static final int[] WRITE_TYPES = {Types.BINARY, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Next page of workouts, ordered by id, that still lack binary intervals or the structure summary.
+     *
+     * @param afterId the last id of the previous page, or an empty string for the first page
+     */
+    public List<LegacyWorkout> findLegacy(final String afterId, final int limit) {
+        return jdbcTemplate.query(FIND_LEGACY,
+                (rs, rowNum) -> new LegacyWorkout(rs.getString(1), rs.getBytes(2), rs.getString(3)),
+                afterId, limit);
+    }
+
+    /**
+     * Stores the binary intervals and their structure summary and drops the JSON text, as one JDBC batch.
+     */
+    public void writeEncoded(final List<EncodedWorkout> workouts) {
+        if (workouts.isEmpty()) {
+            return;
+        }
+
+        final List<Object[]> updates = new ArrayList<>(workouts.size());
+        for (EncodedWorkout workout : workouts) {
+            val summary = workout.summary();
+            updates.add(new Object[]{workout.intervals(), summary.types(), summary.maxRepeats(),
+                    summary.maxTargetIntensity(), workout.id()});
+        }
+        jdbcTemplate.batchUpdate(WRITE_ENCODED, updates, WRITE_TYPES);
+    }
+
+    public record LegacyWorkout(String id, byte[] intervals, String intervalsJson) {
+    }
+
+    public record EncodedWorkout(String id, byte[] intervals, IntervalStructureSummary summary) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.cyctius.repository;
+
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.dto.WorkoutMetadataDTO;
+import com.cyctius.util.IntensityHistogramConverter;
+import com.cyctius.util.IntervalBinaryCodec;
+import com.cyctius.util.IntervalListConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Set-based access to workouts and their metadata for library-wide jobs, where loading
+ * every workout through JPA would be too slow.
+ */
+@Repository
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class WorkoutMetadataJdbcRepository {
+
+    private static final String FIND_STALE = """
+            select w.id, w.intervals, w.intervals_json
+            from cyctius_db_schema.workouts w
+            left join cyctius_db_schema.workout_metadata m on m.workout_id = w.id
+            where w.id > ?
+              and w.is_soft_deleted = false
+              and (w.interval_types is null or w.interval_types <> cast('[]' as jsonb))
+              and (m.id is null or m.algorithm_version is null or m.algorithm_version < ?)
+            order by w.id
+            limit ?
+            """;
+
+    private static final String UPSERT_METADATA = """
+            insert into cyctius_db_schema.workout_metadata (id, workout_id, estimated_tss, training_type,
+                difficulty, intensity_factor, average_intensity, duration_seconds, intensity_histogram,
+                algorithm_version, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (workout_id) do update set
+                estimated_tss = excluded.estimated_tss,
+                training_type = excluded.training_type,
+                difficulty = excluded.difficulty,
+                intensity_factor = excluded.intensity_factor,
+                average_intensity = excluded.average_intensity,
+                duration_seconds = excluded.duration_seconds,
+                intensity_histogram = excluded.intensity_histogram,
+                algorithm_version = excluded.algorithm_version,
+                updated_at = excluded.updated_at
+            """;
+
+    private static final int[] UPSERT_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.SMALLINT, Types.DOUBLE, Types.DOUBLE,
+            Types.INTEGER, Types.INTEGER, Types.BINARY, Types.INTEGER, Types.TIMESTAMP, Types.TIMESTAMP
+    };
+
+    private static final String LINK_METADATA = """
+            update cyctius_db_schema.workouts set metadata_id = id
+            where id = ? and metadata_id is null
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IntensityHistogramConverter histogramConverter = new IntensityHistogramConverter();
+
+    /**
+     * Next page of live workouts, ordered by id, whose metadata is missing or older than
+     * {@code algorithmVersion}. Workouts known to have no intervals have no metadata to write and
+     * are left out. Keyset pagination keeps every page an index range scan.
+     *
+     * @param afterId the last id of the previous page, or an empty string for the first page
+     */
+    public List<StoredWorkout> findStale(final String afterId, final int algorithmVersion, final int limit) {
+        return jdbcTemplate.query(FIND_STALE,
+                (rs, rowNum) -> new StoredWorkout(rs.getString(1), rs.getBytes(2), rs.getString(3)),
+                afterId, algorithmVersion, limit);
+    }
+
+    /**
+     * Inserts or replaces the metadata of each workout and links workouts that had none,
+     * as two JDBC batches.
+     */
+    public void upsertAll(final List<WorkoutMetadataDTO> metadata) {
+        if (metadata.isEmpty()) {
+            return;
+        }
+
+        val now = Timestamp.valueOf(LocalDateTime.now());
+        val upserts = new ArrayList<Object[]>(metadata.size());
+        val links = new ArrayList<Object[]>(metadata.size());
+        for (WorkoutMetadataDTO row : metadata) {
+            upserts.add(new Object[]{
+                    UUID.randomUUID().toString(),
+                    row.getWorkoutId(),
+                    row.getEstimatedTss(),
+                    Objects.isNull(row.getTrainingType()) ? null : row.getTrainingType().ordinal(),
+                    row.getDifficulty(),
+                    row.getIntensityFactor(),
+                    row.getAverageIntensity(),
+                    row.getDurationSeconds(),
+                    histogramConverter.convertToDatabaseColumn(row.getIntensityHistogram()),
+                    row.getAlgorithmVersion(),
+                    now,
+                    now
+            });
+            links.add(new Object[]{row.getWorkoutId()});
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_METADATA, upserts, UPSERT_TYPES);
+        jdbcTemplate.batchUpdate(LINK_METADATA, links);
+    }
+
+    /**
+     * A workout row as stored: binary intervals, or legacy JSON if it was not migrated yet.
+     */
+    public record StoredWorkout(String id, byte[] encodedIntervals, String intervalsJson) {
+
+        public StoredWorkout(final String id, final String intervalsJson) {
+            this(id, null, intervalsJson);
+        }
+
+        public List<Interval> decodeIntervals() {
+            if (Objects.nonNull(encodedIntervals)) {
+                return IntervalBinaryCodec.decode(encodedIntervals);
+            }
+            return new IntervalListConverter().convertToEntityAttribute(intervalsJson);
+        }
+    }
+}
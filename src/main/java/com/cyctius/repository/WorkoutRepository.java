@@ -3,8 +3,10 @@ package com.cyctius.repository;
 import com.cyctius.entity.Workout;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -31,4 +33,62 @@ public interface WorkoutRepository extends PagingAndSortingRepository<Workout, S
         * Delete all workouts that are soft deleted.
      */
     void deleteAllByIsSoftDeletedTrue();
+
+    /**
+     * Find the live workouts of an author with at least one top-level interval of the given type.
+     * Containment on {@code interval_types} is answered from its GIN index.
+     *
+     * @param authorId the ID of the author
+     * @param type     the {@link com.cyctius.core.enums.IntervalType} name
+     * @return a list of workouts
+     */
+    @Query(value = """
+            select w.* from cyctius_db_schema.workouts w
+            where w.author_id = :authorId
+              and w.is_soft_deleted = false
+              and w.interval_types @> jsonb_build_array(cast(:type as text))
+            """, nativeQuery = true)
+    List<Workout> findAllByAuthorIdContainingIntervalType(
+        @Param("authorId") String authorId,
+        @Param("type") String type
+    );
+
+    /**
+     * Find the live workouts of an author with a repeat block of at least {@code repeats} repetitions.
+     * A range scan of the {@code (author_id, max_repeats)} index.
+     *
+     * @param authorId the ID of the author
+     * @param repeats  the minimum number of repetitions
+     * @return a list of workouts
+     */
+    @Query(value = """
+            select w.* from cyctius_db_schema.workouts w
+            where w.author_id = :authorId
+              and w.max_repeats >= :repeats
+              and w.is_soft_deleted = false
+            """, nativeQuery = true)
+    List<Workout> findAllByAuthorIdWithRepeatsAtLeast(
+        @Param("authorId") String authorId,
+        @Param("repeats") Integer repeats
+    );
+
+    /**
+     * Find the live workouts of an author where any target intensity, including ramp ends and
+     * the work and rest parts of repeat blocks, is above {@code intensity}.
+     * A range scan of the {@code (author_id, max_target_intensity)} index.
+     *
+     * @param authorId  the ID of the author
+     * @param intensity the intensity in % of FTP to exceed
+     * @return a list of workouts
+     */
+    @Query(value = """
+            select w.* from cyctius_db_schema.workouts w
+            where w.author_id = :authorId
+              and w.max_target_intensity > :intensity
+              and w.is_soft_deleted = false
+            """, nativeQuery = true)
+    List<Workout> findAllByAuthorIdWithTargetIntensityAbove(
+        @Param("authorId") String authorId,
+        @Param("intensity") Integer intensity
+    );
 }
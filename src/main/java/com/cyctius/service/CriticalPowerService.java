@@ -0,0 +1,48 @@
+package com.cyctius.service;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.model.CriticalPowerModel;
+import com.cyctius.dto.CriticalPowerFitDTO;
+import com.cyctius.dto.CriticalPowerFitRequestDTO;
+
+import java.util.Optional;
+
+/**
+ * Fitted Critical Power / W' models per user, shared by the session calculators.
+ */
+public interface CriticalPowerService {
+
+    /**
+     * Fits the requested model to the current user's points and stores it as a new version.
+     * If the points and fitting algorithm are unchanged since the current version, that
+     * version is returned without refitting.
+     *
+     * @param request the model type and maximal mean power points
+     * @return the current fit
+     */
+    CriticalPowerFitDTO fitCriticalPower(CriticalPowerFitRequestDTO request);
+
+    /**
+     * @param modelType the model type
+     * @return the current user's current fit of that type
+     */
+    CriticalPowerFitDTO getCriticalPower(CriticalPowerModelType modelType);
+
+    /**
+     * Refits every model type to the user's mean-maximal power curves after they changed. Each
+     * type is fitted to the recent curve, or to the all-time one when the recent curve cannot
+     * determine it, and types whose input is unchanged since their current version are skipped.
+     *
+     * @param userId the ID of the user
+     * @param recentCurve the rolling curve, may be null
+     * @param allTimeCurve the all-time curve, may be null
+     */
+    void refitCriticalPower(String userId, double[] recentCurve, double[] allTimeCurve);
+
+    /**
+     * @param userId the ID of the user
+     * @param modelType the model type
+     * @return the user's current model of that type, to put into athlete profiles
+     */
+    Optional<CriticalPowerModel> findCriticalPowerModel(String userId, CriticalPowerModelType modelType);
+}
@@ -0,0 +1,20 @@
+package com.cyctius.service;
+
+import com.cyctius.dto.IntervalEncodingStatusDTO;
+
+/**
+ * Re-encodes workouts whose intervals are still stored as JSON into the binary format, and writes
+ * the structure summary of workouts that do not have one.
+ */
+public interface IntervalEncodingMigrationService {
+
+    /**
+     * Starts a migration run in the background. Migrated rows drop out of the scan, so a new
+     * run simply continues with what is left. Does nothing if a run is already in progress.
+     *
+     * @return the status right after starting
+     */
+    IntervalEncodingStatusDTO start();
+
+    IntervalEncodingStatusDTO getStatus();
+}
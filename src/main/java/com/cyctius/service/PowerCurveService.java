@@ -0,0 +1,47 @@
+package com.cyctius.service;
+
+import com.cyctius.dto.PowerCurveDTO;
+import com.cyctius.enums.PowerCurveScope;
+
+import java.time.LocalDate;
+
+/**
+ * Mean-maximal power curves per training session, merged into each user's
+ * all-time and rolling 90 day curves.
+ */
+public interface PowerCurveService {
+
+    /**
+     * Computes and stores the curve of a training session's power stream and merges it
+     * into the user's curves. Replacing an earlier stream of the session is supported.
+     *
+     * @param trainingSessionId the ID of the training session
+     * @param watts power per second
+     * @return the session curve
+     */
+    PowerCurveDTO savePowerStream(String trainingSessionId, int[] watts);
+
+    /**
+     * @param scope the scope of the curve
+     * @return the current user's curve
+     */
+    PowerCurveDTO getPowerCurve(PowerCurveScope scope);
+
+    /**
+     * Drops the curve of a deleted training session and rebuilds the user's curves it contributed to.
+     *
+     * @param userId the ID of the user
+     * @param trainingSessionId the ID of the training session
+     */
+    void removeTrainingSession(String userId, String trainingSessionId);
+
+    /**
+     * Moves the curve of a training session whose completion date changed to {@code day} and
+     * updates the user's curves it entered, left or held bests of.
+     *
+     * @param userId the ID of the user
+     * @param trainingSessionId the ID of the training session
+     * @param day the new day of the training session
+     */
+    void moveTrainingSession(String userId, String trainingSessionId, LocalDate day);
+}
@@ -0,0 +1,31 @@
+package com.cyctius.service;
+
+import com.cyctius.dto.TrainingLoadDayDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Materialized Performance Management Chart (CTL / ATL / TSB) per user.
+ */
+public interface TrainingLoadService {
+
+    /**
+     * Recomputes the materialized days of a user from {@code fromDay} forward.
+     * Days before it are left untouched and seed the series.
+     *
+     * @param userId the ID of the user
+     * @param fromDay the first day whose training sessions changed
+     */
+    void recalculateFrom(String userId, LocalDate fromDay);
+
+    /**
+     * Reads the current user's chart between two days (inclusive). Days after the last
+     * training session continue decaying without load.
+     *
+     * @param start the first day
+     * @param end the last day
+     * @return one entry per day with history, oldest first
+     */
+    List<TrainingLoadDayDTO> getTrainingLoad(LocalDate start, LocalDate end);
+}
@@ -0,0 +1,9 @@
+package com.cyctius.service;
+
+import com.cyctius.dto.TrainingSessionDTO;
+
+public interface TrainingSessionService {
+    TrainingSessionDTO insertTrainingSession(TrainingSessionDTO trainingSessionDTO);
+    TrainingSessionDTO updateTrainingSession(String id, TrainingSessionDTO trainingSessionDTO);
+    void deleteTrainingSession(String id);
+}
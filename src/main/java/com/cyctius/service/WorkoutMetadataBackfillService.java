@@ -0,0 +1,19 @@
+package com.cyctius.service;
+
+import com.cyctius.dto.MetadataBackfillStatusDTO;
+
+/**
+ * Recomputes stored workout metadata whose algorithm version is older than the current one.
+ */
+public interface WorkoutMetadataBackfillService {
+
+    /**
+     * Starts a backfill run in the background, resuming from the last checkpoint.
+     * Does nothing if a run is already in progress.
+     *
+     * @return the status right after starting
+     */
+    MetadataBackfillStatusDTO start();
+
+    MetadataBackfillStatusDTO getStatus();
+}
@@ -0,0 +1,13 @@
+package com.cyctius.service;
+
+import com.cyctius.dto.WorkoutMetadataBatchRequestDTO;
+import com.cyctius.dto.WorkoutMetadataBatchResponseDTO;
+
+public interface WorkoutMetadataBatchService {
+
+    /**
+     * Calculates metadata for every workout of the request in parallel. Results keep the
+     * request order; a workout that fails is reported in its own item and does not fail the batch.
+     */
+    WorkoutMetadataBatchResponseDTO calculateMetadata(WorkoutMetadataBatchRequestDTO request);
+}
@@ -1,5 +1,6 @@
 package com.cyctius.service;
 
+import com.cyctius.dto.TssCalculationResultDTO;
 import com.cyctius.dto.WorkoutDTO;
 
 import java.util.List;
@@ -9,6 +10,7 @@ public interface WorkoutService {
     List<WorkoutDTO> insertWorkouts(List<WorkoutDTO> workoutDTOs);
     WorkoutDTO updateWorkout(WorkoutDTO workoutDTO);
     WorkoutDTO getWorkoutById(String id);
+    TssCalculationResultDTO getWorkoutRangeTss(String id, Integer fromSecond, Integer toSecond);
     void softDeleteWorkout(String id);
     List<WorkoutDTO> getAllWorkouts();
     List<WorkoutDTO> getWorkoutsPage(Integer page, Integer size);
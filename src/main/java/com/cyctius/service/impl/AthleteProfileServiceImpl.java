@@ -0,0 +1,95 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.engine.MeanMaximalPower;
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.model.CriticalPowerModel;
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+import com.cyctius.core.profile.ThresholdAthleteProfile;
+import com.cyctius.core.service.AthleteProfileService;
+import com.cyctius.entity.AthletePowerCurve;
+import com.cyctius.enums.PowerCurveScope;
+import com.cyctius.repository.AthletePowerCurveRepository;
+import com.cyctius.service.CriticalPowerService;
+import com.cyctius.service.InternalUserService;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds athlete profiles from the user's FTP and the latest fit of the configured Critical
+ * Power model ({@code cyctius.athlete-profile.critical-power-model}). Without a fit the threshold
+ * profile falls back to the all-time power curve, and without either the profiles use a
+ * 2-parameter model with CP = FTP and the reference W' ({@code cyctius.generator.reference-athlete.*}),
+ * as does a user without an FTP.
+ */
+@Service
+public class AthleteProfileServiceImpl implements AthleteProfileService {
+
+    private final CriticalPowerService criticalPowerService;
+    private final AthletePowerCurveRepository athletePowerCurveRepository;
+    private final InternalUserService internalUserService;
+    private final CriticalPowerModelType modelType;
+    private final int referenceFtp;
+    private final double referenceWPrime;
+
+    @Autowired
+    public AthleteProfileServiceImpl(
+        final CriticalPowerService criticalPowerService,
+        final AthletePowerCurveRepository athletePowerCurveRepository,
+        final InternalUserService internalUserService,
+        @Value("${cyctius.athlete-profile.critical-power-model:OMNI_DOMAIN}") final CriticalPowerModelType modelType,
+        @Value("${cyctius.generator.reference-athlete.ftp:250}") final int referenceFtp,
+        @Value("${cyctius.generator.reference-athlete.w-prime:20000}") final double referenceWPrime
+    ) {
+        this.criticalPowerService = criticalPowerService;
+        this.athletePowerCurveRepository = athletePowerCurveRepository;
+        this.internalUserService = internalUserService;
+        this.modelType = modelType;
+        this.referenceFtp = referenceFtp;
+        this.referenceWPrime = referenceWPrime;
+    }
+
+    @Override
+    public AthleteVO2MaxProfile getVO2maxProfile() {
+        val user = internalUserService.getCurrentUser();
+        val ftp = ftp(user.getFtp());
+        val model = criticalPowerService.findCriticalPowerModel(user.getUserId(), modelType)
+                .orElseGet(() -> referenceModel(ftp));
+        return AthleteVO2MaxProfile.builder().ftp(ftp).criticalPowerModel(model).build();
+    }
+
+    @Override
+    public ThresholdAthleteProfile getThresholdProfile() {
+        val user = internalUserService.getCurrentUser();
+        val ftp = ftp(user.getFtp());
+        val model = criticalPowerService.findCriticalPowerModel(user.getUserId(), modelType);
+        if (model.isPresent()) {
+            return ThresholdAthleteProfile.builder().ftp(ftp).criticalPowerModel(model.get()).build();
+        }
+
+        val pdPoints = athletePowerCurveRepository.findByUserIdAndScope(user.getUserId(), PowerCurveScope.ALL_TIME)
+                .map(AthletePowerCurve::getWatts)
+                .map(watts -> MeanMaximalPower.toPdPoints(watts, ftp))
+                .orElse(List.of());
+        if (pdPoints.size() >= 2) {
+            return ThresholdAthleteProfile.builder().ftp(ftp).pdPoints(pdPoints).build();
+        }
+        return ThresholdAthleteProfile.builder().ftp(ftp).criticalPowerModel(referenceModel(ftp)).build();
+    }
+
+    private int ftp(final Long userFtp) {
+        return Objects.nonNull(userFtp) && userFtp > 0 ? userFtp.intValue() : referenceFtp;
+    }
+
+    private CriticalPowerModel referenceModel(final int ftp) {
+        return CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.TWO_PARAMETER)
+                .criticalPower((double) ftp)
+                .wPrime(referenceWPrime)
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.engine.CriticalPowerFitter;
+import com.cyctius.core.engine.MeanMaximalPower;
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.model.CriticalPowerModel;
+import com.cyctius.dto.CriticalPowerFitDTO;
+import com.cyctius.dto.CriticalPowerFitRequestDTO;
+import com.cyctius.entity.CriticalPowerFit;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.repository.CriticalPowerFitRepository;
+import com.cyctius.service.CriticalPowerService;
+import com.cyctius.service.InternalUserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class CriticalPowerServiceImpl implements CriticalPowerService {
+
+    static final int TWO_PARAMETER_MIN_SECONDS = 120;
+    static final int TWO_PARAMETER_MAX_SECONDS = 1200;
+
+    private final CriticalPowerFitRepository criticalPowerFitRepository;
+    private final InternalUserService internalUserService;
+
+    @Override
+    @Transactional
+    public CriticalPowerFitDTO fitCriticalPower(final CriticalPowerFitRequestDTO request) {
+        if (Objects.isNull(request) || Objects.isNull(request.getModelType()) || Objects.isNull(request.getPoints())) {
+            throw new BadRequestException("critical-power.error.request-cannot-be-null");
+        }
+
+        val points = request.getPoints().stream()
+                .filter(p -> p != null && p.getPowerWatts() != null && p.getDurationSeconds() != null)
+                .sorted(Comparator.comparingDouble(CriticalPowerFitRequestDTO.PowerDurationPoint::getDurationSeconds)
+                        .thenComparingDouble(CriticalPowerFitRequestDTO.PowerDurationPoint::getPowerWatts))
+                .toList();
+
+        val userId = internalUserService.getCurrentUser().getUserId();
+        return toDTO(fitAndSave(userId, request.getModelType(), points));
+    }
+
+    @Override
+    public CriticalPowerFitDTO getCriticalPower(final CriticalPowerModelType modelType) {
+        if (Objects.isNull(modelType)) {
+            throw new BadRequestException("critical-power.error.request-cannot-be-null");
+        }
+
+        val userId = internalUserService.getCurrentUser().getUserId();
+        return criticalPowerFitRepository.findFirstByUserIdAndModelTypeOrderByVersionDesc(userId, modelType)
+                .map(CriticalPowerServiceImpl::toDTO)
+                .orElseThrow(() -> new BadRequestException("critical-power.error.not-found"));
+    }
+
+    @Override
+    @Transactional
+    public void refitCriticalPower(final String userId, final double[] recentCurve, final double[] allTimeCurve) {
+        for (CriticalPowerModelType modelType : CriticalPowerModelType.values()) {
+            for (double[] curve : new double[][]{recentCurve, allTimeCurve}) {
+                val points = curvePoints(curve, modelType);
+                if (points.size() < modelType.getMinPoints()) {
+                    continue;
+                }
+                try {
+                    fitAndSave(userId, modelType, points);
+                    break;
+                } catch (BadRequestException e) {
+                    log.debug("Could not fit {} for user {}: {}", modelType, userId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Optional<CriticalPowerModel> findCriticalPowerModel(final String userId, final CriticalPowerModelType modelType) {
+        return criticalPowerFitRepository.findFirstByUserIdAndModelTypeOrderByVersionDesc(userId, modelType)
+                .map(fit -> CriticalPowerModel.builder()
+                        .type(fit.getModelType())
+                        .criticalPower(fit.getCriticalPower())
+                        .wPrime(fit.getWPrime())
+                        .maxPower(fit.getMaxPower())
+                        .longDurationDecay(fit.getLongDurationDecay())
+                        .rmse(fit.getRmse())
+                        .build());
+    }
+
+    /**
+     * Stores a new version unless the input hash matches the current one.
+     */
+    private CriticalPowerFit fitAndSave(
+        final String userId,
+        final CriticalPowerModelType modelType,
+        final List<CriticalPowerFitRequestDTO.PowerDurationPoint> sortedPoints
+    ) {
+        val inputHash = inputHash(modelType, sortedPoints);
+        val current = criticalPowerFitRepository.findFirstByUserIdAndModelTypeOrderByVersionDesc(userId, modelType);
+        if (current.isPresent() && inputHash.equals(current.get().getInputHash())) {
+            return current.get();
+        }
+
+        val model = fit(sortedPoints, modelType);
+        val fit = CriticalPowerFit.builder()
+                .userId(userId)
+                .modelType(modelType)
+                .version(current.map(CriticalPowerFit::getVersion).orElse(0) + 1)
+                .algorithmVersion(CriticalPowerFitter.ALGORITHM_VERSION)
+                .inputHash(inputHash)
+                .pointCount(sortedPoints.size())
+                .criticalPower(model.getCriticalPower())
+                .wPrime(model.getWPrime())
+                .maxPower(model.getMaxPower())
+                .longDurationDecay(model.getLongDurationDecay())
+                .rmse(model.getRmse())
+                .build();
+        return criticalPowerFitRepository.save(fit);
+    }
+
+    /**
+     * The non-empty points of a mean-maximal power curve in ascending duration. The 2-parameter
+     * model only holds between about 2 and 20 minutes, so it only gets the points in that range.
+     */
+    static List<CriticalPowerFitRequestDTO.PowerDurationPoint> curvePoints(
+        final double[] curve,
+        final CriticalPowerModelType modelType
+    ) {
+        val points = new ArrayList<CriticalPowerFitRequestDTO.PowerDurationPoint>();
+        if (Objects.isNull(curve)) {
+            return points;
+        }
+
+        val durations = MeanMaximalPower.durations();
+        for (int i = 0; i < Math.min(curve.length, durations.length); i++) {
+            val inRange = modelType != CriticalPowerModelType.TWO_PARAMETER
+                    || (durations[i] >= TWO_PARAMETER_MIN_SECONDS && durations[i] <= TWO_PARAMETER_MAX_SECONDS);
+            if (curve[i] > 0 && inRange) {
+                points.add(new CriticalPowerFitRequestDTO.PowerDurationPoint(curve[i], (double) durations[i]));
+            }
+        }
+        return points;
+    }
+
+    private static CriticalPowerModel fit(
+        final List<CriticalPowerFitRequestDTO.PowerDurationPoint> points,
+        final CriticalPowerModelType modelType
+    ) {
+        val durations = new double[points.size()];
+        val powers = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            durations[i] = points.get(i).getDurationSeconds();
+            powers[i] = points.get(i).getPowerWatts();
+        }
+
+        try {
+            return CriticalPowerFitter.fit(durations, powers, modelType);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("critical-power.error.fit-failed");
+        }
+    }
+
+    /**
+     * Identifies the fit input: model type, algorithm version and the sorted points.
+     */
+    static String inputHash(
+        final CriticalPowerModelType modelType,
+        final List<CriticalPowerFitRequestDTO.PowerDurationPoint> sortedPoints
+    ) {
+        val input = new StringBuilder()
+                .append(modelType).append('|')
+                .append(CriticalPowerFitter.ALGORITHM_VERSION);
+        for (val point : sortedPoints) {
+            input.append('|').append(point.getDurationSeconds()).append(':').append(point.getPowerWatts());
+        }
+
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(input.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CriticalPowerFitDTO toDTO(final CriticalPowerFit fit) {
+        return CriticalPowerFitDTO.builder()
+                .modelType(fit.getModelType())
+                .version(fit.getVersion())
+                .algorithmVersion(fit.getAlgorithmVersion())
+                .pointCount(fit.getPointCount())
+                .criticalPower(fit.getCriticalPower())
+                .wPrime(fit.getWPrime())
+                .maxPower(fit.getMaxPower())
+                .longDurationDecay(fit.getLongDurationDecay())
+                .rmse(fit.getRmse())
+                .createdAt(fit.getCreatedAt())
+                .build();
+    }
+}
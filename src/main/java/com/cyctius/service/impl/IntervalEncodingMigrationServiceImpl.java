@@ -0,0 +1,158 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.dto.IntervalEncodingStatusDTO;
+import com.cyctius.dto.IntervalEncodingStatusDTO.State;
+import com.cyctius.repository.WorkoutIntervalsJdbcRepository;
+import com.cyctius.repository.WorkoutIntervalsJdbcRepository.EncodedWorkout;
+import com.cyctius.repository.WorkoutIntervalsJdbcRepository.LegacyWorkout;
+import com.cyctius.service.IntervalEncodingMigrationService;
+import com.cyctius.util.IntervalBinaryCodec;
+import com.cyctius.util.IntervalJsonCodec;
+import com.cyctius.util.IntervalStructureSummary;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Walks the workouts that still hold JSON intervals, or have no structure summary yet, by keyset on
+ * the id and rewrites each page in one JDBC batch: {@link IntervalBinaryCodec} bytes, the
+ * {@link IntervalStructureSummary} queried by {@code WorkoutRepository}, and a cleared JSON text column.
+ *
+ * Rows whose JSON cannot be parsed keep it and are counted as failed; the entity keeps reading
+ * them through the legacy column, so the application works the same before, during and after a run.
+ */
+@Slf4j
+@Service
+public class IntervalEncodingMigrationServiceImpl implements IntervalEncodingMigrationService {
+
+    private final WorkoutIntervalsJdbcRepository workoutIntervalsJdbcRepository;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final int pageSize;
+    private final boolean runOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<IntervalEncodingStatusDTO> status = new AtomicReference<>(
+            IntervalEncodingStatusDTO.builder()
+                    .state(State.IDLE)
+                    .formatVersion((int) IntervalBinaryCodec.FORMAT_VERSION)
+                    .migrated(0L)
+                    .failed(0L)
+                    .build());
+
+    @Autowired
+    public IntervalEncodingMigrationServiceImpl(
+        final WorkoutIntervalsJdbcRepository workoutIntervalsJdbcRepository,
+        @Value("${cyctius.workouts.interval-encoding.page-size:1000}") final int pageSize,
+        @Value("${cyctius.workouts.interval-encoding.run-on-startup:false}") final boolean runOnStartup
+    ) {
+        this.workoutIntervalsJdbcRepository = workoutIntervalsJdbcRepository;
+        this.pageSize = pageSize;
+        this.runOnStartup = runOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnApplicationReady() {
+        if (runOnStartup) {
+            start();
+        }
+    }
+
+    @Override
+    public IntervalEncodingStatusDTO start() {
+        if (running.compareAndSet(false, true)) {
+            status.set(status.get().toBuilder()
+                    .state(State.RUNNING)
+                    .lastWorkoutId(null)
+                    .migrated(0L)
+                    .failed(0L)
+                    .startedAt(LocalDateTime.now())
+                    .finishedAt(null)
+                    .build());
+            runner.execute(this::run);
+        }
+        return getStatus();
+    }
+
+    @Override
+    public IntervalEncodingStatusDTO getStatus() {
+        return status.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    void run() {
+        try {
+            var afterId = "";
+            long migrated = 0;
+            long failed = 0;
+
+            List<LegacyWorkout> page;
+            while (!Thread.currentThread().isInterrupted()
+                    && !(page = workoutIntervalsJdbcRepository.findLegacy(afterId, pageSize)).isEmpty()) {
+                val encoded = encode(page);
+                workoutIntervalsJdbcRepository.writeEncoded(encoded);
+                afterId = page.get(page.size() - 1).id();
+
+                migrated += encoded.size();
+                failed += page.size() - encoded.size();
+                publish(State.RUNNING, afterId, migrated, failed);
+                log.info("Interval encoding v{}: {} migrated, {} failed, at workout {}",
+                        IntervalBinaryCodec.FORMAT_VERSION, migrated, failed, afterId);
+            }
+
+            publish(State.COMPLETED, afterId, migrated, failed);
+            log.info("Interval encoding v{} completed: {} migrated, {} failed",
+                    IntervalBinaryCodec.FORMAT_VERSION, migrated, failed);
+        } catch (final RuntimeException e) {
+            log.error("Interval encoding failed, a new run continues with the rows left", e);
+            status.set(status.get().toBuilder().state(State.FAILED).finishedAt(LocalDateTime.now()).build());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<EncodedWorkout> encode(final List<LegacyWorkout> page) {
+        val encoded = new ArrayList<EncodedWorkout>(page.size());
+        for (LegacyWorkout workout : page) {
+            try {
+                val intervals = Objects.nonNull(workout.intervals())
+                        ? IntervalBinaryCodec.decode(workout.intervals())
+                        : IntervalJsonCodec.read(workout.intervalsJson());
+                encoded.add(new EncodedWorkout(workout.id(), IntervalBinaryCodec.encode(intervals),
+                        IntervalStructureSummary.of(intervals)));
+            } catch (final IOException | RuntimeException e) {
+                log.warn("Interval encoding could not parse workout {}", workout.id(), e);
+            }
+        }
+        return encoded;
+    }
+
+    private void publish(final State state, final String lastWorkoutId, final long migrated, final long failed) {
+        status.set(status.get().toBuilder()
+                .state(state)
+                .lastWorkoutId(lastWorkoutId)
+                .migrated(migrated)
+                .failed(failed)
+                .finishedAt(state == State.RUNNING ? null : LocalDateTime.now())
+                .build());
+    }
+}
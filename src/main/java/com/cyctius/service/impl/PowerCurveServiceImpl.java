@@ -0,0 +1,287 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.engine.MeanMaximalPower;
+import com.cyctius.core.engine.PowerSeries;
+import com.cyctius.dto.PowerCurveDTO;
+import com.cyctius.entity.AthletePowerCurve;
+import com.cyctius.entity.SessionPowerCurve;
+import com.cyctius.enums.PowerCurveScope;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.handler.exception.NotFoundException;
+import com.cyctius.repository.AthletePowerCurveRepository;
+import com.cyctius.repository.SessionPowerCurveRepository;
+import com.cyctius.repository.TrainingSessionRepository;
+import com.cyctius.service.CriticalPowerService;
+import com.cyctius.service.InternalUserService;
+import com.cyctius.service.PowerCurveService;
+import com.cyctius.service.UserValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Every ingested ride stream is reduced once: its mean-maximal curve, Normalized Power and
+ * xPower are stored with the session curve.
+ *
+ * Session curves are merged into the user's curves with an element-wise max. A user curve is
+ * only rebuilt from the stored session curves (never from streams) when a merge cannot lower
+ * it: a replaced, moved or deleted session held one of its bests, or a rolling best left the window.
+ * Whenever a user curve changes, the user's Critical Power models are refitted to it.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class PowerCurveServiceImpl implements PowerCurveService {
+
+    static final int ROLLING_DAYS = 90;
+
+    private final SessionPowerCurveRepository sessionPowerCurveRepository;
+    private final AthletePowerCurveRepository athletePowerCurveRepository;
+    private final TrainingSessionRepository trainingSessionRepository;
+    private final InternalUserService internalUserService;
+    private final UserValidator userValidator;
+    private final PowerSeries powerSeries;
+    private final CriticalPowerService criticalPowerService;
+
+    @Override
+    @Transactional
+    public PowerCurveDTO savePowerStream(final String trainingSessionId, final int[] watts) {
+        if (Objects.isNull(trainingSessionId)) {
+            throw new BadRequestException("training-session.error.id-cannot-be-null");
+        }
+        if (Objects.isNull(watts) || watts.length == 0) {
+            throw new BadRequestException("power-curve.error.stream-cannot-be-empty");
+        }
+
+        val trainingSession = trainingSessionRepository.findById(trainingSessionId)
+                .orElseThrow(() -> new NotFoundException("training-session.error.not-found"));
+        userValidator.validateAuthor(trainingSession, "userId");
+
+        val existing = sessionPowerCurveRepository.findByTrainingSessionId(trainingSessionId);
+        val previous = existing.map(SessionPowerCurve::getWatts).orElse(null);
+        val row = existing.orElseGet(() -> SessionPowerCurve.builder()
+                .userId(trainingSession.getUserId())
+                .trainingSessionId(trainingSessionId)
+                .build());
+        row.setDay(trainingSession.getCompletedAt().toLocalDate());
+        row.setWatts(MeanMaximalPower.compute(watts));
+        row.setNormalizedPower(powerSeries.normalizedPower(watts));
+        row.setXPower(powerSeries.xPower(watts));
+        val saved = sessionPowerCurveRepository.save(row);
+
+        boolean changed = false;
+        for (PowerCurveScope scope : PowerCurveScope.values()) {
+            changed |= merge(saved, previous, scope);
+        }
+        if (changed) {
+            refitCriticalPower(saved.getUserId());
+        }
+        return toDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public PowerCurveDTO getPowerCurve(final PowerCurveScope scope) {
+        if (Objects.isNull(scope)) {
+            throw new BadRequestException("power-curve.error.scope-cannot-be-null");
+        }
+
+        val userId = internalUserService.getCurrentUser().getUserId();
+        val current = athletePowerCurveRepository.findByUserIdAndScope(userId, scope)
+                .filter(curve -> !isStale(curve));
+        if (current.isPresent()) {
+            return toDTO(current.get());
+        }
+
+        val rebuilt = rebuild(userId, scope);
+        refitCriticalPower(userId);
+        return toDTO(rebuilt);
+    }
+
+    @Override
+    @Transactional
+    public void removeTrainingSession(final String userId, final String trainingSessionId) {
+        val existing = sessionPowerCurveRepository.findByTrainingSessionId(trainingSessionId);
+        if (existing.isEmpty()) {
+            return;
+        }
+
+        sessionPowerCurveRepository.delete(existing.get());
+        boolean changed = false;
+        for (PowerCurveScope scope : PowerCurveScope.values()) {
+            val curve = athletePowerCurveRepository.findByUserIdAndScope(userId, scope);
+            if (curve.isPresent() && heldBest(existing.get().getWatts(), curve.get().getWatts())) {
+                rebuild(userId, scope);
+                changed = true;
+            }
+        }
+        if (changed) {
+            refitCriticalPower(userId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void moveTrainingSession(final String userId, final String trainingSessionId, final LocalDate day) {
+        val existing = sessionPowerCurveRepository.findByTrainingSessionId(trainingSessionId);
+        if (existing.isEmpty() || existing.get().getDay().equals(day)) {
+            return;
+        }
+
+        val session = existing.get();
+        val previousDay = session.getDay();
+        session.setDay(day);
+        val saved = sessionPowerCurveRepository.save(session);
+
+        boolean changed = false;
+        for (PowerCurveScope scope : PowerCurveScope.values()) {
+            changed |= move(saved, previousDay, scope);
+        }
+        if (changed) {
+            refitCriticalPower(userId);
+        }
+    }
+
+    /**
+     * @return true if the user curve of {@code scope} was rebuilt or took a new best
+     */
+    private boolean merge(final SessionPowerCurve session, final double[] previous, final PowerCurveScope scope) {
+        val current = athletePowerCurveRepository.findByUserIdAndScope(session.getUserId(), scope);
+        if (current.isEmpty() || isStale(current.get())
+                || (Objects.nonNull(previous) && heldBest(previous, current.get().getWatts()))) {
+            rebuild(session.getUserId(), scope);
+            return true;
+        }
+        if (scope == PowerCurveScope.ROLLING_90_DAYS && session.getDay().isBefore(rollingStart())) {
+            return false;
+        }
+
+        val curve = current.get();
+        if (MeanMaximalPower.mergeInto(curve.getWatts(), curve.getEffortDays(), session.getWatts(),
+                (int) session.getDay().toEpochDay())) {
+            athletePowerCurveRepository.save(curve);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Bests the session held carry its old day and may have left the window, so the curve is rebuilt;
+     * otherwise the session is merged on its new day like a new one.
+     *
+     * @return true if the user curve of {@code scope} was rebuilt or took a new best
+     */
+    private boolean move(final SessionPowerCurve session, final LocalDate previousDay, final PowerCurveScope scope) {
+        val current = athletePowerCurveRepository.findByUserIdAndScope(session.getUserId(), scope);
+        if (current.isPresent() && heldBestOn(session.getWatts(), current.get(), previousDay)) {
+            rebuild(session.getUserId(), scope);
+            return true;
+        }
+        return merge(session, null, scope);
+    }
+
+    private void refitCriticalPower(final String userId) {
+        val recent = athletePowerCurveRepository.findByUserIdAndScope(userId, PowerCurveScope.ROLLING_90_DAYS)
+                .map(AthletePowerCurve::getWatts)
+                .orElse(null);
+        val allTime = athletePowerCurveRepository.findByUserIdAndScope(userId, PowerCurveScope.ALL_TIME)
+                .map(AthletePowerCurve::getWatts)
+                .orElse(null);
+        criticalPowerService.refitCriticalPower(userId, recent, allTime);
+    }
+
+    private AthletePowerCurve rebuild(final String userId, final PowerCurveScope scope) {
+        val sessions = scope == PowerCurveScope.ALL_TIME
+                ? sessionPowerCurveRepository.findAllByUserId(userId)
+                : sessionPowerCurveRepository.findAllByUserIdAndDayGreaterThanEqual(userId, rollingStart());
+
+        val watts = new double[MeanMaximalPower.size()];
+        val effortDays = new int[MeanMaximalPower.size()];
+        for (SessionPowerCurve session : sessions) {
+            MeanMaximalPower.mergeInto(watts, effortDays, session.getWatts(), (int) session.getDay().toEpochDay());
+        }
+
+        val curve = athletePowerCurveRepository.findByUserIdAndScope(userId, scope)
+                .orElseGet(() -> AthletePowerCurve.builder().userId(userId).scope(scope).build());
+        curve.setWatts(watts);
+        curve.setEffortDays(effortDays);
+        return athletePowerCurveRepository.save(curve);
+    }
+
+    /**
+     * @return true if the curve has another layout, or a rolling best from before the window
+     */
+    private static boolean isStale(final AthletePowerCurve curve) {
+        if (curve.getWatts().length != MeanMaximalPower.size()) {
+            return true;
+        }
+        if (curve.getScope() != PowerCurveScope.ROLLING_90_DAYS) {
+            return false;
+        }
+
+        val start = rollingStart().toEpochDay();
+        for (int i = 0; i < curve.getWatts().length; i++) {
+            if (curve.getWatts()[i] > 0 && curve.getEffortDays()[i] < start) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if {@code session} may have set one of the bests of {@code best}
+     */
+    private static boolean heldBest(final double[] session, final double[] best) {
+        for (int i = 0; i < Math.min(session.length, best.length); i++) {
+            if (session[i] > 0 && session[i] >= best[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if {@code session} may have set one of the bests of {@code curve} on {@code day}
+     */
+    private static boolean heldBestOn(final double[] session, final AthletePowerCurve curve, final LocalDate day) {
+        val epochDay = day.toEpochDay();
+        for (int i = 0; i < Math.min(session.length, curve.getWatts().length); i++) {
+            if (session[i] > 0 && session[i] >= curve.getWatts()[i] && curve.getEffortDays()[i] == epochDay) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDate rollingStart() {
+        return LocalDate.now().minusDays(ROLLING_DAYS - 1);
+    }
+
+    private static PowerCurveDTO toDTO(final SessionPowerCurve curve) {
+        return PowerCurveDTO.builder()
+                .durations(MeanMaximalPower.durations())
+                .watts(curve.getWatts())
+                .normalizedPower(curve.getNormalizedPower())
+                .xPower(curve.getXPower())
+                .build();
+    }
+
+    private static PowerCurveDTO toDTO(final AthletePowerCurve curve) {
+        val effortDays = new ArrayList<LocalDate>(curve.getEffortDays().length);
+        for (int i = 0; i < curve.getEffortDays().length; i++) {
+            effortDays.add(curve.getWatts()[i] > 0 ? LocalDate.ofEpochDay(curve.getEffortDays()[i]) : null);
+        }
+
+        return PowerCurveDTO.builder()
+                .scope(curve.getScope())
+                .durations(MeanMaximalPower.durations())
+                .watts(curve.getWatts())
+                .effortDays(effortDays)
+                .build();
+    }
+}
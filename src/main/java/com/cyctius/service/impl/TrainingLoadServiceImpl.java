@@ -0,0 +1,143 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.engine.TrainingLoadAccumulator;
+import com.cyctius.dto.TrainingLoadDayDTO;
+import com.cyctius.entity.TrainingLoadDay;
+import com.cyctius.entity.TrainingSession;
+import com.cyctius.enums.TrainingSessionStatus;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.repository.TrainingLoadDayRepository;
+import com.cyctius.repository.TrainingSessionRepository;
+import com.cyctius.service.InternalUserService;
+import com.cyctius.service.TrainingLoadService;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TrainingLoadServiceImpl implements TrainingLoadService {
+
+    static final Set<TrainingSessionStatus> LOAD_STATUSES =
+            EnumSet.of(TrainingSessionStatus.COMPLETED, TrainingSessionStatus.COMPLETED_PARTIALLY);
+
+    private final TrainingLoadDayRepository trainingLoadDayRepository;
+    private final TrainingSessionRepository trainingSessionRepository;
+    private final InternalUserService internalUserService;
+
+    @Override
+    @Transactional
+    public void recalculateFrom(final String userId, final LocalDate fromDay) {
+        if (Objects.isNull(userId) || Objects.isNull(fromDay)) {
+            throw new BadRequestException("training-load.error.user-and-day-cannot-be-null");
+        }
+
+        val seed = trainingLoadDayRepository.findFirstByUserIdAndDayBeforeOrderByDayDesc(userId, fromDay);
+        val dailyTss = dailyTss(userId, fromDay);
+
+        val stale = new HashMap<LocalDate, TrainingLoadDay>();
+        for (TrainingLoadDay day : trainingLoadDayRepository.findAllByUserIdAndDayGreaterThanEqualOrderByDayAsc(userId, fromDay)) {
+            stale.put(day.getDay(), day);
+        }
+
+        val updated = new ArrayList<TrainingLoadDay>();
+        if (!dailyTss.isEmpty()) {
+            val accumulator = seed
+                    .map(day -> new TrainingLoadAccumulator(day.getCtl(), day.getAtl()))
+                    .orElseGet(TrainingLoadAccumulator::new);
+            // Rows are dense, so a seed older than yesterday means the gap had no load.
+            val start = seed.map(day -> day.getDay().plusDays(1)).orElse(dailyTss.firstKey());
+
+            for (LocalDate day = start; !day.isAfter(dailyTss.lastKey()); day = day.plusDays(1)) {
+                val tss = dailyTss.getOrDefault(day, 0);
+                accumulator.accept(tss);
+
+                val row = Objects.requireNonNullElseGet(stale.remove(day),
+                        () -> TrainingLoadDay.builder().userId(userId).build());
+                row.setDay(day);
+                row.setTss(tss);
+                row.setCtl(accumulator.getCtl());
+                row.setAtl(accumulator.getAtl());
+                row.setTsb(accumulator.getTsb());
+                updated.add(row);
+            }
+        }
+
+        trainingLoadDayRepository.deleteAll(stale.values());
+        trainingLoadDayRepository.saveAll(updated);
+    }
+
+    @Override
+    public List<TrainingLoadDayDTO> getTrainingLoad(final LocalDate start, final LocalDate end) {
+        if (Objects.isNull(start) || Objects.isNull(end) || start.isAfter(end)) {
+            throw new BadRequestException("training-load.error.invalid-range");
+        }
+
+        val userId = internalUserService.getCurrentUser().getUserId();
+        val result = new ArrayList<TrainingLoadDayDTO>();
+        for (TrainingLoadDay day : trainingLoadDayRepository.findAllByUserIdAndDayBetweenOrderByDayAsc(userId, start, end)) {
+            result.add(toDTO(day));
+        }
+
+        val latest = result.isEmpty()
+                ? trainingLoadDayRepository.findFirstByUserIdAndDayBeforeOrderByDayDesc(userId, start)
+                        .map(TrainingLoadServiceImpl::toDTO)
+                        .orElse(null)
+                : result.get(result.size() - 1);
+        if (Objects.isNull(latest)) {
+            return result;
+        }
+
+        // Past the last training session the loads only decay, so they are not materialized.
+        val accumulator = new TrainingLoadAccumulator(latest.getCtl(), latest.getAtl());
+        for (LocalDate day = latest.getDay().plusDays(1); !day.isAfter(end); day = day.plusDays(1)) {
+            accumulator.accept(0);
+            if (!day.isBefore(start)) {
+                result.add(TrainingLoadDayDTO.builder()
+                        .day(day)
+                        .tss(0)
+                        .ctl(accumulator.getCtl())
+                        .atl(accumulator.getAtl())
+                        .tsb(accumulator.getTsb())
+                        .build());
+            }
+        }
+
+        return result;
+    }
+
+    private TreeMap<LocalDate, Integer> dailyTss(final String userId, final LocalDate fromDay) {
+        val dailyTss = new TreeMap<LocalDate, Integer>();
+        val sessions = trainingSessionRepository.findAllByUserIdAndCompletedAtGreaterThanEqualAndStatusIn(
+                userId, fromDay.atStartOfDay(), LOAD_STATUSES);
+
+        for (TrainingSession session : sessions) {
+            val tss = Objects.isNull(session.getMetadata()) || Objects.isNull(session.getMetadata().getTss())
+                    ? 0
+                    : session.getMetadata().getTss();
+            dailyTss.merge(session.getCompletedAt().toLocalDate(), tss, Integer::sum);
+        }
+        return dailyTss;
+    }
+
+    private static TrainingLoadDayDTO toDTO(final TrainingLoadDay day) {
+        return TrainingLoadDayDTO.builder()
+                .day(day.getDay())
+                .tss(day.getTss())
+                .ctl(day.getCtl())
+                .atl(day.getAtl())
+                .tsb(day.getTsb())
+                .build();
+    }
+}
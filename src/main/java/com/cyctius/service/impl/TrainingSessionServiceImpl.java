@@ -0,0 +1,128 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.dto.TrainingSessionDTO;
+import com.cyctius.entity.TrainingSession;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.handler.exception.NotFoundException;
+import com.cyctius.repository.TrainingSessionRepository;
+import com.cyctius.service.InternalUserService;
+import com.cyctius.service.PowerCurveService;
+import com.cyctius.service.TrainingLoadService;
+import com.cyctius.service.TrainingSessionService;
+import com.cyctius.service.TrainingSessionTransformer;
+import com.cyctius.service.UserValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Training session writes. Every write refreshes the user's training load from the
+ * earliest day it affected, and moving a session to another day moves its power curve too.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TrainingSessionServiceImpl implements TrainingSessionService {
+    private final TrainingSessionRepository trainingSessionRepository;
+    private final TrainingSessionTransformer trainingSessionTransformer;
+    private final TrainingLoadService trainingLoadService;
+    private final PowerCurveService powerCurveService;
+    private final InternalUserService internalUserService;
+    private final UserValidator userValidator;
+
+    @Override
+    @Transactional
+    public TrainingSessionDTO insertTrainingSession(final TrainingSessionDTO trainingSessionDTO) {
+        validate(trainingSessionDTO);
+
+        trainingSessionDTO.setId(null);
+        trainingSessionDTO.setUserId(internalUserService.getCurrentUser().getUserId());
+
+        val entity = trainingSessionTransformer.transformToEntity(trainingSessionDTO);
+        val metadata = entity.getMetadata();
+        entity.setMetadata(null);
+
+        // The metadata row is keyed by the session id, which only exists once the session is saved.
+        var saved = trainingSessionRepository.save(entity);
+        if (Objects.nonNull(metadata)) {
+            metadata.setTrainingSessionId(saved.getId());
+            saved.setMetadata(metadata);
+            saved = trainingSessionRepository.save(saved);
+        }
+
+        trainingLoadService.recalculateFrom(saved.getUserId(), saved.getCompletedAt().toLocalDate());
+        return trainingSessionTransformer.transformToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public TrainingSessionDTO updateTrainingSession(final String id, final TrainingSessionDTO trainingSessionDTO) {
+        if (Objects.isNull(id)) {
+            throw new BadRequestException("training-session.error.id-cannot-be-null");
+        }
+        validate(trainingSessionDTO);
+
+        val existing = findOwned(id);
+        val previousDay = existing.getCompletedAt().toLocalDate();
+
+        existing.setWorkoutId(trainingSessionDTO.getWorkoutId());
+        existing.setCompletedAt(trainingSessionDTO.getCompletedAt());
+        existing.setStatus(trainingSessionDTO.getStatus());
+        if (Objects.nonNull(trainingSessionDTO.getMetadata())) {
+            val metadata = trainingSessionTransformer.transformToEntity(trainingSessionDTO).getMetadata();
+            if (Objects.nonNull(existing.getMetadata())) {
+                metadata.setId(existing.getMetadata().getId());
+                metadata.setCreatedAt(existing.getMetadata().getCreatedAt());
+            }
+            metadata.setTrainingSessionId(existing.getId());
+            existing.setMetadata(metadata);
+        }
+
+        val saved = trainingSessionRepository.save(existing);
+        if (!previousDay.equals(saved.getCompletedAt().toLocalDate())) {
+            powerCurveService.moveTrainingSession(saved.getUserId(), saved.getId(), saved.getCompletedAt().toLocalDate());
+        }
+        trainingLoadService.recalculateFrom(saved.getUserId(), earliest(previousDay, saved.getCompletedAt()));
+        return trainingSessionTransformer.transformToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteTrainingSession(final String id) {
+        if (Objects.isNull(id)) {
+            throw new BadRequestException("training-session.error.id-cannot-be-null");
+        }
+
+        val existing = findOwned(id);
+        trainingSessionRepository.delete(existing);
+        powerCurveService.removeTrainingSession(existing.getUserId(), existing.getId());
+        trainingLoadService.recalculateFrom(existing.getUserId(), existing.getCompletedAt().toLocalDate());
+    }
+
+    private TrainingSession findOwned(final String id) {
+        val trainingSession = trainingSessionRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("training-session.error.not-found"));
+
+        userValidator.validateAuthor(trainingSession, "userId");
+        return trainingSession;
+    }
+
+    private static void validate(final TrainingSessionDTO trainingSessionDTO) {
+        if (Objects.isNull(trainingSessionDTO)) {
+            throw new BadRequestException("training-session.error.cannot-be-null");
+        }
+        if (Objects.isNull(trainingSessionDTO.getCompletedAt()) || Objects.isNull(trainingSessionDTO.getStatus())) {
+            throw new BadRequestException("training-session.error.completed-at-and-status-cannot-be-null");
+        }
+    }
+
+    private static LocalDate earliest(final LocalDate previousDay, final LocalDateTime completedAt) {
+        val day = completedAt.toLocalDate();
+        return day.isBefore(previousDay) ? day : previousDay;
+    }
+}
@@ -0,0 +1,255 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.service.WorkoutMetadataCalculator;
+import com.cyctius.dto.MetadataBackfillStatusDTO;
+import com.cyctius.dto.MetadataBackfillStatusDTO.State;
+import com.cyctius.dto.WorkoutMetadataDTO;
+import com.cyctius.entity.MetadataBackfillCheckpoint;
+import com.cyctius.repository.MetadataBackfillCheckpointRepository;
+import com.cyctius.repository.WorkoutMetadataJdbcRepository;
+import com.cyctius.repository.WorkoutMetadataJdbcRepository.StoredWorkout;
+import com.cyctius.service.WorkoutMetadataBackfillService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Walks the workouts table page by page and rewrites metadata that is missing or was
+ * computed by an older {@link WorkoutMetadataCalculator#ALGORITHM_VERSION}.
+ *
+ * Each page is fetched by keyset on the workout id, decoded and calculated on a dedicated
+ * {@link ForkJoinPool}, and written back as JDBC batches in the same transaction as the
+ * checkpoint, so an interrupted run resumes after the last committed page. Rows whose
+ * calculation fails keep their old version and are picked up again by the next run. Rows
+ * without intervals have no metadata; they are skipped and counted neither as written nor as failed.
+ * {@code cyctius.metadata.backfill.max-rows-per-second} throttles the run to spare the database.
+ */
+@Slf4j
+@Service
+public class WorkoutMetadataBackfillServiceImpl implements WorkoutMetadataBackfillService {
+
+    static final String JOB = "workout-metadata";
+
+    private final WorkoutMetadataCalculator workoutMetadataCalculator;
+    private final WorkoutMetadataJdbcRepository workoutMetadataJdbcRepository;
+    private final MetadataBackfillCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final ForkJoinPool pool;
+    private final int pageSize;
+    private final int maxRowsPerSecond;
+    private final boolean runOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<MetadataBackfillStatusDTO> status = new AtomicReference<>(
+            MetadataBackfillStatusDTO.builder()
+                    .state(State.IDLE)
+                    .algorithmVersion(WorkoutMetadataCalculator.ALGORITHM_VERSION)
+                    .processed(0L)
+                    .failed(0L)
+                    .build());
+
+    @Autowired
+    public WorkoutMetadataBackfillServiceImpl(
+        final WorkoutMetadataCalculator workoutMetadataCalculator,
+        final WorkoutMetadataJdbcRepository workoutMetadataJdbcRepository,
+        final MetadataBackfillCheckpointRepository checkpointRepository,
+        final PlatformTransactionManager transactionManager,
+        @Value("${cyctius.metadata.backfill.parallelism:0}") final int parallelism,
+        @Value("${cyctius.metadata.backfill.page-size:500}") final int pageSize,
+        @Value("${cyctius.metadata.backfill.max-rows-per-second:0}") final int maxRowsPerSecond,
+        @Value("${cyctius.metadata.backfill.run-on-startup:false}") final boolean runOnStartup
+    ) {
+        this.workoutMetadataCalculator = workoutMetadataCalculator;
+        this.workoutMetadataJdbcRepository = workoutMetadataJdbcRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.pageSize = pageSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.runOnStartup = runOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnApplicationReady() {
+        if (runOnStartup) {
+            start();
+        }
+    }
+
+    @Override
+    public MetadataBackfillStatusDTO start() {
+        if (running.compareAndSet(false, true)) {
+            status.set(status.get().toBuilder()
+                    .state(State.RUNNING)
+                    .startedAt(LocalDateTime.now())
+                    .finishedAt(null)
+                    .build());
+            runner.execute(this::run);
+        }
+        return getStatus();
+    }
+
+    @Override
+    public MetadataBackfillStatusDTO getStatus() {
+        return status.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    void run() {
+        try {
+            val checkpoint = loadCheckpoint();
+            var afterId = Objects.requireNonNullElse(checkpoint.getLastWorkoutId(), "");
+            val runStarted = System.nanoTime();
+            long rowsThisRun = 0;
+
+            List<StoredWorkout> page;
+            while (!(page = workoutMetadataJdbcRepository.findStale(
+                    afterId, WorkoutMetadataCalculator.ALGORITHM_VERSION, pageSize)).isEmpty()) {
+                val calculated = calculate(page);
+                afterId = page.get(page.size() - 1).id();
+
+                checkpoint.setLastWorkoutId(afterId);
+                checkpoint.setProcessed(checkpoint.getProcessed() + calculated.metadata().size());
+                checkpoint.setFailed(checkpoint.getFailed() + calculated.failed());
+                transactionTemplate.executeWithoutResult(transaction -> {
+                    workoutMetadataJdbcRepository.upsertAll(calculated.metadata());
+                    checkpointRepository.save(checkpoint);
+                });
+
+                publish(State.RUNNING, checkpoint);
+                log.info("Metadata backfill v{}: {} written, {} failed, at workout {}",
+                        checkpoint.getAlgorithmVersion(), checkpoint.getProcessed(), checkpoint.getFailed(), afterId);
+
+                rowsThisRun += page.size();
+                throttle(rowsThisRun, runStarted);
+            }
+
+            checkpoint.setLastWorkoutId(null);
+            checkpointRepository.save(checkpoint);
+            publish(State.COMPLETED, checkpoint);
+            log.info("Metadata backfill v{} completed: {} written, {} failed",
+                    checkpoint.getAlgorithmVersion(), checkpoint.getProcessed(), checkpoint.getFailed());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status.set(status.get().toBuilder().state(State.FAILED).finishedAt(LocalDateTime.now()).build());
+        } catch (final RuntimeException e) {
+            log.error("Metadata backfill failed, it will resume from the last checkpoint", e);
+            status.set(status.get().toBuilder().state(State.FAILED).finishedAt(LocalDateTime.now()).build());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Resumes the checkpoint of the current algorithm version, or starts over after a version bump
+     * or a completed run.
+     */
+    private MetadataBackfillCheckpoint loadCheckpoint() {
+        val existing = checkpointRepository.findById(JOB).orElse(null);
+        if (Objects.nonNull(existing)
+                && Objects.equals(existing.getAlgorithmVersion(), WorkoutMetadataCalculator.ALGORITHM_VERSION)
+                && Objects.nonNull(existing.getLastWorkoutId())) {
+            return existing;
+        }
+
+        val checkpoint = Objects.requireNonNullElseGet(existing, MetadataBackfillCheckpoint::new);
+        checkpoint.setJob(JOB);
+        checkpoint.setAlgorithmVersion(WorkoutMetadataCalculator.ALGORITHM_VERSION);
+        checkpoint.setLastWorkoutId(null);
+        checkpoint.setProcessed(0L);
+        checkpoint.setFailed(0L);
+        return checkpoint;
+    }
+
+    private CalculatedPage calculate(final List<StoredWorkout> page) throws InterruptedException {
+        val failed = new LongAdder();
+        try {
+            val metadata = pool.submit(() -> page.parallelStream()
+                    .map(workout -> calculate(workout, failed))
+                    .filter(Objects::nonNull)
+                    .toList())
+                .get();
+            return new CalculatedPage(metadata, failed.sum());
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Metadata backfill page failed", e.getCause());
+        }
+    }
+
+    /**
+     * @return the metadata, or null for a workout without intervals or one that failed, counted in {@code failed}
+     */
+    private WorkoutMetadataDTO calculate(final StoredWorkout workout, final LongAdder failed) {
+        try {
+            val intervals = workout.decodeIntervals();
+            if (intervals.isEmpty()) {
+                return null;
+            }
+
+            val workoutModel = WorkoutModel.builder()
+                    .id(workout.id())
+                    .intervals(intervals)
+                    .build();
+            return workoutMetadataCalculator.calculateMetadata(workoutModel, true).toBuilder()
+                    .workoutId(workout.id())
+                    .algorithmVersion(WorkoutMetadataCalculator.ALGORITHM_VERSION)
+                    .build();
+        } catch (final RuntimeException e) {
+            log.warn("Metadata backfill could not calculate workout {}", workout.id(), e);
+            failed.increment();
+            return null;
+        }
+    }
+
+    private void throttle(final long rows, final long runStarted) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+
+        val minimumNanos = TimeUnit.SECONDS.toNanos(rows) / maxRowsPerSecond;
+        val aheadNanos = minimumNanos - (System.nanoTime() - runStarted);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+
+    private void publish(final State state, final MetadataBackfillCheckpoint checkpoint) {
+        status.set(status.get().toBuilder()
+                .state(state)
+                .algorithmVersion(checkpoint.getAlgorithmVersion())
+                .lastWorkoutId(checkpoint.getLastWorkoutId())
+                .processed(checkpoint.getProcessed())
+                .failed(checkpoint.getFailed())
+                .finishedAt(state == State.RUNNING ? null : LocalDateTime.now())
+                .build());
+    }
+
+    private record CalculatedPage(List<WorkoutMetadataDTO> metadata, long failed) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.service.WorkoutMetadataCalculator;
+import com.cyctius.dto.WorkoutDTO;
+import com.cyctius.dto.WorkoutMetadataBatchItemDTO;
+import com.cyctius.dto.WorkoutMetadataBatchRequestDTO;
+import com.cyctius.dto.WorkoutMetadataBatchResponseDTO;
+import com.cyctius.dto.WorkoutMetadataDTO;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.service.WorkoutMetadataBatchService;
+import com.cyctius.util.MessageService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Fans metadata calculation out over a dedicated, bounded {@link ForkJoinPool} so large
+ * library imports neither run serially nor starve the common pool used by request threads.
+ *
+ * Error messages are resolved on the calling thread, where the request locale is known.
+ */
+@Slf4j
+@Service
+public class WorkoutMetadataBatchServiceImpl implements WorkoutMetadataBatchService {
+
+    private static final String CALCULATION_FAILED = "metadata.error.calculation-failed";
+
+    private final WorkoutMetadataCalculator workoutMetadataCalculator;
+    private final MessageService messageService;
+    private final ForkJoinPool pool;
+    private final int maxBatchSize;
+
+    @Autowired
+    public WorkoutMetadataBatchServiceImpl(
+        final WorkoutMetadataCalculator workoutMetadataCalculator,
+        final MessageService messageService,
+        @Value("${cyctius.metadata.batch.parallelism:0}") final int parallelism,
+        @Value("${cyctius.metadata.batch.max-size:5000}") final int maxBatchSize
+    ) {
+        this.workoutMetadataCalculator = workoutMetadataCalculator;
+        this.messageService = messageService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public WorkoutMetadataBatchResponseDTO calculateMetadata(final WorkoutMetadataBatchRequestDTO request) {
+        if (Objects.isNull(request) || Objects.isNull(request.getWorkouts()) || request.getWorkouts().isEmpty()) {
+            throw new BadRequestException("workout.error.workouts-cannot-be-null-or-empty");
+        }
+
+        val workouts = request.getWorkouts();
+        if (workouts.size() > maxBatchSize) {
+            throw new BadRequestException("metadata.error.batch-too-large");
+        }
+
+        val outcomes = new Outcome[workouts.size()];
+        try {
+            pool.submit(() -> IntStream.range(0, workouts.size())
+                    .parallel()
+                    .forEach(i -> outcomes[i] = calculate(workouts.get(i))))
+                .get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch metadata calculation interrupted", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Batch metadata calculation failed", e.getCause());
+        }
+
+        List<WorkoutMetadataBatchItemDTO> results = new ArrayList<>(workouts.size());
+        int failed = 0;
+        for (int i = 0; i < outcomes.length; i++) {
+            val outcome = outcomes[i];
+            val workout = workouts.get(i);
+            if (outcome.errorCode() != null) {
+                failed++;
+            }
+
+            results.add(WorkoutMetadataBatchItemDTO.builder()
+                    .index(i)
+                    .workoutId(workout == null ? null : workout.getId())
+                    .metadata(outcome.metadata())
+                    .error(outcome.errorCode() == null ? null : messageService.getMessage(outcome.errorCode()))
+                    .build());
+        }
+
+        return WorkoutMetadataBatchResponseDTO.builder()
+                .results(results)
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private Outcome calculate(final WorkoutDTO workoutDTO) {
+        if (Objects.isNull(workoutDTO)) {
+            return Outcome.failure("workout.error.workout-cannot-be-null");
+        }
+        if (Objects.isNull(workoutDTO.getIntervals()) || workoutDTO.getIntervals().isEmpty()) {
+            return Outcome.failure("workout.error.intervals-cannot-be-null-or-empty");
+        }
+
+        val workoutModel = WorkoutModel.builder()
+                .id(workoutDTO.getId())
+                .name(workoutDTO.getName())
+                .description(workoutDTO.getDescription())
+                .intervals(workoutDTO.getIntervals())
+                .build();
+
+        try {
+            return new Outcome(workoutMetadataCalculator.calculateMetadata(workoutModel, true), null);
+        } catch (final BadRequestException e) {
+            return Outcome.failure(e.getMessage());
+        } catch (final RuntimeException e) {
+            log.warn("Metadata calculation failed for workout {}", workoutDTO.getId(), e);
+            return Outcome.failure(CALCULATION_FAILED);
+        }
+    }
+
+    private record Outcome(WorkoutMetadataDTO metadata, String errorCode) {
+        private static Outcome failure(final String errorCode) {
+            return new Outcome(null, errorCode);
+        }
+    }
+}
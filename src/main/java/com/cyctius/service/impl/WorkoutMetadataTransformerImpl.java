@@ -24,6 +24,8 @@ public class WorkoutMetadataTransformerImpl implements WorkoutMetadataTransforme
                 .intensityFactor(workoutMetadata.getIntensityFactor())
                 .averageIntensity(workoutMetadata.getAverageIntensity())
                 .durationSeconds(workoutMetadata.getDurationSeconds())
+                .intensityHistogram(workoutMetadata.getIntensityHistogram())
+                .algorithmVersion(workoutMetadata.getAlgorithmVersion())
                 .createdAt(workoutMetadata.getCreatedAt())
                 .updatedAt(workoutMetadata.getUpdatedAt())
                 .build();
@@ -44,6 +46,8 @@ public class WorkoutMetadataTransformerImpl implements WorkoutMetadataTransforme
                 .intensityFactor(workoutMetadataDTO.getIntensityFactor())
                 .averageIntensity(workoutMetadataDTO.getAverageIntensity())
                 .durationSeconds(workoutMetadataDTO.getDurationSeconds())
+                .intensityHistogram(workoutMetadataDTO.getIntensityHistogram())
+                .algorithmVersion(workoutMetadataDTO.getAlgorithmVersion())
                 .createdAt(workoutMetadataDTO.getCreatedAt())
                 .updatedAt(workoutMetadataDTO.getUpdatedAt())
                 .build();
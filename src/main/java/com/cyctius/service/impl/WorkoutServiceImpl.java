@@ -1,13 +1,21 @@
 package com.cyctius.service.impl;
 
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.service.TssCalculationService;
+import com.cyctius.core.service.WorkoutMetadataCalculator;
+import com.cyctius.dto.TssCalculationResultDTO;
 import com.cyctius.dto.WorkoutDTO;
+import com.cyctius.entity.Workout;
 import com.cyctius.handler.exception.BadRequestException;
 import com.cyctius.handler.exception.NotFoundException;
 import com.cyctius.repository.WorkoutRepository;
 import com.cyctius.service.InternalUserService;
 import com.cyctius.service.UserValidator;
+import com.cyctius.service.WorkoutMetadataTransformer;
 import com.cyctius.service.WorkoutService;
 import com.cyctius.service.WorkoutTransformer;
+import com.cyctius.util.IntervalBinaryCodec;
+import com.cyctius.util.LazyIntervalList;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +23,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.StreamSupport;
@@ -27,6 +36,9 @@ public class WorkoutServiceImpl implements WorkoutService {
     private final WorkoutTransformer workoutTransformer;
     private final WorkoutRepository workoutRepository;
     private final InternalUserService intervalUserService;
+    private final WorkoutMetadataCalculator workoutMetadataCalculator;
+    private final WorkoutMetadataTransformer workoutMetadataTransformer;
+    private final TssCalculationService tssCalculationService;
 
     @Override
     public WorkoutDTO insertWorkout(final WorkoutDTO workoutDTO) {
@@ -98,11 +110,17 @@ public class WorkoutServiceImpl implements WorkoutService {
             throw new BadRequestException("workout.error.updated-at-cannot-be-in-future");
         }
 
+        val previousIntervals = encodedIntervals(existedWorkout);
+
         existedWorkout.setName(workoutDTO.getName());
         existedWorkout.setDescription(workoutDTO.getDescription());
         existedWorkout.setIntervals(workoutDTO.getIntervals());
         existedWorkout.setUpdatedAt(workoutDTO.getUpdatedAt());
 
+        if (!Arrays.equals(previousIntervals, encodedIntervals(existedWorkout))) {
+            refreshMetadata(existedWorkout);
+        }
+
         return workoutTransformer.transformToDTO(workoutRepository.save(existedWorkout));
     }
 
@@ -125,6 +143,23 @@ public class WorkoutServiceImpl implements WorkoutService {
         }
     }
 
+    @Override
+    public TssCalculationResultDTO getWorkoutRangeTss(final String id, final Integer fromSecond, final Integer toSecond) {
+        if (Objects.isNull(fromSecond) || Objects.isNull(toSecond) || fromSecond < 0 || toSecond < fromSecond) {
+            throw new BadRequestException("workout.error.range-is-invalid");
+        }
+
+        val workoutDTO = getWorkoutById(id);
+        val workoutModel = WorkoutModel.builder()
+                .id(workoutDTO.getId())
+                .name(workoutDTO.getName())
+                .description(workoutDTO.getDescription())
+                .intervals(workoutDTO.getIntervals())
+                .build();
+
+        return tssCalculationService.calculateTssForRange(workoutModel, fromSecond, toSecond);
+    }
+
     @Override
     public void softDeleteWorkout(final String id) {
         if (Objects.isNull(id)) {
@@ -166,4 +201,39 @@ public class WorkoutServiceImpl implements WorkoutService {
     public void cleanSoftDeletedWorkouts() {
         workoutRepository.deleteAllByIsSoftDeletedTrue();
     }
+
+    /**
+     * Intervals have no value equality, so edits are detected on their encoding; the stored
+     * bytes are used as they are while the workout's intervals were not replaced.
+     */
+    private static byte[] encodedIntervals(final Workout workout) {
+        val intervals = workout.getIntervals();
+        if (intervals instanceof LazyIntervalList stored) {
+            return stored.encoded();
+        }
+        return Objects.isNull(intervals) ? null : IntervalBinaryCodec.encode(intervals);
+    }
+
+    private void refreshMetadata(final Workout workout) {
+        if (Objects.isNull(workout.getIntervals()) || workout.getIntervals().isEmpty()) {
+            return;
+        }
+
+        val workoutModel = WorkoutModel.builder()
+                .id(workout.getId())
+                .name(workout.getName())
+                .description(workout.getDescription())
+                .intervals(workout.getIntervals())
+                .build();
+
+        var metadata = workoutMetadataCalculator.recalculateMetadata(workoutModel);
+        if (Objects.nonNull(workout.getMetadata())) {
+            metadata = metadata.toBuilder()
+                    .id(workout.getMetadata().getId())
+                    .createdAt(workout.getMetadata().getCreatedAt())
+                    .build();
+        }
+
+        workout.setMetadata(workoutMetadataTransformer.transformToEntity(metadata));
+    }
 }
@@ -0,0 +1,26 @@
+package com.cyctius.util;
+
+import com.cyctius.core.model.IntensityHistogram;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class IntensityHistogramConverter implements AttributeConverter<IntensityHistogram, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(IntensityHistogram attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return attribute.toBytes();
+    }
+
+    @Override
+    public IntensityHistogram convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        return IntensityHistogram.fromBytes(dbData);
+    }
+}
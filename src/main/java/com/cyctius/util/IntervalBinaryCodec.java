@@ -0,0 +1,276 @@
+package com.cyctius.util;
+
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of an interval list, stored in {@code workouts.intervals}.
+ *
+ * Layout: version byte, interval count as a varint, then one entry per interval. An entry
+ * starts with a header byte: bits 0-1 hold the type (SINGLE, RAMP, REPEAT), bit 2 is set when
+ * {@code enableCadence} is true and bit 3 announces a null mask byte, one bit per field in the
+ * order below, so null fields survive the round trip. Intensities and cadence take one byte,
+ * with {@code 0xFF} escaping to a varint for values outside 0-254; durations and repeat counts
+ * are varints.
+ * <ul>
+ *   <li>SINGLE: target intensity, cadence, enableCadence, duration;</li>
+ *   <li>RAMP: intensity from, intensity to, cadence, enableCadence, duration;</li>
+ *   <li>REPEAT: repeats, work, rest, with work and rest as nested SINGLE entries.</li>
+ * </ul>
+ * Equal lists always encode to equal bytes.
+ */
+public final class IntervalBinaryCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final int SINGLE = 0;
+    private static final int RAMP = 1;
+    private static final int REPEAT = 2;
+    private static final int TYPE_MASK = 0x03;
+    private static final int CADENCE_ENABLED = 0x04;
+    private static final int HAS_NULLS = 0x08;
+    private static final int BYTE_ESCAPE = 0xFF;
+
+    private IntervalBinaryCodec() {
+    }
+
+    public static byte[] encode(final List<Interval> intervals) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(2 + intervals.size() * 6);
+        out.write(FORMAT_VERSION);
+        writeVarInt(out, intervals.size());
+        for (Interval interval : intervals) {
+            if (interval instanceof SingleInterval single) {
+                writeSingle(out, single);
+            } else if (interval instanceof RampInterval ramp) {
+                writeRamp(out, ramp);
+            } else if (interval instanceof RepeatInterval repeat) {
+                writeRepeat(out, repeat);
+            } else {
+                throw new IllegalArgumentException("Unsupported interval: " + interval);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static List<Interval> decode(final byte[] bytes) {
+        final Reader in = new Reader(bytes);
+        final int count = in.header();
+        final List<Interval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            intervals.add(in.interval());
+        }
+        if (in.position != bytes.length) {
+            throw new IllegalArgumentException("Trailing bytes after " + count + " intervals");
+        }
+        return intervals;
+    }
+
+    /**
+     * Reads the interval count without decoding the intervals.
+     */
+    public static int count(final byte[] bytes) {
+        return new Reader(bytes).header();
+    }
+
+    private static void writeSingle(final ByteArrayOutputStream out, final SingleInterval single) {
+        writeHeader(out, SINGLE, single.getEnableCadence(), nullMask(
+                single.getTargetIntensity(), single.getTargetCadence(), single.getEnableCadence(), single.getDuration()));
+        writeByteValue(out, single.getTargetIntensity());
+        writeByteValue(out, single.getTargetCadence());
+        writeVarInt(out, single.getDuration());
+    }
+
+    private static void writeRamp(final ByteArrayOutputStream out, final RampInterval ramp) {
+        writeHeader(out, RAMP, ramp.getEnableCadence(), nullMask(ramp.getTargetIntensityFrom(),
+                ramp.getTargetIntensityTo(), ramp.getTargetCadence(), ramp.getEnableCadence(), ramp.getDuration()));
+        writeByteValue(out, ramp.getTargetIntensityFrom());
+        writeByteValue(out, ramp.getTargetIntensityTo());
+        writeByteValue(out, ramp.getTargetCadence());
+        writeVarInt(out, ramp.getDuration());
+    }
+
+    private static void writeRepeat(final ByteArrayOutputStream out, final RepeatInterval repeat) {
+        writeHeader(out, REPEAT, null, nullMask(repeat.getRepeats(), repeat.getWork(), repeat.getRest()));
+        writeVarInt(out, repeat.getRepeats());
+        if (repeat.getWork() != null) {
+            writeSingle(out, repeat.getWork());
+        }
+        if (repeat.getRest() != null) {
+            writeSingle(out, repeat.getRest());
+        }
+    }
+
+    private static void writeHeader(
+        final ByteArrayOutputStream out,
+        final int type,
+        final Boolean enableCadence,
+        final int nullMask
+    ) {
+        int header = type;
+        if (Boolean.TRUE.equals(enableCadence)) {
+            header |= CADENCE_ENABLED;
+        }
+        if (nullMask != 0) {
+            header |= HAS_NULLS;
+        }
+        out.write(header);
+        if (nullMask != 0) {
+            out.write(nullMask);
+        }
+    }
+
+    private static int nullMask(final Object... fields) {
+        int mask = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    private static void writeByteValue(final ByteArrayOutputStream out, final Integer value) {
+        if (value == null) {
+            return;
+        }
+        if (value >= 0 && value < BYTE_ESCAPE) {
+            out.write(value);
+        } else {
+            out.write(BYTE_ESCAPE);
+            writeVarInt(out, value);
+        }
+    }
+
+    private static void writeVarInt(final ByteArrayOutputStream out, final Integer value) {
+        if (value == null) {
+            return;
+        }
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    /**
+     * Cursor over the encoded bytes; malformed input fails with {@link IllegalArgumentException}.
+     */
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+        private int nullMask;
+
+        private Reader(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private int header() {
+            if (bytes == null || bytes.length == 0) {
+                throw new IllegalArgumentException("Empty interval encoding");
+            }
+            if (bytes[0] != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported interval encoding version: " + bytes[0]);
+            }
+            position = 1;
+            final int count = varInt();
+            if (count < 0 || count > bytes.length) {
+                throw new IllegalArgumentException("Invalid interval count: " + count);
+            }
+            return count;
+        }
+
+        private Interval interval() {
+            final int header = next();
+            return switch (header & TYPE_MASK) {
+                case SINGLE -> single(header);
+                case RAMP -> ramp(header);
+                case REPEAT -> repeat(header);
+                default -> throw new IllegalArgumentException("Unknown interval type in header " + header);
+            };
+        }
+
+        private SingleInterval single(final int header) {
+            readNullMask(header);
+            final Integer intensity = byteValue(0);
+            final Integer cadence = byteValue(1);
+            final Boolean enableCadence = flag(header, 2);
+            return new SingleInterval(intensity, cadence, enableCadence, nullableVarInt(3));
+        }
+
+        private RampInterval ramp(final int header) {
+            readNullMask(header);
+            final Integer from = byteValue(0);
+            final Integer to = byteValue(1);
+            final Integer cadence = byteValue(2);
+            final Boolean enableCadence = flag(header, 3);
+            return new RampInterval(from, to, cadence, enableCadence, nullableVarInt(4));
+        }
+
+        private RepeatInterval repeat(final int header) {
+            readNullMask(header);
+            final int mask = nullMask;
+            final Integer repeats = nullableVarInt(0);
+            final SingleInterval work = (mask & 2) != 0 ? null : nestedSingle();
+            final SingleInterval rest = (mask & 4) != 0 ? null : nestedSingle();
+            return new RepeatInterval(rest, work, repeats);
+        }
+
+        private SingleInterval nestedSingle() {
+            final int header = next();
+            if ((header & TYPE_MASK) != SINGLE) {
+                throw new IllegalArgumentException("Repeat part must be a single interval, header " + header);
+            }
+            return single(header);
+        }
+
+        private void readNullMask(final int header) {
+            nullMask = (header & HAS_NULLS) != 0 ? next() : 0;
+        }
+
+        private Boolean flag(final int header, final int field) {
+            return isNull(field) ? null : (header & CADENCE_ENABLED) != 0;
+        }
+
+        private Integer byteValue(final int field) {
+            if (isNull(field)) {
+                return null;
+            }
+            final int value = next();
+            return value == BYTE_ESCAPE ? varInt() : value;
+        }
+
+        private Integer nullableVarInt(final int field) {
+            return isNull(field) ? null : varInt();
+        }
+
+        private int varInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                final int b = next();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint longer than 5 bytes at " + position);
+        }
+
+        private boolean isNull(final int field) {
+            return (nullMask & (1 << field)) != 0;
+        }
+
+        private int next() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated interval encoding at " + position);
+            }
+            return bytes[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.cyctius.util;
+
+import com.cyctius.core.enums.IntervalType;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interval list JSON, shared by {@link IntervalListConverter} and {@link IntervalJsonParser}.
+ *
+ * Reading streams the tokens straight into interval objects: the {@code type} discriminator
+ * may appear anywhere in an object, so the fields are collected first and the interval is
+ * built at the end of the object. No tree is built and nothing is converted twice.
+ * Objects without a type or with an unknown type are skipped, and unknown fields are ignored.
+ * Writing goes through one preconfigured {@link ObjectWriter}. Both are thread safe.
+ */
+public final class IntervalJsonCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = MAPPER.reader();
+    private static final ObjectWriter WRITER = MAPPER.writerFor(new TypeReference<List<Interval>>() { });
+
+    private IntervalJsonCodec() {
+    }
+
+    public static String write(final List<Interval> intervals) throws JsonProcessingException {
+        return WRITER.writeValueAsString(intervals);
+    }
+
+    /**
+     * @param json an array of intervals, or an object holding one under {@code intervals}
+     * @return the intervals; empty if there is no array
+     */
+    public static List<Interval> read(final String json) throws IOException {
+        try (JsonParser parser = READER.createParser(json)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = seekField(parser, "intervals");
+            }
+
+            return token == JsonToken.START_ARRAY ? readArray(parser) : new ArrayList<>();
+        }
+    }
+
+    /**
+     * Moves to the value of {@code name} in the current object.
+     *
+     * @return the first token of the value, or null if the object has no such field
+     */
+    private static JsonToken seekField(final JsonParser parser, final String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (name.equals(field)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static List<Interval> readArray(final JsonParser parser) throws IOException {
+        final List<Interval> intervals = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of interval array");
+            }
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            final Interval interval = readObject(parser).toInterval();
+            if (interval != null) {
+                intervals.add(interval);
+            }
+        }
+        return intervals;
+    }
+
+    private static Fields readObject(final JsonParser parser) throws IOException {
+        final Fields fields = new Fields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (name) {
+                case "type" -> fields.type = parser.getText();
+                case "targetIntensity" -> fields.targetIntensity = parser.getValueAsInt();
+                case "targetIntensityFrom" -> fields.targetIntensityFrom = parser.getValueAsInt();
+                case "targetIntensityTo" -> fields.targetIntensityTo = parser.getValueAsInt();
+                case "targetCadence" -> fields.targetCadence = parser.getValueAsInt();
+                case "enableCadence" -> fields.enableCadence = parser.getValueAsBoolean();
+                case "duration" -> fields.duration = parser.getValueAsInt();
+                case "repeats" -> fields.repeats = parser.getValueAsInt();
+                case "work" -> fields.work = readSingle(parser, value);
+                case "rest" -> fields.rest = readSingle(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return fields;
+    }
+
+    private static SingleInterval readSingle(final JsonParser parser, final JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        return readObject(parser).toSingle();
+    }
+
+    /**
+     * Fields of any interval type, collected until the object ends.
+     */
+    private static final class Fields {
+        private String type;
+        private Integer targetIntensity;
+        private Integer targetIntensityFrom;
+        private Integer targetIntensityTo;
+        private Integer targetCadence;
+        private Boolean enableCadence;
+        private Integer duration;
+        private Integer repeats;
+        private SingleInterval work;
+        private SingleInterval rest;
+
+        private Interval toInterval() {
+            if (type == null) {
+                return null;
+            }
+
+            final IntervalType intervalType;
+            try {
+                intervalType = IntervalType.valueOf(type);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+
+            return switch (intervalType) {
+                case SINGLE -> toSingle();
+                case RAMP -> toRamp();
+                case REPEAT -> new RepeatInterval(rest, work, repeats);
+            };
+        }
+
+        /**
+         * Missing fields keep the defaults of {@link RampInterval#RampInterval()}, as with data binding.
+         */
+        private RampInterval toRamp() {
+            final RampInterval ramp = new RampInterval();
+            if (targetIntensityFrom != null) {
+                ramp.setTargetIntensityFrom(targetIntensityFrom);
+            }
+            if (targetIntensityTo != null) {
+                ramp.setTargetIntensityTo(targetIntensityTo);
+            }
+            if (targetCadence != null) {
+                ramp.setTargetCadence(targetCadence);
+            }
+            if (enableCadence != null) {
+                ramp.setEnableCadence(enableCadence);
+            }
+            if (duration != null) {
+                ramp.setDuration(duration);
+            }
+            return ramp;
+        }
+
+        private SingleInterval toSingle() {
+            return new SingleInterval(targetIntensity, targetCadence, enableCadence, duration);
+        }
+    }
+}
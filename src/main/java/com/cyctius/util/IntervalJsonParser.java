@@ -1,21 +1,14 @@
 package com.cyctius.util;
 
 import com.cyctius.core.model.WorkoutModel;
-import com.cyctius.core.model.intervals.Interval;
-import com.cyctius.core.model.intervals.RampInterval;
-import com.cyctius.core.model.intervals.RepeatInterval;
-import com.cyctius.core.model.intervals.SingleInterval;
-import com.cyctius.core.enums.IntervalType;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 /**
  * Utility class for parsing intervals JSON strings into WorkoutModel objects.
+ * Intervals are read with {@link IntervalJsonCodec}, the codec of the stored workouts.
  */
 @Component
 public class IntervalJsonParser {
@@ -39,23 +32,9 @@ public class IntervalJsonParser {
         }
 
         try {
-            JsonNode rootNode = objectMapper.readTree(intervalsJson);
-            JsonNode intervalsNode = rootNode.has("intervals") ? rootNode.get("intervals") : rootNode;
-
-            List<Interval> intervals = new ArrayList<>();
-            
-            if (intervalsNode.isArray()) {
-                for (JsonNode intervalNode : intervalsNode) {
-                    Interval interval = parseInterval(intervalNode);
-                    if (interval != null) {
-                        intervals.add(interval);
-                    }
-                }
-            }
-
-            return Optional.ofNullable(
+            return Optional.of(
                 WorkoutModel.builder()
-                    .intervals(intervals)
+                    .intervals(IntervalJsonCodec.read(intervalsJson))
                     .build()
             );
         } catch (Exception e) {
@@ -63,28 +42,6 @@ public class IntervalJsonParser {
         }
     }
 
-    /**
-     * Parse a single interval from JSON node.
-     */
-    private Interval parseInterval(JsonNode intervalNode) {
-        if (!intervalNode.has("type")) {
-            return null;
-        }
-
-        String typeStr = intervalNode.get("type").asText();
-        IntervalType type = IntervalType.valueOf(typeStr);
-
-        try {
-            return switch (type) {
-                case SINGLE -> objectMapper.treeToValue(intervalNode, SingleInterval.class);
-                case REPEAT -> objectMapper.treeToValue(intervalNode, RepeatInterval.class);
-                case RAMP -> objectMapper.treeToValue(intervalNode, RampInterval.class);
-            };
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse interval of type " + type + ": " + e.getMessage(), e);
-        }
-    }
-
     /**
      * Convert WorkoutModel back to JSON string.
      *
@@ -0,0 +1,34 @@
+package com.cyctius.util;
+
+import com.cyctius.core.model.intervals.Interval;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/**
+ * Stores intervals through {@link IntervalBinaryCodec}. Loading only wraps the bytes in a
+ * {@link LazyIntervalList}, and writing an untouched one hands the same bytes back.
+ */
+@Converter
+public class IntervalListBinaryConverter implements AttributeConverter<List<Interval>, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(List<Interval> attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        if (attribute instanceof LazyIntervalList lazy) {
+            return lazy.encoded();
+        }
+        return IntervalBinaryCodec.encode(attribute);
+    }
+
+    @Override
+    public List<Interval> convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        return new LazyIntervalList(dbData);
+    }
+}
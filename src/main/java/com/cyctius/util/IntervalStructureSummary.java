@@ -0,0 +1,61 @@
+package com.cyctius.util;
+
+import com.cyctius.core.enums.IntervalType;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * What the structural queries of {@code WorkoutRepository} filter on, derived from an interval list
+ * and stored next to its binary encoding: the top-level interval types as a jsonb array for a GIN
+ * containment index, and the largest repeat count and target intensity for btree range scans.
+ * A few dozen bytes per row, whatever the length of the workout.
+ *
+ * @param types              the distinct top-level {@link IntervalType} names as a JSON array
+ * @param maxRepeats         the largest repeat count, 0 without repeat blocks
+ * @param maxTargetIntensity the largest target intensity in % of FTP, including ramp ends and
+ *                           the work and rest parts of repeat blocks; 0 for no intervals
+ */
+public record IntervalStructureSummary(String types, int maxRepeats, int maxTargetIntensity) {
+
+    public static IntervalStructureSummary of(final List<Interval> intervals) {
+        final EnumSet<IntervalType> types = EnumSet.noneOf(IntervalType.class);
+        int maxRepeats = 0;
+        int maxTargetIntensity = 0;
+
+        if (intervals != null) {
+            for (Interval interval : intervals) {
+                types.add(interval.getType());
+                if (interval instanceof SingleInterval single) {
+                    maxTargetIntensity = max(maxTargetIntensity, single.getTargetIntensity());
+                } else if (interval instanceof RampInterval ramp) {
+                    maxTargetIntensity = max(maxTargetIntensity, ramp.getTargetIntensityFrom());
+                    maxTargetIntensity = max(maxTargetIntensity, ramp.getTargetIntensityTo());
+                } else if (interval instanceof RepeatInterval repeat) {
+                    maxRepeats = max(maxRepeats, repeat.getRepeats());
+                    if (repeat.getWork() != null) {
+                        maxTargetIntensity = max(maxTargetIntensity, repeat.getWork().getTargetIntensity());
+                    }
+                    if (repeat.getRest() != null) {
+                        maxTargetIntensity = max(maxTargetIntensity, repeat.getRest().getTargetIntensity());
+                    }
+                }
+            }
+        }
+
+        return new IntervalStructureSummary(
+                types.stream().map(type -> '"' + type.name() + '"').collect(Collectors.joining(",", "[", "]")),
+                maxRepeats,
+                maxTargetIntensity);
+    }
+
+    private static int max(final int current, final Integer value) {
+        return Objects.isNull(value) ? current : Math.max(current, value);
+    }
+}
@@ -0,0 +1,67 @@
+package com.cyctius.util;
+
+import com.cyctius.core.model.intervals.Interval;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only interval list over {@link IntervalBinaryCodec} bytes, decoded on first element access.
+ *
+ * {@link #size()} only reads the header. Two lazy lists compare by their encoded bytes, so
+ * Hibernate snapshots and dirty checks of an untouched workout never decode it. Once decoded
+ * the intervals may have been modified in place, so {@link #encoded()} encodes them again.
+ * Not thread safe, like the entity holding it.
+ */
+public final class LazyIntervalList extends AbstractList<Interval> implements RandomAccess {
+
+    private final byte[] encoded;
+    private List<Interval> decoded;
+
+    public LazyIntervalList(final byte[] encoded) {
+        this.encoded = encoded;
+    }
+
+    @Override
+    public Interval get(final int index) {
+        return decoded().get(index);
+    }
+
+    @Override
+    public int size() {
+        return decoded != null ? decoded.size() : IntervalBinaryCodec.count(encoded);
+    }
+
+    public boolean isDecoded() {
+        return decoded != null;
+    }
+
+    /**
+     * @return the stored bytes while nothing was decoded, otherwise the current intervals encoded again
+     */
+    public byte[] encoded() {
+        return decoded == null ? encoded : IntervalBinaryCodec.encode(decoded);
+    }
+
+    private List<Interval> decoded() {
+        if (decoded == null) {
+            decoded = IntervalBinaryCodec.decode(encoded);
+        }
+        return decoded;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o instanceof LazyIntervalList other) {
+            return this == other || Arrays.equals(encoded(), other.encoded());
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
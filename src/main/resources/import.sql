@@ -0,0 +1,4 @@
+-- Run by Hibernate after it creates the schema; JPA cannot declare the index method.
+create index if not exists idx_workouts_interval_types on cyctius_db_schema.workouts using gin (interval_types jsonb_path_ops);
+create index if not exists idx_workouts_author_max_repeats on cyctius_db_schema.workouts (author_id, max_repeats);
+create index if not exists idx_workouts_author_max_target_intensity on cyctius_db_schema.workouts (author_id, max_target_intensity);
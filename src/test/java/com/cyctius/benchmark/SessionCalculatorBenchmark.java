@@ -0,0 +1,114 @@
+package com.cyctius.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cyctius.core.calculator.ThresholdSessionCalculator;
+import com.cyctius.core.calculator.VO2maxSessionCalculator;
+import com.cyctius.core.parameters.ThresholdSessionParameters;
+import com.cyctius.core.parameters.VO2maxSessionParameters;
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+import com.cyctius.core.profile.ThresholdAthleteProfile;
+import com.cyctius.core.session.ThresholdSession;
+import com.cyctius.core.session.VO2maxSession;
+
+/**
+ * Uncached session calculators for every interval type and the duration range each one accepts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionCalculatorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class VO2maxState {
+        @Param({"SHORT", "CLASSIC", "LONG"})
+        public VO2maxSessionParameters.VO2maxIntervalType intervalType;
+
+        @Param({"10", "20", "30", "45", "60"})
+        public int durationMinutes;
+
+        @Param({"3.0", "6.5", "9.5"})
+        public double score;
+
+        private VO2maxSessionCalculator calculator;
+        private AthleteVO2MaxProfile athlete;
+        private VO2maxSessionParameters parameters;
+
+        @Setup
+        public void setUp() {
+            calculator = new VO2maxSessionCalculator();
+            athlete = AthleteVO2MaxProfile.builder()
+                    .ftp(266)
+                    .tte120Min(5.0)
+                    .tte106Min(21.0)
+                    .build();
+            parameters = VO2maxSessionParameters.builder()
+                    .score(score)
+                    .durationMinutes(durationMinutes)
+                    .intervalType(intervalType)
+                    .build();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ThresholdState {
+        @Param({"THRESHOLD", "SWEET_SPOT"})
+        public ThresholdSessionParameters.ThresholdIntervalType intervalType;
+
+        @Param({"20", "40", "60", "90", "120"})
+        public int durationMinutes;
+
+        @Param({"3.0", "6.5", "9.5"})
+        public double score;
+
+        private ThresholdSessionCalculator calculator;
+        private ThresholdAthleteProfile athlete;
+        private ThresholdSessionParameters parameters;
+
+        @Setup
+        public void setUp() {
+            calculator = new ThresholdSessionCalculator();
+            athlete = ThresholdAthleteProfile.builder()
+                    .ftp(266)
+                    .tteAtFtp(2400.0)
+                    .pdPoints(List.of(
+                            new ThresholdAthleteProfile.PdPoint(150.0, 180.0),
+                            new ThresholdAthleteProfile.PdPoint(120.0, 300.0),
+                            new ThresholdAthleteProfile.PdPoint(106.0, 1260.0),
+                            new ThresholdAthleteProfile.PdPoint(100.0, 2400.0),
+                            new ThresholdAthleteProfile.PdPoint(92.0, 3600.0),
+                            new ThresholdAthleteProfile.PdPoint(85.0, 7200.0)))
+                    .build();
+            parameters = ThresholdSessionParameters.builder()
+                    .score(score)
+                    .durationMinutes(durationMinutes)
+                    .intervalType(intervalType)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public VO2maxSession vo2max(final VO2maxState state) {
+        return state.calculator.calculate(state.athlete, state.parameters);
+    }
+
+    @Benchmark
+    public ThresholdSession threshold(final ThresholdState state) {
+        return state.calculator.calculate(state.athlete, state.parameters);
+    }
+}
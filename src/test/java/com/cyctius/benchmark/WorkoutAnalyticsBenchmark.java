@@ -0,0 +1,86 @@
+package com.cyctius.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cyctius.core.enums.PowerZone;
+import com.cyctius.core.enums.WorkoutType;
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.service.impl.IncrementalAnalysisSessions;
+import com.cyctius.core.service.impl.TssCalculationServiceImpl;
+import com.cyctius.core.service.impl.WorkoutMetadataCalculatorImpl;
+import com.cyctius.core.service.impl.WorkoutPowerUtilsImpl;
+import com.cyctius.core.service.impl.WorkoutTypeClassifierServiceImpl;
+import com.cyctius.dto.WorkoutMetadataDTO;
+
+/**
+ * Workout analytics over {@link WorkoutFixtures} from 30 minutes to 6 hours.
+ * Metadata is calculated without the content-addressed cache, so every call does the work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkoutAnalyticsBenchmark {
+
+    @Param({"STEADY", "REPEATS", "RAMPS"})
+    public WorkoutFixtures.Shape shape;
+
+    @Param({"30", "60", "120", "240", "360"})
+    public int durationMinutes;
+
+    private WorkoutModel workout;
+    private WorkoutPowerUtilsImpl workoutPowerUtils;
+    private TssCalculationServiceImpl tssCalculationService;
+    private WorkoutTypeClassifierServiceImpl workoutTypeClassifierService;
+    private WorkoutMetadataCalculatorImpl workoutMetadataCalculator;
+
+    @Setup
+    public void setUp() {
+        workout = WorkoutFixtures.workout(shape, durationMinutes);
+        workoutPowerUtils = new WorkoutPowerUtilsImpl();
+        tssCalculationService = new TssCalculationServiceImpl();
+        workoutTypeClassifierService = new WorkoutTypeClassifierServiceImpl(workoutPowerUtils);
+        workoutMetadataCalculator = new WorkoutMetadataCalculatorImpl(workoutPowerUtils, workoutTypeClassifierService,
+                new IncrementalAnalysisSessions(1000));
+    }
+
+    @Benchmark
+    public Integer normalizedIntensity() {
+        return workoutPowerUtils.calculateNormalizedIntensity(workout);
+    }
+
+    @Benchmark
+    public Map<PowerZone, Integer> distribution() {
+        return workoutPowerUtils.calculateDistribution(workout);
+    }
+
+    @Benchmark
+    public Integer tss() {
+        return tssCalculationService.calculateTssForSession(workout);
+    }
+
+    @Benchmark
+    public WorkoutType classification() {
+        return workoutTypeClassifierService.classifyWorkout(workout);
+    }
+
+    @Benchmark
+    public WorkoutMetadataDTO calculateMetadata() {
+        return workoutMetadataCalculator.calculateMetadata(workout, true);
+    }
+}
@@ -0,0 +1,108 @@
+package com.cyctius.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+/**
+ * Realistic workouts for the benchmarks, built deterministically to a requested duration.
+ */
+public final class WorkoutFixtures {
+
+    /**
+     * Structure of a fixture workout.
+     */
+    public enum Shape {
+        /**
+         * Long steady endurance and tempo blocks.
+         */
+        STEADY,
+        /**
+         * Deep repeat sets: 40/20s, 30/30s, 3 min VO2max and 10 s sprints in turn.
+         */
+        REPEATS,
+        /**
+         * Staircases and pyramids of short ramps.
+         */
+        RAMPS
+    }
+
+    private static final int CADENCE = 90;
+
+    private WorkoutFixtures() {
+    }
+
+    public static WorkoutModel workout(final Shape shape, final int durationMinutes) {
+        final int total = durationMinutes * 60;
+        final List<Interval> intervals = new ArrayList<>();
+        intervals.add(new RampInterval(45, 75, CADENCE, false, 600));
+
+        int elapsed = 600;
+        int block = 0;
+        while (elapsed < total - 300) {
+            final Interval next = next(shape, block++);
+            if (elapsed + next.getTotalDurationSeconds() > total - 300) {
+                break;
+            }
+            intervals.add(next);
+            elapsed += next.getTotalDurationSeconds();
+        }
+
+        if (total - 300 - elapsed > 0) {
+            intervals.add(steady(65, total - 300 - elapsed));
+        }
+        intervals.add(new RampInterval(60, 40, CADENCE, false, 300));
+
+        return WorkoutModel.builder()
+                .id(shape + "-" + durationMinutes)
+                .name(shape + " " + durationMinutes + " min")
+                .intervals(intervals)
+                .build();
+    }
+
+    private static Interval next(final Shape shape, final int block) {
+        switch (shape) {
+            case STEADY:
+                return block % 3 == 2 ? steady(85, 1200) : steady(65 + block % 3 * 3, 1800);
+            case REPEATS:
+                switch (block % 5) {
+                    case 0:
+                        return repeat(120, 40, 50, 20, 12);
+                    case 1:
+                        return steady(60, 300);
+                    case 2:
+                        return repeat(110, 30, 55, 30, 15);
+                    case 3:
+                        return repeat(115, 180, 45, 180, 5);
+                    default:
+                        return repeat(200, 10, 55, 110, 8);
+                }
+            case RAMPS:
+                final int step = block % 12;
+                final int from = 55 + (step < 6 ? step : 11 - step) * 10;
+                final int to = from + (step < 6 ? 10 : -10);
+                return new RampInterval(from, to, CADENCE, false, 45 + block % 4 * 15);
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    private static SingleInterval steady(final int intensity, final int seconds) {
+        return new SingleInterval(intensity, CADENCE, false, seconds);
+    }
+
+    private static RepeatInterval repeat(
+        final int workIntensity,
+        final int workSeconds,
+        final int restIntensity,
+        final int restSeconds,
+        final int repeats
+    ) {
+        return new RepeatInterval(steady(restIntensity, restSeconds), steady(workIntensity, workSeconds), repeats);
+    }
+}
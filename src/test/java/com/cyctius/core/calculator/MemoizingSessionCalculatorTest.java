@@ -0,0 +1,160 @@
+package com.cyctius.core.calculator;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.model.CriticalPowerModel;
+import com.cyctius.core.parameters.VO2maxSessionParameters;
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+import com.cyctius.core.session.VO2maxSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoizingSessionCalculatorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private final VO2maxSessionCalculator vo2maxCalculator = new VO2maxSessionCalculator();
+
+    private SimpleMeterRegistry meterRegistry;
+    private MemoizingSessionCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> calculator;
+    private AthleteVO2MaxProfile athlete;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        calculator = memoizing(2);
+        athlete = AthleteVO2MaxProfile.builder()
+                .ftp(266)
+                .tte120Min(5.0)
+                .tte106Min(21.0)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Inputs on the same grid point share one prescription")
+    void calculate_SameGridPoint_HitsCache() {
+        final VO2maxSession first = calculator.calculate(athlete, params(7.04));
+        final VO2maxSession second = calculator.calculate(AthleteVO2MaxProfile.builder().ftp(266).tte120Min(5.01).tte106Min(21.0).build(), params(7.01));
+
+        assertEquals(1, delegateCalls.get());
+        assertEquals(first, second);
+        assertEquals(vo2maxCalculator.calculate(athlete, params(7.0)), first);
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    @DisplayName("Nearly equal critical power fits share one prescription")
+    void calculate_SimilarCriticalPowerModels_HitCache() {
+        final VO2maxSession first = calculator.calculate(withModel(CriticalPowerModelType.OMNI_DOMAIN, 270.2, 20010.0, 3.1), params(7.0));
+        final VO2maxSession second = calculator.calculate(withModel(CriticalPowerModelType.TWO_PARAMETER, 269.9, 19980.0, 5.7), params(7.0));
+
+        assertEquals(1, delegateCalls.get());
+        assertEquals(first, second);
+        assertEquals(vo2maxCalculator.calculate(withModel(null, 270.0, 20000.0, null), params(7.0)), first);
+
+        calculator.calculate(withModel(CriticalPowerModelType.OMNI_DOMAIN, 272.0, 20010.0, 3.1), params(7.0));
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    @DisplayName("Cached sessions are handed out as copies")
+    void calculate_Hit_ReturnsCopy() {
+        final VO2maxSession first = calculator.calculate(athlete, params(7.0));
+        first.setRepeats(99);
+
+        final VO2maxSession second = calculator.calculate(athlete, params(7.0));
+
+        assertNotSame(first, second);
+        assertNotEquals(99, second.getRepeats());
+    }
+
+    @Test
+    @DisplayName("Entries expire after the TTL")
+    void calculate_AfterTtl_Recalculates() {
+        calculator.calculate(athlete, params(7.0));
+        clock.addAndGet(Duration.ofHours(1).toNanos() - 1);
+        calculator.calculate(athlete, params(7.0));
+        assertEquals(1, delegateCalls.get());
+
+        clock.incrementAndGet();
+        calculator.calculate(athlete, params(7.0));
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    @DisplayName("Least recently used entries are evicted past the size limit")
+    void calculate_PastMaxEntries_EvictsLeastRecentlyUsed() {
+        calculator.calculate(athlete, params(5.0));
+        calculator.calculate(athlete, params(6.0));
+        calculator.calculate(athlete, params(5.0));
+        calculator.calculate(athlete, params(7.0));
+
+        calculator.calculate(athlete, params(5.0));
+        assertEquals(3, delegateCalls.get());
+        calculator.calculate(athlete, params(6.0));
+        assertEquals(4, delegateCalls.get());
+
+        assertEquals(2.0, meterRegistry.get("cyctius.sessions.cache.evictions").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cyctius.sessions.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Out-of-range input is rejected even if rounding would make it valid")
+    void calculate_InvalidScore_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(athlete, params(10.04)));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(athlete, null));
+    }
+
+    private MemoizingSessionCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> memoizing(
+        final int maxEntries
+    ) {
+        final SessionCalculator<AthleteVO2MaxProfile, VO2maxSessionParameters, VO2maxSession> counting =
+                (profile, parameters) -> {
+                    delegateCalls.incrementAndGet();
+                    return vo2maxCalculator.calculate(profile, parameters);
+                };
+        return new MemoizingSessionCalculator<>("vo2max", counting, new VO2maxSessionQuantizer(),
+                session -> session.toBuilder().build(), maxEntries, Duration.ofHours(1), meterRegistry, clock::get);
+    }
+
+    private double gets(final String result) {
+        return meterRegistry.get("cyctius.sessions.cache.gets").tag("result", result).functionCounter().count();
+    }
+
+    private static AthleteVO2MaxProfile withModel(
+        final CriticalPowerModelType type,
+        final double criticalPower,
+        final double wPrime,
+        final Double rmse
+    ) {
+        return AthleteVO2MaxProfile.builder()
+                .ftp(266)
+                .tte120Min(5.0)
+                .tte106Min(21.0)
+                .criticalPowerModel(CriticalPowerModel.builder()
+                        .type(type)
+                        .criticalPower(criticalPower)
+                        .wPrime(wPrime)
+                        .maxPower(900.0)
+                        .rmse(rmse)
+                        .build())
+                .build();
+    }
+
+    private static VO2maxSessionParameters params(final double score) {
+        return VO2maxSessionParameters.builder()
+                .score(score)
+                .durationMinutes(45)
+                .intervalType(VO2maxSessionParameters.VO2maxIntervalType.CLASSIC)
+                .build();
+    }
+}
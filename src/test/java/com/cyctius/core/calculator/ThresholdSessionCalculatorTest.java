@@ -9,6 +9,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -229,4 +230,23 @@ class ThresholdSessionCalculatorTest {
         // restRatio на Score 2.0 ~ 0.9. Отдых должен быть сопоставим с работой.
         assertTrue(session.getRestDuration() > session.getWorkDuration() * 0.8);
     }
+
+    @Test
+    @DisplayName("Ladder should match calculating every score separately")
+    void calculateLadder_MatchesSingleScores() {
+        for (ThresholdSessionParameters.ThresholdIntervalType type : ThresholdSessionParameters.ThresholdIntervalType.values()) {
+            ThresholdSessionParameters params = ThresholdSessionParameters.builder()
+                    .durationMinutes(60)
+                    .intervalType(type)
+                    .build();
+
+            List<ThresholdSession> ladder = calculator.calculateLadder(defaultAthlete, params);
+
+            assertEquals(SessionLadderCalculator.STEPS, ladder.size());
+            for (int step = 0; step < SessionLadderCalculator.STEPS; step++) {
+                params.setScore(SessionLadderCalculator.scoreAt(step));
+                assertEquals(calculator.calculate(defaultAthlete, params), ladder.get(step), type + " step " + step);
+            }
+        }
+    }
 }
@@ -1,8 +1,14 @@
 package com.cyctius.core.calculator;
 
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.enums.SessionSolverMode;
+import com.cyctius.core.model.CriticalPowerModel;
 import com.cyctius.core.parameters.VO2maxSessionParameters;
 import com.cyctius.core.profile.AthleteVO2MaxProfile;
 import com.cyctius.core.session.VO2maxSession;
+import com.cyctius.core.session.VO2maxSessionAlternatives;
+
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -201,4 +207,137 @@ class VO2maxSessionCalculatorTest {
         assertNotNull(session);
         // Should still find a session but might have many short intervals or low power
     }
+
+    @Test
+    @DisplayName("Analytic solver should pick the same session as brute force on the regression grid")
+    void calculate_AnalyticSolver_MatchesBruteForce() {
+        VO2maxSessionCalculator bruteForce = new VO2maxSessionCalculator(SessionSolverMode.BRUTE_FORCE);
+        VO2maxSessionCalculator analytic = new VO2maxSessionCalculator(SessionSolverMode.ANALYTIC);
+
+        int[] ftps = {180, 266, 340};
+        double[][] ttes = {{3.0, 12.0}, {5.0, 21.0}, {8.0, 35.0}};
+        double[] scores = {1.0, 3.5, 6.0, 8.0, 10.0};
+        int[] durations = {10, 25, 40, 60};
+
+        for (int ftp : ftps) {
+            for (double[] tte : ttes) {
+                AthleteVO2MaxProfile athlete = AthleteVO2MaxProfile.builder()
+                        .ftp(ftp)
+                        .tte120Min(tte[0])
+                        .tte106Min(tte[1])
+                        .build();
+                for (VO2maxSessionParameters.VO2maxIntervalType type : VO2maxSessionParameters.VO2maxIntervalType.values()) {
+                    for (double score : scores) {
+                        for (int duration : durations) {
+                            VO2maxSessionParameters params = VO2maxSessionParameters.builder()
+                                    .score(score)
+                                    .durationMinutes(duration)
+                                    .intervalType(type)
+                                    .build();
+
+                            assertEquals(bruteForce.calculate(athlete, params), analytic.calculate(athlete, params),
+                                    ftp + "W " + tte[0] + "/" + tte[1] + " " + type + " score " + score + " " + duration + "min");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Ladder should match calculating every score separately")
+    void calculateLadder_MatchesSingleScores() {
+        VO2maxSessionCalculator bruteForce = new VO2maxSessionCalculator(SessionSolverMode.BRUTE_FORCE);
+        AthleteVO2MaxProfile[] athletes = {
+                defaultAthlete,
+                AthleteVO2MaxProfile.builder().ftp(180).tte120Min(3.0).tte106Min(12.0).build()
+        };
+
+        for (AthleteVO2MaxProfile athlete : athletes) {
+            for (VO2maxSessionParameters.VO2maxIntervalType type : VO2maxSessionParameters.VO2maxIntervalType.values()) {
+                for (int duration : new int[]{10, 45}) {
+                    VO2maxSessionParameters params = VO2maxSessionParameters.builder()
+                            .durationMinutes(duration)
+                            .intervalType(type)
+                            .build();
+
+                    List<VO2maxSession> ladder = calculator.calculateLadder(athlete, params);
+
+                    assertEquals(SessionLadderCalculator.STEPS, ladder.size());
+                    for (int step = 0; step < SessionLadderCalculator.STEPS; step++) {
+                        params.setScore(SessionLadderCalculator.scoreAt(step));
+                        assertEquals(bruteForce.calculate(athlete, params), ladder.get(step),
+                                athlete.getFtp() + "W " + type + " " + duration + "min step " + step);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Ladder should reject invalid duration")
+    void calculateLadder_WithInvalidDuration_ThrowsException() {
+        VO2maxSessionParameters params = VO2maxSessionParameters.builder()
+                .durationMinutes(5)
+                .intervalType(VO2maxSessionParameters.VO2maxIntervalType.SHORT)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculateLadder(defaultAthlete, params));
+    }
+
+    @Test
+    @DisplayName("Alternatives should start with the calculated session and not dominate each other")
+    void calculateAlternatives_ReturnsNonDominatedShapes() {
+        VO2maxSessionParameters params = VO2maxSessionParameters.builder()
+                .score(7.0)
+                .durationMinutes(45)
+                .intervalType(VO2maxSessionParameters.VO2maxIntervalType.CLASSIC)
+                .build();
+
+        VO2maxSessionAlternatives result = calculator.calculateAlternatives(defaultAthlete, params, 4);
+        List<VO2maxSessionAlternatives.Alternative> alternatives = result.getAlternatives();
+
+        assertFalse(alternatives.isEmpty());
+        assertTrue(alternatives.size() <= 4);
+        assertEquals(calculator.calculate(defaultAthlete, params), alternatives.get(0).getSession());
+
+        for (int i = 0; i < alternatives.size(); i++) {
+            VO2maxSessionAlternatives.Alternative a = alternatives.get(i);
+            if (i > 0) {
+                assertTrue(a.getCost() >= alternatives.get(i - 1).getCost(), "Alternatives should be cheapest first");
+            }
+            for (VO2maxSessionAlternatives.Alternative b : alternatives) {
+                if (a == b) continue;
+                assertNotEquals(a.getSession().getRepeats(), b.getSession().getRepeats());
+                assertFalse(a.getWBalError() <= b.getWBalError()
+                        && a.getDurationDeviation() <= b.getDurationDeviation()
+                        && a.getPowerDeviation() <= b.getPowerDeviation(), "Alternatives should not dominate each other");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Fitted CP and W' should replace the FTP and TTE estimate")
+    void calculate_WithCriticalPowerModel_UsesFittedParameters() {
+        VO2maxSessionParameters params = VO2maxSessionParameters.builder()
+                .score(8.0)
+                .durationMinutes(40)
+                .intervalType(VO2maxSessionParameters.VO2maxIntervalType.CLASSIC)
+                .build();
+        CriticalPowerModel sameAsEstimate = CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.TWO_PARAMETER)
+                .criticalPower(266.0)
+                .wPrime(defaultAthlete.calculateWPrime())
+                .build();
+        CriticalPowerModel largerWPrime = sameAsEstimate.toBuilder().wPrime(sameAsEstimate.getWPrime() * 1.5).build();
+
+        VO2maxSession estimated = calculator.calculate(defaultAthlete, params);
+        defaultAthlete.setCriticalPowerModel(sameAsEstimate);
+        assertEquals(estimated, calculator.calculate(defaultAthlete, params));
+
+        defaultAthlete.setCriticalPowerModel(largerWPrime);
+        VO2maxSession fitted = calculator.calculate(defaultAthlete, params);
+        assertTrue(fitted.getWorkIntensity() * fitted.getWorkDuration() * fitted.getRepeats()
+                > estimated.getWorkIntensity() * estimated.getWorkDuration() * estimated.getRepeats());
+    }
 }
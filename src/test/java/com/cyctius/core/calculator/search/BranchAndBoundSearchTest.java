@@ -0,0 +1,96 @@
+package com.cyctius.core.calculator.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BranchAndBoundSearchTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final BranchAndBoundSearch search = new BranchAndBoundSearch(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void search_ShouldReturnFirstOptimumOfSequentialLoop() {
+        Random random = new Random(3);
+
+        for (int run = 0; run < 200; run++) {
+            // Small integer costs produce many ties, which must resolve like the nested loop.
+            int[][][] costs = new int[random.nextInt(12) + 1][random.nextInt(30) + 1][random.nextInt(5) + 1];
+            for (int[][] outer : costs) {
+                for (int[] inner : outer) {
+                    for (int leaf = 0; leaf < inner.length; leaf++) {
+                        inner[leaf] = random.nextInt(6) + 1;
+                    }
+                }
+            }
+            int exhaustedFrom = random.nextInt(35);
+
+            int[] expected = null;
+            int best = Integer.MAX_VALUE;
+            for (int o = 0; o < costs.length; o++) {
+                for (int i = 0; i < costs[o].length; i++) {
+                    if (i + o >= exhaustedFrom) break;
+                    for (int l = 0; l < costs[o][i].length; l++) {
+                        if (costs[o][i][l] < best) {
+                            best = costs[o][i][l];
+                            expected = new int[]{o, i, l};
+                        }
+                    }
+                }
+            }
+
+            int[] actual = search.search(0, costs.length - 1, 0, 29, new SearchProblem<int[]>() {
+                @Override
+                public double lowerBound(int outer, int inner) {
+                    if (inner >= costs[outer].length) {
+                        return Double.POSITIVE_INFINITY;
+                    }
+                    int min = Integer.MAX_VALUE;
+                    for (int cost : costs[outer][inner]) {
+                        min = Math.min(min, cost);
+                    }
+                    return min;
+                }
+
+                @Override
+                public boolean innerExhausted(int outer, int inner) {
+                    return inner + outer >= exhaustedFrom;
+                }
+
+                @Override
+                public void evaluate(int outer, int inner, Incumbent<int[]> incumbent) {
+                    for (int leaf = 0; leaf < costs[outer][inner].length; leaf++) {
+                        incumbent.offer(outer, inner, leaf, costs[outer][inner][leaf], new int[]{outer, inner, leaf});
+                    }
+                }
+            });
+
+            assertArrayEquals(expected, actual, "run " + run);
+        }
+    }
+
+    @Test
+    void search_WithEmptyRange_ShouldReturnNull() {
+        assertNull(search.search(5, 4, 0, 10, new SearchProblem<Object>() {
+            @Override
+            public double lowerBound(int outer, int inner) {
+                return 0;
+            }
+
+            @Override
+            public void evaluate(int outer, int inner, Incumbent<Object> incumbent) {
+                incumbent.offer(outer, inner, 0, 0, new Object());
+            }
+        }));
+    }
+}
@@ -0,0 +1,45 @@
+package com.cyctius.core.calculator.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParetoFrontTest {
+
+    @Test
+    void offer_ShouldKeepCheapestNonDominatedSetups() {
+        ParetoFront<String> front = new ParetoFront<>(3);
+
+        front.offer(new double[]{0.2, 0.2}, 0.4, "b");
+        front.offer(new double[]{0.3, 0.3}, 0.6, "dominated by b");
+        front.offer(new double[]{0.0, 0.5}, 0.5, "c");
+        front.offer(new double[]{0.6, 0.05}, 0.65, "d");
+        front.offer(new double[]{0.1, 0.1}, 0.2, "a, dominates b");
+        front.offer(new double[]{0.9, 0.0}, 0.9, "too expensive");
+
+        assertEquals(List.of("a, dominates b", "c", "d"), front.toList());
+    }
+
+    @Test
+    void offer_ShouldKeepFirstOfEqualCosts() {
+        ParetoFront<String> front = new ParetoFront<>(1);
+
+        front.offer(new double[]{0.1, 0.2}, 0.3, "first");
+        front.offer(new double[]{0.2, 0.1}, 0.3, "second");
+
+        assertEquals(List.of("first"), front.toList());
+    }
+
+    @Test
+    void dominates_ShouldRequireOneStrictlyBetterObjective() {
+        assertTrue(ParetoFront.dominates(new double[]{0.1, 0.2}, new double[]{0.1, 0.3}));
+        assertFalse(ParetoFront.dominates(new double[]{0.1, 0.2}, new double[]{0.1, 0.2}));
+        assertFalse(ParetoFront.dominates(new double[]{0.1, 0.4}, new double[]{0.2, 0.3}));
+        assertThrows(IllegalArgumentException.class, () -> new ParetoFront<String>(0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.model.CriticalPowerModel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CriticalPowerFitterTest {
+
+    private static final double[] DURATIONS = {5, 15, 30, 60, 180, 300, 600, 1200, 2400, 3600};
+
+    private static double[] powers(final CriticalPowerModel model) {
+        final double[] powers = new double[DURATIONS.length];
+        for (int i = 0; i < DURATIONS.length; i++) {
+            powers[i] = model.powerAt(DURATIONS[i]);
+        }
+        return powers;
+    }
+
+    @Test
+    void fit_ShouldRecoverTwoParameterModel() {
+        final CriticalPowerModel truth = CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.TWO_PARAMETER).criticalPower(250.0).wPrime(20000.0).build();
+
+        final CriticalPowerModel fitted = CriticalPowerFitter.fit(DURATIONS, powers(truth), CriticalPowerModelType.TWO_PARAMETER);
+
+        assertEquals(250.0, fitted.getCriticalPower(), 1e-6);
+        assertEquals(20000.0, fitted.getWPrime(), 1e-3);
+        assertEquals(0.0, fitted.getRmse(), 1e-6);
+    }
+
+    @Test
+    void fit_ShouldRecoverThreeParameterAndOmniDomainModels() {
+        final CriticalPowerModel morton = CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.THREE_PARAMETER).criticalPower(250.0).wPrime(20000.0).maxPower(1000.0).build();
+        final CriticalPowerModel fittedMorton = CriticalPowerFitter.fit(DURATIONS, powers(morton), CriticalPowerModelType.THREE_PARAMETER);
+
+        assertEquals(250.0, fittedMorton.getCriticalPower(), 0.01);
+        assertEquals(20000.0, fittedMorton.getWPrime(), 5.0);
+        assertEquals(1000.0, fittedMorton.getMaxPower(), 0.5);
+
+        final CriticalPowerModel omni = CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.OMNI_DOMAIN).criticalPower(250.0).wPrime(20000.0).maxPower(1000.0)
+                .longDurationDecay(12.0).build();
+        final CriticalPowerModel fittedOmni = CriticalPowerFitter.fit(DURATIONS, powers(omni), CriticalPowerModelType.OMNI_DOMAIN);
+
+        assertEquals(250.0, fittedOmni.getCriticalPower(), 0.01);
+        assertEquals(20000.0, fittedOmni.getWPrime(), 5.0);
+        assertEquals(1000.0, fittedOmni.getMaxPower(), 0.5);
+        assertEquals(12.0, fittedOmni.getLongDurationDecay(), 0.01);
+    }
+
+    @Test
+    void fit_ShouldRejectUndeterminedOrNonPhysiologicalInput() {
+        assertThrows(IllegalArgumentException.class, () -> CriticalPowerFitter.fit(
+                new double[]{300, 300, 600}, new double[]{300, 310, 280}, CriticalPowerModelType.THREE_PARAMETER));
+        assertThrows(IllegalArgumentException.class, () -> CriticalPowerFitter.fit(
+                new double[]{300, 600}, new double[]{250, 300}, CriticalPowerModelType.TWO_PARAMETER));
+        assertThrows(IllegalArgumentException.class, () -> CriticalPowerFitter.fit(
+                new double[]{300, -600}, new double[]{300, 280}, CriticalPowerModelType.TWO_PARAMETER));
+    }
+}
@@ -0,0 +1,129 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.model.WorkoutAnalysis;
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.ZoneModel;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.core.service.impl.IncrementalAnalysisSessions;
+import com.cyctius.core.service.impl.WorkoutPowerUtilsImpl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalWorkoutAnalysisTest {
+
+    private final WorkoutPowerUtilsImpl workoutPowerUtils = new WorkoutPowerUtilsImpl();
+
+    @Test
+    void randomEdits_ShouldMatchFullAnalysis() {
+        Random random = new Random(11);
+
+        for (int run = 0; run < 100; run++) {
+            ZoneModel zoneModel = run % 2 == 0 ? ZoneModel.coggan() : ZoneModel.polarized();
+            List<Interval> intervals = new ArrayList<>(NormalizedIntensityAccumulatorTest.randomWorkout(random));
+            IncrementalWorkoutAnalysis incremental = IncrementalWorkoutAnalysis.of(intervals, zoneModel);
+
+            for (int edit = 0; edit < 20; edit++) {
+                Interval interval = NormalizedIntensityAccumulatorTest.randomWorkout(random).get(0);
+                int action = random.nextInt(3);
+                if (action == 0 || intervals.size() < 2) {
+                    int index = random.nextInt(intervals.size() + 1);
+                    intervals.add(index, interval);
+                    incremental.insert(index, interval);
+                } else if (action == 1) {
+                    int index = random.nextInt(intervals.size());
+                    intervals.set(index, interval);
+                    incremental.replace(index, interval);
+                } else {
+                    int index = random.nextInt(intervals.size());
+                    intervals.remove(index);
+                    incremental.remove(index);
+                }
+
+                assertSameAnalysis(workoutPowerUtils.analyze(workout(intervals), zoneModel), incremental.toAnalysis(),
+                        "run " + run + " edit " + edit);
+            }
+        }
+    }
+
+    @Test
+    void removingEverything_ShouldReturnEmptyAnalysis() {
+        List<Interval> intervals = List.of(new SingleInterval(50, 85, true, 600));
+        IncrementalWorkoutAnalysis incremental = IncrementalWorkoutAnalysis.of(intervals, ZoneModel.coggan());
+
+        incremental.remove(0);
+
+        assertEquals(0, incremental.size());
+        assertEquals(WorkoutAnalysis.empty(ZoneModel.coggan()), incremental.toAnalysis());
+    }
+
+    @Test
+    void sessions_ShouldApplyEditToLastAnalysedStructure() {
+        IncrementalAnalysisSessions sessions = new IncrementalAnalysisSessions(4);
+        List<Interval> before = List.of(
+                new SingleInterval(50, 85, true, 600),
+                new SingleInterval(95, 100, true, 300),
+                new SingleInterval(40, 85, true, 600));
+        List<Interval> after = List.of(
+                new SingleInterval(50, 90, false, 600),
+                new SingleInterval(105, 100, true, 240),
+                new SingleInterval(40, 85, true, 600));
+        List<Interval> skipped = List.of(
+                after.get(0),
+                after.get(1),
+                new SingleInterval(60, 85, true, 300),
+                after.get(2));
+
+        sessions.analyze(workout(before), ZoneModel.coggan());
+        WorkoutAnalysis edited = sessions.analyze(workout(after), ZoneModel.coggan());
+        assertSameAnalysis(workoutPowerUtils.analyze(workout(after), ZoneModel.coggan()), edited, "edited");
+
+        WorkoutAnalysis twice = sessions.analyze(workout(skipped), ZoneModel.coggan());
+        assertSameAnalysis(workoutPowerUtils.analyze(workout(skipped), ZoneModel.coggan()), twice, "skipped");
+    }
+
+    @Test
+    void structureKey_SameInterval_ShouldCompareEncodingsOnly() {
+        IntervalStructureKey key = IntervalStructureKey.of(List.of(
+                new SingleInterval(50, 85, true, 600),
+                new RampInterval(40, 70, 90, true, 300)));
+        IntervalStructureKey other = IntervalStructureKey.of(List.of(
+                new RampInterval(40, 70, 100, false, 300),
+                new SingleInterval(50, 85, true, 601)));
+
+        assertEquals(2, key.size());
+        assertTrue(key.sameInterval(1, other, 0));
+        assertFalse(key.sameInterval(0, other, 1));
+        assertFalse(key.sameInterval(0, other, 0));
+    }
+
+    private static WorkoutModel workout(List<Interval> intervals) {
+        return WorkoutModel.builder()
+                .id("workout-1")
+                .name("Workout")
+                .intervals(intervals)
+                .build();
+    }
+
+    private static void assertSameAnalysis(WorkoutAnalysis expected, WorkoutAnalysis actual, String message) {
+        assertEquals(expected.getTss(), actual.getTss(), message);
+        assertEquals(expected.getDistribution(), actual.getDistribution(), message);
+        assertArrayEquals(expected.getZoneSeconds(), actual.getZoneSeconds(), message);
+        assertEquals(expected.getNormalizedIntensity(), actual.getNormalizedIntensity(), message);
+        assertEquals(expected.getIntensityFactor(), actual.getIntensityFactor(), message);
+        assertEquals(expected.getDifficulty(), actual.getDifficulty(), message);
+        assertEquals(expected.getAverageIntensity(), actual.getAverageIntensity(), message);
+        assertEquals(expected.getDurationSeconds(), actual.getDurationSeconds(), message);
+        assertEquals(expected.getHistogram(), actual.getHistogram(), message);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.model.IntensityHistogram;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntensityHistogramAccumulatorTest {
+
+    @Test
+    void randomWorkouts_ShouldMatchPerSecondCounts() {
+        Random random = new Random(11);
+
+        for (int run = 0; run < 200; run++) {
+            List<Interval> intervals = NormalizedIntensityAccumulatorTest.randomWorkout(random);
+
+            int[] expected = new int[1000];
+            IntervalWalker.walk(intervals, new IntensitySegmentVisitor() {
+                @Override
+                public void onSteady(final int intensity, final int seconds) {
+                    expected[intensity] += seconds;
+                }
+
+                @Override
+                public void onRamp(final int from, final int to, final int seconds) {
+                    for (int i = 0; i < seconds; i++) {
+                        expected[from + (to - from) * i / seconds]++;
+                    }
+                }
+            });
+
+            IntensityHistogram histogram = IntervalWalker.walk(intervals, new IntensityHistogramAccumulator()).toHistogram();
+
+            assertEquals(IntensityHistogram.of(expected), histogram, "run " + run);
+        }
+    }
+
+    @Test
+    void ramp_ShouldSplitAcrossBins() {
+        IntensityHistogram histogram = IntervalWalker.walk(
+                List.of(new RampInterval(50, 54, 90, true, 10)), new IntensityHistogramAccumulator()).toHistogram();
+
+        // 50 + 4 * i / 10 for i = 0..9 -> 50,50,50,51,51,52,52,52,53,53
+        assertEquals(3, histogram.secondsAt(50));
+        assertEquals(2, histogram.secondsAt(51));
+        assertEquals(3, histogram.secondsAt(52));
+        assertEquals(2, histogram.secondsAt(53));
+        assertEquals(0, histogram.secondsAt(54));
+        assertEquals(10, histogram.totalSeconds());
+    }
+
+    @Test
+    void queries_ShouldUseBins() {
+        IntensityHistogram histogram = IntervalWalker.walk(List.of(
+                new SingleInterval(50, 90, true, 600),
+                new SingleInterval(105, 90, true, 300),
+                new SingleInterval(160, 90, true, 30)), new IntensityHistogramAccumulator()).toHistogram();
+
+        assertEquals(330, histogram.secondsAtOrAbove(100));
+        assertEquals(300, histogram.secondsBetween(91, 106));
+        assertArrayEquals(new int[] {600, 0, 0, 300, 0, 0, 30},
+                histogram.secondsPerZone(new int[] {55, 76, 91, 106, 121, 151}));
+    }
+
+    @Test
+    void bytes_ShouldRoundTrip() {
+        IntensityHistogram histogram = IntervalWalker.walk(List.of(
+                new RampInterval(40, 140, 90, true, 1800),
+                new SingleInterval(300, 90, true, 100000)), new IntensityHistogramAccumulator()).toHistogram();
+
+        byte[] bytes = histogram.toBytes();
+
+        assertEquals(histogram, IntensityHistogram.fromBytes(bytes));
+        assertTrue(bytes.length < 400);
+        assertEquals(IntensityHistogram.empty(), IntensityHistogram.fromBytes(IntensityHistogram.empty().toBytes()));
+    }
+}
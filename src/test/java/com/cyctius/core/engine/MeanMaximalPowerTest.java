@@ -0,0 +1,90 @@
+package com.cyctius.core.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeanMaximalPowerTest {
+
+    @Test
+    void durations_ShouldBeAscendingFromOneSecondToFiveHours() {
+        int[] durations = MeanMaximalPower.durations();
+
+        assertEquals(1, durations[0]);
+        assertEquals(MeanMaximalPower.MAX_DURATION_SECONDS, durations[durations.length - 1]);
+        for (int i = 1; i < durations.length; i++) {
+            assertTrue(durations[i] > durations[i - 1]);
+        }
+    }
+
+    @Test
+    void compute_ShouldMatchNaiveBestAverages() {
+        int[] watts = randomStream(1800, 1);
+
+        assertArrayEquals(naive(watts), MeanMaximalPower.compute(watts), 1e-9);
+    }
+
+    @Test
+    void compute_ShouldMatchNaiveBestAveragesOnParallelPath() {
+        int[] watts = randomStream(MeanMaximalPower.PARALLEL_MIN_SAMPLES * 2, 2);
+
+        assertArrayEquals(naive(watts), MeanMaximalPower.compute(watts), 1e-9);
+    }
+
+    @Test
+    void compute_ShouldLeaveDurationsLongerThanRideEmpty() {
+        double[] curve = MeanMaximalPower.compute(new int[]{300, 200, -50});
+        int[] durations = MeanMaximalPower.durations();
+
+        assertEquals(300.0, curve[0]);
+        assertEquals(250.0, curve[1]);
+        assertEquals(2, durations[1]);
+        for (int i = 0; i < durations.length; i++) {
+            if (durations[i] > 3) {
+                assertEquals(0.0, curve[i]);
+            }
+        }
+    }
+
+    @Test
+    void mergeInto_ShouldKeepMaxAndLatestDayOnTies() {
+        double[] best = {300.0, 200.0, 0.0};
+        int[] days = {10, 10, 0};
+
+        boolean changed = MeanMaximalPower.mergeInto(best, days, new double[]{250.0, 200.0, 100.0}, 12);
+
+        assertTrue(changed);
+        assertArrayEquals(new double[]{300.0, 200.0, 100.0}, best);
+        assertArrayEquals(new int[]{10, 12, 12}, days);
+        assertFalse(MeanMaximalPower.mergeInto(best, days, new double[]{100.0, 100.0, 0.0}, 13));
+    }
+
+    private static int[] randomStream(final int seconds, final long seed) {
+        Random random = new Random(seed);
+        int[] watts = new int[seconds];
+        for (int i = 0; i < seconds; i++) {
+            watts[i] = 100 + random.nextInt(400);
+        }
+        return watts;
+    }
+
+    private static double[] naive(final int[] watts) {
+        int[] durations = MeanMaximalPower.durations();
+        double[] curve = new double[durations.length];
+        for (int d = 0; d < durations.length; d++) {
+            for (int start = 0; start + durations[d] <= watts.length; start++) {
+                long sum = 0;
+                for (int i = start; i < start + durations[d]; i++) {
+                    sum += watts[i];
+                }
+                curve[d] = Math.max(curve[d], sum / (double) durations[d]);
+            }
+        }
+        return curve;
+    }
+}
@@ -0,0 +1,105 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NormalizedIntensityAccumulatorTest {
+
+    @Test
+    void shorterThanWindow_ShouldReturnZero() {
+        NormalizedIntensityAccumulator accumulator = new NormalizedIntensityAccumulator();
+        accumulator.onSteady(200, 29);
+
+        assertEquals(29, accumulator.getSamples());
+        assertEquals(0.0, accumulator.getNormalizedIntensity());
+    }
+
+    @Test
+    void constantIntensity_ShouldReturnSameIntensity() {
+        NormalizedIntensityAccumulator accumulator = new NormalizedIntensityAccumulator();
+        accumulator.onSteady(73, 3600);
+
+        assertEquals(73, accumulator.getRoundedNormalizedIntensity());
+    }
+
+    @Test
+    void randomWorkouts_ShouldMatchPerSecondExpansionBitForBit() {
+        Random random = new Random(42);
+
+        for (int run = 0; run < 200; run++) {
+            List<Interval> intervals = randomWorkout(random);
+
+            double expected = referenceNormalizedIntensity(intervals);
+            double actual = IntervalWalker.walk(intervals, new NormalizedIntensityAccumulator())
+                    .getNormalizedIntensity();
+
+            assertEquals(expected, actual, 0.0, "run " + run);
+        }
+    }
+
+    static List<Interval> randomWorkout(final Random random) {
+        List<Interval> intervals = new ArrayList<>();
+        int count = 1 + random.nextInt(8);
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(3)) {
+                case 0 -> intervals.add(new SingleInterval(30 + random.nextInt(150), 90, true, 1 + random.nextInt(900)));
+                case 1 -> intervals.add(new RampInterval(30 + random.nextInt(120), 30 + random.nextInt(120), 90, true,
+                        1 + random.nextInt(900)));
+                default -> intervals.add(new RepeatInterval(
+                        new SingleInterval(30 + random.nextInt(40), 85, true, 1 + random.nextInt(180)),
+                        new SingleInterval(90 + random.nextInt(90), 100, true, 1 + random.nextInt(240)),
+                        1 + random.nextInt(40)));
+            }
+        }
+        return intervals;
+    }
+
+    /**
+     * Straightforward per-second expansion, kept as the reference for the streaming engine.
+     */
+    static double referenceNormalizedIntensity(final List<Interval> intervals) {
+        List<Integer> series = new ArrayList<>();
+        IntervalWalker.walk(intervals, new IntensitySegmentVisitor() {
+            @Override
+            public void onSteady(final int intensity, final int seconds) {
+                for (int i = 0; i < seconds; i++) {
+                    series.add(intensity);
+                }
+            }
+
+            @Override
+            public void onRamp(final int from, final int to, final int seconds) {
+                for (int i = 0; i < seconds; i++) {
+                    series.add(from + (to - from) * i / seconds);
+                }
+            }
+        });
+
+        if (series.size() < 30) {
+            return 0.0;
+        }
+
+        double windowSum = 0;
+        for (int i = 0; i < 30; i++) {
+            windowSum += series.get(i);
+        }
+        double sumOfFourthPowers = Math.pow(windowSum / 30, 4.0);
+        int count = 1;
+        for (int i = 30; i < series.size(); i++) {
+            windowSum += series.get(i) - series.get(i - 30);
+            sumOfFourthPowers += Math.pow(windowSum / 30, 4.0);
+            count++;
+        }
+        return Math.pow(sumOfFourthPowers / count, 1.0 / 4.0);
+    }
+}
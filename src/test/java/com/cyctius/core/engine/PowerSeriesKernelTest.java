@@ -0,0 +1,80 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.enums.PowerKernelMode;
+import com.cyctius.core.model.intervals.Interval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PowerSeriesKernelTest {
+
+    private static final double RELATIVE_TOLERANCE = 1e-12;
+
+    @Test
+    void select_Scalar_ShouldReturnScalarKernel() {
+        assertSame(ScalarPowerSeriesKernel.INSTANCE, PowerSeriesKernels.select(PowerKernelMode.SCALAR));
+    }
+
+    @Test
+    void kernelAccumulator_RandomWorkouts_ShouldMatchReference() {
+        Random random = new Random(7);
+
+        for (PowerKernelMode mode : PowerKernelMode.values()) {
+            PowerSeriesKernel kernel = PowerSeriesKernels.select(mode);
+            for (int run = 0; run < 200; run++) {
+                List<Interval> intervals = NormalizedIntensityAccumulatorTest.randomWorkout(random);
+
+                NormalizedIntensityAccumulator expected = IntervalWalker.walk(intervals, new NormalizedIntensityAccumulator());
+                NormalizedIntensityAccumulator actual =
+                        IntervalWalker.walk(intervals, new KernelNormalizedIntensityAccumulator(kernel));
+
+                assertEquals(expected.getSamples(), actual.getSamples(), mode + " run " + run);
+                assertEquals(expected.getNormalizedIntensity(), actual.getNormalizedIntensity(),
+                        expected.getNormalizedIntensity() * RELATIVE_TOLERANCE, mode + " run " + run);
+                assertEquals(expected.getRoundedNormalizedIntensity(), actual.getRoundedNormalizedIntensity(),
+                        mode + " run " + run);
+            }
+        }
+    }
+
+    @Test
+    void selectedKernel_LongRideStream_ShouldMatchScalarKernel() {
+        int[] watts = rideStream(new Random(11), 250_000);
+        PowerSeries scalar = new PowerSeries(ScalarPowerSeriesKernel.INSTANCE);
+        PowerSeries selected = new PowerSeries(PowerSeriesKernels.select(PowerKernelMode.AUTO));
+
+        double normalizedPower = scalar.normalizedPower(watts);
+        double xPower = scalar.xPower(watts);
+
+        assertEquals(normalizedPower, selected.normalizedPower(watts), normalizedPower * RELATIVE_TOLERANCE);
+        assertEquals(xPower, selected.xPower(watts), xPower * RELATIVE_TOLERANCE);
+    }
+
+    @Test
+    void powerSeries_ConstantStream_ShouldReturnConstant() {
+        int[] watts = new int[7200];
+        Arrays.fill(watts, 250);
+        PowerSeries powerSeries = new PowerSeries(ScalarPowerSeriesKernel.INSTANCE);
+
+        assertEquals(250.0, powerSeries.normalizedPower(watts), 1e-9);
+        assertEquals(250.0, powerSeries.xPower(watts), 2.0);
+        assertEquals(0.0, powerSeries.normalizedPower(new int[29]));
+        assertEquals(0.0, powerSeries.xPower(new int[0]));
+    }
+
+    private static int[] rideStream(final Random random, final int seconds) {
+        int[] watts = new int[seconds];
+        int power = 200;
+        for (int i = 0; i < seconds; i++) {
+            power = Math.max(0, Math.min(1200, power + random.nextInt(41) - 20));
+            watts[i] = random.nextInt(50) == 0 ? 0 : power;
+        }
+        return watts;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cyctius.core.engine;
+
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SegmentNormalizedIntensityAccumulatorTest {
+
+    @Test
+    void randomWorkouts_ShouldMatchPerSecondWithinTolerance() {
+        Random random = new Random(7);
+
+        for (int run = 0; run < 500; run++) {
+            List<Interval> intervals = NormalizedIntensityAccumulatorTest.randomWorkout(random);
+
+            NormalizedIntensityAccumulator perSecond = IntervalWalker.walk(intervals, new NormalizedIntensityAccumulator());
+            NormalizedIntensityAccumulator segment = IntervalWalker.walk(intervals, new SegmentNormalizedIntensityAccumulator());
+
+            double expected = perSecond.getNormalizedIntensity();
+            assertEquals(perSecond.getSamples(), segment.getSamples(), "run " + run);
+            assertEquals(expected, segment.getNormalizedIntensity(),
+                    expected * SegmentNormalizedIntensityAccumulator.RELATIVE_TOLERANCE, "run " + run);
+            assertEquals(perSecond.getRoundedNormalizedIntensity(), segment.getRoundedNormalizedIntensity(), "run " + run);
+        }
+    }
+
+    @Test
+    void longRepeatBlock_ShouldMatchPerSecond() {
+        List<Interval> intervals = List.of(
+                new RampInterval(40, 75, 90, true, 600),
+                new RepeatInterval(new SingleInterval(50, 85, true, 15), new SingleInterval(130, 100, true, 15), 40),
+                new RepeatInterval(new SingleInterval(55, 85, true, 180), new SingleInterval(115, 100, true, 240), 40),
+                new RampInterval(70, 35, 90, true, 601));
+
+        double expected = IntervalWalker.walk(intervals, new NormalizedIntensityAccumulator()).getNormalizedIntensity();
+        double actual = IntervalWalker.walk(intervals, new SegmentNormalizedIntensityAccumulator()).getNormalizedIntensity();
+
+        assertEquals(expected, actual, expected * SegmentNormalizedIntensityAccumulator.RELATIVE_TOLERANCE);
+    }
+
+    @Test
+    void sumOfFourthPowers_ShouldMatchDirectSum() {
+        double direct = 0.0;
+        for (int t = 0; t < 37; t++) {
+            direct += Math.pow(120.5 - 1.5 * t, 4.0);
+        }
+
+        assertEquals(direct, SegmentNormalizedIntensityAccumulator.sumOfFourthPowers(120.5, -1.5, 37), direct * 1e-12);
+    }
+}
@@ -0,0 +1,54 @@
+package com.cyctius.core.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrainingLoadAccumulatorTest {
+
+    @Test
+    void constantLoad_ShouldConvergeToDailyTss() {
+        TrainingLoadAccumulator accumulator = new TrainingLoadAccumulator();
+
+        for (int day = 0; day < 1000; day++) {
+            accumulator.accept(80);
+        }
+
+        assertEquals(80.0, accumulator.getCtl(), 1e-6);
+        assertEquals(80.0, accumulator.getAtl(), 1e-6);
+        assertEquals(0.0, accumulator.getTsb(), 1e-6);
+    }
+
+    @Test
+    void tsb_ShouldUsePreviousDayLoads() {
+        TrainingLoadAccumulator accumulator = new TrainingLoadAccumulator(60.0, 90.0);
+
+        accumulator.accept(200);
+
+        assertEquals(-30.0, accumulator.getTsb(), 1e-9);
+        assertTrue(accumulator.getAtl() - 90.0 > accumulator.getCtl() - 60.0);
+    }
+
+    @Test
+    void resumedSeries_ShouldMatchUninterruptedSeries() {
+        int[] tss = {100, 0, 45, 0, 0, 160, 70, 0, 95};
+        TrainingLoadAccumulator full = new TrainingLoadAccumulator();
+        TrainingLoadAccumulator head = new TrainingLoadAccumulator();
+
+        for (int i = 0; i < tss.length; i++) {
+            full.accept(tss[i]);
+            if (i < 4) {
+                head.accept(tss[i]);
+            }
+        }
+        TrainingLoadAccumulator resumed = new TrainingLoadAccumulator(head.getCtl(), head.getAtl());
+        for (int i = 4; i < tss.length; i++) {
+            resumed.accept(tss[i]);
+        }
+
+        assertEquals(full.getCtl(), resumed.getCtl(), 1e-12);
+        assertEquals(full.getAtl(), resumed.getAtl(), 1e-12);
+        assertEquals(full.getTsb(), resumed.getTsb(), 1e-12);
+    }
+}
@@ -0,0 +1,85 @@
+package com.cyctius.core.engine.vector;
+
+import com.cyctius.core.engine.PowerSeries;
+import com.cyctius.core.engine.PowerSeriesKernel;
+import com.cyctius.core.engine.PowerSeriesKernels;
+import com.cyctius.core.engine.ScalarPowerSeriesKernel;
+import com.cyctius.core.enums.PowerKernelMode;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Checks {@link VectorPowerSeriesKernel} against {@link ScalarPowerSeriesKernel}.
+ * Only compiled and run with {@code -Pvector}.
+ */
+class VectorPowerSeriesKernelTest {
+
+    private static final double RELATIVE_TOLERANCE = 1e-12;
+
+    private final PowerSeriesKernel vector = new VectorPowerSeriesKernel();
+    private final PowerSeriesKernel scalar = ScalarPowerSeriesKernel.INSTANCE;
+
+    @Test
+    void select_Vector_ShouldReturnVectorKernel() {
+        assertInstanceOf(VectorPowerSeriesKernel.class, PowerSeriesKernels.select(PowerKernelMode.AUTO));
+    }
+
+    @Test
+    void sumOfRollingFourthPowers_AllLengthsAroundTheLanes_ShouldMatchScalarKernel() {
+        Random random = new Random(3);
+
+        for (int window : new int[]{1, 5, 30}) {
+            for (int length = 0; length < window + 70; length++) {
+                int[] samples = rideStream(random, length);
+
+                double expected = scalar.sumOfRollingFourthPowers(samples, length, window);
+                assertEquals(expected, vector.sumOfRollingFourthPowers(samples, length, window),
+                        expected * RELATIVE_TOLERANCE, "window " + window + " length " + length);
+            }
+        }
+    }
+
+    @Test
+    void sumOfFourthPowers_AllLengthsAroundTheLanes_ShouldMatchScalarKernel() {
+        Random random = new Random(5);
+
+        for (int length = 0; length < 70; length++) {
+            double[] values = new double[length + 3];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextDouble() * 600;
+            }
+
+            double expected = scalar.sumOfFourthPowers(values, length);
+            assertEquals(expected, vector.sumOfFourthPowers(values, length),
+                    expected * RELATIVE_TOLERANCE, "length " + length);
+        }
+    }
+
+    @Test
+    void powerSeries_LongRideStream_ShouldMatchScalarKernel() {
+        int[] watts = rideStream(new Random(11), 250_000);
+        PowerSeries expected = new PowerSeries(scalar);
+        PowerSeries actual = new PowerSeries(vector);
+
+        double normalizedPower = expected.normalizedPower(watts);
+        double xPower = expected.xPower(watts);
+
+        assertEquals(normalizedPower, actual.normalizedPower(watts), normalizedPower * RELATIVE_TOLERANCE);
+        assertEquals(xPower, actual.xPower(watts), xPower * RELATIVE_TOLERANCE);
+    }
+
+    private static int[] rideStream(final Random random, final int seconds) {
+        int[] watts = new int[seconds];
+        int power = 200;
+        for (int i = 0; i < seconds; i++) {
+            power = Math.max(0, Math.min(1200, power + random.nextInt(41) - 20));
+            watts[i] = random.nextInt(50) == 0 ? 0 : power;
+        }
+        return watts;
+    }
+}
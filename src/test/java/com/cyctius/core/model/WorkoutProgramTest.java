@@ -0,0 +1,166 @@
+package com.cyctius.core.model;
+
+import com.cyctius.core.engine.IntensitySegmentVisitor;
+import com.cyctius.core.engine.IntervalWalker;
+import com.cyctius.core.engine.TssFormula;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WorkoutProgramTest {
+
+    private static final List<Interval> INTERVALS = List.of(
+            new RampInterval(40, 70, 90, true, 600),
+            new RepeatInterval(new SingleInterval(50, 85, false, 60), new SingleInterval(120, 100, true, 30), 3),
+            new SingleInterval(60, 90, true, 0),
+            new SingleInterval(65, 95, true, 300));
+
+    @Test
+    void compile_ShouldFlattenRepeatsAndDropEmptyBlocks() {
+        WorkoutProgram program = WorkoutModel.builder().intervals(INTERVALS).build().compile();
+
+        assertEquals(8, program.getSegmentCount());
+        assertEquals(600 + 3 * 90 + 300, program.getTotalDurationSeconds());
+        assertEquals(600, program.segmentStart(1));
+        assertEquals(30, program.segmentDuration(1));
+    }
+
+    @Test
+    void workoutModelCompile_ShouldReuseTheProgramUntilIntervalsAreReplaced() {
+        WorkoutModel workout = WorkoutModel.builder().intervals(INTERVALS).build();
+        WorkoutProgram program = workout.compile();
+
+        assertSame(program, workout.compile());
+        assertEquals(program.getTotalDurationSeconds(), workout.getTotalDurationSeconds());
+
+        workout.setIntervals(List.of(new SingleInterval(65, 95, true, 300)));
+
+        assertEquals(300, workout.getTotalDurationSeconds());
+    }
+
+    @Test
+    void compile_NullOrEmpty_ShouldReturnEmptyProgram() {
+        assertEquals(0, WorkoutProgram.compile(null).getTotalDurationSeconds());
+        assertEquals(0.0, WorkoutProgram.compile(List.of()).tssBetween(0, 100));
+    }
+
+    @Test
+    void targetAndCadenceAt_ShouldMatchPerSecondExpansion() {
+        Random random = new Random(3);
+
+        for (int run = 0; run < 100; run++) {
+            List<Interval> intervals = randomWorkout(random);
+            List<Integer> expected = perSecondTargets(intervals);
+            WorkoutProgram program = WorkoutProgram.compile(intervals);
+
+            assertEquals(expected.size(), program.getTotalDurationSeconds());
+            for (int second = 0; second < expected.size(); second++) {
+                assertEquals(expected.get(second), program.targetAt(second), "run " + run + " second " + second);
+            }
+        }
+
+        WorkoutProgram program = WorkoutProgram.compile(INTERVALS);
+        assertEquals(90, program.cadenceAt(0));
+        assertEquals(100, program.cadenceAt(600));
+        assertEquals(0, program.cadenceAt(630));
+    }
+
+    @Test
+    void targetAt_OutsideWorkout_ShouldThrow() {
+        WorkoutProgram program = WorkoutProgram.compile(INTERVALS);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> program.targetAt(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> program.targetAt(program.getTotalDurationSeconds()));
+    }
+
+    @Test
+    void steadyBlocks_ShouldMatchTssFormulaAndWork() {
+        WorkoutProgram program = WorkoutProgram.compile(List.of(
+                new SingleInterval(100, 90, true, 3600),
+                new SingleInterval(50, 90, true, 1200)));
+
+        assertEquals(100.0, program.tssBetween(0, 3600), 1e-9);
+        assertEquals(TssFormula.tss(50, 1200), program.tssBetween(3600, 4800), 0.5);
+        assertEquals(3600 * 250.0, program.workJoulesBetween(0, 3600, 250), 1e-6);
+        assertEquals(300 * 250.0 + 300 * 125.0, program.workJoulesBetween(3300, 3900, 250), 1e-6);
+        assertEquals(program.tssBetween(0, 4800), program.tssBetween(-10, 10_000), 1e-9);
+    }
+
+    @Test
+    void rampRange_ShouldMatchNumericIntegral() {
+        WorkoutProgram program = WorkoutProgram.compile(INTERVALS);
+
+        int from = 137;
+        int to = 911;
+        double intensity = 0.0;
+        double squared = 0.0;
+        int steps = 200_000;
+        double width = (to - from) / (double) steps;
+        for (int i = 0; i < steps; i++) {
+            double value = continuousIntensity((from + (i + 0.5) * width));
+            intensity += value * width;
+            squared += value * value * width;
+        }
+
+        assertEquals(intensity, program.intensitySecondsBetween(from, to), 1e-3 * intensity);
+        assertEquals(squared / 3600 / 100, program.tssBetween(from, to), 1e-3);
+    }
+
+    private static double continuousIntensity(final double second) {
+        if (second < 600) {
+            return 40 + 30 * second / 600;
+        }
+        if (second < 870) {
+            return (second - 600) % 90 < 30 ? 120 : 50;
+        }
+        return 65;
+    }
+
+    private static List<Integer> perSecondTargets(final List<Interval> intervals) {
+        List<Integer> targets = new ArrayList<>();
+        IntervalWalker.walk(intervals, new IntensitySegmentVisitor() {
+            @Override
+            public void onSteady(final int intensity, final int seconds) {
+                for (int i = 0; i < seconds; i++) {
+                    targets.add(intensity);
+                }
+            }
+
+            @Override
+            public void onRamp(final int from, final int to, final int seconds) {
+                for (int i = 0; i < seconds; i++) {
+                    targets.add(from + (to - from) * i / seconds);
+                }
+            }
+        });
+        return targets;
+    }
+
+    private static List<Interval> randomWorkout(final Random random) {
+        List<Interval> intervals = new ArrayList<>();
+        int count = 1 + random.nextInt(8);
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(3)) {
+                case 0 -> intervals.add(new SingleInterval(30 + random.nextInt(150), 90, true, random.nextInt(600)));
+                case 1 -> intervals.add(new RampInterval(30 + random.nextInt(120), 30 + random.nextInt(120), 90, true,
+                        1 + random.nextInt(600)));
+                default -> intervals.add(new RepeatInterval(
+                        new SingleInterval(30 + random.nextInt(40), 85, true, 1 + random.nextInt(120)),
+                        new SingleInterval(90 + random.nextInt(90), 100, true, 1 + random.nextInt(120)),
+                        1 + random.nextInt(10)));
+            }
+        }
+        return intervals;
+    }
+}
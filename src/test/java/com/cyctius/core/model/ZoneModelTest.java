@@ -0,0 +1,91 @@
+package com.cyctius.core.model;
+
+import com.cyctius.core.enums.PowerZone;
+import com.cyctius.core.enums.WorkoutType;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.core.service.impl.WorkoutPowerUtilsImpl;
+import com.cyctius.core.service.impl.WorkoutTypeClassifierServiceImpl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneModelTest {
+
+    @Test
+    void coggan_ShouldMatchPowerZoneBoundaries() {
+        ZoneModel coggan = ZoneModel.coggan();
+
+        for (int intensity = -10; intensity <= 300; intensity++) {
+            assertEquals(legacyZone(intensity).ordinal(), coggan.zoneOf(intensity), "intensity " + intensity);
+        }
+        assertArrayEquals(new int[] {55, 76, 91, 106, 121, 151}, coggan.upperBounds());
+    }
+
+    @Test
+    void polarized_ShouldSplitAtThresholds() {
+        ZoneModel polarized = ZoneModel.polarized();
+
+        assertEquals(3, polarized.zoneCount());
+        assertEquals(0, polarized.zoneOf(75));
+        assertEquals(1, polarized.zoneOf(76));
+        assertEquals(1, polarized.zoneOf(99));
+        assertEquals(2, polarized.zoneOf(100));
+        assertEquals(2, polarized.zoneOf(400));
+    }
+
+    @Test
+    void custom_ShouldValidateBounds() {
+        assertThrows(IllegalArgumentException.class, () -> ZoneModel.custom("x", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ZoneModel.custom("x", List.of(
+                new ZoneModel.Zone("A", 10, null, 0.0))));
+        assertThrows(IllegalArgumentException.class, () -> ZoneModel.custom("x", List.of(
+                new ZoneModel.Zone("A", 0, null, 0.0),
+                new ZoneModel.Zone("B", 0, WorkoutType.TEMPO, 0.5))));
+
+        ZoneModel custom = ZoneModel.custom("athlete", List.of(
+                new ZoneModel.Zone("Easy", 0, null, 0.0),
+                new ZoneModel.Zone("Hard", 82, WorkoutType.THRESHOLD, 0.25)));
+        assertEquals(custom, ZoneModel.custom("athlete", List.of(
+                new ZoneModel.Zone("Easy", 0, null, 0.0),
+                new ZoneModel.Zone("Hard", 82, WorkoutType.THRESHOLD, 0.25))));
+        assertEquals(1, custom.zoneOf(82));
+    }
+
+    @Test
+    void classifier_ShouldUseZoneModelThresholds() {
+        WorkoutPowerUtilsImpl workoutPowerUtils = new WorkoutPowerUtilsImpl();
+        WorkoutTypeClassifierServiceImpl classifier = new WorkoutTypeClassifierServiceImpl(workoutPowerUtils);
+        // 15% at 102%: below the Coggan threshold share, VO2max share in the polarized model.
+        WorkoutModel workout = WorkoutModel.builder()
+                .intervals(List.of(new SingleInterval(102, 90, true, 540), new SingleInterval(50, 90, true, 3060)))
+                .build();
+
+        assertEquals(WorkoutType.RECOVERY, classifier.classifyWorkout(workout));
+        assertEquals(WorkoutType.VO2MAX, classifier.classifyWorkout(workout, ZoneModel.polarized()));
+
+        WorkoutAnalysis analysis = workoutPowerUtils.analyze(workout, ZoneModel.polarized());
+        assertArrayEquals(new int[] {3060, 0, 540}, analysis.getZoneSeconds());
+        assertEquals(540, analysis.getDistribution().get(PowerZone.Z4_THRESHOLD));
+        assertEquals(WorkoutType.VO2MAX, classifier.classifyAnalysis(analysis));
+    }
+
+    private static PowerZone legacyZone(final int intensity) {
+        if (intensity < 55) {
+            return PowerZone.Z1_ACTIVE_RECOVERY;
+        } else if (intensity < 76) {
+            return PowerZone.Z2_ENDURANCE;
+        } else if (intensity < 91) {
+            return PowerZone.Z3_TEMPO;
+        } else if (intensity < 106) {
+            return PowerZone.Z4_THRESHOLD;
+        } else if (intensity < 121) {
+            return PowerZone.Z5_VO2MAX;
+        } else if (intensity < 151) {
+            return PowerZone.Z6_ANEROBIC_CAPACITY;
+        }
+        return PowerZone.Z7_NEUROMUSCULAR_POWER;
+    }
+}
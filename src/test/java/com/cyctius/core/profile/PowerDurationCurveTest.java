@@ -0,0 +1,77 @@
+package com.cyctius.core.profile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PowerDurationCurveTest {
+
+    private static List<ThresholdAthleteProfile.PdPoint> points(final double... powerAndTime) {
+        final List<ThresholdAthleteProfile.PdPoint> points = new ArrayList<>();
+        for (int i = 0; i < powerAndTime.length; i += 2) {
+            points.add(new ThresholdAthleteProfile.PdPoint(powerAndTime[i], powerAndTime[i + 1]));
+        }
+        return points;
+    }
+
+    @Test
+    void powerDurationCurve_ShouldBeCompiledOncePerProfileVersion() {
+        final ThresholdAthleteProfile profile = ThresholdAthleteProfile.builder()
+                .ftp(266)
+                .tteAtFtp(2400.0)
+                .pdPoints(points(105.0, 960.0, 100.0, 1380.0, 95.0, 1800.0, 90.0, 2640.0, 85.0, 4500.0))
+                .build();
+
+        final PowerDurationCurve curve = profile.powerDurationCurve();
+        assertSame(curve, profile.powerDurationCurve());
+
+        profile.getPdPoints().get(0).setPowerPercent(110.0);
+        final PowerDurationCurve changed = profile.powerDurationCurve();
+        assertNotSame(curve, changed);
+        assertTrue(changed.powerAt(960.0) > curve.powerAt(960.0));
+
+        profile.setTteAtFtp(3000.0);
+        assertNotSame(changed, profile.powerDurationCurve());
+    }
+
+    @Test
+    void powerAt_ShouldInterpolateAndExtrapolateInLogTime() {
+        final PowerDurationCurve linear = PowerDurationCurve.of(points(100.0, 1000.0, 90.0, 4000.0), null);
+
+        assertEquals(100.0, linear.powerAt(1000.0), 1e-9);
+        assertEquals(95.0, linear.powerAt(2000.0), 1e-9);
+        assertEquals(105.0, linear.powerAt(500.0), 1e-9);
+        assertEquals(200.0, linear.powerAt(0.0));
+
+        // Duplicate times cannot be fitted and fall back to the manual linear interpolation.
+        final PowerDurationCurve fallback = PowerDurationCurve.of(
+                points(100.0, 1000.0, 98.0, 1000.0, 90.0, 4000.0, 88.0, 5000.0, 86.0, 6000.0), null);
+        assertEquals(94.0, fallback.powerAt(2000.0), 1e-9);
+
+        final PowerDurationCurve powerLaw = PowerDurationCurve.of(points(100.0, 1000.0), 2400.0);
+        assertEquals(100.0, powerLaw.powerAt(2400.0), 1e-9);
+    }
+
+    @Test
+    void powerAt_BatchShouldMatchSingleQueries() {
+        final PowerDurationCurve curve = PowerDurationCurve.of(Arrays.asList(
+                new ThresholdAthleteProfile.PdPoint(105.0, 960.0),
+                null,
+                new ThresholdAthleteProfile.PdPoint(100.0, 1380.0),
+                new ThresholdAthleteProfile.PdPoint(95.0, 1800.0),
+                new ThresholdAthleteProfile.PdPoint(90.0, 2640.0),
+                new ThresholdAthleteProfile.PdPoint(87.0, 3180.0),
+                new ThresholdAthleteProfile.PdPoint(85.0, 4500.0)), 2400.0);
+
+        final double[] durations = {-1.0, 300.0, 960.0, 1500.0, 3000.0, 6000.0};
+        final double[] powers = curve.powerAt(durations);
+
+        for (int i = 0; i < durations.length; i++) {
+            assertEquals(curve.powerAt(durations[i]), powers[i]);
+        }
+    }
+}
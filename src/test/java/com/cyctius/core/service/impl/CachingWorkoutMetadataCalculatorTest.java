@@ -0,0 +1,98 @@
+package com.cyctius.core.service.impl;
+
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.dto.WorkoutMetadataDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingWorkoutMetadataCalculatorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkoutMetadataCalculatorImpl calculator;
+    private CachingWorkoutMetadataCalculator cachingCalculator;
+
+    @BeforeEach
+    void setUp() {
+        WorkoutPowerUtilsImpl workoutPowerUtils = new WorkoutPowerUtilsImpl();
+        meterRegistry = new SimpleMeterRegistry();
+        calculator = new WorkoutMetadataCalculatorImpl(workoutPowerUtils, new WorkoutTypeClassifierServiceImpl(workoutPowerUtils),
+                new IncrementalAnalysisSessions(16));
+        cachingCalculator = new CachingWorkoutMetadataCalculator(calculator, meterRegistry, 2);
+    }
+
+    @Test
+    void calculateMetadata_SameStructure_ShouldHitCacheAndKeepWorkoutId() {
+        WorkoutModel library = workout("library", 100);
+        WorkoutModel planned = workout("planned", 100);
+        planned.setName("Copy with another name");
+
+        WorkoutMetadataDTO first = cachingCalculator.calculateMetadata(library, true);
+        WorkoutMetadataDTO second = cachingCalculator.calculateMetadata(planned, true);
+
+        assertEquals("library", first.getWorkoutId());
+        assertEquals("planned", second.getWorkoutId());
+        assertEquals(calculator.calculateMetadata(planned, true), second);
+        assertEquals(1.0, counter("hit"));
+        assertEquals(1.0, counter("miss"));
+    }
+
+    @Test
+    void calculateMetadata_DifferentStructure_ShouldMiss() {
+        cachingCalculator.calculateMetadata(workout("a", 100), true);
+        cachingCalculator.calculateMetadata(workout("b", 101), true);
+
+        assertEquals(0.0, counter("hit"));
+        assertEquals(2.0, counter("miss"));
+    }
+
+    @Test
+    void calculateMetadata_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        cachingCalculator.calculateMetadata(workout("a", 100), true);
+        cachingCalculator.calculateMetadata(workout("b", 101), true);
+        cachingCalculator.calculateMetadata(workout("a", 100), true);
+        cachingCalculator.calculateMetadata(workout("c", 102), true);
+        cachingCalculator.calculateMetadata(workout("a", 100), true);
+
+        assertEquals(1.0, meterRegistry.get("cyctius.metadata.cache.evictions").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cyctius.metadata.cache.size").gauge().value());
+        assertEquals(2.0, counter("hit"));
+    }
+
+    @Test
+    void recalculateMetadata_EditAfterCacheHit_ShouldMatchFullCalculation() {
+        cachingCalculator.calculateMetadata(workout("other", 110), true);
+        cachingCalculator.recalculateMetadata(workout("edited", 100));
+
+        WorkoutMetadataDTO hit = cachingCalculator.recalculateMetadata(workout("edited", 110));
+        WorkoutMetadataDTO edited = cachingCalculator.recalculateMetadata(workout("edited", 120));
+
+        assertEquals(1.0, counter("hit"));
+        assertEquals(3.0, counter("miss"));
+        assertEquals("edited", hit.getWorkoutId());
+        assertEquals(calculator.calculateMetadata(workout("edited", 120), true), edited);
+    }
+
+    private double counter(final String result) {
+        return meterRegistry.get("cyctius.metadata.cache.gets").tag("result", result).functionCounter().count();
+    }
+
+    private static WorkoutModel workout(final String id, final int workIntensity) {
+        return WorkoutModel.builder()
+                .id(id)
+                .name(id)
+                .intervals(List.of(
+                        new RampInterval(40, 70, 90, true, 600),
+                        new RepeatInterval(new SingleInterval(50, 85, true, 180),
+                                new SingleInterval(workIntensity, 100, true, 240), 5)))
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.cyctius.core.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.cyctius.core.calculator.ThresholdSessionCalculator;
+import com.cyctius.core.calculator.VO2maxSessionCalculator;
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.enums.WorkoutType;
+import com.cyctius.core.model.CriticalPowerModel;
+import com.cyctius.core.model.WorkoutAnalysis;
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+import com.cyctius.core.profile.ThresholdAthleteProfile;
+import com.cyctius.core.service.AthleteProfileService;
+import com.cyctius.handler.exception.BadRequestException;
+
+class WorkoutGeneratorServiceImplTest {
+
+    private WorkoutPowerUtilsImpl workoutPowerUtils;
+    private WorkoutTypeClassifierServiceImpl classifier;
+    private AthleteProfileService athleteProfileService;
+    private WorkoutGeneratorServiceImpl generator;
+
+    @BeforeEach
+    void setUp() {
+        workoutPowerUtils = new WorkoutPowerUtilsImpl();
+        classifier = new WorkoutTypeClassifierServiceImpl(workoutPowerUtils);
+        CriticalPowerModel model = CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.TWO_PARAMETER)
+                .criticalPower(250.0)
+                .wPrime(20000.0)
+                .build();
+        athleteProfileService = mock(AthleteProfileService.class);
+        when(athleteProfileService.getVO2maxProfile())
+                .thenReturn(AthleteVO2MaxProfile.builder().ftp(250).criticalPowerModel(model).build());
+        when(athleteProfileService.getThresholdProfile())
+                .thenReturn(ThresholdAthleteProfile.builder().ftp(250).criticalPowerModel(model).build());
+        generator = new WorkoutGeneratorServiceImpl(new VO2maxSessionCalculator(), new ThresholdSessionCalculator(),
+                classifier, athleteProfileService);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "RECOVERY, 25",
+        "ENDURANCE, 45",
+        "TEMPO, 60",
+        "THRESHOLD, 60",
+        "VO2MAX, 70",
+        "ANAEROBIC, 60",
+        "NEUROMUSCULAR, 50"
+    })
+    void generateWorkout_ShouldMatchTypeTssAndDuration(final WorkoutType type, final int tss) {
+        WorkoutModel workout = generator.generateWorkout(type, tss, 6.0, 3600, 1800);
+        WorkoutAnalysis analysis = workoutPowerUtils.analyze(workout);
+
+        assertEquals(type, classifier.classifyAnalysis(analysis));
+        assertEquals(3600, analysis.getDurationSeconds());
+        assertTrue(Math.abs(analysis.getTss() - tss) <= tss * 0.1, "TSS " + analysis.getTss());
+    }
+
+    @Test
+    void generateWorkout_ShouldUseSessionCalculatorForVO2maxMainSet() {
+        WorkoutModel workout = generator.generateWorkout(WorkoutType.VO2MAX, null, 7.0, 3600, 1800);
+
+        RepeatInterval mainSet = (RepeatInterval) workout.getIntervals().stream()
+                .filter(RepeatInterval.class::isInstance)
+                .findFirst()
+                .orElseThrow();
+        assertTrue(mainSet.getWork().getTargetIntensity() >= 106);
+        assertTrue(mainSet.getRepeats() >= 2);
+        verify(athleteProfileService).getVO2maxProfile();
+        verify(athleteProfileService, never()).getThresholdProfile();
+    }
+
+    @Test
+    void generateWorkout_ShouldRejectMainSetLongerThanWorkout() {
+        assertThrows(BadRequestException.class,
+                () -> generator.generateWorkout(WorkoutType.TEMPO, null, 5.0, 1800, 3600));
+    }
+}
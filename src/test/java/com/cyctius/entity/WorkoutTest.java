@@ -0,0 +1,60 @@
+package com.cyctius.entity;
+
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.util.IntervalListBinaryConverter;
+import com.cyctius.util.IntervalListConverter;
+import com.cyctius.util.LazyIntervalList;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkoutTest {
+
+    private final IntervalListBinaryConverter converter = new IntervalListBinaryConverter();
+
+    @Test
+    void setIntervals_WithUnchangedIntervals_KeepsStoredBytesUndecoded() {
+        final List<Interval> stored = converter.convertToEntityAttribute(
+                converter.convertToDatabaseColumn(List.of(new SingleInterval(50, 85, true, 600))));
+        final Workout workout = Workout.builder().intervals(stored).build();
+
+        workout.setIntervals(List.of(new SingleInterval(50, 85, true, 600)));
+
+        assertThat(workout.getIntervals()).isSameAs(stored);
+        assertThat(((LazyIntervalList) stored).isDecoded()).isFalse();
+    }
+
+    @Test
+    void setIntervals_WithChangedIntervals_ReplacesThem() {
+        final List<Interval> stored = converter.convertToEntityAttribute(
+                converter.convertToDatabaseColumn(List.of(new SingleInterval(50, 85, true, 600))));
+        final Workout workout = Workout.builder().intervals(stored).build();
+        final List<Interval> edited = List.of(new SingleInterval(50, 85, true, 900));
+
+        workout.setIntervals(edited);
+
+        assertThat(workout.getIntervals()).isSameAs(edited);
+    }
+
+    @Test
+    void getIntervals_OfUnmigratedRow_DecodesTheJsonOnce() {
+        final Workout workout = Workout.builder()
+                .legacyIntervalsJson(new IntervalListConverter().convertToDatabaseColumn(
+                        List.of(new SingleInterval(50, 85, true, 600))))
+                .build();
+
+        final List<Interval> decoded = workout.getIntervals();
+
+        assertThat(decoded).hasSize(1);
+        assertThat(workout.getIntervals()).isSameAs(decoded);
+
+        final List<Interval> edited = List.of(new SingleInterval(50, 85, true, 900));
+        workout.setIntervals(edited);
+
+        assertThat(workout.getIntervals()).isSameAs(edited);
+    }
+}
@@ -0,0 +1,198 @@
+package com.cyctius.repository;
+
+import com.cyctius.core.enums.IntervalType;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.dto.WorkoutDTO;
+import com.cyctius.entity.PlannedWorkout;
+import com.cyctius.entity.Workout;
+import com.cyctius.enums.WorkoutVisibility;
+import com.cyctius.service.WorkoutTransformer;
+import com.cyctius.service.impl.WorkoutMetadataTransformerImpl;
+import com.cyctius.service.impl.WorkoutTransformerImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the structural queries of {@link WorkoutRepository} on a real Postgres.
+ * Only compiled and run with {@code -Ppostgres-it}.
+ */
+@Testcontainers
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class WorkoutRepositoryPostgresIT {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+    @Autowired
+    private PlannedWorkoutRepository plannedWorkoutRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final WorkoutTransformer workoutTransformer = new WorkoutTransformerImpl(new WorkoutMetadataTransformerImpl());
+
+    private Workout steady;
+    private Workout ramps;
+    private Workout repeats;
+
+    @BeforeEach
+    void setUp() {
+        steady = save("author", false, List.of(new SingleInterval(65, 90, true, 3600)));
+        ramps = save("author", false, List.of(
+                new RampInterval(50, 75, 90, false, 600),
+                new SingleInterval(95, 90, true, 1200)));
+        repeats = save("author", false, List.of(
+                new SingleInterval(55, 90, true, 600),
+                new RepeatInterval(new SingleInterval(50, 85, false, 60), new SingleInterval(130, 100, true, 30), 10)));
+        save("author", true, List.of(new RampInterval(40, 150, 90, true, 300)));
+        save("someone-else", false, List.of(new RampInterval(40, 150, 90, true, 300)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllByAuthorIdContainingIntervalType_ReturnsLiveWorkoutsOfTheAuthor() {
+        assertThat(workoutRepository.findAllByAuthorIdContainingIntervalType("author", IntervalType.RAMP.name()))
+                .extracting(Workout::getId)
+                .containsExactly(ramps.getId());
+        assertThat(workoutRepository.findAllByAuthorIdContainingIntervalType("author", IntervalType.SINGLE.name()))
+                .extracting(Workout::getId)
+                .containsExactlyInAnyOrder(steady.getId(), ramps.getId(), repeats.getId());
+    }
+
+    @Test
+    void findAllByAuthorIdWithRepeatsAtLeast_ComparesTheRepeatCount() {
+        assertThat(workoutRepository.findAllByAuthorIdWithRepeatsAtLeast("author", 8))
+                .extracting(Workout::getId)
+                .containsExactly(repeats.getId());
+        assertThat(workoutRepository.findAllByAuthorIdWithRepeatsAtLeast("author", 11)).isEmpty();
+    }
+
+    @Test
+    void findAllByAuthorIdWithTargetIntensityAbove_LooksIntoRampsAndRepeats() {
+        assertThat(workoutRepository.findAllByAuthorIdWithTargetIntensityAbove("author", 120))
+                .extracting(Workout::getId)
+                .containsExactly(repeats.getId());
+        assertThat(workoutRepository.findAllByAuthorIdWithTargetIntensityAbove("author", 90))
+                .extracting(Workout::getId)
+                .containsExactlyInAnyOrder(ramps.getId(), repeats.getId());
+    }
+
+    @Test
+    void update_RewritesTheSummary() {
+        final Workout workout = entityManager.find(Workout.class, steady.getId());
+        workout.setIntervals(List.of(new RampInterval(60, 125, 90, true, 900)));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(workoutRepository.findAllByAuthorIdContainingIntervalType("author", IntervalType.RAMP.name()))
+                .extracting(Workout::getId)
+                .containsExactlyInAnyOrder(steady.getId(), ramps.getId());
+        assertThat(workoutRepository.findAllByAuthorIdWithTargetIntensityAbove("author", 120))
+                .extracting(Workout::getId)
+                .containsExactlyInAnyOrder(steady.getId(), repeats.getId());
+    }
+
+    @Test
+    void updatePlannedWorkout_WithTransformedWorkout_KeepsItQueryable() {
+        final LocalDateTime now = LocalDateTime.now();
+        final PlannedWorkout planned = entityManager.persist(PlannedWorkout.builder()
+                .userId("author")
+                .authorId("author")
+                .workout(entityManager.find(Workout.class, steady.getId()))
+                .plannedDate(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // What PlannedWorkoutServiceImpl.updatePlannedWorkout does with a workout DTO that carries its id
+        final PlannedWorkout existing = plannedWorkoutRepository.findById(planned.getId()).orElseThrow();
+        existing.setWorkout(workoutTransformer.transformToEntity(WorkoutDTO.builder()
+                .id(steady.getId())
+                .authorId("author")
+                .name("renamed")
+                .visibility(WorkoutVisibility.PRIVATE)
+                .isSoftDeleted(false)
+                .intervals(List.of(new RepeatInterval(
+                        new SingleInterval(50, 85, false, 120), new SingleInterval(125, 100, true, 120), 6)))
+                .createdAt(now)
+                .updatedAt(now)
+                .build()));
+        plannedWorkoutRepository.save(existing);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(workoutRepository.findAllByAuthorIdContainingIntervalType("author", IntervalType.REPEAT.name()))
+                .extracting(Workout::getId)
+                .containsExactlyInAnyOrder(steady.getId(), repeats.getId());
+        assertThat(workoutRepository.findAllByAuthorIdWithRepeatsAtLeast("author", 5))
+                .extracting(Workout::getId)
+                .containsExactlyInAnyOrder(steady.getId(), repeats.getId());
+        assertThat(workoutRepository.findAllByAuthorIdWithTargetIntensityAbove("author", 120))
+                .extracting(Workout::getId)
+                .containsExactlyInAnyOrder(steady.getId(), repeats.getId());
+    }
+
+    @Test
+    void schema_IndexesTheSummary() {
+        assertThat(indexDefinition("idx_workouts_interval_types")).contains("USING gin", "jsonb_path_ops");
+        assertThat(indexDefinition("idx_workouts_author_max_repeats")).contains("(author_id, max_repeats)");
+        assertThat(indexDefinition("idx_workouts_author_max_target_intensity"))
+                .contains("(author_id, max_target_intensity)");
+    }
+
+    private String indexDefinition(final String name) {
+        return entityManager.getEntityManager()
+                .createNativeQuery("select indexdef from pg_indexes where indexname = :name")
+                .setParameter("name", name)
+                .getSingleResult()
+                .toString();
+    }
+
+    private Workout save(final String authorId, final boolean softDeleted, final List<Interval> intervals) {
+        final LocalDateTime now = LocalDateTime.now();
+        return entityManager.persist(Workout.builder()
+                .authorId(authorId)
+                .name("workout")
+                .visibility(WorkoutVisibility.PRIVATE)
+                .intervals(intervals)
+                .isSoftDeleted(softDeleted)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    @Configuration
+    @EntityScan("com.cyctius.entity")
+    @EnableJpaRepositories(basePackageClasses = WorkoutRepository.class)
+    static class Config {
+    }
+}
@@ -0,0 +1,93 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.engine.MeanMaximalPower;
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.model.CriticalPowerModel;
+import com.cyctius.core.profile.AthleteVO2MaxProfile;
+import com.cyctius.core.profile.ThresholdAthleteProfile;
+import com.cyctius.dto.CyctiusUserDTO;
+import com.cyctius.entity.AthletePowerCurve;
+import com.cyctius.enums.PowerCurveScope;
+import com.cyctius.repository.AthletePowerCurveRepository;
+import com.cyctius.service.CriticalPowerService;
+import com.cyctius.service.InternalUserService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AthleteProfileServiceImplTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private CriticalPowerService criticalPowerService;
+    @Mock
+    private AthletePowerCurveRepository athletePowerCurveRepository;
+    @Mock
+    private InternalUserService internalUserService;
+
+    private AthleteProfileServiceImpl athleteProfileService;
+
+    @BeforeEach
+    void setUp() {
+        athleteProfileService = new AthleteProfileServiceImpl(criticalPowerService, athletePowerCurveRepository,
+                internalUserService, CriticalPowerModelType.OMNI_DOMAIN, 250, 20000.0);
+    }
+
+    @Test
+    void getVO2maxProfile_ShouldUseLatestFit() {
+        CriticalPowerModel model = CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.OMNI_DOMAIN).criticalPower(280.0).wPrime(18000.0).maxPower(1100.0).build();
+        when(internalUserService.getCurrentUser()).thenReturn(CyctiusUserDTO.builder().userId(USER_ID).ftp(270L).build());
+        when(criticalPowerService.findCriticalPowerModel(USER_ID, CriticalPowerModelType.OMNI_DOMAIN)).thenReturn(Optional.of(model));
+
+        AthleteVO2MaxProfile profile = athleteProfileService.getVO2maxProfile();
+
+        assertEquals(270, profile.getFtp());
+        assertSame(model, profile.getCriticalPowerModel());
+        assertEquals(280.0, profile.calculateCriticalPower());
+    }
+
+    @Test
+    void getThresholdProfile_ShouldFallBackToAllTimeCurve() {
+        double[] watts = new double[MeanMaximalPower.size()];
+        watts[0] = 1000.0;
+        watts[watts.length / 2] = 300.0;
+        when(internalUserService.getCurrentUser()).thenReturn(CyctiusUserDTO.builder().userId(USER_ID).ftp(200L).build());
+        when(criticalPowerService.findCriticalPowerModel(USER_ID, CriticalPowerModelType.OMNI_DOMAIN)).thenReturn(Optional.empty());
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ALL_TIME))
+                .thenReturn(Optional.of(AthletePowerCurve.builder().watts(watts).build()));
+
+        ThresholdAthleteProfile profile = athleteProfileService.getThresholdProfile();
+
+        assertNull(profile.getCriticalPowerModel());
+        assertEquals(2, profile.getPdPoints().size());
+        assertEquals(500.0, profile.getPdPoints().get(0).getPowerPercent());
+        assertEquals(150.0, profile.getPdPoints().get(1).getPowerPercent());
+    }
+
+    @Test
+    void getThresholdProfile_WithoutFtpFitOrCurve_ShouldUseReferenceAthlete() {
+        when(internalUserService.getCurrentUser()).thenReturn(CyctiusUserDTO.builder().userId(USER_ID).build());
+        when(criticalPowerService.findCriticalPowerModel(USER_ID, CriticalPowerModelType.OMNI_DOMAIN)).thenReturn(Optional.empty());
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ALL_TIME)).thenReturn(Optional.empty());
+
+        ThresholdAthleteProfile profile = athleteProfileService.getThresholdProfile();
+
+        assertEquals(250, profile.getFtp());
+        assertEquals(CriticalPowerModelType.TWO_PARAMETER, profile.getCriticalPowerModel().getType());
+        assertEquals(250.0, profile.getCriticalPowerModel().getCriticalPower());
+        assertEquals(20000.0, profile.getCriticalPowerModel().getWPrime());
+    }
+}
@@ -0,0 +1,165 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.engine.CriticalPowerFitter;
+import com.cyctius.core.engine.MeanMaximalPower;
+import com.cyctius.core.enums.CriticalPowerModelType;
+import com.cyctius.core.model.CriticalPowerModel;
+import com.cyctius.dto.CriticalPowerFitDTO;
+import com.cyctius.dto.CriticalPowerFitRequestDTO;
+import com.cyctius.dto.CyctiusUserDTO;
+import com.cyctius.entity.CriticalPowerFit;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.repository.CriticalPowerFitRepository;
+import com.cyctius.service.InternalUserService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CriticalPowerServiceImplTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private CriticalPowerFitRepository criticalPowerFitRepository;
+    @Mock
+    private InternalUserService internalUserService;
+
+    @InjectMocks
+    private CriticalPowerServiceImpl criticalPowerService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(internalUserService.getCurrentUser()).thenReturn(CyctiusUserDTO.builder().userId(USER_ID).build());
+    }
+
+    @Test
+    void fitCriticalPower_ShouldStoreNextVersion() {
+        when(criticalPowerFitRepository.findFirstByUserIdAndModelTypeOrderByVersionDesc(USER_ID, CriticalPowerModelType.TWO_PARAMETER))
+                .thenReturn(Optional.of(CriticalPowerFit.builder().version(3).inputHash("stale").build()));
+        when(criticalPowerFitRepository.save(any(CriticalPowerFit.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CriticalPowerFitDTO result = criticalPowerService.fitCriticalPower(request());
+
+        ArgumentCaptor<CriticalPowerFit> saved = ArgumentCaptor.forClass(CriticalPowerFit.class);
+        verify(criticalPowerFitRepository).save(saved.capture());
+        assertEquals(4, result.getVersion());
+        assertEquals(USER_ID, saved.getValue().getUserId());
+        assertEquals(CriticalPowerFitter.ALGORITHM_VERSION, saved.getValue().getAlgorithmVersion());
+        assertEquals(250.0, result.getCriticalPower(), 1e-6);
+        assertEquals(20000.0, result.getWPrime(), 1e-3);
+    }
+
+    @Test
+    void fitCriticalPower_ShouldNotRefitUnchangedPoints() {
+        CriticalPowerFitRequestDTO request = request();
+        String hash = CriticalPowerServiceImpl.inputHash(CriticalPowerModelType.TWO_PARAMETER, List.of(
+                request.getPoints().get(1), request.getPoints().get(0), request.getPoints().get(2)));
+        when(criticalPowerFitRepository.findFirstByUserIdAndModelTypeOrderByVersionDesc(USER_ID, CriticalPowerModelType.TWO_PARAMETER))
+                .thenReturn(Optional.of(CriticalPowerFit.builder().version(2).inputHash(hash).criticalPower(251.0).build()));
+
+        CriticalPowerFitDTO result = criticalPowerService.fitCriticalPower(request);
+
+        assertEquals(2, result.getVersion());
+        assertEquals(251.0, result.getCriticalPower());
+        verify(criticalPowerFitRepository, never()).save(any());
+    }
+
+    @Test
+    void fitCriticalPower_ShouldRejectPointsThatCannotBeFitted() {
+        CriticalPowerFitRequestDTO request = CriticalPowerFitRequestDTO.builder()
+                .modelType(CriticalPowerModelType.TWO_PARAMETER)
+                .points(List.of(new CriticalPowerFitRequestDTO.PowerDurationPoint(300.0, 600.0)))
+                .build();
+
+        assertThrows(BadRequestException.class, () -> criticalPowerService.fitCriticalPower(request));
+    }
+
+    @Test
+    void refitCriticalPower_ShouldFitEveryModelToTheRecentCurve() {
+        when(criticalPowerFitRepository.save(any(CriticalPowerFit.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        criticalPowerService.refitCriticalPower(USER_ID, omniDomainCurve(), null);
+
+        ArgumentCaptor<CriticalPowerFit> saved = ArgumentCaptor.forClass(CriticalPowerFit.class);
+        verify(criticalPowerFitRepository, times(3)).save(saved.capture());
+        for (CriticalPowerFit fit : saved.getAllValues()) {
+            assertEquals(USER_ID, fit.getUserId());
+            assertEquals(1, fit.getVersion());
+        }
+        CriticalPowerFit omniDomain = saved.getAllValues().get(CriticalPowerModelType.OMNI_DOMAIN.ordinal());
+        assertEquals(250.0, omniDomain.getCriticalPower(), 1.0);
+        assertEquals(MeanMaximalPower.size(), omniDomain.getPointCount());
+        CriticalPowerFit twoParameter = saved.getAllValues().get(CriticalPowerModelType.TWO_PARAMETER.ordinal());
+        assertEquals((int) Arrays.stream(MeanMaximalPower.durations())
+                .filter(d -> d >= CriticalPowerServiceImpl.TWO_PARAMETER_MIN_SECONDS && d <= CriticalPowerServiceImpl.TWO_PARAMETER_MAX_SECONDS)
+                .count(), twoParameter.getPointCount());
+    }
+
+    @Test
+    void refitCriticalPower_ShouldFallBackToAllTimeCurveAndSkipUnchangedInput() {
+        double[] curve = omniDomainCurve();
+        String hash = CriticalPowerServiceImpl.inputHash(CriticalPowerModelType.TWO_PARAMETER,
+                CriticalPowerServiceImpl.curvePoints(curve, CriticalPowerModelType.TWO_PARAMETER));
+        when(criticalPowerFitRepository.findFirstByUserIdAndModelTypeOrderByVersionDesc(USER_ID, CriticalPowerModelType.TWO_PARAMETER))
+                .thenReturn(Optional.of(CriticalPowerFit.builder().version(2).inputHash(hash).build()));
+        when(criticalPowerFitRepository.save(any(CriticalPowerFit.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        criticalPowerService.refitCriticalPower(USER_ID, new double[MeanMaximalPower.size()], curve);
+
+        ArgumentCaptor<CriticalPowerFit> saved = ArgumentCaptor.forClass(CriticalPowerFit.class);
+        verify(criticalPowerFitRepository, times(2)).save(saved.capture());
+        assertEquals(List.of(CriticalPowerModelType.THREE_PARAMETER, CriticalPowerModelType.OMNI_DOMAIN),
+                saved.getAllValues().stream().map(CriticalPowerFit::getModelType).toList());
+    }
+
+    /**
+     * A mean-maximal curve on the omni-domain model with CP 250 W, W' 20 kJ and Pmax 1000 W.
+     */
+    private static double[] omniDomainCurve() {
+        CriticalPowerModel model = CriticalPowerModel.builder()
+                .type(CriticalPowerModelType.OMNI_DOMAIN)
+                .criticalPower(250.0)
+                .wPrime(20000.0)
+                .maxPower(1000.0)
+                .longDurationDecay(10.0)
+                .build();
+        int[] durations = MeanMaximalPower.durations();
+        double[] curve = new double[durations.length];
+        for (int i = 0; i < durations.length; i++) {
+            curve[i] = model.powerAt(durations[i]);
+        }
+        return curve;
+    }
+
+    /**
+     * Points on P = 250 + 20000 / t, deliberately out of order.
+     */
+    private static CriticalPowerFitRequestDTO request() {
+        return CriticalPowerFitRequestDTO.builder()
+                .modelType(CriticalPowerModelType.TWO_PARAMETER)
+                .points(List.of(
+                        new CriticalPowerFitRequestDTO.PowerDurationPoint(250.0 + 20000.0 / 600, 600.0),
+                        new CriticalPowerFitRequestDTO.PowerDurationPoint(250.0 + 20000.0 / 180, 180.0),
+                        new CriticalPowerFitRequestDTO.PowerDurationPoint(250.0 + 20000.0 / 1200, 1200.0)))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.dto.IntervalEncodingStatusDTO;
+import com.cyctius.repository.WorkoutIntervalsJdbcRepository;
+import com.cyctius.repository.WorkoutIntervalsJdbcRepository.EncodedWorkout;
+import com.cyctius.repository.WorkoutIntervalsJdbcRepository.LegacyWorkout;
+import com.cyctius.util.IntervalBinaryCodec;
+import com.cyctius.util.IntervalListConverter;
+import com.cyctius.util.IntervalStructureSummary;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IntervalEncodingMigrationServiceImplTest {
+    @Mock
+    private WorkoutIntervalsJdbcRepository workoutIntervalsJdbcRepository;
+
+    private IntervalEncodingMigrationServiceImpl migrationService;
+
+    private final List<SingleInterval> intervals = List.of(new SingleInterval(50, 85, true, 600));
+    private final String intervalsJson = new IntervalListConverter().convertToDatabaseColumn(List.copyOf(intervals));
+
+    @BeforeEach
+    void setUp() {
+        migrationService = new IntervalEncodingMigrationServiceImpl(workoutIntervalsJdbcRepository, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        migrationService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_ShouldEncodePagesFillSummariesAndSkipUnparseableJson() {
+        when(workoutIntervalsJdbcRepository.findLegacy(anyString(), anyInt()))
+                .thenReturn(List.of(
+                        new LegacyWorkout("a", null, intervalsJson),
+                        new LegacyWorkout("b", null, "[{\"type\":")))
+                .thenReturn(List.of(new LegacyWorkout("c", IntervalBinaryCodec.encode(List.of()), null)))
+                .thenReturn(List.of());
+
+        migrationService.run();
+
+        verify(workoutIntervalsJdbcRepository).findLegacy("", 2);
+        verify(workoutIntervalsJdbcRepository).findLegacy("b", 2);
+        verify(workoutIntervalsJdbcRepository).findLegacy("c", 2);
+
+        val written = ArgumentCaptor.forClass(List.class);
+        verify(workoutIntervalsJdbcRepository, times(2)).writeEncoded(written.capture());
+        val firstPage = (List<EncodedWorkout>) written.getAllValues().get(0);
+        assertEquals(1, firstPage.size());
+        assertEquals("a", firstPage.get(0).id());
+        assertArrayEquals(IntervalBinaryCodec.encode(List.copyOf(intervals)), firstPage.get(0).intervals());
+        assertEquals(new IntervalStructureSummary("[\"SINGLE\"]", 0, 50), firstPage.get(0).summary());
+        val secondPage = (List<EncodedWorkout>) written.getAllValues().get(1);
+        assertEquals(new IntervalStructureSummary("[]", 0, 0), secondPage.get(0).summary());
+
+        val status = migrationService.getStatus();
+        assertEquals(IntervalEncodingStatusDTO.State.COMPLETED, status.getState());
+        assertEquals(2L, status.getMigrated());
+        assertEquals(1L, status.getFailed());
+        assertEquals("c", status.getLastWorkoutId());
+    }
+}
@@ -0,0 +1,237 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.engine.MeanMaximalPower;
+import com.cyctius.core.engine.PowerSeries;
+import com.cyctius.core.engine.ScalarPowerSeriesKernel;
+import com.cyctius.dto.CyctiusUserDTO;
+import com.cyctius.dto.PowerCurveDTO;
+import com.cyctius.entity.AthletePowerCurve;
+import com.cyctius.entity.SessionPowerCurve;
+import com.cyctius.entity.TrainingSession;
+import com.cyctius.enums.PowerCurveScope;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.repository.AthletePowerCurveRepository;
+import com.cyctius.repository.SessionPowerCurveRepository;
+import com.cyctius.repository.TrainingSessionRepository;
+import com.cyctius.service.CriticalPowerService;
+import com.cyctius.service.InternalUserService;
+import com.cyctius.service.UserValidator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PowerCurveServiceImplTest {
+
+    private static final String USER_ID = "user-1";
+    private static final String SESSION_ID = "session-1";
+
+    @Mock
+    private SessionPowerCurveRepository sessionPowerCurveRepository;
+    @Mock
+    private AthletePowerCurveRepository athletePowerCurveRepository;
+    @Mock
+    private TrainingSessionRepository trainingSessionRepository;
+    @Mock
+    private InternalUserService internalUserService;
+    @Mock
+    private UserValidator userValidator;
+    @Mock
+    private CriticalPowerService criticalPowerService;
+    @Spy
+    private PowerSeries powerSeries = new PowerSeries(ScalarPowerSeriesKernel.INSTANCE);
+
+    @InjectMocks
+    private PowerCurveServiceImpl powerCurveService;
+
+    @Test
+    void savePowerStream_ShouldMergeIntoExistingCurvesWithoutRebuilding() {
+        LocalDate today = LocalDate.now();
+        when(trainingSessionRepository.findById(SESSION_ID)).thenReturn(Optional.of(TrainingSession.builder()
+                .id(SESSION_ID).userId(USER_ID).completedAt(today.atTime(10, 0)).build()));
+        when(sessionPowerCurveRepository.findByTrainingSessionId(SESSION_ID)).thenReturn(Optional.empty());
+        when(sessionPowerCurveRepository.save(any(SessionPowerCurve.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        AthletePowerCurve allTime = curve(PowerCurveScope.ALL_TIME, 200.0, today.minusDays(400));
+        AthletePowerCurve rolling = curve(PowerCurveScope.ROLLING_90_DAYS, 200.0, today.minusDays(10));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ALL_TIME)).thenReturn(Optional.of(allTime));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ROLLING_90_DAYS)).thenReturn(Optional.of(rolling));
+
+        PowerCurveDTO result = powerCurveService.savePowerStream(SESSION_ID, new int[]{400, 300});
+
+        assertEquals(400.0, result.getWatts()[0]);
+        assertEquals(400.0, allTime.getWatts()[0]);
+        assertEquals((int) today.toEpochDay(), allTime.getEffortDays()[0]);
+        assertEquals(350.0, rolling.getWatts()[1]);
+        assertEquals(200.0, rolling.getWatts()[2]);
+        verify(userValidator).validateAuthor(any(), any());
+        verify(sessionPowerCurveRepository, never()).findAllByUserId(any());
+        verify(sessionPowerCurveRepository, never()).findAllByUserIdAndDayGreaterThanEqual(any(), any());
+        verify(criticalPowerService).refitCriticalPower(USER_ID, rolling.getWatts(), allTime.getWatts());
+    }
+
+    @Test
+    void savePowerStream_ShouldNotRefitWhenNoCurveChanged() {
+        LocalDate today = LocalDate.now();
+        when(trainingSessionRepository.findById(SESSION_ID)).thenReturn(Optional.of(TrainingSession.builder()
+                .id(SESSION_ID).userId(USER_ID).completedAt(today.atTime(10, 0)).build()));
+        when(sessionPowerCurveRepository.findByTrainingSessionId(SESSION_ID)).thenReturn(Optional.empty());
+        when(sessionPowerCurveRepository.save(any(SessionPowerCurve.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ALL_TIME))
+                .thenReturn(Optional.of(curve(PowerCurveScope.ALL_TIME, 500.0, today.minusDays(400))));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ROLLING_90_DAYS))
+                .thenReturn(Optional.of(curve(PowerCurveScope.ROLLING_90_DAYS, 500.0, today.minusDays(10))));
+
+        powerCurveService.savePowerStream(SESSION_ID, new int[]{400, 300});
+
+        verify(athletePowerCurveRepository, never()).save(any());
+        verify(criticalPowerService, never()).refitCriticalPower(any(), any(), any());
+    }
+
+    @Test
+    void savePowerStream_ShouldStoreNormalizedPowerAndXPower() {
+        when(trainingSessionRepository.findById(SESSION_ID)).thenReturn(Optional.of(TrainingSession.builder()
+                .id(SESSION_ID).userId(USER_ID).completedAt(LocalDate.now().atTime(10, 0)).build()));
+        when(sessionPowerCurveRepository.findByTrainingSessionId(SESSION_ID)).thenReturn(Optional.empty());
+        when(sessionPowerCurveRepository.save(any(SessionPowerCurve.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        int[] watts = new int[3600];
+        Arrays.fill(watts, 250);
+
+        PowerCurveDTO result = powerCurveService.savePowerStream(SESSION_ID, watts);
+
+        assertEquals(250.0, result.getNormalizedPower(), 1e-9);
+        assertEquals(250.0, result.getXPower(), 2.0);
+    }
+
+    @Test
+    void savePowerStream_ShouldRejectEmptyStream() {
+        assertThrows(BadRequestException.class, () -> powerCurveService.savePowerStream(SESSION_ID, new int[0]));
+    }
+
+    @Test
+    void getPowerCurve_ShouldRebuildRollingCurveWhenBestLeftWindow() {
+        LocalDate today = LocalDate.now();
+        when(internalUserService.getCurrentUser()).thenReturn(CyctiusUserDTO.builder().userId(USER_ID).build());
+        AthletePowerCurve rolling = curve(PowerCurveScope.ROLLING_90_DAYS, 500.0, today.minusDays(PowerCurveServiceImpl.ROLLING_DAYS));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ROLLING_90_DAYS)).thenReturn(Optional.of(rolling));
+        double[] recent = new double[MeanMaximalPower.size()];
+        recent[0] = 300.0;
+        when(sessionPowerCurveRepository.findAllByUserIdAndDayGreaterThanEqual(USER_ID, today.minusDays(PowerCurveServiceImpl.ROLLING_DAYS - 1)))
+                .thenReturn(List.of(SessionPowerCurve.builder().userId(USER_ID).day(today.minusDays(3)).watts(recent).build()));
+        when(athletePowerCurveRepository.save(any(AthletePowerCurve.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PowerCurveDTO result = powerCurveService.getPowerCurve(PowerCurveScope.ROLLING_90_DAYS);
+
+        assertArrayEquals(recent, result.getWatts());
+        assertEquals(today.minusDays(3), result.getEffortDays().get(0));
+        assertEquals(null, result.getEffortDays().get(1));
+    }
+
+    @Test
+    void removeTrainingSession_ShouldRebuildOnlyCurvesItHeldBestsOf() {
+        LocalDate today = LocalDate.now();
+        double[] removed = new double[MeanMaximalPower.size()];
+        removed[0] = 300.0;
+        SessionPowerCurve session = SessionPowerCurve.builder().userId(USER_ID).trainingSessionId(SESSION_ID)
+                .day(today.minusDays(200)).watts(removed).build();
+        when(sessionPowerCurveRepository.findByTrainingSessionId(SESSION_ID)).thenReturn(Optional.of(session));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ALL_TIME))
+                .thenReturn(Optional.of(curve(PowerCurveScope.ALL_TIME, 300.0, today.minusDays(200))));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ROLLING_90_DAYS))
+                .thenReturn(Optional.of(curve(PowerCurveScope.ROLLING_90_DAYS, 350.0, today)));
+        when(sessionPowerCurveRepository.findAllByUserId(USER_ID)).thenReturn(List.of());
+        when(athletePowerCurveRepository.save(any(AthletePowerCurve.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        powerCurveService.removeTrainingSession(USER_ID, SESSION_ID);
+
+        verify(sessionPowerCurveRepository).delete(session);
+        verify(sessionPowerCurveRepository).findAllByUserId(USER_ID);
+        verify(sessionPowerCurveRepository, never()).findAllByUserIdAndDayGreaterThanEqual(any(), any());
+        verify(criticalPowerService).refitCriticalPower(any(), any(), any());
+    }
+
+    @Test
+    void moveTrainingSession_IntoTheRollingWindow_ShouldMergeItThere() {
+        LocalDate today = LocalDate.now();
+        double[] watts = new double[MeanMaximalPower.size()];
+        watts[0] = 300.0;
+        SessionPowerCurve session = SessionPowerCurve.builder().userId(USER_ID).trainingSessionId(SESSION_ID)
+                .day(today.minusDays(200)).watts(watts).build();
+        when(sessionPowerCurveRepository.findByTrainingSessionId(SESSION_ID)).thenReturn(Optional.of(session));
+        when(sessionPowerCurveRepository.save(any(SessionPowerCurve.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        AthletePowerCurve allTime = curve(PowerCurveScope.ALL_TIME, 400.0, today.minusDays(300));
+        AthletePowerCurve rolling = curve(PowerCurveScope.ROLLING_90_DAYS, 200.0, today.minusDays(10));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ALL_TIME)).thenReturn(Optional.of(allTime));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ROLLING_90_DAYS)).thenReturn(Optional.of(rolling));
+
+        powerCurveService.moveTrainingSession(USER_ID, SESSION_ID, today.minusDays(5));
+
+        assertEquals(today.minusDays(5), session.getDay());
+        assertEquals(400.0, allTime.getWatts()[0]);
+        assertEquals(300.0, rolling.getWatts()[0]);
+        assertEquals((int) today.minusDays(5).toEpochDay(), rolling.getEffortDays()[0]);
+        verify(athletePowerCurveRepository).save(rolling);
+        verify(criticalPowerService).refitCriticalPower(USER_ID, rolling.getWatts(), allTime.getWatts());
+    }
+
+    @Test
+    void moveTrainingSession_HoldingABest_ShouldRebuildTheCurve() {
+        LocalDate today = LocalDate.now();
+        double[] watts = new double[MeanMaximalPower.size()];
+        watts[0] = 500.0;
+        SessionPowerCurve session = SessionPowerCurve.builder().userId(USER_ID).trainingSessionId(SESSION_ID)
+                .day(today.minusDays(3)).watts(watts).build();
+        when(sessionPowerCurveRepository.findByTrainingSessionId(SESSION_ID)).thenReturn(Optional.of(session));
+        when(sessionPowerCurveRepository.save(any(SessionPowerCurve.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ALL_TIME))
+                .thenReturn(Optional.of(curve(PowerCurveScope.ALL_TIME, 500.0, today.minusDays(3))));
+        when(athletePowerCurveRepository.findByUserIdAndScope(USER_ID, PowerCurveScope.ROLLING_90_DAYS))
+                .thenReturn(Optional.of(curve(PowerCurveScope.ROLLING_90_DAYS, 500.0, today.minusDays(3))));
+        when(sessionPowerCurveRepository.findAllByUserId(USER_ID)).thenReturn(List.of(session));
+        when(sessionPowerCurveRepository.findAllByUserIdAndDayGreaterThanEqual(USER_ID, today.minusDays(PowerCurveServiceImpl.ROLLING_DAYS - 1)))
+                .thenReturn(List.of());
+        when(athletePowerCurveRepository.save(any(AthletePowerCurve.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        powerCurveService.moveTrainingSession(USER_ID, SESSION_ID, today.minusDays(120));
+
+        verify(sessionPowerCurveRepository).findAllByUserId(USER_ID);
+        verify(sessionPowerCurveRepository).findAllByUserIdAndDayGreaterThanEqual(USER_ID, today.minusDays(PowerCurveServiceImpl.ROLLING_DAYS - 1));
+        verify(criticalPowerService).refitCriticalPower(any(), any(), any());
+    }
+
+    @Test
+    void moveTrainingSession_ToTheSameDay_ShouldDoNothing() {
+        LocalDate today = LocalDate.now();
+        when(sessionPowerCurveRepository.findByTrainingSessionId(SESSION_ID)).thenReturn(Optional.of(SessionPowerCurve.builder()
+                .userId(USER_ID).trainingSessionId(SESSION_ID).day(today).watts(new double[MeanMaximalPower.size()]).build()));
+
+        powerCurveService.moveTrainingSession(USER_ID, SESSION_ID, today);
+
+        verify(sessionPowerCurveRepository, never()).save(any());
+        verify(criticalPowerService, never()).refitCriticalPower(any(), any(), any());
+    }
+
+    private static AthletePowerCurve curve(final PowerCurveScope scope, final double watts, final LocalDate day) {
+        double[] curve = new double[MeanMaximalPower.size()];
+        int[] days = new int[MeanMaximalPower.size()];
+        Arrays.fill(curve, watts);
+        Arrays.fill(days, (int) day.toEpochDay());
+        return AthletePowerCurve.builder().userId(USER_ID).scope(scope).watts(curve).effortDays(days).build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.engine.TrainingLoadAccumulator;
+import com.cyctius.dto.CyctiusUserDTO;
+import com.cyctius.entity.TrainingLoadDay;
+import com.cyctius.entity.TrainingSession;
+import com.cyctius.entity.TrainingSessionMetadata;
+import com.cyctius.enums.TrainingSessionStatus;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.repository.TrainingLoadDayRepository;
+import com.cyctius.repository.TrainingSessionRepository;
+import com.cyctius.service.InternalUserService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrainingLoadServiceImplTest {
+
+    private static final String USER_ID = "user-1";
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    @Mock
+    private TrainingLoadDayRepository trainingLoadDayRepository;
+    @Mock
+    private TrainingSessionRepository trainingSessionRepository;
+    @Mock
+    private InternalUserService internalUserService;
+
+    @InjectMocks
+    private TrainingLoadServiceImpl trainingLoadService;
+
+    @Test
+    void recalculateFrom_ShouldResumeFromSeedAndFillRestDays() {
+        TrainingLoadDay seed = day(MONDAY.minusDays(1), 50, 40.0, 60.0);
+        TrainingLoadDay reused = day(MONDAY, 0, 0.0, 0.0);
+        TrainingLoadDay trailing = day(MONDAY.plusDays(5), 90, 0.0, 0.0);
+
+        when(trainingLoadDayRepository.findFirstByUserIdAndDayBeforeOrderByDayDesc(USER_ID, MONDAY))
+                .thenReturn(Optional.of(seed));
+        when(trainingLoadDayRepository.findAllByUserIdAndDayGreaterThanEqualOrderByDayAsc(USER_ID, MONDAY))
+                .thenReturn(List.of(reused, trailing));
+        when(trainingSessionRepository.findAllByUserIdAndCompletedAtGreaterThanEqualAndStatusIn(
+                any(), any(), anyCollection()))
+                .thenReturn(List.of(session(MONDAY, 70), session(MONDAY, 30), session(MONDAY.plusDays(2), 120)));
+
+        trainingLoadService.recalculateFrom(USER_ID, MONDAY);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<TrainingLoadDay>> saved = ArgumentCaptor.forClass(Iterable.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<TrainingLoadDay>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(trainingLoadDayRepository).saveAll(saved.capture());
+        verify(trainingLoadDayRepository).deleteAll(deleted.capture());
+
+        List<TrainingLoadDay> days = new ArrayList<>();
+        saved.getValue().forEach(days::add);
+        assertEquals(3, days.size());
+        assertSame(reused, days.get(0));
+        assertEquals(List.of(100, 0, 120), days.stream().map(TrainingLoadDay::getTss).toList());
+        assertEquals(List.of(trailing), new ArrayList<>(deleted.getValue()));
+
+        TrainingLoadAccumulator expected = new TrainingLoadAccumulator(40.0, 60.0);
+        expected.accept(100);
+        expected.accept(0);
+        expected.accept(120);
+        TrainingLoadDay last = days.get(2);
+        assertEquals(MONDAY.plusDays(2), last.getDay());
+        assertEquals(expected.getCtl(), last.getCtl(), 1e-9);
+        assertEquals(expected.getAtl(), last.getAtl(), 1e-9);
+        assertEquals(expected.getTsb(), last.getTsb(), 1e-9);
+    }
+
+    @Test
+    void getTrainingLoad_ShouldDecayPastLastMaterializedDay() {
+        when(internalUserService.getCurrentUser()).thenReturn(CyctiusUserDTO.builder().userId(USER_ID).build());
+        when(trainingLoadDayRepository.findAllByUserIdAndDayBetweenOrderByDayAsc(USER_ID, MONDAY, MONDAY.plusDays(3)))
+                .thenReturn(List.of(day(MONDAY, 100, 50.0, 70.0)));
+
+        var result = trainingLoadService.getTrainingLoad(MONDAY, MONDAY.plusDays(3));
+
+        assertEquals(4, result.size());
+        assertEquals(MONDAY.plusDays(3), result.get(3).getDay());
+        assertEquals(0, result.get(3).getTss());
+        assertEquals(50.0 - 70.0, result.get(1).getTsb(), 1e-9);
+        assertTrue(result.get(3).getAtl() < result.get(2).getAtl());
+    }
+
+    @Test
+    void getTrainingLoad_ShouldRejectInvertedRange() {
+        assertThrows(BadRequestException.class,
+                () -> trainingLoadService.getTrainingLoad(MONDAY, MONDAY.minusDays(1)));
+    }
+
+    private static TrainingLoadDay day(LocalDate day, int tss, double ctl, double atl) {
+        return TrainingLoadDay.builder()
+                .userId(USER_ID)
+                .day(day)
+                .tss(tss)
+                .ctl(ctl)
+                .atl(atl)
+                .tsb(0.0)
+                .build();
+    }
+
+    private static TrainingSession session(LocalDate day, int tss) {
+        return TrainingSession.builder()
+                .userId(USER_ID)
+                .completedAt(day.atTime(18, 0))
+                .status(TrainingSessionStatus.COMPLETED)
+                .metadata(TrainingSessionMetadata.builder().tss(tss).build())
+                .build();
+    }
+}
@@ -353,5 +353,63 @@ class TssCalculationServiceImplTest {
         // Then
         assertEquals(2, result); // Allow small rounding error
     }
-}
 
+    // ==================== calculateTssForRange Tests ====================
+
+    @Test
+    void testCalculateTssForRange_nullWorkout_shouldReturnZero() {
+        // When
+        val result = tssCalculationService.calculateTssForRange(null, 0, 600);
+
+        // Then
+        assertEquals(0, result.getTss());
+        assertEquals(0, result.getTotalDurationSeconds());
+    }
+
+    @Test
+    void testCalculateTssForRange_spanningTwoIntervals_shouldIntegrateBothParts() {
+        // Given
+        WorkoutModel workout = WorkoutModel.builder()
+                .intervals(List.of(new SingleInterval(50, 90, true, 600), new SingleInterval(100, 90, true, 600)))
+                .build();
+
+        // When
+        val result = tssCalculationService.calculateTssForRange(workout, 300, 900);
+
+        // Then: (50² * 300 + 100² * 300) / 3600 / 100
+        assertEquals(10, result.getTss());
+        assertEquals(600, result.getTotalDurationSeconds());
+        assertEquals(75, result.getAverageIntensity());
+    }
+
+    @Test
+    void testCalculateTssForRange_pastTheEnd_shouldClampToTheWorkout() {
+        // Given
+        WorkoutModel workout = WorkoutModel.builder()
+                .intervals(List.of(new SingleInterval(50, 90, true, 600), new SingleInterval(100, 90, true, 600)))
+                .build();
+
+        // When
+        val result = tssCalculationService.calculateTssForRange(workout, 900, 5000);
+
+        // Then
+        assertEquals(8, result.getTss());
+        assertEquals(300, result.getTotalDurationSeconds());
+        assertEquals(100, result.getAverageIntensity());
+    }
+
+    @Test
+    void testCalculateTssForRange_wholeHourAtThreshold_shouldMatchSessionTss() {
+        // Given
+        WorkoutModel workout = WorkoutModel.builder()
+                .intervals(List.of(new SingleInterval(100, 90, true, 3600)))
+                .build();
+
+        // When
+        val result = tssCalculationService.calculateTssForRange(workout, 0, 3600);
+
+        // Then
+        assertEquals(tssCalculationService.calculateTssForSession(workout), result.getTss());
+        assertEquals(100, result.getTss());
+    }
+}
@@ -0,0 +1,115 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.core.service.WorkoutMetadataCalculator;
+import com.cyctius.core.service.impl.IncrementalAnalysisSessions;
+import com.cyctius.core.service.impl.WorkoutMetadataCalculatorImpl;
+import com.cyctius.core.service.impl.WorkoutPowerUtilsImpl;
+import com.cyctius.core.service.impl.WorkoutTypeClassifierServiceImpl;
+import com.cyctius.dto.MetadataBackfillStatusDTO;
+import com.cyctius.dto.WorkoutMetadataDTO;
+import com.cyctius.entity.MetadataBackfillCheckpoint;
+import com.cyctius.repository.MetadataBackfillCheckpointRepository;
+import com.cyctius.repository.WorkoutMetadataJdbcRepository;
+import com.cyctius.repository.WorkoutMetadataJdbcRepository.StoredWorkout;
+import com.cyctius.util.IntervalListConverter;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkoutMetadataBackfillServiceImplTest {
+    @Mock
+    private WorkoutMetadataJdbcRepository workoutMetadataJdbcRepository;
+    @Mock
+    private MetadataBackfillCheckpointRepository checkpointRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WorkoutMetadataBackfillServiceImpl backfillService;
+
+    private final String intervalsJson = new IntervalListConverter()
+            .convertToDatabaseColumn(List.of(new SingleInterval(50, 85, true, 600)));
+
+    @BeforeEach
+    void setUp() {
+        val workoutPowerUtils = new WorkoutPowerUtilsImpl();
+        val calculator = new WorkoutMetadataCalculatorImpl(workoutPowerUtils,
+                new WorkoutTypeClassifierServiceImpl(workoutPowerUtils), new IncrementalAnalysisSessions(16));
+        backfillService = new WorkoutMetadataBackfillServiceImpl(calculator, workoutMetadataJdbcRepository,
+                checkpointRepository, transactionManager, 2, 2, 0, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfillService.shutdown();
+    }
+
+    @Test
+    void run_ShouldWalkPagesAndWriteCurrentVersion() {
+        when(checkpointRepository.findById(WorkoutMetadataBackfillServiceImpl.JOB)).thenReturn(Optional.empty());
+        when(workoutMetadataJdbcRepository.findStale(anyString(), anyInt(), anyInt()))
+                .thenReturn(List.of(new StoredWorkout("a", intervalsJson), new StoredWorkout("b", "[]")))
+                .thenReturn(List.of(new StoredWorkout("c", intervalsJson), new StoredWorkout("d", new byte[]{99}, null)))
+                .thenReturn(List.of());
+
+        backfillService.run();
+
+        verify(workoutMetadataJdbcRepository).findStale("", WorkoutMetadataCalculator.ALGORITHM_VERSION, 2);
+        verify(workoutMetadataJdbcRepository).findStale("b", WorkoutMetadataCalculator.ALGORITHM_VERSION, 2);
+        verify(workoutMetadataJdbcRepository).findStale("d", WorkoutMetadataCalculator.ALGORITHM_VERSION, 2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<WorkoutMetadataDTO>> written = ArgumentCaptor.forClass(List.class);
+        verify(workoutMetadataJdbcRepository, times(2)).upsertAll(written.capture());
+        assertEquals(List.of("a"), written.getAllValues().get(0).stream().map(WorkoutMetadataDTO::getWorkoutId).toList());
+        assertEquals(WorkoutMetadataCalculator.ALGORITHM_VERSION, written.getAllValues().get(1).get(0).getAlgorithmVersion());
+        assertTrue(written.getAllValues().get(1).get(0).getEstimatedTss() > 0);
+
+        val status = backfillService.getStatus();
+        assertEquals(MetadataBackfillStatusDTO.State.COMPLETED, status.getState());
+        assertEquals(2L, status.getProcessed());
+        // "b" has no intervals and is skipped; only the undecodable "d" failed
+        assertEquals(1L, status.getFailed());
+        assertNull(status.getLastWorkoutId());
+    }
+
+    @Test
+    void run_ShouldResumeFromCheckpointOfCurrentVersion() {
+        val checkpoint = MetadataBackfillCheckpoint.builder()
+                .job(WorkoutMetadataBackfillServiceImpl.JOB)
+                .algorithmVersion(WorkoutMetadataCalculator.ALGORITHM_VERSION)
+                .lastWorkoutId("m")
+                .processed(40L)
+                .failed(0L)
+                .build();
+        when(checkpointRepository.findById(WorkoutMetadataBackfillServiceImpl.JOB)).thenReturn(Optional.of(checkpoint));
+        when(workoutMetadataJdbcRepository.findStale(eq("m"), anyInt(), anyInt())).thenReturn(List.of());
+
+        backfillService.run();
+
+        verify(checkpointRepository).save(any());
+        assertEquals(40L, backfillService.getStatus().getProcessed());
+    }
+}
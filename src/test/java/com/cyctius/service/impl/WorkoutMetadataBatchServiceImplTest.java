@@ -0,0 +1,121 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.core.service.impl.IncrementalAnalysisSessions;
+import com.cyctius.core.service.impl.WorkoutMetadataCalculatorImpl;
+import com.cyctius.core.service.impl.WorkoutPowerUtilsImpl;
+import com.cyctius.core.service.impl.WorkoutTypeClassifierServiceImpl;
+import com.cyctius.dto.WorkoutDTO;
+import com.cyctius.dto.WorkoutMetadataBatchRequestDTO;
+import com.cyctius.handler.exception.BadRequestException;
+import com.cyctius.util.MessageService;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class WorkoutMetadataBatchServiceImplTest {
+    @Mock
+    private MessageService messageService;
+
+    private WorkoutMetadataCalculatorImpl calculator;
+    private WorkoutMetadataBatchServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        val workoutPowerUtils = new WorkoutPowerUtilsImpl();
+        calculator = new WorkoutMetadataCalculatorImpl(workoutPowerUtils, new WorkoutTypeClassifierServiceImpl(workoutPowerUtils),
+                new IncrementalAnalysisSessions(16));
+        batchService = new WorkoutMetadataBatchServiceImpl(calculator, messageService, 4, 100);
+        lenient().when(messageService.getMessage(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    @Test
+    void calculateMetadata_ShouldKeepInputOrderAndReportFailuresPerItem() {
+        List<WorkoutDTO> workouts = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            workouts.add(workout("w" + i, 50 + i));
+        }
+        workouts.set(7, null);
+        workouts.set(21, WorkoutDTO.builder().id("empty").intervals(List.of()).build());
+
+        val response = batchService.calculateMetadata(new WorkoutMetadataBatchRequestDTO(workouts));
+
+        assertEquals(60, response.getResults().size());
+        assertEquals(58, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals("workout.error.workout-cannot-be-null", response.getResults().get(7).getError());
+        assertEquals("workout.error.intervals-cannot-be-null-or-empty", response.getResults().get(21).getError());
+        assertEquals("empty", response.getResults().get(21).getWorkoutId());
+
+        for (int i = 0; i < 60; i++) {
+            val item = response.getResults().get(i);
+            assertEquals(i, item.getIndex());
+            if (i == 7 || i == 21) {
+                assertNull(item.getMetadata());
+                continue;
+            }
+            assertNull(item.getError());
+            assertEquals("w" + i, item.getWorkoutId());
+            assertEquals("w" + i, item.getMetadata().getWorkoutId());
+        }
+    }
+
+    @Test
+    void calculateMetadata_BrokenInterval_ShouldNotFailBatch() {
+        val broken = WorkoutDTO.builder()
+                .id("broken")
+                .intervals(List.of(new SingleInterval(null, 90, true, 600)))
+                .build();
+
+        val response = batchService.calculateMetadata(
+                new WorkoutMetadataBatchRequestDTO(Arrays.asList(broken, workout("ok", 80))));
+
+        assertEquals("metadata.error.calculation-failed", response.getResults().get(0).getError());
+        assertNotNull(response.getResults().get(1).getMetadata());
+        assertEquals(1, response.getFailed());
+    }
+
+    @Test
+    void calculateMetadata_InvalidRequest_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> batchService.calculateMetadata(null));
+        assertThrows(BadRequestException.class,
+                () -> batchService.calculateMetadata(new WorkoutMetadataBatchRequestDTO(List.of())));
+
+        List<WorkoutDTO> tooMany = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            tooMany.add(workout("w" + i, 60));
+        }
+        assertThrows(BadRequestException.class,
+                () -> batchService.calculateMetadata(new WorkoutMetadataBatchRequestDTO(tooMany)));
+    }
+
+    private static WorkoutDTO workout(final String id, final int intensity) {
+        return WorkoutDTO.builder()
+                .id(id)
+                .name(id)
+                .intervals(List.of(
+                        new RampInterval(40, 70, 90, true, 600),
+                        new SingleInterval(intensity, 90, true, 1200)))
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.model.WorkoutAnalysis;
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.core.service.impl.TssCalculationServiceImpl;
+import com.cyctius.core.service.impl.WorkoutPowerUtilsImpl;
+import com.cyctius.core.service.impl.WorkoutTypeClassifierServiceImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkoutPowerUtilsAnalysisTest {
+
+    private WorkoutPowerUtilsImpl workoutPowerUtils;
+    private TssCalculationServiceImpl tssCalculationService;
+    private WorkoutTypeClassifierServiceImpl classifier;
+
+    @BeforeEach
+    void setUp() {
+        workoutPowerUtils = new WorkoutPowerUtilsImpl();
+        tssCalculationService = new TssCalculationServiceImpl();
+        classifier = new WorkoutTypeClassifierServiceImpl(workoutPowerUtils);
+    }
+
+    @Test
+    void analyze_nullWorkout_shouldReturnEmptyAnalysis() {
+        WorkoutAnalysis analysis = workoutPowerUtils.analyze(null);
+
+        assertEquals(0, analysis.getTss());
+        assertEquals(0, analysis.getDurationSeconds());
+        assertTrue(analysis.getDistribution().isEmpty());
+    }
+
+    @Test
+    void analyze_mixedWorkout_shouldMatchStandaloneCalculations() {
+        WorkoutModel workout = WorkoutModel.builder()
+                .intervals(List.of(
+                        new RampInterval(40, 70, 90, true, 600),
+                        new RepeatInterval(new SingleInterval(50, 85, true, 180), new SingleInterval(115, 100, true, 240), 5),
+                        new SingleInterval(88, 90, true, 1200),
+                        new RampInterval(65, 35, 90, true, 300)))
+                .build();
+
+        WorkoutAnalysis analysis = workoutPowerUtils.analyze(workout);
+
+        assertEquals(tssCalculationService.calculateTssForSession(workout), analysis.getTss());
+        assertEquals(workoutPowerUtils.calculateDistribution(workout), analysis.getDistribution());
+        assertEquals(workoutPowerUtils.calculateNormalizedIntensity(workout), analysis.getNormalizedIntensity());
+        assertEquals(workoutPowerUtils.calculateIF(workout), analysis.getIntensityFactor());
+        assertEquals(workoutPowerUtils.calculateDifficulty(workout), analysis.getDifficulty());
+        assertEquals(workoutPowerUtils.calculateAverageIntensity(workout), analysis.getAverageIntensity());
+        assertEquals(workout.getTotalDurationSeconds(), analysis.getDurationSeconds());
+        assertEquals(classifier.classifyWorkout(workout), classifier.classifyAnalysis(analysis));
+    }
+}
@@ -0,0 +1,102 @@
+package com.cyctius.service.impl;
+
+import com.cyctius.core.model.WorkoutModel;
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+import com.cyctius.core.service.TssCalculationService;
+import com.cyctius.core.service.WorkoutMetadataCalculator;
+import com.cyctius.dto.WorkoutDTO;
+import com.cyctius.dto.WorkoutMetadataDTO;
+import com.cyctius.entity.Workout;
+import com.cyctius.repository.WorkoutRepository;
+import com.cyctius.service.InternalUserService;
+import com.cyctius.service.UserValidator;
+import com.cyctius.service.WorkoutMetadataTransformer;
+import com.cyctius.service.WorkoutTransformer;
+import com.cyctius.util.IntervalBinaryCodec;
+import com.cyctius.util.LazyIntervalList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkoutServiceImplTest {
+    @Mock
+    private UserValidator userValidator;
+    @Mock
+    private WorkoutTransformer workoutTransformer;
+    @Mock
+    private WorkoutRepository workoutRepository;
+    @Mock
+    private InternalUserService internalUserService;
+    @Mock
+    private WorkoutMetadataCalculator workoutMetadataCalculator;
+    @Mock
+    private WorkoutMetadataTransformer workoutMetadataTransformer;
+    @Mock
+    private TssCalculationService tssCalculationService;
+
+    @InjectMocks
+    private WorkoutServiceImpl workoutService;
+
+    @Test
+    void updateWorkout_WithEqualIntervalCopies_ShouldNotRecalculateMetadata() {
+        storedWorkout();
+
+        workoutService.updateWorkout(edit("renamed", intervals()));
+
+        verify(workoutMetadataCalculator, never()).recalculateMetadata(any(WorkoutModel.class));
+    }
+
+    @Test
+    void updateWorkout_WithChangedIntervals_ShouldRecalculateMetadata() {
+        storedWorkout();
+        when(workoutMetadataCalculator.recalculateMetadata(any(WorkoutModel.class)))
+                .thenReturn(WorkoutMetadataDTO.builder().build());
+
+        workoutService.updateWorkout(edit("workout", List.of(new SingleInterval(70, 90, true, 1200))));
+
+        verify(workoutMetadataCalculator).recalculateMetadata(any(WorkoutModel.class));
+    }
+
+    private void storedWorkout() {
+        when(workoutRepository.findById("workout-id")).thenReturn(Optional.of(Workout.builder()
+                .id("workout-id")
+                .authorId("author")
+                .name("workout")
+                .intervals(new LazyIntervalList(IntervalBinaryCodec.encode(intervals())))
+                .isSoftDeleted(false)
+                .updatedAt(LocalDateTime.now().minusDays(1))
+                .build()));
+        when(workoutRepository.save(any(Workout.class))).then(returnsFirstArg());
+    }
+
+    private WorkoutDTO edit(final String name, final List<Interval> intervals) {
+        return WorkoutDTO.builder()
+                .id("workout-id")
+                .name(name)
+                .intervals(intervals)
+                .updatedAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+
+    private static List<Interval> intervals() {
+        return List.of(
+                new SingleInterval(55, 90, true, 600),
+                new RepeatInterval(new SingleInterval(50, 85, false, 60), new SingleInterval(120, 100, true, 30), 5));
+    }
+}
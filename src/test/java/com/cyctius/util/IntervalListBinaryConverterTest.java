@@ -0,0 +1,113 @@
+package com.cyctius.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cyctius.core.model.intervals.Interval;
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntervalListBinaryConverterTest {
+
+    private IntervalListBinaryConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new IntervalListBinaryConverter();
+    }
+
+    @Test
+    void convert_WithNull_ReturnsNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void roundTrip_KeepsEveryIntervalType() {
+        List<Interval> intervals = workout();
+
+        List<Interval> result = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(intervals));
+
+        assertThat(result).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(intervals);
+    }
+
+    @Test
+    void roundTrip_KeepsNullFieldsAndValuesOutsideOneByte() {
+        List<Interval> intervals = List.of(
+                new SingleInterval(null, null, null, null),
+                new SingleInterval(1500, 255, false, 100_000),
+                new SingleInterval(-20, 0, true, -1),
+                new RampInterval(null, 300, 90, null, 60),
+                new RepeatInterval(null, new SingleInterval(120, 95, true, 30), null));
+
+        List<Interval> result = IntervalBinaryCodec.decode(IntervalBinaryCodec.encode(intervals));
+
+        assertThat(result).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(intervals);
+    }
+
+    @Test
+    void encode_IsSeveralTimesSmallerThanJson() throws Exception {
+        List<Interval> intervals = workout();
+
+        byte[] binary = IntervalBinaryCodec.encode(intervals);
+        String json = IntervalJsonCodec.write(intervals);
+
+        assertThat(binary.length * 5).isLessThan(json.length());
+        assertThat(binary).isEqualTo(IntervalBinaryCodec.encode(new ArrayList<>(intervals)));
+    }
+
+    @Test
+    void decode_WithMalformedBytes_Throws() {
+        byte[] encoded = IntervalBinaryCodec.encode(workout());
+
+        assertThatThrownBy(() -> IntervalBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IntervalBinaryCodec.decode(new byte[]{2, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void lazyList_DecodesOnlyOnElementAccess() {
+        byte[] encoded = converter.convertToDatabaseColumn(workout());
+        LazyIntervalList lazy = (LazyIntervalList) converter.convertToEntityAttribute(encoded);
+        LazyIntervalList snapshot = (LazyIntervalList) converter.convertToEntityAttribute(encoded.clone());
+
+        assertThat(lazy.size()).isEqualTo(4);
+        assertThat(lazy).isEqualTo(snapshot);
+        assertThat(converter.convertToDatabaseColumn(lazy)).isSameAs(encoded);
+        assertThat(lazy.isDecoded()).isFalse();
+
+        assertThat(lazy.get(1)).isInstanceOf(RampInterval.class);
+        assertThat(lazy.isDecoded()).isTrue();
+        assertThat(lazy).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(workout());
+    }
+
+    @Test
+    void lazyList_EncodesInPlaceEditsAgain() {
+        LazyIntervalList lazy = new LazyIntervalList(IntervalBinaryCodec.encode(workout()));
+        LazyIntervalList snapshot = new LazyIntervalList(IntervalBinaryCodec.encode(workout()));
+
+        ((SingleInterval) lazy.get(0)).setDuration(900);
+
+        assertThat(lazy).isNotEqualTo(snapshot);
+        assertThat(IntervalBinaryCodec.decode(converter.convertToDatabaseColumn(lazy)).get(0))
+                .usingRecursiveComparison()
+                .isEqualTo(new SingleInterval(50, 85, true, 900));
+    }
+
+    private static List<Interval> workout() {
+        return List.of(
+                new SingleInterval(50, 85, true, 600),
+                new RampInterval(60, 95, 90, false, 300),
+                new RepeatInterval(new SingleInterval(55, 85, false, 180), new SingleInterval(120, 100, true, 60), 8),
+                new SingleInterval(45, 80, true, 600));
+    }
+}
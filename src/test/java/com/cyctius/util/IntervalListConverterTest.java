@@ -103,4 +103,31 @@ class IntervalListConverterTest {
         assertThat(((RampInterval)result.get(1)).getTargetIntensityFrom()).isEqualTo(100);
         assertThat(((RepeatInterval)result.get(2)).getRepeats()).isEqualTo(5);
     }
+
+    @Test
+    void convertToEntityAttribute_WithTypeAfterFieldsAndUnknownFields_ReturnsIntervals() {
+        String json = "[{\"repeats\":3,\"notes\":{\"a\":[1,2]},"
+                + "\"work\":{\"targetIntensity\":120,\"duration\":60,\"type\":\"SINGLE\"},"
+                + "\"rest\":{\"targetIntensity\":50,\"duration\":120,\"type\":\"SINGLE\"},\"type\":\"REPEAT\"},"
+                + "{\"type\":\"RAMP\",\"targetIntensityTo\":80},"
+                + "{\"type\":\"UNKNOWN\",\"duration\":10},"
+                + "{\"duration\":10}]";
+
+        List<Interval> result = converter.convertToEntityAttribute(json);
+
+        assertThat(result).hasSize(2);
+        RepeatInterval repeat = (RepeatInterval) result.get(0);
+        assertThat(repeat.getRepeats()).isEqualTo(3);
+        assertThat(repeat.getWork().getTargetIntensity()).isEqualTo(120);
+        assertThat(repeat.getRest().getDuration()).isEqualTo(120);
+        RampInterval ramp = (RampInterval) result.get(1);
+        assertThat(ramp.getTargetIntensityTo()).isEqualTo(80);
+        assertThat(ramp.getTargetIntensityFrom()).isEqualTo(new RampInterval().getTargetIntensityFrom());
+    }
+
+    @Test
+    void convertToEntityAttribute_WithTruncatedJson_ReturnsEmptyList() {
+        List<Interval> result = converter.convertToEntityAttribute("[{\"type\":\"SINGLE\",\"duration\":300}");
+        assertThat(result).isEmpty();
+    }
 }
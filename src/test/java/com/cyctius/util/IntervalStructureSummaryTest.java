@@ -0,0 +1,40 @@
+package com.cyctius.util;
+
+import org.junit.jupiter.api.Test;
+
+import com.cyctius.core.model.intervals.RampInterval;
+import com.cyctius.core.model.intervals.RepeatInterval;
+import com.cyctius.core.model.intervals.SingleInterval;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalStructureSummaryTest {
+
+    @Test
+    void of_WithNoIntervals_IsEmpty() {
+        assertThat(IntervalStructureSummary.of(null)).isEqualTo(new IntervalStructureSummary("[]", 0, 0));
+        assertThat(IntervalStructureSummary.of(List.of())).isEqualTo(new IntervalStructureSummary("[]", 0, 0));
+    }
+
+    @Test
+    void of_CollectsDistinctTypesAndMaximaIncludingRampEndsAndRepeatParts() {
+        IntervalStructureSummary summary = IntervalStructureSummary.of(List.of(
+                new RampInterval(50, 95, 90, false, 600),
+                new SingleInterval(65, 90, true, 1200),
+                new RepeatInterval(new SingleInterval(50, 85, false, 60), new SingleInterval(130, 100, true, 30), 10),
+                new RepeatInterval(new SingleInterval(140, 85, false, 60), new SingleInterval(120, 100, true, 30), 4),
+                new SingleInterval(70, 90, true, 600)));
+
+        assertThat(summary.types()).isEqualTo("[\"SINGLE\",\"REPEAT\",\"RAMP\"]");
+        assertThat(summary.maxRepeats()).isEqualTo(10);
+        assertThat(summary.maxTargetIntensity()).isEqualTo(140);
+    }
+
+    @Test
+    void of_RampEnd_CountsAsTargetIntensity() {
+        assertThat(IntervalStructureSummary.of(List.of(new RampInterval(60, 125, 90, true, 900))))
+                .isEqualTo(new IntervalStructureSummary("[\"RAMP\"]", 0, 125));
+    }
+}